@@ -37,27 +37,47 @@ public class AccumuloProperties extends StoreProperties {
     public static final String PASSWORD = "accumulo.password";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String PREFETCH_DEPTH_FOR_BATCH_SCANNER = "accumulo.batchScannerPrefetchDepth";
+    public static final String SEED_WINDOW_FOR_RANGE_PLANNER = "accumulo.rangePlannerSeedWindow";
+    public static final String SPLITS_CACHE_TTL = "accumulo.splitsCacheTtlInMilliseconds";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
+    public static final String BLOOM_FILTER_CACHE_SIZE = "accumulo.bloomFilterCacheSize";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
     public static final String SPLITS_FILE_PATH = "accumulo.splits.file.path";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
+    public static final String NUM_THREADS_FOR_INGEST_CONVERSION = "accumulo.ingest.numConverterThreads";
+    public static final String INGEST_QUEUE_SIZE = "accumulo.ingest.queueSize";
+    public static final String INGEST_CHUNK_SIZE = "accumulo.ingest.chunkSize";
+    public static final String ENABLE_INGEST_PRE_AGGREGATION = "accumulo.ingest.enablePreAggregation";
+    public static final String INGEST_PRE_AGGREGATION_WINDOW_SIZE = "accumulo.ingest.preAggregationWindowSize";
+    public static final String ENABLE_SERVER_SIDE_TRANSFORMS = "gaffer.store.accumulo.enable.server.side.transforms";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String PREFETCH_DEPTH_FOR_BATCH_SCANNER_DEFAULT = "0";
+    private static final String SEED_WINDOW_FOR_RANGE_PLANNER_DEFAULT = "100000";
+    private static final String SPLITS_CACHE_TTL_DEFAULT = "60000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
+    private static final String BLOOM_FILTER_CACHE_SIZE_DEFAULT = "268435456";
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "1000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     private static final String SPLITS_FILE_PATH_DEFAULT = "/data/splits.txt";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
+    private static final String NUM_THREADS_FOR_INGEST_CONVERSION_DEFAULT = "1";
+    private static final String INGEST_QUEUE_SIZE_DEFAULT = "16";
+    private static final String INGEST_CHUNK_SIZE_DEFAULT = "1000";
+    private static final String ENABLE_INGEST_PRE_AGGREGATION_DEFAULT = "false";
+    private static final String INGEST_PRE_AGGREGATION_WINDOW_SIZE_DEFAULT = "10000";
+    private static final String ENABLE_SERVER_SIDE_TRANSFORMS_DEFAULT = "false";
 
     public AccumuloProperties() {
         super();
@@ -248,6 +268,78 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the number of batch scanners that should be opened in the background,
+     * ahead of the batch scanner currently being read, when querying for a large
+     * number of seeds. If this is 0 the next batch scanner is only opened once
+     * the current one has been exhausted.
+     *
+     * @return An integer representing the number of batch scanners to open ahead
+     * of the batch scanner currently being read
+     */
+    public int getPrefetchDepthForBatchScanner() {
+        return Integer.parseInt(get(PREFETCH_DEPTH_FOR_BATCH_SCANNER, PREFETCH_DEPTH_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set the number of batch scanners that should be opened in the background,
+     * ahead of the batch scanner currently being read, when querying for a large
+     * number of seeds.
+     *
+     * @param prefetchDepthForBatchScanner the number of batch scanners to open ahead of the batch scanner currently being read
+     */
+    public void setPrefetchDepthForBatchScanner(final String prefetchDepthForBatchScanner) {
+        set(PREFETCH_DEPTH_FOR_BATCH_SCANNER, prefetchDepthForBatchScanner);
+    }
+
+    /**
+     * Get the maximum number of seeds that should be read and have their ranges
+     * sorted and grouped by tablet together, before being split into batches for
+     * the batch scanners. The first window of a query is small, so its first
+     * results are returned quickly, and each window is twice the size of the one
+     * before until this size is reached. A window smaller than the max entries for
+     * the batch scanner is increased to the max entries.
+     *
+     * @return An integer representing the number of seeds to plan the ranges of
+     * together
+     */
+    public int getSeedWindowForRangePlanner() {
+        return Integer.parseInt(get(SEED_WINDOW_FOR_RANGE_PLANNER, SEED_WINDOW_FOR_RANGE_PLANNER_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of seeds that should be read and have their ranges
+     * sorted and grouped by tablet together, before being split into batches for
+     * the batch scanners.
+     *
+     * @param seedWindowForRangePlanner the number of seeds to plan the ranges of together
+     */
+    public void setSeedWindowForRangePlanner(final String seedWindowForRangePlanner) {
+        set(SEED_WINDOW_FOR_RANGE_PLANNER, seedWindowForRangePlanner);
+    }
+
+    /**
+     * Get the number of milliseconds that the split points of the table are
+     * cached for, when they are used to plan the ranges of seeded queries. A
+     * value of 0 means the split points are listed for every query that needs
+     * them.
+     *
+     * @return A long representing the number of milliseconds to cache the split points for
+     */
+    public long getSplitsCacheTtl() {
+        return Long.parseLong(get(SPLITS_CACHE_TTL, SPLITS_CACHE_TTL_DEFAULT));
+    }
+
+    /**
+     * Set the number of milliseconds that the split points of the table are
+     * cached for, when they are used to plan the ranges of seeded queries.
+     *
+     * @param splitsCacheTtl the number of milliseconds to cache the split points for
+     */
+    public void setSplitsCacheTtl(final String splitsCacheTtl) {
+        set(SPLITS_CACHE_TTL, splitsCacheTtl);
+    }
+
     /**
      * Get the size that should be used for the creation of bloom filters on the
      * client side
@@ -312,6 +404,28 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR, maxBloomFilterToPassToAnIterator);
     }
 
+    /**
+     * Get the maximum total number of bits in the bloom filters that are cached
+     * for reuse by queries over the same sets of seeds. If this is 0 bloom
+     * filters are not cached.
+     *
+     * @return A long representing the maximum total number of bits in the cached
+     * bloom filters
+     */
+    public long getBloomFilterCacheSize() {
+        return Long.parseLong(get(BLOOM_FILTER_CACHE_SIZE, BLOOM_FILTER_CACHE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum total number of bits in the bloom filters that are cached
+     * for reuse by queries over the same sets of seeds.
+     *
+     * @param bloomFilterCacheSize the maximum total number of bits in the cached bloom filters
+     */
+    public void setBloomFilterCacheSize(final String bloomFilterCacheSize) {
+        set(BLOOM_FILTER_CACHE_SIZE, bloomFilterCacheSize);
+    }
+
     /**
      * Get the key package that should be used in conjunction with this table
      *
@@ -391,4 +505,129 @@ public class AccumuloProperties extends StoreProperties {
     public void setEnableValidatorIterator(final boolean enableValidatorIterator) {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
+
+    /**
+     * Get the number of threads that should be used to convert elements into
+     * accumulo mutations when adding elements. If this is 1 the elements are
+     * converted on the calling thread.
+     *
+     * @return The number of threads to use to convert elements into mutations
+     */
+    public int getNumThreadsForIngestConversion() {
+        return Integer.parseInt(get(NUM_THREADS_FOR_INGEST_CONVERSION, NUM_THREADS_FOR_INGEST_CONVERSION_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads that should be used to convert elements into
+     * accumulo mutations when adding elements.
+     *
+     * @param numThreadsForIngestConversion the number of threads to use to convert elements into mutations
+     */
+    public void setNumThreadsForIngestConversion(final String numThreadsForIngestConversion) {
+        set(NUM_THREADS_FOR_INGEST_CONVERSION, numThreadsForIngestConversion);
+    }
+
+    /**
+     * Get the maximum number of chunks of elements that can be waiting to be
+     * converted or written at any one time when adding elements using more
+     * than one converter thread.
+     *
+     * @return The maximum number of chunks of elements in the ingest pipeline
+     */
+    public int getIngestQueueSize() {
+        return Integer.parseInt(get(INGEST_QUEUE_SIZE, INGEST_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of chunks of elements that can be waiting to be
+     * converted or written at any one time when adding elements using more
+     * than one converter thread.
+     *
+     * @param ingestQueueSize the maximum number of chunks of elements in the ingest pipeline
+     */
+    public void setIngestQueueSize(final String ingestQueueSize) {
+        set(INGEST_QUEUE_SIZE, ingestQueueSize);
+    }
+
+    /**
+     * Get the number of elements each converter thread converts in one go
+     * when adding elements using more than one converter thread.
+     *
+     * @return The number of elements in each chunk
+     */
+    public int getIngestChunkSize() {
+        return Integer.parseInt(get(INGEST_CHUNK_SIZE, INGEST_CHUNK_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the number of elements each converter thread converts in one go
+     * when adding elements using more than one converter thread.
+     *
+     * @param ingestChunkSize the number of elements in each chunk
+     */
+    public void setIngestChunkSize(final String ingestChunkSize) {
+        set(INGEST_CHUNK_SIZE, ingestChunkSize);
+    }
+
+    /**
+     * Get the flag determining whether elements with the same accumulo key
+     * should be aggregated on the client before they are added to accumulo.
+     *
+     * @return true if elements should be aggregated before they are added
+     */
+    public boolean getEnableIngestPreAggregation() {
+        return Boolean.parseBoolean(get(ENABLE_INGEST_PRE_AGGREGATION, ENABLE_INGEST_PRE_AGGREGATION_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether elements with the same accumulo key
+     * should be aggregated on the client before they are added to accumulo.
+     *
+     * @param enableIngestPreAggregation true if elements should be aggregated before they are added
+     */
+    public void setEnableIngestPreAggregation(final boolean enableIngestPreAggregation) {
+        set(ENABLE_INGEST_PRE_AGGREGATION, Boolean.toString(enableIngestPreAggregation));
+    }
+
+    /**
+     * Get the maximum number of distinct accumulo keys to hold in memory
+     * whilst aggregating elements before they are added to accumulo.
+     *
+     * @return The maximum number of distinct keys in the pre-aggregation window
+     */
+    public int getIngestPreAggregationWindowSize() {
+        return Integer.parseInt(get(INGEST_PRE_AGGREGATION_WINDOW_SIZE, INGEST_PRE_AGGREGATION_WINDOW_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of distinct accumulo keys to hold in memory
+     * whilst aggregating elements before they are added to accumulo.
+     *
+     * @param ingestPreAggregationWindowSize the maximum number of distinct keys in the pre-aggregation window
+     */
+    public void setIngestPreAggregationWindowSize(final String ingestPreAggregationWindowSize) {
+        set(INGEST_PRE_AGGREGATION_WINDOW_SIZE, ingestPreAggregationWindowSize);
+    }
+
+    /**
+     * Get the flag determining whether view transformations and post transform
+     * filters should be applied by the tablet servers. This should only be
+     * enabled if the transform and filter functions used in views are on the
+     * tablet server classpath.
+     *
+     * @return true if post transform filters should be applied by the tablet servers
+     */
+    public boolean getEnableServerSideTransforms() {
+        return Boolean.parseBoolean(get(ENABLE_SERVER_SIDE_TRANSFORMS, ENABLE_SERVER_SIDE_TRANSFORMS_DEFAULT));
+    }
+
+    /**
+     * Set the flag determining whether view transformations and post transform
+     * filters should be applied by the tablet servers.
+     *
+     * @param enableServerSideTransforms true if post transform filters should be applied by the tablet servers
+     */
+    public void setEnableServerSideTransforms(final boolean enableServerSideTransforms) {
+        set(ENABLE_SERVER_SIDE_TRANSFORMS, Boolean.toString(enableServerSideTransforms));
+    }
 }
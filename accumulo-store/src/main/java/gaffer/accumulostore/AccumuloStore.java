@@ -19,15 +19,17 @@ package gaffer.accumulostore;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.inputformat.ElementInputFormat;
 import gaffer.accumulostore.key.AccumuloKeyPackage;
-import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.operation.handler.AddElementsHandler;
+import gaffer.accumulostore.operation.handler.CountElementsHandler;
 import gaffer.accumulostore.operation.handler.GetAdjacentEntitySeedsHandler;
 import gaffer.accumulostore.operation.handler.GetAllElementsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsBetweenSetsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
+import gaffer.accumulostore.operation.handler.GetKHopNeighbourhoodHandler;
+import gaffer.accumulostore.operation.handler.GetTopKElementsHandler;
 import gaffer.accumulostore.operation.handler.SummariseGroupOverRangesHandler;
 import gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
 import gaffer.accumulostore.operation.hdfs.handler.ImportAccumuloKeyValueFilesHandler;
@@ -36,12 +38,14 @@ import gaffer.accumulostore.operation.hdfs.handler.SplitTableHandler;
 import gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
 import gaffer.accumulostore.operation.hdfs.operation.SampleDataForSplitPoints;
 import gaffer.accumulostore.operation.hdfs.operation.SplitTable;
+import gaffer.accumulostore.operation.impl.CountElements;
 import gaffer.accumulostore.operation.impl.GetEdgesBetweenSets;
 import gaffer.accumulostore.operation.impl.GetEdgesInRanges;
 import gaffer.accumulostore.operation.impl.GetEdgesWithinSet;
 import gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import gaffer.accumulostore.operation.impl.GetElementsWithinSet;
+import gaffer.accumulostore.operation.impl.GetKHopNeighbourhood;
 import gaffer.accumulostore.operation.impl.GetEntitiesInRanges;
 import gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
 import gaffer.accumulostore.operation.spark.handler.GetDataFrameOfElementsOperationHandler;
@@ -49,7 +53,9 @@ import gaffer.accumulostore.operation.spark.handler.GetJavaRDDOfAllElementsOpera
 import gaffer.accumulostore.operation.spark.handler.GetJavaRDDOfElementsOperationHandler;
 import gaffer.accumulostore.operation.spark.handler.GetRDDOfAllElementsOperationHandler;
 import gaffer.accumulostore.operation.spark.handler.GetRDDOfElementsOperationHandler;
-import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.BloomFilterCache;
+import gaffer.accumulostore.utils.ParallelElementWriter;
+import gaffer.accumulostore.utils.PreAggregatingElementIterable;
 import gaffer.accumulostore.utils.TableUtils;
 import gaffer.commonutil.CommonConstants;
 import gaffer.commonutil.iterable.CloseableIterable;
@@ -62,6 +68,7 @@ import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetAllElements;
 import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetTopKElements;
 import gaffer.operation.simple.hdfs.operation.AddElementsFromHdfs;
 import gaffer.operation.simple.spark.GetDataFrameOfElements;
 import gaffer.operation.simple.spark.GetJavaRDDOfAllElements;
@@ -75,24 +82,27 @@ import gaffer.store.StoreProperties;
 import gaffer.store.StoreTrait;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.schema.Schema;
+import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchWriter;
 import org.apache.accumulo.core.client.ClientConfiguration;
 import org.apache.accumulo.core.client.Connector;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
 import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
-import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Mutation;
-import org.apache.accumulo.core.data.Value;
-import org.apache.accumulo.core.security.ColumnVisibility;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -120,6 +130,9 @@ public class AccumuloStore extends Store {
     private static final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(AGGREGATION, PRE_AGGREGATION_FILTERING, POST_AGGREGATION_FILTERING, POST_TRANSFORMATION_FILTERING, TRANSFORMATION, STORE_VALIDATION, ORDERED, VISIBILITY));
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private BloomFilterCache bloomFilterCache;
+    private Collection<Text> cachedSplits;
+    private long cachedSplitsExpiryTime;
 
     @Override
     public void initialise(final Schema schema, final StoreProperties properties)
@@ -132,6 +145,8 @@ public class AccumuloStore extends Store {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass);
         }
         this.keyPackage.setSchema(schema);
+        final long bloomFilterCacheSize = getProperties().getBloomFilterCacheSize();
+        this.bloomFilterCache = bloomFilterCacheSize > 0 ? new BloomFilterCache(bloomFilterCacheSize) : null;
         TableUtils.ensureTableExists(this);
     }
 
@@ -231,6 +246,9 @@ public class AccumuloStore extends Store {
         addOperationHandler(GetEntitiesInRanges.class, new GetElementsInRangesHandler());
         addOperationHandler(GetElementsWithinSet.class, new GetElementsWithinSetHandler());
         addOperationHandler(GetEdgesWithinSet.class, new GetElementsWithinSetHandler());
+        addOperationHandler(GetKHopNeighbourhood.class, new GetKHopNeighbourhoodHandler());
+        addOperationHandler(CountElements.class, new CountElementsHandler());
+        addOperationHandler(GetTopKElements.class, new GetTopKElementsHandler());
         addOperationHandler(SplitTable.class, new SplitTableHandler());
         addOperationHandler(SampleDataForSplitPoints.class, new SampleDataForSplitPointsHandler());
         addOperationHandler(ImportAccumuloKeyValueFiles.class, new ImportAccumuloKeyValueFilesHandler());
@@ -262,6 +280,19 @@ public class AccumuloStore extends Store {
         return new AddElementsHandler();
     }
 
+    /**
+     * As well as the core pipeline stages, the seeded get operations are pipelined, as the
+     * Accumulo retrievers read their seeds once for each iterator. The set operations are
+     * not, as they read their seeds more than once.
+     */
+    @Override
+    protected boolean isPipelineStage(final Operation op) {
+        return super.isPipelineStage(op)
+                || op instanceof GetElements
+                || op instanceof GetAdjacentEntitySeeds
+                || op instanceof GetElementsInRanges;
+    }
+
     @Override
     public Set<StoreTrait> getTraits() {
         return TRAITS;
@@ -278,58 +309,77 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<Element> elements) throws StoreException {
+        final Iterable<Element> elementsToAdd;
+        if (getProperties().getEnableIngestPreAggregation()) {
+            // Merge elements with the same key so fewer mutations are written
+            elementsToAdd = new PreAggregatingElementIterable(elements, keyPackage.getKeyConverter(), getSchema(),
+                    getProperties().getIngestPreAggregationWindowSize());
+        } else {
+            elementsToAdd = elements;
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
         // Loop through elements, convert to mutations, and add to
         // BatchWriter.as
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
-        for (final Element element : elements) {
-            final Pair<Key> keys;
-            try {
-                keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-            } catch (final AccumuloElementConversionException e) {
-                LOGGER.error("Failed to create an accumulo key from element of type " + element.getGroup()
-                        + " when trying to insert elements");
-                continue;
-            }
-            final Value value;
-            try {
-                value = keyPackage.getKeyConverter().getValueFromElement(element);
-            } catch (final AccumuloElementConversionException e) {
-                LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup()
-                        + " when trying to insert elements");
-                continue;
+        try {
+            final int numConverterThreads = getProperties().getNumThreadsForIngestConversion();
+            if (numConverterThreads > 1) {
+                new ParallelElementWriter(keyPackage.getKeyConverter(), writer, numConverterThreads,
+                        getProperties().getIngestQueueSize(), getProperties().getIngestChunkSize()).write(elementsToAdd);
+            } else {
+                for (final Element element : elementsToAdd) {
+                    for (final Mutation m : ParallelElementWriter.getMutations(keyPackage.getKeyConverter(), element)) {
+                        try {
+                            writer.addMutation(m);
+                        } catch (final MutationsRejectedException e) {
+                            LOGGER.error("Failed to create an accumulo key mutation");
+                        }
+                    }
+                }
             }
-            final Mutation m = new Mutation(keys.getFirst().getRow());
-            m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                    new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
+        } finally {
             try {
-                writer.addMutation(m);
+                writer.close();
             } catch (final MutationsRejectedException e) {
-                LOGGER.error("Failed to create an accumulo key mutation");
-                continue;
-            }
-            // If the GraphElement is a Vertex then there will only be 1 key,
-            // and the second will be null.
-            // If the GraphElement is an Edge then there will be 2 keys.
-            if (keys.getSecond() != null) {
-                final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                        new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                        value);
-                try {
-                    writer.addMutation(m2);
-                } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                }
+                LOGGER.warn("Accumulo batch writer failed to close", e);
             }
         }
-        try {
-            writer.close();
-        } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+    }
+
+    /**
+     * Gets the cache of the bloom filters built by the set retrievers.
+     *
+     * @return the {@link BloomFilterCache}, or null if bloom filters should not be cached
+     */
+    public BloomFilterCache getBloomFilterCache() {
+        return bloomFilterCache;
+    }
+
+    /**
+     * Gets the split points of the table. Listing the splits is a call to the
+     * Accumulo master, so the splits are cached for the time set by
+     * {@link AccumuloProperties#getSplitsCacheTtl()}. The cached splits may be out
+     * of date, so they should only be used where that is safe, such as to plan
+     * the ranges of a query.
+     *
+     * @return the split points of the table
+     * @throws StoreException if the splits cannot be listed
+     */
+    public synchronized Collection<Text> getSplits() throws StoreException {
+        final long now = System.currentTimeMillis();
+        if (null == cachedSplits || now >= cachedSplitsExpiryTime) {
+            try {
+                cachedSplits = Collections.unmodifiableList(new ArrayList<>(
+                        getConnection().tableOperations().listSplits(getProperties().getTable())));
+            } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+                throw new StoreException("Unable to list the splits of table " + getProperties().getTable(), e);
+            }
+            cachedSplitsExpiryTime = now + getProperties().getSplitsCacheTtl();
         }
+        return cachedSplits;
     }
 
     /**
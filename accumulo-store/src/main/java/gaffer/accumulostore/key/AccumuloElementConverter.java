@@ -25,6 +25,7 @@ import gaffer.data.element.Properties;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The Accumulo ElementConverter Interface details the methods necessary to
@@ -101,6 +102,45 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value) throws AccumuloElementConversionException;
 
+    /**
+     * Creates a copy of an Accumulo {@link Value} that only contains the serialised
+     * bytes of the given properties. Every other property in the value is replaced
+     * with a marker so that {@link #getPropertiesFromValue(String, Value)} leaves
+     * it out of the returned {@link gaffer.data.element.Properties}.
+     *
+     * @param group         the element group
+     * @param value         the Value containing the serialised properties
+     * @param propertyNames the names of the properties to keep
+     * @return a Value only containing the given properties
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Value getProjectedValue(final String group, final Value value, final Set<String> propertyNames) throws AccumuloElementConversionException;
+
+    /**
+     * Returns {@link gaffer.data.element.Properties} that only deserialise the
+     * properties stored within the {@link Value} when they are first requested.
+     * Properties that are never requested are never deserialised.
+     *
+     * @param group the element group
+     * @param value the Value containing the serialised properties
+     * @return lazily deserialised {@link gaffer.data.element.Properties}
+     * @throws AccumuloElementConversionException If the group is not in the schema
+     */
+    Properties getLazyPropertiesFromValue(final String group, final Value value) throws AccumuloElementConversionException;
+
+    /**
+     * Returns {@link gaffer.data.element.Properties} that only deserialise the
+     * properties stored within the {@link Key} and {@link Value} when they are
+     * first requested. Properties that are never requested are never deserialised.
+     *
+     * @param group the element group
+     * @param key   the accumulo Key containing serialised properties
+     * @param value the accumulo Value containing serialised properties
+     * @return lazily deserialised {@link gaffer.data.element.Properties}
+     * @throws AccumuloElementConversionException If the group is not in the schema
+     */
+    Properties getLazyProperties(final String group, final Key key, final Value value) throws AccumuloElementConversionException;
+
     /**
      * Gets a new {@link Element} from an Accumulo {@link Key}.
      *
@@ -123,6 +163,27 @@ public interface AccumuloElementConverter {
     Element getElementFromKey(final Key key, final Map<String, String> options)
             throws AccumuloElementConversionException;
 
+    /**
+     * Gets the identifiers of the {@link Element} represented by an Accumulo
+     * {@link Key} as bytes, read from the layout of the row without deserialising
+     * them. Both of the keys stored for an edge give the same bytes.
+     *
+     * @param key the Key containing serialised parts of the Element
+     * @return the serialised identifiers of the Element
+     * @throws AccumuloElementConversionException If the row of the key is not valid
+     */
+    byte[] getSerialisedIdentifiersFromKey(final Key key) throws AccumuloElementConversionException;
+
+    /**
+     * Returns true if a row key represents an {@link gaffer.data.element.Entity},
+     * decided from the layout of the row without deserialising it.
+     *
+     * @param row the row of an Accumulo {@link Key}
+     * @return true if the row represents an Entity, false if it represents an Edge
+     * @throws AccumuloElementConversionException If the row is not valid
+     */
+    boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException;
+
     /**
      * Returns an {@link Element} populated with all the properties defined
      * within the {@link Key} and {@link Value}.
@@ -135,6 +196,18 @@ public interface AccumuloElementConverter {
      */
     Element getFullElement(final Key key, final Value value) throws AccumuloElementConversionException;
 
+    /**
+     * Returns an {@link Element} whose properties are deserialised from the
+     * {@link Key} and {@link Value} when they are first requested. This is
+     * intended for iterators that only read a few of the element's properties.
+     *
+     * @param key   the accumulo Key containing serialised parts of the Element
+     * @param value the accumulo Value containing serialised properties of the Element
+     * @return an {@link Element} with lazily deserialised properties
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Element getLazyFullElement(final Key key, final Value value) throws AccumuloElementConversionException;
+
     /**
      * Returns an {@link Element} populated with all the properties defined
      * within the {@link Key} and {@link Value}.
@@ -20,6 +20,7 @@ import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.operation.GetOperation;
+import gaffer.operation.impl.get.GetTopKElements;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.hadoop.util.bloom.BloomFilter;
 
@@ -71,6 +72,22 @@ public interface IteratorSettingFactory {
     IteratorSetting getElementPostAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will transform elements and filter
+     * them based on predicates specified in the postTransformFilter block in the
+     * view to a {@link org.apache.accumulo.core.client.Scanner}.
+     * This method will return null if server side transforms are not enabled in
+     * the store properties, or if the view has no post transform filters.
+     *
+     * @param view  the operation view
+     * @param store the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering {@link gaffer.data.element.Element}s based on a {@link View}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getElementPostTransformFilterIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException;
+
     /**
      * Returns an Iterator that will filter out
      * Edges/Entities/Undirected/Directed Edges based on the options in the
@@ -140,6 +157,87 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getElementPropertyRangeQueryFilter(GetOperation<?, ?> operation);
 
+    /**
+     * Returns an Iterator that stops a scan once it has returned the operation's
+     * result limit, so the tablet servers do not send results that will be
+     * discarded. The limit is applied by each tablet server separately, so the
+     * exact limit must still be applied by the client.
+     * This method will return null if the operation has no result limit, or if
+     * its view has post transform filters that are applied by the client, as
+     * elements may then be removed after the iterator has counted them.
+     *
+     * @param operation the operation to get the IteratorSetting for
+     * @param store     the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of
+     * limiting the number of results of a scan
+     */
+    IteratorSetting getResultLimitIteratorSetting(GetOperation<?, ?> operation, final AccumuloStore store);
+
+    /**
+     * Returns an Iterator that returns at most the number of edges for each
+     * vertex given by the
+     * {@link gaffer.accumulostore.utils.AccumuloStoreConstants#OPERATION_MAX_EDGES_PER_VERTEX}
+     * operation option, skipping the rest of the edges of high degree vertices.
+     * This method will return null if the operation does not have the option.
+     *
+     * @param operation the operation to get the IteratorSetting for
+     * @param store     the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of
+     * limiting the number of edges returned for each vertex
+     */
+    IteratorSetting getMaxEdgesPerVertexIteratorSetting(GetOperation<?, ?> operation, final AccumuloStore store);
+
+    /**
+     * Returns an Iterator that removes the properties not required by the
+     * {@link View} from each value, so they are not sent back to the client.
+     * This method will return null if none of the groups in the view have
+     * their properties set.
+     *
+     * @param view  the operation view
+     * @param store the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of
+     * removing unrequired properties
+     */
+    IteratorSetting getProjectionIteratorSetting(final View view, final AccumuloStore store);
+
+    /**
+     * Returns an Iterator that removes the properties not required by the
+     * {@link View} from each value, as {@link #getProjectionIteratorSetting(View, AccumuloStore)},
+     * but also keeps the required property for every group that has its
+     * properties set, so iterators after it can still use that property.
+     *
+     * @param view             the operation view
+     * @param store            the accumulo store
+     * @param requiredProperty the property to keep for every group
+     * @return A new {@link IteratorSetting} for an Iterator capable of
+     * removing unrequired properties
+     */
+    IteratorSetting getProjectionIteratorSetting(final View view, final AccumuloStore store, final String requiredProperty);
+
+    /**
+     * Returns an Iterator that counts the elements in each group instead of
+     * returning them, producing a single partial count for each tablet.
+     *
+     * @param store the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of
+     * counting the elements in each group
+     */
+    IteratorSetting getGroupCountIteratorSetting(final AccumuloStore store);
+
+    /**
+     * Returns an Iterator that only returns the k elements in each tablet with
+     * the highest values of the operation's ranking property, or null if the
+     * elements cannot be ranked on the tablet servers, for example because the
+     * property is changed by a transform or a post transform filter will be
+     * applied by the client.
+     *
+     * @param operation the operation
+     * @param store     the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of
+     * returning the top k elements in each tablet
+     */
+    IteratorSetting getTopKIteratorSetting(final GetTopKElements<?, ?> operation, final AccumuloStore store);
+
     /**
      * Returns the iterator settings for a given iterator name. Allowed iterator
      * names are: Aggregator, Validator and Bloom_Filter.
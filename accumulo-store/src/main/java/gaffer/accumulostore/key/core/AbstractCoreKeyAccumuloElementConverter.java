@@ -15,6 +15,7 @@
  */
 package gaffer.accumulostore.key.core;
 
+import com.google.common.primitives.UnsignedBytes;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
@@ -25,8 +26,12 @@ import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
+import gaffer.data.element.LazyEdge;
+import gaffer.data.element.LazyEntity;
+import gaffer.data.element.LazyProperties;
 import gaffer.data.element.Properties;
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractSerialisation;
 import gaffer.serialisation.Serialisation;
 import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 import gaffer.store.schema.Schema;
@@ -37,14 +42,51 @@ import org.apache.accumulo.core.data.Value;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
+    protected static final int MAX_REUSABLE_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * The length written in place of a property that has been removed from a value
+     * by {@link #getProjectedValue(String, Value, Set)}. It is followed by no bytes.
+     */
+    protected static final int ABSENT_PROPERTY_LENGTH = -1;
+
+    private static final byte ENTITY_IDENTIFIERS = 0;
+    private static final byte UNDIRECTED_EDGE_IDENTIFIERS = 1;
+    private static final byte DIRECTED_EDGE_IDENTIFIERS = 2;
+
+    /**
+     * A buffer for each thread to serialise properties into, so a new buffer
+     * does not need to be created for every key and value. Converters are
+     * shared between threads so the buffer cannot be a field.
+     */
+    private static final ThreadLocal<ByteArrayOutputStream> OUTPUT_BUFFER = new ThreadLocal<ByteArrayOutputStream>() {
+        @Override
+        protected ByteArrayOutputStream initialValue() {
+            return new ByteArrayOutputStream();
+        }
+    };
+
     protected final Schema schema;
 
+    /**
+     * The position of each property within the column qualifier, for each group.
+     */
+    private final ConcurrentMap<String, Map<String, Integer>> columnQualifierPositions = new ConcurrentHashMap<>();
+
+    /**
+     * The position of each property within the value, for each group.
+     */
+    private final ConcurrentMap<String, Map<String, Integer>> valuePositions = new ConcurrentHashMap<>();
+
     public AbstractCoreKeyAccumuloElementConverter(final Schema schema) {
         this.schema = schema;
     }
@@ -97,7 +139,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Value getValueFromProperties(final String group, final Properties properties)
             throws AccumuloElementConversionException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream out = getOutputBuffer();
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
@@ -131,7 +173,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         if (!hasValue) {
             return new Value();
         }
-        return new Value(out.toByteArray());
+        return new Value(toByteArray(out));
     }
 
     @Override
@@ -149,7 +191,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         final byte[] bytes = value.get();
         int lastDelimiter = 0;
         final int arrayLength = bytes.length;
-        long currentPropLength;
+        int currentPropLength;
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
@@ -162,18 +204,15 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 final Serialisation<?> serialiser = typeDefinition.getSerialiser();
                 if (null != serialiser) {
                     final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-                    final byte[] length = new byte[numBytesForLength];
-                    System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-                    try {
-                        currentPropLength = CompactRawSerialisationUtils.readLong(length);
-                    } catch (final SerialisationException e) {
-                        throw new AccumuloElementConversionException("Exception reading length of property");
-                    }
+                    currentPropLength = readPropertyLength(bytes, lastDelimiter);
                     lastDelimiter += numBytesForLength;
+                    if (currentPropLength == ABSENT_PROPERTY_LENGTH) {
+                        continue;
+                    }
                     if (currentPropLength > 0) {
                         try {
-                            properties.put(propertyName, typeDefinition.getSerialiser()
-                                                                       .deserialise(Arrays.copyOfRange(bytes, lastDelimiter, lastDelimiter += currentPropLength)));
+                            properties.put(propertyName, AbstractSerialisation.deserialise(serialiser, bytes, lastDelimiter, currentPropLength));
+                            lastDelimiter += currentPropLength;
                         } catch (SerialisationException e) {
                             throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
                         }
@@ -188,6 +227,62 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Value getProjectedValue(final String group, final Value value, final Set<String> propertyNames)
+            throws AccumuloElementConversionException {
+        if (null == value || value.getSize() == 0) {
+            return value;
+        }
+        final SchemaElementDefinition elementDefinition = getElementDefinition(group);
+        final byte[] bytes = value.get();
+        final ByteArrayOutputStream out = getOutputBuffer();
+        int offset = 0;
+        int numAbsentToWrite = 0;
+        final Iterator<String> names = elementDefinition.getProperties().iterator();
+        while (names.hasNext() && offset < bytes.length) {
+            final String propertyName = names.next();
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            if (null == typeDefinition || null == typeDefinition.getSerialiser()
+                    || !isStoredInValue(propertyName, elementDefinition)) {
+                continue;
+            }
+
+            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+            final int length = Math.max(0, readPropertyLength(bytes, offset));
+            if (propertyNames.contains(propertyName)) {
+                // Absent markers are only written when a later property is kept,
+                // so trailing properties that have been removed take up no bytes.
+                for (int i = 0; i < numAbsentToWrite; i++) {
+                    writeAbsentLength(out);
+                }
+                numAbsentToWrite = 0;
+                out.write(bytes, offset, numBytesForLength + length);
+            } else {
+                numAbsentToWrite++;
+            }
+            offset += numBytesForLength + length;
+        }
+
+        if (out.size() == 0) {
+            return new Value();
+        }
+        return new Value(toByteArray(out));
+    }
+
+    @Override
+    public Properties getLazyPropertiesFromValue(final String group, final Value value)
+            throws AccumuloElementConversionException {
+        getElementDefinition(group);
+        return new LazyProperties(new Properties(), new CoreKeyElementValueLoader(this, group, null, value));
+    }
+
+    @Override
+    public Properties getLazyProperties(final String group, final Key key, final Value value)
+            throws AccumuloElementConversionException {
+        getElementDefinition(group);
+        return new LazyProperties(new Properties(), new CoreKeyElementValueLoader(this, group, key, value));
+    }
+
     @Override
     public Element getElementFromKey(final Key key) throws AccumuloElementConversionException {
         return getElementFromKey(key, null);
@@ -196,11 +291,37 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Element getElementFromKey(final Key key, final Map<String, String> options)
             throws AccumuloElementConversionException {
-        final boolean keyRepresentsEntity = doesKeyRepresentEntity(key.getRowData().getBackingArray());
-        if (keyRepresentsEntity) {
-            return getEntityFromKey(key);
+        final Element element = getElementIdentifiersFromKey(key, options);
+        addPropertiesToElement(element, key);
+        return element;
+    }
+
+    @Override
+    public byte[] getSerialisedIdentifiersFromKey(final Key key) throws AccumuloElementConversionException {
+        final byte[] row = key.getRowData().getBackingArray();
+        final ByteArrayOutputStream out = getOutputBuffer();
+        try {
+            if (doesKeyRepresentEntity(row)) {
+                out.write(ENTITY_IDENTIFIERS);
+                out.write(row);
+                return toByteArray(out);
+            }
+
+            // The vertices of a directed edge are returned source first. The vertices
+            // of an undirected edge are ordered, as either may be first in the row.
+            final byte[][] sourceDestValues = new byte[2][];
+            final boolean directed = getSourceAndDestinationFromRowKey(row, sourceDestValues, null);
+            int first = 0;
+            if (!directed && UnsignedBytes.lexicographicalComparator().compare(sourceDestValues[0], sourceDestValues[1]) > 0) {
+                first = 1;
+            }
+            out.write(directed ? DIRECTED_EDGE_IDENTIFIERS : UNDIRECTED_EDGE_IDENTIFIERS);
+            writeBytes(sourceDestValues[first], out);
+            out.write(sourceDestValues[1 - first]);
+        } catch (final IOException e) {
+            throw new AccumuloElementConversionException("Failed to write the identifiers of a key to a ByteArrayOutputStream", e);
         }
-        return getEdgeFromKey(key, options);
+        return toByteArray(out);
     }
 
     @Override
@@ -216,6 +337,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return element;
     }
 
+    @Override
+    public Element getLazyFullElement(final Key key, final Value value) throws AccumuloElementConversionException {
+        final String group = getGroupFromKey(key);
+        getElementDefinition(group);
+        final CoreKeyElementValueLoader valueLoader = new CoreKeyElementValueLoader(this, group, key, value);
+        if (doesKeyRepresentEntity(key.getRowData().getBackingArray())) {
+            return new LazyEntity(new Entity(group), valueLoader);
+        }
+        return new LazyEdge(new Edge(group), valueLoader);
+    }
+
     @Override
     public byte[] buildColumnFamily(final String group) throws AccumuloElementConversionException {
         try {
@@ -296,7 +428,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties)
             throws AccumuloElementConversionException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayOutputStream out = getOutputBuffer();
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
@@ -326,7 +458,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         if (!hasValue) {
             return AccumuloStoreConstants.EMPTY_BYTES;
         }
-        return out.toByteArray();
+        return toByteArray(out);
     }
 
     @Override
@@ -344,25 +476,19 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
         int lastDelimiter = 0;
         final int arrayLength = bytes.length;
-        long currentPropLength;
+        int currentPropLength;
         final Iterator<String> propertyNames = elementDefinition.getGroupBy().iterator();
         while (propertyNames.hasNext() && lastDelimiter < arrayLength) {
             final String propertyName = propertyNames.next();
             TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
             if (typeDefinition != null) {
                 final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-                final byte[] length = new byte[numBytesForLength];
-                System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-                try {
-                    currentPropLength = CompactRawSerialisationUtils.readLong(length);
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException("Exception reading length of property");
-                }
+                currentPropLength = readPropertyLength(bytes, lastDelimiter);
                 lastDelimiter += numBytesForLength;
                 if (currentPropLength > 0) {
                     try {
-                        properties.put(propertyName, typeDefinition.getSerialiser()
-                                .deserialise(Arrays.copyOfRange(bytes, lastDelimiter, lastDelimiter += currentPropLength)));
+                        properties.put(propertyName, AbstractSerialisation.deserialise(typeDefinition.getSerialiser(), bytes, lastDelimiter, currentPropLength));
+                        lastDelimiter += currentPropLength;
                     } catch (SerialisationException e) {
                         throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
                     }
@@ -388,17 +514,11 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
         int lastDelimiter = 0;
         final int arrayLength = bytes.length;
-        long currentPropLength;
+        int currentPropLength;
         int propIndex = 0;
         while (propIndex < numProps && lastDelimiter < arrayLength) {
             final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[lastDelimiter]);
-            final byte[] length = new byte[numBytesForLength];
-            System.arraycopy(bytes, lastDelimiter, length, 0, numBytesForLength);
-            try {
-                currentPropLength = CompactRawSerialisationUtils.readLong(length);
-            } catch (final SerialisationException e) {
-                throw new AccumuloElementConversionException("Exception reading length of property");
-            }
+            currentPropLength = readPropertyLength(bytes, lastDelimiter);
 
             lastDelimiter += numBytesForLength;
             if (currentPropLength > 0) {
@@ -466,8 +586,14 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     protected abstract Pair<byte[]> getRowKeysFromEdge(final Edge edge) throws AccumuloElementConversionException;
 
-    protected abstract boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException;
-
+    /**
+     * Creates an {@link Entity}, without any properties, from the row key and
+     * column family of the {@link Key}.
+     *
+     * @param key the key to create the entity from
+     * @return the entity
+     * @throws AccumuloElementConversionException if the entity cannot be created
+     */
     protected abstract Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException;
 
     protected abstract boolean getSourceAndDestinationFromRowKey(final byte[] rowKey,
@@ -478,6 +604,24 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return edge.getSource().equals(edge.getDestination());
     }
 
+    /**
+     * Creates an {@link Element} from a {@link Key} with its identifiers set but
+     * without any properties.
+     *
+     * @param key     the key to create the element from
+     * @param options operation options
+     * @return the element
+     * @throws AccumuloElementConversionException if the element cannot be created
+     */
+    protected Element getElementIdentifiersFromKey(final Key key, final Map<String, String> options)
+            throws AccumuloElementConversionException {
+        final boolean keyRepresentsEntity = doesKeyRepresentEntity(key.getRowData().getBackingArray());
+        if (keyRepresentsEntity) {
+            return getEntityFromKey(key);
+        }
+        return getEdgeFromKey(key, options);
+    }
+
     protected void addPropertiesToElement(final Element element, final Key key)
             throws AccumuloElementConversionException {
         element.copyProperties(
@@ -488,6 +632,74 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 getPropertiesFromTimestamp(element.getGroup(), key.getTimestamp()));
     }
 
+    /**
+     * Gets a single property from a {@link Key} and {@link Value}. Only the
+     * requested property is deserialised, the serialised properties before it
+     * are skipped using their lengths.
+     *
+     * @param group        the element group
+     * @param propertyName the name of the property to get
+     * @param key          the key containing the serialised properties, or null if
+     *                     only the properties in the value are available
+     * @param value        the value containing the serialised properties
+     * @return the property, or null if it is not set
+     * @throws AccumuloElementConversionException if the property cannot be deserialised
+     */
+    protected Object getProperty(final String group, final String propertyName, final Key key, final Value value)
+            throws AccumuloElementConversionException {
+        final SchemaElementDefinition elementDefinition = getElementDefinition(group);
+        if (!elementDefinition.containsProperty(propertyName)) {
+            return null;
+        }
+
+        if (propertyName.equals(schema.getTimestampProperty())) {
+            return null != key ? key.getTimestamp() : null;
+        }
+
+        if (propertyName.equals(schema.getVisibilityProperty())) {
+            return null != key
+                    ? getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray()).get(propertyName)
+                    : null;
+        }
+
+        if (elementDefinition.getGroupBy().contains(propertyName)) {
+            if (null == key) {
+                return null;
+            }
+            final byte[] bytes = key.getColumnQualifierData().getBackingArray();
+            final Integer position = getPositions(group, elementDefinition, columnQualifierPositions, true).get(propertyName);
+            final int offset = null != position ? skipProperties(bytes, position) : -1;
+            if (offset < 0 || offset >= bytes.length) {
+                return null;
+            }
+            final int length = readPropertyLength(bytes, offset);
+            if (length == 0) {
+                return null;
+            }
+            return deserialise(elementDefinition.getPropertyTypeDef(propertyName).getSerialiser(), propertyName,
+                    bytes, offset + CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]), length);
+        }
+
+        if (null == value || value.getSize() == 0) {
+            return null;
+        }
+        final byte[] bytes = value.get();
+        final Integer position = getPositions(group, elementDefinition, valuePositions, false).get(propertyName);
+        final int offset = null != position ? skipProperties(bytes, position) : -1;
+        if (offset < 0 || offset >= bytes.length) {
+            return null;
+        }
+        final int length = readPropertyLength(bytes, offset);
+        if (length == ABSENT_PROPERTY_LENGTH) {
+            return null;
+        }
+        final Serialisation<?> serialiser = elementDefinition.getPropertyTypeDef(propertyName).getSerialiser();
+        if (length == 0) {
+            return serialiser.deserialiseEmptyBytes();
+        }
+        return deserialise(serialiser, propertyName, bytes, offset + CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]), length);
+    }
+
     protected Serialisation getVertexSerialiser() {
         return schema.getVertexSerialiser();
     }
@@ -503,10 +715,8 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
             throw new AccumuloElementConversionException(e.getMessage(), e);
         }
         try {
-            final Edge edge = new Edge(group, getVertexSerialiser().deserialise(result[0]),
+            return new Edge(group, getVertexSerialiser().deserialise(result[0]),
                     getVertexSerialiser().deserialise(result[1]), directed);
-            addPropertiesToElement(edge, key);
-            return edge;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Edge from key", e);
         }
@@ -542,6 +752,118 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 && !propertyName.equals(schema.getTimestampProperty());
     }
 
+    /**
+     * Reads the length of a serialised property, written as a compact long, from
+     * the provided bytes without copying them.
+     *
+     * @param bytes  the serialised properties
+     * @param offset the index of the first byte of the length
+     * @return the length of the serialised property
+     * @throws AccumuloElementConversionException if the length cannot be read
+     */
+    protected int readPropertyLength(final byte[] bytes, final int offset) throws AccumuloElementConversionException {
+        final long length;
+        try {
+            length = CompactRawSerialisationUtils.readLong(bytes, offset);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Exception reading length of property");
+        }
+        if (length > bytes.length) {
+            throw new AccumuloElementConversionException("Exception reading length of property");
+        }
+        return (int) length;
+    }
+
+    private void writeAbsentLength(final ByteArrayOutputStream out) throws AccumuloElementConversionException {
+        try {
+            CompactRawSerialisationUtils.write(ABSENT_PROPERTY_LENGTH, out);
+        } catch (final IOException e) {
+            throw new AccumuloElementConversionException("Failed to write the length of a removed property", e);
+        }
+    }
+
+    /**
+     * Gets this thread's reusable buffer for serialising properties. The buffer
+     * is reset before it is returned.
+     *
+     * @return an empty {@link ByteArrayOutputStream}
+     */
+    protected ByteArrayOutputStream getOutputBuffer() {
+        final ByteArrayOutputStream out = OUTPUT_BUFFER.get();
+        out.reset();
+        return out;
+    }
+
+    /**
+     * Copies the contents of a buffer from {@link #getOutputBuffer()} into a new
+     * byte array. Buffers that have grown larger than
+     * {@link #MAX_REUSABLE_BUFFER_SIZE} are discarded rather than being kept for
+     * reuse.
+     *
+     * @param out the buffer
+     * @return the contents of the buffer
+     */
+    protected byte[] toByteArray(final ByteArrayOutputStream out) {
+        final byte[] bytes = out.toByteArray();
+        if (bytes.length > MAX_REUSABLE_BUFFER_SIZE) {
+            OUTPUT_BUFFER.remove();
+        }
+        return bytes;
+    }
+
+    protected SchemaElementDefinition getElementDefinition(final String group) throws AccumuloElementConversionException {
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        if (null == elementDefinition) {
+            throw new AccumuloElementConversionException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        }
+        return elementDefinition;
+    }
+
+    // Gets the index of each serialised property within either the column qualifier
+    // or the value for a group, matching the order the properties are written in by
+    // buildColumnQualifier and getValueFromProperties.
+    private Map<String, Integer> getPositions(final String group, final SchemaElementDefinition elementDefinition,
+                                              final ConcurrentMap<String, Map<String, Integer>> positionsByGroup,
+                                              final boolean columnQualifier) {
+        Map<String, Integer> positions = positionsByGroup.get(group);
+        if (null == positions) {
+            positions = new HashMap<>();
+            final Iterable<String> propertyNames = columnQualifier ? elementDefinition.getGroupBy() : elementDefinition.getProperties();
+            for (final String propertyName : propertyNames) {
+                final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+                if (null != typeDefinition && (columnQualifier
+                        || (isStoredInValue(propertyName, elementDefinition) && null != typeDefinition.getSerialiser()))) {
+                    positions.put(propertyName, positions.size());
+                }
+            }
+            positionsByGroup.put(group, positions);
+        }
+        return positions;
+    }
+
+    // Skips over a number of serialised properties and returns the offset of the
+    // length of the next property, or -1 if there are fewer properties.
+    private int skipProperties(final byte[] bytes, final int numProps) throws AccumuloElementConversionException {
+        int offset = 0;
+        for (int i = 0; i < numProps; i++) {
+            if (offset >= bytes.length) {
+                return -1;
+            }
+            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+            offset += numBytesForLength + Math.max(0, readPropertyLength(bytes, offset));
+        }
+        return offset;
+    }
+
+    private Object deserialise(final Serialisation<?> serialiser, final String propertyName, final byte[] bytes,
+                               final int offset, final int length) throws AccumuloElementConversionException {
+        try {
+            return AbstractSerialisation.deserialise(serialiser, bytes, offset, length);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+        }
+    }
+
     private boolean writeBytes(final byte[] bytes, final ByteArrayOutputStream out) throws IOException {
         int length = bytes.length;
         if (length > 0) {
@@ -23,13 +23,24 @@ import gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.impl.AggregatorIterator;
 import gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
+import gaffer.accumulostore.key.impl.ElementPostTransformFilter;
 import gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
+import gaffer.accumulostore.key.impl.GroupCountIterator;
+import gaffer.accumulostore.key.impl.MaxEdgesPerVertexIterator;
+import gaffer.accumulostore.key.impl.ProjectionIterator;
+import gaffer.accumulostore.key.impl.ResultLimitIterator;
 import gaffer.accumulostore.key.impl.RowIDAggregator;
+import gaffer.accumulostore.key.impl.TopKIterator;
 import gaffer.accumulostore.key.impl.ValidatorFilter;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorSettingBuilder;
+import gaffer.data.element.function.ElementTransformer;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.TransformFunction;
+import gaffer.function.context.ConsumerProducerFunctionContext;
+import gaffer.operation.GetOperation;
+import gaffer.operation.impl.get.GetTopKElements;
 import gaffer.store.schema.Schema;
 import gaffer.store.schema.SchemaEdgeDefinition;
 import gaffer.store.schema.SchemaEntityDefinition;
@@ -60,6 +71,17 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 .view(view).keyConverter(store.getKeyPackage().getKeyConverter()).build();
     }
 
+    @Override
+    public IteratorSetting getElementPostTransformFilterIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException {
+        if (!store.getProperties().getEnableServerSideTransforms() || !hasPostTransformFilters(view)) {
+            return null;
+        }
+        return new IteratorSettingBuilder(AccumuloStoreConstants.TRANSFORM_PRIORITY,
+                AccumuloStoreConstants.ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_NAME, ElementPostTransformFilter.class).schema(store.getSchema())
+                .view(view).keyConverter(store.getKeyPackage().getKeyConverter()).build();
+    }
+
     @Override
     public IteratorSetting getAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException {
         return new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
@@ -106,6 +128,80 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
             .build();
     }
 
+    @Override
+    public IteratorSetting getResultLimitIteratorSetting(final GetOperation<?, ?> operation, final AccumuloStore store) {
+        if (null == operation.getResultLimit()
+                || (hasPostTransformFilters(operation.getView()) && !store.getProperties().getEnableServerSideTransforms())) {
+            return null;
+        }
+        return new IteratorSettingBuilder(AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_NAME, ResultLimitIterator.class)
+                .option(AccumuloStoreConstants.RESULT_LIMIT, operation.getResultLimit().toString())
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getMaxEdgesPerVertexIteratorSetting(final GetOperation<?, ?> operation,
+                                                              final AccumuloStore store) {
+        final String maxEdgesPerVertex = operation.getOption(AccumuloStoreConstants.OPERATION_MAX_EDGES_PER_VERTEX);
+        if (null == maxEdgesPerVertex) {
+            return null;
+        }
+        return new IteratorSettingBuilder(AccumuloStoreConstants.MAX_EDGES_PER_VERTEX_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.MAX_EDGES_PER_VERTEX_ITERATOR_NAME, MaxEdgesPerVertexIterator.class)
+                .option(AccumuloStoreConstants.MAX_EDGES_PER_VERTEX, maxEdgesPerVertex)
+                .schema(store.getSchema())
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getProjectionIteratorSetting(final View view, final AccumuloStore store) {
+        return getProjectionIteratorSetting(view, store, null);
+    }
+
+    @Override
+    public IteratorSetting getProjectionIteratorSetting(final View view, final AccumuloStore store,
+                                                        final String requiredProperty) {
+        if (null == view || ProjectionIterator.getRequiredProperties(view).isEmpty()) {
+            return null;
+        }
+        final IteratorSettingBuilder builder = new IteratorSettingBuilder(AccumuloStoreConstants.PROJECTION_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.PROJECTION_ITERATOR_NAME, ProjectionIterator.class)
+                .schema(store.getSchema())
+                .view(view)
+                .keyConverter(store.getKeyPackage().getKeyConverter());
+        if (null != requiredProperty) {
+            builder.option(AccumuloStoreConstants.PROJECTION_REQUIRED_PROPERTY, requiredProperty);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public IteratorSetting getGroupCountIteratorSetting(final AccumuloStore store) {
+        return new IteratorSettingBuilder(AccumuloStoreConstants.GROUP_COUNT_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.GROUP_COUNT_ITERATOR_NAME, GroupCountIterator.class)
+                .schema(store.getSchema())
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getTopKIteratorSetting(final GetTopKElements<?, ?> operation, final AccumuloStore store) {
+        final View view = operation.getView();
+        if (null == operation.getProperty() || transformsProperty(view, operation.getProperty())
+                || (hasPostTransformFilters(view) && !store.getProperties().getEnableServerSideTransforms())) {
+            return null;
+        }
+        return new IteratorSettingBuilder(AccumuloStoreConstants.TOP_K_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.TOP_K_ITERATOR_NAME, TopKIterator.class)
+                .option(AccumuloStoreConstants.TOP_K, Integer.toString(operation.getK()))
+                .option(AccumuloStoreConstants.TOP_K_PROPERTY, operation.getProperty())
+                .schema(store.getSchema())
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+    }
+
     public boolean queryTimeAggregatorRequired(final View view, final AccumuloStore store) {
         Schema schema = store.getSchema();
         String visibilityProp = schema.getVisibilityProperty();
@@ -136,6 +232,39 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return false;
     }
 
+    private boolean transformsProperty(final View view, final String property) {
+        if (null == view) {
+            return false;
+        }
+        for (final String group : view.getEdgeGroups()) {
+            if (transformsProperty(view.getEdge(group), property)) {
+                return true;
+            }
+        }
+        for (final String group : view.getEntityGroups()) {
+            if (transformsProperty(view.getEntity(group), property)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean transformsProperty(final ViewElementDefinition elementDef, final String property) {
+        final ElementTransformer transformer = null != elementDef ? elementDef.getTransformer() : null;
+        if (null != transformer) {
+            for (final ConsumerProducerFunctionContext<String, TransformFunction> function : transformer.getFunctions()) {
+                if (function.getProjection().contains(property)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasPostTransformFilters(final View view) {
+        return null != view && view.hasPostTransformFilters();
+    }
+
     @Override
     public IteratorSetting getIteratorSetting(final AccumuloStore store, final String iteratorName) throws IteratorSettingException {
         switch (iteratorName) {
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.data.element.ElementValueLoader;
+import gaffer.data.element.IdentifierType;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+
+/**
+ * An {@link ElementValueLoader} that deserialises a single property or identifier
+ * from an Accumulo {@link Key} and {@link Value} when it is requested. The position
+ * of the property in the key or value is found using the schema, so the other
+ * properties are skipped over without being deserialised.
+ * <p>
+ * If the key is null only the properties stored in the value can be loaded.
+ * <p>
+ * This loader is only intended to be used within an iterator, so the Accumulo key
+ * and value are not serialised with it.
+ */
+@SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "The loader is only used within an iterator and is never serialised")
+class CoreKeyElementValueLoader implements ElementValueLoader {
+    private static final long serialVersionUID = -5253463734539651283L;
+
+    private final transient AbstractCoreKeyAccumuloElementConverter converter;
+    private final String group;
+    private final transient Key key;
+    private final transient Value value;
+    private transient Element identifiers;
+
+    CoreKeyElementValueLoader(final AbstractCoreKeyAccumuloElementConverter converter, final String group,
+                              final Key key, final Value value) {
+        this.converter = converter;
+        this.group = group;
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        try {
+            return converter.getProperty(group, name, key, value);
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Failed to deserialise property " + name + " for group " + group, e);
+        }
+    }
+
+    @Override
+    public Object getIdentifier(final IdentifierType idType) {
+        if (null == identifiers) {
+            if (null == key) {
+                return null;
+            }
+            try {
+                identifiers = converter.getElementIdentifiersFromKey(key, null);
+            } catch (final AccumuloElementConversionException e) {
+                throw new IteratorException("Failed to deserialise identifiers for group " + group, e);
+            }
+        }
+        return identifiers.getIdentifier(idType);
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.exception.SerialisationException;
+import gaffer.function.AggregateFunction;
+import gaffer.function.context.PassThroughFunctionContext;
+import gaffer.function.simple.aggregate.LongAggregateFunction;
+import gaffer.function.simple.aggregate.LongMax;
+import gaffer.function.simple.aggregate.LongMin;
+import gaffer.function.simple.aggregate.LongProduct;
+import gaffer.function.simple.aggregate.LongSum;
+import gaffer.function.simple.aggregate.Max;
+import gaffer.function.simple.aggregate.Min;
+import gaffer.function.simple.aggregate.NumericAggregateFunction;
+import gaffer.function.simple.aggregate.Product;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import gaffer.store.schema.SchemaElementDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.accumulo.core.data.Value;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>RawLongValueAggregator</code> aggregates Accumulo {@link Value}s for a group
+ * directly from their serialised bytes, without deserialising them into
+ * {@link gaffer.data.element.Properties}.
+ * <p>
+ * It can only be used for groups where every property stored in the value is
+ * serialised with a {@link RawLongSerialiser} or {@link CompactRawLongSerialiser}
+ * and is aggregated by a single {@link LongAggregateFunction}, or by a
+ * {@link Sum}, {@link Min}, {@link Max} or {@link Product} that is not in int or
+ * double mode. Use {@link #create(AbstractCoreKeyAccumuloElementConverter, String)}
+ * to check whether a group is supported.
+ * <p>
+ * The aggregated value is identical to the value that would be created by
+ * aggregating the deserialised properties with the group's
+ * {@link gaffer.data.element.function.ElementAggregator} and serialising them
+ * with {@link AbstractCoreKeyAccumuloElementConverter#getValueFromProperties(String, gaffer.data.element.Properties)}.
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class RawLongValueAggregator {
+    private static final int RAW_LONG_LENGTH = 8;
+
+    private final AbstractCoreKeyAccumuloElementConverter converter;
+    private final String group;
+    private final LongAggregateFunction[] functions;
+    private final boolean[] compact;
+    private final long[] aggregates;
+    private final boolean[] hasAggregate;
+
+    private RawLongValueAggregator(final AbstractCoreKeyAccumuloElementConverter converter, final String group,
+                                   final LongAggregateFunction[] functions, final boolean[] compact) {
+        this.converter = converter;
+        this.group = group;
+        this.functions = functions;
+        this.compact = compact;
+        this.aggregates = new long[functions.length];
+        this.hasAggregate = new boolean[functions.length];
+    }
+
+    /**
+     * Creates a <code>RawLongValueAggregator</code> for a group if all of the
+     * properties stored in the group's values can be aggregated in their
+     * serialised form.
+     *
+     * @param converter the element converter used to write the values
+     * @param group     the group of the values to aggregate
+     * @return a <code>RawLongValueAggregator</code>, or null if the group is not supported
+     * @throws AccumuloElementConversionException if the group is not in the schema
+     */
+    public static RawLongValueAggregator create(final AbstractCoreKeyAccumuloElementConverter converter,
+                                                final String group) throws AccumuloElementConversionException {
+        final SchemaElementDefinition elementDefinition = converter.getElementDefinition(group);
+        final Map<String, LongAggregateFunction> functionsByProperty = getLongFunctions(elementDefinition);
+        if (null == functionsByProperty) {
+            return null;
+        }
+
+        final List<LongAggregateFunction> functions = new ArrayList<>();
+        final List<Boolean> compact = new ArrayList<>();
+        for (final String propertyName : elementDefinition.getProperties()) {
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+            if (null == typeDefinition || !converter.isStoredInValue(propertyName, elementDefinition)) {
+                continue;
+            }
+
+            final Serialisation<?> serialiser = typeDefinition.getSerialiser();
+            if (null == serialiser) {
+                continue;
+            }
+
+            final LongAggregateFunction function = functionsByProperty.get(propertyName);
+            if (null == function) {
+                return null;
+            }
+
+            if (CompactRawLongSerialiser.class.equals(serialiser.getClass())) {
+                compact.add(true);
+            } else if (RawLongSerialiser.class.equals(serialiser.getClass())) {
+                compact.add(false);
+            } else {
+                return null;
+            }
+            functions.add(function);
+        }
+
+        if (functions.isEmpty()) {
+            return null;
+        }
+
+        final boolean[] compactArray = new boolean[compact.size()];
+        for (int i = 0; i < compactArray.length; i++) {
+            compactArray[i] = compact.get(i);
+        }
+        return new RawLongValueAggregator(converter, group,
+                functions.toArray(new LongAggregateFunction[functions.size()]), compactArray);
+    }
+
+    /**
+     * Aggregates the provided values.
+     *
+     * @param values the serialised values, all of this aggregator's group
+     * @return the aggregated value
+     * @throws AccumuloElementConversionException if a value cannot be read
+     */
+    public Value reduce(final Iterator<Value> values) throws AccumuloElementConversionException {
+        for (int i = 0; i < functions.length; i++) {
+            aggregates[i] = 0;
+            hasAggregate[i] = false;
+        }
+
+        while (values.hasNext()) {
+            aggregate(values.next());
+        }
+
+        return getValue();
+    }
+
+    private void aggregate(final Value value) throws AccumuloElementConversionException {
+        if (null == value || 0 == value.getSize()) {
+            return;
+        }
+
+        final byte[] bytes = value.get();
+        int offset = 0;
+        for (int i = 0; i < functions.length && offset < bytes.length; i++) {
+            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+            final int length = converter.readPropertyLength(bytes, offset);
+            offset += numBytesForLength;
+            if (length > 0) {
+                final long input = compact[i] ? readCompactLong(bytes, offset) : readRawLong(bytes, offset, length);
+                if (hasAggregate[i]) {
+                    aggregates[i] = functions[i].merge(aggregates[i], input);
+                } else {
+                    aggregates[i] = input;
+                    hasAggregate[i] = true;
+                }
+                offset += length;
+            }
+        }
+    }
+
+    private Value getValue() throws AccumuloElementConversionException {
+        final ByteArrayOutputStream out = converter.getOutputBuffer();
+        boolean hasValue = false;
+        try {
+            for (int i = 0; i < functions.length; i++) {
+                if (hasAggregate[i]) {
+                    if (compact[i]) {
+                        final byte[] bytes = CompactRawSerialisationUtils.writeLong(aggregates[i]);
+                        CompactRawSerialisationUtils.write(bytes.length, out);
+                        out.write(bytes, 0, bytes.length);
+                    } else {
+                        CompactRawSerialisationUtils.write(RAW_LONG_LENGTH, out);
+                        writeRawLong(aggregates[i], out);
+                    }
+                    hasValue = true;
+                } else {
+                    CompactRawSerialisationUtils.write(0L, out);
+                }
+            }
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to write aggregated properties for group " + group, e);
+        }
+
+        if (!hasValue) {
+            return new Value();
+        }
+        return new Value(converter.toByteArray(out));
+    }
+
+    // Gets the long aggregate function for each property that is aggregated by a
+    // single function with a single selection, or null if any function cannot be
+    // applied to serialised longs.
+    private static Map<String, LongAggregateFunction> getLongFunctions(final SchemaElementDefinition elementDefinition) {
+        final Map<String, LongAggregateFunction> functionsByProperty = new HashMap<>();
+        for (final PassThroughFunctionContext<String, AggregateFunction> context
+                : elementDefinition.getAggregator().getFunctions()) {
+            final List<String> selection = context.getSelection();
+            final LongAggregateFunction function = toLongFunction(context.getFunction());
+            if (null == function || null == selection || 1 != selection.size()
+                    || functionsByProperty.containsKey(selection.get(0))) {
+                return null;
+            }
+            functionsByProperty.put(selection.get(0), function);
+        }
+        return functionsByProperty;
+    }
+
+    private static LongAggregateFunction toLongFunction(final AggregateFunction function) {
+        if (function instanceof LongAggregateFunction) {
+            return (LongAggregateFunction) function;
+        }
+
+        if (function instanceof NumericAggregateFunction) {
+            final NumericAggregateFunction.NumberType mode = ((NumericAggregateFunction) function).getMode();
+            if (NumericAggregateFunction.NumberType.AUTO == mode || NumericAggregateFunction.NumberType.LONG == mode) {
+                if (Sum.class.equals(function.getClass())) {
+                    return new LongSum();
+                }
+                if (Min.class.equals(function.getClass())) {
+                    return new LongMin();
+                }
+                if (Max.class.equals(function.getClass())) {
+                    return new LongMax();
+                }
+                if (Product.class.equals(function.getClass())) {
+                    return new LongProduct();
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private long readCompactLong(final byte[] bytes, final int offset) throws AccumuloElementConversionException {
+        try {
+            return CompactRawSerialisationUtils.readLong(bytes, offset);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to read a serialised long for group " + group, e);
+        }
+    }
+
+    private long readRawLong(final byte[] bytes, final int offset, final int length)
+            throws AccumuloElementConversionException {
+        if (RAW_LONG_LENGTH != length || offset + RAW_LONG_LENGTH > bytes.length) {
+            throw new AccumuloElementConversionException("Failed to read a serialised long for group " + group);
+        }
+        long result = 0;
+        for (int i = RAW_LONG_LENGTH - 1; i >= 0; i--) {
+            result = (result << 8) | ((long) bytes[offset + i] & 255L);
+        }
+        return result;
+    }
+
+    private static void writeRawLong(final long value, final ByteArrayOutputStream out) {
+        for (int i = 0; i < RAW_LONG_LENGTH; i++) {
+            out.write((int) (value >> (8 * i)) & 255);
+        }
+    }
+}
@@ -15,23 +15,23 @@
  */
 package gaffer.accumulostore.key.core.impl;
 
-import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
 import gaffer.data.element.Properties;
 import gaffer.data.element.function.ElementAggregator;
-import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
 public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
 
     @Override
     public Properties reduce(final String group, final Key key, final Iterator<Properties> iter) {
@@ -44,7 +44,7 @@ public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
             return properties;
         }
 
-        final ElementAggregator aggregator = schema.getElement(group).getAggregator();
+        final ElementAggregator aggregator = getAggregator(group);
         aggregator.aggregate(properties);
         while (iter.hasNext()) {
             aggregator.aggregate(iter.next());
@@ -56,6 +56,17 @@ public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
         return aggregatedProperties;
     }
 
+    private ElementAggregator getAggregator(final String group) {
+        ElementAggregator aggregator = aggregators.get(group);
+        if (null == aggregator) {
+            aggregator = schema.getElement(group).getAggregator();
+            aggregators.put(group, aggregator);
+        } else {
+            aggregator.initFunctions();
+        }
+        return aggregator;
+    }
+
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
@@ -70,12 +81,8 @@ public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
         }
 
         try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
-                    .newInstance(schema);
-        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException | IllegalArgumentException | SecurityException | ClassCastException e) {
             throw new AggregationException("Failed to load element converter from class name provided : "
                     + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
         }
@@ -21,9 +21,9 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.ByteUtils;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
-import gaffer.commonutil.CommonConstants;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
+import gaffer.data.element.LazyProperties;
 import gaffer.data.element.Properties;
-import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.ByteSequence;
@@ -37,7 +37,6 @@ import org.apache.accumulo.core.iterators.OptionDescriber;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import org.apache.accumulo.core.iterators.WrappingIterator;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
@@ -132,9 +131,7 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
                 throw new NoSuchElementException();
             }
 
-            final byte[] topColumnQualifier = source.getTopKey().getColumnQualifierData().getBackingArray();
-            final byte[] topColumnVisibility = source.getTopKey().getColumnVisibilityData().getBackingArray();
-            final long topTimestamp = source.getTopKey().getTimestamp();
+            final Key currentKey = new Key(source.getTopKey());
             final Value topValue = new Value(source.getTopValue());
 
             try {
@@ -145,23 +142,23 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
                 // this is what the in-built Combiner iterator does
             }
 
-            final Properties properties = new Properties();
+            // The properties are only deserialised when they are used by the reduce method
+            final Properties properties;
             try {
-                properties.putAll(elementConverter.getPropertiesFromColumnQualifier(group, topColumnQualifier));
-                properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, topColumnVisibility));
-                properties.putAll(elementConverter.getPropertiesFromValue(group, topValue));
-                properties.putAll(elementConverter.getPropertiesFromTimestamp(group, topTimestamp));
-                if (null == groupBy) {
-                    if (null != schemaGroupBy) {
-                        properties.remove(schemaGroupBy);
-                    }
-                } else {
-                    properties.remove(groupBy);
-                }
+                properties = elementConverter.getLazyProperties(group, currentKey, topValue);
             } catch (final AccumuloElementConversionException e) {
                 throw new RuntimeException(e);
             }
 
+            // Mark the group by properties as loaded without a value so they
+            // are never deserialised.
+            final Collection<String> heldConstant = null != groupBy ? groupBy : schemaGroupBy;
+            if (null != heldConstant) {
+                for (final String propertyName : heldConstant) {
+                    properties.put(propertyName, null);
+                }
+            }
+
             return properties;
         }
 
@@ -264,13 +261,13 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
 
             final Iterator<Properties> iter = new KeyValueIterator(
                     getSource(), group, elementConverter, schema, view);
-            final Properties aggregatedProperties = reduce(group, workKey, iter);
+            final Properties aggregatedProperties = loadProperties(group, reduce(group, workKey, iter));
 
             // Remove any group by properties from the aggregated properties
             // as they should be held constant.
             final LinkedHashSet<String> groupBy = view.getElementGroupBy(group);
+            final LinkedHashSet<String> schemaGroupBy = schema.getElement(group).getGroupBy();
             if (null == groupBy) {
-                final LinkedHashSet<String> schemaGroupBy = schema.getElement(group).getGroupBy();
                 if (null != schemaGroupBy) {
                     aggregatedProperties.remove(schemaGroupBy);
                 }
@@ -278,13 +275,21 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
                 aggregatedProperties.remove(groupBy);
             }
 
+            // If all the schema group by properties are held constant the column
+            // qualifier is unchanged, so its raw bytes are reused rather than
+            // being deserialised and serialised again.
+            final boolean isColumnQualifierUnchanged = null == groupBy || null == schemaGroupBy || groupBy.containsAll(schemaGroupBy);
             try {
-                final Properties properties = elementConverter.getPropertiesFromColumnQualifier(group, workKey.getColumnQualifierData().getBackingArray());
+                final Properties properties = isColumnQualifierUnchanged
+                        ? new Properties()
+                        : elementConverter.getPropertiesFromColumnQualifier(group, workKey.getColumnQualifierData().getBackingArray());
                 properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, workKey.getColumnVisibilityData().getBackingArray()));
                 properties.putAll(aggregatedProperties);
                 topValue = elementConverter.getValueFromProperties(group, properties);
                 topKey = new Key(workKey.getRowData().getBackingArray(), columnFamily,
-                        elementConverter.buildColumnQualifier(group, properties),
+                        isColumnQualifierUnchanged
+                                ? workKey.getColumnQualifierData().getBackingArray()
+                                : elementConverter.buildColumnQualifier(group, properties),
                         elementConverter.buildColumnVisibility(group, properties),
                         elementConverter.buildTimestamp(properties));
             } catch (AccumuloElementConversionException e) {
@@ -297,6 +302,20 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         }
     }
 
+    // Loads any properties that were not used by the reduce method, if the reduce
+    // method returned lazily loaded properties.
+    private Properties loadProperties(final String group, final Properties properties) {
+        if (!(properties instanceof LazyProperties)) {
+            return properties;
+        }
+
+        final Properties loadedProperties = new Properties();
+        for (final String propertyName : schema.getElement(group).getProperties()) {
+            loadedProperties.put(propertyName, properties.get(propertyName));
+        }
+        return loadedProperties;
+    }
+
     @Override
     public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
             throws IOException {
@@ -354,20 +373,12 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
         }
-        try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema", e);
-        }
+        schema = IteratorOptionsCache.getSchema(options);
 
         if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
         }
-        try {
-            view = View.fromJson(options.get(AccumuloStoreConstants.VIEW).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the view", e);
-        }
+        view = IteratorOptionsCache.getView(options);
 
         return true;
     }
@@ -112,18 +112,16 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
     }
 
     @Override
-    protected boolean doesKeyRepresentEntity(final byte[] row) {
+    public boolean doesKeyRepresentEntity(final byte[] row) {
         return row[row.length - 1] == ByteEntityPositions.ENTITY;
     }
 
     @Override
     protected Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            final Entity entity = new Entity(getGroupFromKey(key), getVertexSerialiser()
+            return new Entity(getGroupFromKey(key), getVertexSerialiser()
                     .deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(key.getRowData().getBackingArray(), 0,
                             (key.getRowData().getBackingArray().length) - 2))));
-            addPropertiesToElement(entity, key);
-            return entity;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
         }
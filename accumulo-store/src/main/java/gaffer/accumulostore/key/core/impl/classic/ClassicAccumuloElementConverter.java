@@ -101,7 +101,7 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
     }
 
     @Override
-    protected boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException {
+    public boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException {
         short numDelims = 0;
         for (final byte rowPart : row) {
             if (rowPart == ByteArrayEscapeUtils.DELIMITER) {
@@ -120,10 +120,8 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
     @Override
     protected Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            final Entity entity = new Entity(getGroupFromKey((key)), getVertexSerialiser()
+            return new Entity(getGroupFromKey((key)), getVertexSerialiser()
                     .deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray())));
-            addPropertiesToElement(entity, key);
-            return entity;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
         }
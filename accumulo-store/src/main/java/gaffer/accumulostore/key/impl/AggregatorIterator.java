@@ -16,15 +16,18 @@
 
 package gaffer.accumulostore.key.impl;
 
+import com.google.common.collect.Iterators;
 import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
+import gaffer.accumulostore.key.core.RawLongValueAggregator;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Properties;
 import gaffer.data.element.function.ElementAggregator;
-import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.store.schema.Schema;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
@@ -33,7 +36,7 @@ import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -42,10 +45,18 @@ import java.util.Map;
  * {@link Key} is the same (Except for the Timestamp column). The instructions
  * provided in the schema define how the aggregation takes place and
  * therefore what the resulting {@link Value} will be.
+ * <p>
+ * If all of the properties in a group's values are longs serialised with a raw
+ * long serialiser and aggregated with a long aggregate function, the values
+ * are aggregated directly from their serialised bytes using a
+ * {@link RawLongValueAggregator}, rather than being deserialised into
+ * {@link Properties}.
  */
 public class AggregatorIterator extends Combiner {
     private Schema schema;
     private AccumuloElementConverter elementConverter;
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+    private final Map<String, RawLongValueAggregator> rawLongAggregators = new HashMap<>();
 
     @Override
     public Value reduce(final Key key, final Iterator<Value> iter) {
@@ -62,19 +73,28 @@ public class AggregatorIterator extends Combiner {
             throw new AggregationException("Failed to recreate a graph element from a key and value", e);
         }
 
+        final RawLongValueAggregator rawLongAggregator = getRawLongAggregator(group);
+        if (null != rawLongAggregator) {
+            try {
+                return rawLongAggregator.reduce(Iterators.concat(Iterators.singletonIterator(value), iter));
+            } catch (final AccumuloElementConversionException e) {
+                throw new AggregationException("Failed to aggregate the serialised values for group " + group, e);
+            }
+        }
+
         Properties properties;
         final ElementAggregator aggregator;
         try {
-            properties = elementConverter.getPropertiesFromValue(group, value);
+            properties = elementConverter.getLazyPropertiesFromValue(group, value);
         } catch (final AccumuloElementConversionException e) {
             throw new AggregationException("Failed to recreate a graph element from a key and value", e);
         }
-        aggregator = schema.getElement(group).getAggregator();
+        aggregator = getAggregator(group);
         aggregator.aggregate(properties);
         while (iter.hasNext()) {
             value = iter.next();
             try {
-                properties = elementConverter.getPropertiesFromValue(group, value);
+                properties = elementConverter.getLazyPropertiesFromValue(group, value);
             } catch (final AccumuloElementConversionException e) {
                 throw new AggregationException("Failed to recreate a graph element from a key and value", e);
             }
@@ -89,6 +109,33 @@ public class AggregatorIterator extends Combiner {
         }
     }
 
+    private RawLongValueAggregator getRawLongAggregator(final String group) {
+        if (!(elementConverter instanceof AbstractCoreKeyAccumuloElementConverter)) {
+            return null;
+        }
+
+        if (!rawLongAggregators.containsKey(group)) {
+            try {
+                rawLongAggregators.put(group, RawLongValueAggregator.create(
+                        (AbstractCoreKeyAccumuloElementConverter) elementConverter, group));
+            } catch (final AccumuloElementConversionException e) {
+                throw new AggregationException("Failed to recreate a graph element from a key and value", e);
+            }
+        }
+        return rawLongAggregators.get(group);
+    }
+
+    private ElementAggregator getAggregator(final String group) {
+        ElementAggregator aggregator = aggregators.get(group);
+        if (null == aggregator) {
+            aggregator = schema.getElement(group).getAggregator();
+            aggregators.put(group, aggregator);
+        } else {
+            aggregator.initFunctions();
+        }
+        return aggregator;
+    }
+
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
@@ -108,19 +155,11 @@ public class AggregatorIterator extends Combiner {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
         }
 
-        try {
-            schema = Schema.fromJson(options.get(AccumuloStoreConstants.SCHEMA).getBytes(CommonConstants.UTF_8));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the schema from json", e);
-        }
+        schema = IteratorOptionsCache.getSchema(options);
 
         try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(Schema.class)
-                    .newInstance(schema);
-        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException | IllegalArgumentException | SecurityException | ClassCastException e) {
             throw new AggregationException("Failed to load element converter from class name provided : "
                     + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
         }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.AbstractElementFilter;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import java.util.Map;
+
+/**
+ * The ElementPostTransformFilter applies the transformer and post transform
+ * filter in the {@link View} on the tablet server, so elements that would be
+ * removed by the post transform filter are not sent to the client.
+ * <p>
+ * The transformed properties are only used to filter the elements, the returned
+ * values are unchanged. Transient properties are not part of the schema so they
+ * cannot be serialised into the value; the transformation is applied again
+ * by the client. The transform functions must be on the tablet server classpath.
+ */
+public class ElementPostTransformFilter extends AbstractElementFilter {
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "view is initialised in validateOptions method, which is always called first")
+    private View view;
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!super.validateOptions(options)) {
+            return false;
+        }
+        view = IteratorOptionsCache.getView(options);
+        return true;
+    }
+
+    @Override
+    protected boolean validate(final Element element) {
+        final ViewElementDefinition elementDef = view.getElement(element.getGroup());
+        if (null != elementDef && null != elementDef.getTransformer()) {
+            elementDef.getTransformer().transform(element);
+        }
+        return validator.validateTransform(element);
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(super.describeOptions()).addViewNamedOption().addSchemaNamedOption()
+                .addElementConverterClassNamedOption().setIteratorName(AccumuloStoreConstants.ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_NAME)
+                .setIteratorDescription("Only returns elements that pass the post transform filter in the given view").build();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
+import gaffer.data.GroupCounts;
+import gaffer.store.schema.Schema;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.apache.hadoop.io.WritableUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The GroupCountIterator counts the elements in each group rather than returning
+ * them. When it is seeked it reads every key in the range from the iterators
+ * below it and then returns a single key value pair, whose value contains the
+ * number of keys found for each group. The key is the last key read, so the
+ * pair is within the range and a scan that is resumed after it will not count
+ * any keys again.
+ * <p>
+ * A batch scanner seeks each tablet separately, so one partial count is returned
+ * for each tablet. These can be merged into a {@link GroupCounts} using
+ * {@link #addCounts(Value, GroupCounts)}.
+ */
+public class GroupCountIterator extends WrappingIterator implements OptionDescriber {
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "schema is initialised in validateOptions method, which is always called first")
+    private Schema schema;
+
+    private Key topKey;
+    private Value topValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+        topKey = null;
+        topValue = null;
+
+        final Map<String, Long> entityCounts = new HashMap<>();
+        final Map<String, Long> edgeCounts = new HashMap<>();
+        Key lastKey = null;
+        while (getSource().hasTop()) {
+            lastKey = getSource().getTopKey();
+            final String group = getGroup(lastKey);
+            increment(group, null != schema.getEntity(group) ? entityCounts : edgeCounts);
+            getSource().next();
+        }
+
+        if (null != lastKey) {
+            topKey = new Key(lastKey);
+            topValue = createValue(entityCounts, edgeCounts);
+        }
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topKey;
+    }
+
+    @Override
+    public void next() throws IOException {
+        topKey = null;
+        topValue = null;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return topKey;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return topValue;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final GroupCountIterator copy = new GroupCountIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.schema = schema;
+        return copy;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.GROUP_COUNT_ITERATOR_NAME,
+                "Returns the number of elements in each group instead of the elements")
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        schema = IteratorOptionsCache.getSchema(options);
+        try {
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException | IllegalArgumentException | SecurityException | ClassCastException e) {
+            throw new IteratorException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the partial counts in a value returned by this iterator to the
+     * provided {@link GroupCounts}.
+     *
+     * @param value       a value returned by this iterator
+     * @param groupCounts the counts to add to
+     * @throws IOException if the value cannot be read
+     */
+    public static void addCounts(final Value value, final GroupCounts groupCounts) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(value.get()));
+        while (in.available() > 0) {
+            final boolean isEntity = in.readBoolean();
+            final String group = WritableUtils.readString(in);
+            final long count = WritableUtils.readVLong(in);
+            if (isEntity) {
+                groupCounts.addEntityGroup(group, count);
+            } else {
+                groupCounts.addEdgeGroup(group, count);
+            }
+        }
+    }
+
+    private String getGroup(final Key key) {
+        try {
+            return elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Failed to get the group from an accumulo key", e);
+        }
+    }
+
+    private static void increment(final String group, final Map<String, Long> counts) {
+        final Long count = counts.get(group);
+        counts.put(group, null == count ? 1L : count + 1L);
+    }
+
+    private static Value createValue(final Map<String, Long> entityCounts, final Map<String, Long> edgeCounts)
+            throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        writeCounts(true, entityCounts, out);
+        writeCounts(false, edgeCounts, out);
+        out.flush();
+        return new Value(bytes.toByteArray());
+    }
+
+    private static void writeCounts(final boolean isEntity, final Map<String, Long> counts, final DataOutputStream out)
+            throws IOException {
+        for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+            out.writeBoolean(isEntity);
+            WritableUtils.writeString(out, entry.getKey());
+            WritableUtils.writeVLong(out, entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
+import gaffer.commonutil.ByteArrayEscapeUtils;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import org.apache.hadoop.io.Text;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The MaxEdgesPerVertexIterator returns at most the number of edges given by the
+ * {@link AccumuloStoreConstants#MAX_EDGES_PER_VERTEX} option for each vertex.
+ * Once a vertex has reached the maximum the rest of its rows are skipped by
+ * seeking past them, so the edges of very high degree vertices are not read.
+ * Entities are always returned.
+ * <p>
+ * The vertex of a row is the escaped vertex at the start of the row key, which
+ * every key package ends with a delimiter, so all of the rows of a vertex are
+ * contiguous in the table. Whether a key is an edge is decided from the layout of
+ * its row, without deserialising it.
+ * <p>
+ * If a scan is resumed part way through the rows of a vertex, for example after
+ * its iterators were torn down, the range starts with a full key. The edges of the
+ * vertex before that key are counted again, so the maximum still applies to the
+ * whole vertex. Only the edges in the same tablet can be counted, and a range that
+ * starts at a row part way through a vertex applies the maximum from that row.
+ */
+public class MaxEdgesPerVertexIterator extends WrappingIterator implements OptionDescriber {
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    private int maxEdgesPerVertex = Integer.MAX_VALUE;
+
+    private Range range;
+    private Collection<ByteSequence> columnFamilies;
+    private boolean inclusive;
+    private boolean finished;
+    private byte[] currentVertex;
+    private int count;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        this.range = range;
+        this.columnFamilies = columnFamilies;
+        this.inclusive = inclusive;
+        finished = false;
+        currentVertex = null;
+        count = 0;
+        countEdgesBeforeRange();
+        super.seek(range, columnFamilies, inclusive);
+        findTop();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return !finished && super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        super.next();
+        findTop();
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final MaxEdgesPerVertexIterator copy = new MaxEdgesPerVertexIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.maxEdgesPerVertex = maxEdgesPerVertex;
+        return copy;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.MAX_EDGES_PER_VERTEX_ITERATOR_NAME,
+                "Returns at most a given number of edges for each vertex")
+                .addNamedOption(AccumuloStoreConstants.MAX_EDGES_PER_VERTEX, "The maximum number of edges to return for each vertex")
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.MAX_EDGES_PER_VERTEX)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.MAX_EDGES_PER_VERTEX);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        try {
+            maxEdgesPerVertex = Integer.parseInt(options.get(AccumuloStoreConstants.MAX_EDGES_PER_VERTEX));
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("The " + AccumuloStoreConstants.MAX_EDGES_PER_VERTEX + " must be a number", e);
+        }
+        try {
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException | IllegalArgumentException | SecurityException | ClassCastException e) {
+            throw new IteratorException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+        return true;
+    }
+
+    // Moves to the next entity, or edge of a vertex that has not reached the maximum.
+    private void findTop() throws IOException {
+        while (hasTop()) {
+            final Key key = getSource().getTopKey();
+            final byte[] vertex = getVertex(key.getRowData().toArray());
+            if (!Arrays.equals(vertex, currentVertex)) {
+                currentVertex = vertex;
+                count = 0;
+            }
+
+            if (!isEdge(key)) {
+                return;
+            }
+            if (count < maxEdgesPerVertex) {
+                count++;
+                return;
+            }
+
+            skipVertex(vertex);
+        }
+    }
+
+    // If the range starts part way through a row, counts the edges of that
+    // vertex before the start of the range.
+    private void countEdgesBeforeRange() throws IOException {
+        final Key startKey = range.getStartKey();
+        if (null == startKey || 0 == startKey.getColumnFamilyData().length()) {
+            return;
+        }
+
+        final byte[] vertex = getVertex(startKey.getRowData().toArray());
+        super.seek(new Range(new Key(new Text(vertex)), true, startKey, !range.isStartKeyInclusive()),
+                columnFamilies, inclusive);
+        while (getSource().hasTop() && count < maxEdgesPerVertex) {
+            if (isEdge(getSource().getTopKey())) {
+                count++;
+            }
+            getSource().next();
+        }
+        currentVertex = vertex;
+    }
+
+    // Seeks to the first row after the rows of the vertex.
+    private void skipVertex(final byte[] vertex) throws IOException {
+        final byte[] nextRow = Arrays.copyOf(vertex, vertex.length + 1);
+        nextRow[vertex.length] = ByteArrayEscapeUtils.DELIMITER_PLUS_ONE;
+        final Key nextKey = new Key(new Text(nextRow));
+        if (range.afterEndKey(nextKey)) {
+            finished = true;
+            return;
+        }
+        super.seek(new Range(nextKey, true, range.getEndKey(), range.isEndKeyInclusive()), columnFamilies, inclusive);
+    }
+
+    private boolean isEdge(final Key key) {
+        try {
+            return !elementConverter.doesKeyRepresentEntity(key.getRowData().getBackingArray());
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Failed to read the row of an accumulo key", e);
+        }
+    }
+
+    private static byte[] getVertex(final byte[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (ByteArrayEscapeUtils.DELIMITER == row[i]) {
+                return Arrays.copyOf(row, i);
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.element.function.ElementTransformer;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.FilterFunction;
+import gaffer.function.TransformFunction;
+import gaffer.function.context.ConsumerFunctionContext;
+import gaffer.function.context.ConsumerProducerFunctionContext;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The ProjectionIterator removes the properties that are not required by the
+ * {@link View} from each {@link Value} before it is returned by the tablet server,
+ * so the bytes of large properties that will not be used are not sent to the client.
+ * <p>
+ * The properties kept for a group are those given by
+ * {@link ViewElementDefinition#getProperties()}, along with any properties selected
+ * by the transformer or post transform filter as these are applied after the
+ * elements have been returned. If the {@link AccumuloStoreConstants#PROJECTION_REQUIRED_PROPERTY}
+ * option is set, that property is also kept for every group, so iterators after
+ * this one can use it. Groups without any properties set in the view are returned
+ * unchanged.
+ * <p>
+ * Only the value is changed, the column qualifier is left as it is because
+ * rewriting keys would change their sort order.
+ */
+public class ProjectionIterator extends WrappingIterator implements OptionDescriber {
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    private Map<String, Set<String>> propertiesByGroup = new HashMap<>();
+    private Value topValue;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        topValue = null;
+        super.seek(range, columnFamilies, inclusive);
+    }
+
+    @Override
+    public void next() throws IOException {
+        topValue = null;
+        super.next();
+    }
+
+    @Override
+    public Value getTopValue() {
+        if (null == topValue) {
+            topValue = project(getTopKey(), super.getTopValue());
+        }
+        return topValue;
+    }
+
+    private Value project(final Key key, final Value value) {
+        if (propertiesByGroup.isEmpty()) {
+            return value;
+        }
+        try {
+            final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+            final Set<String> properties = propertiesByGroup.get(group);
+            return null != properties ? elementConverter.getProjectedValue(group, value, properties) : value;
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Failed to remove properties from an accumulo value", e);
+        }
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final ProjectionIterator copy = new ProjectionIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.propertiesByGroup = propertiesByGroup;
+        return copy;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.PROJECTION_ITERATOR_NAME,
+                "Only returns the properties required by the given view")
+                .addViewNamedOption()
+                .addNamedOption(AccumuloStoreConstants.PROJECTION_REQUIRED_PROPERTY,
+                        "Optional property to keep for every group that has its properties set")
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        propertiesByGroup = getRequiredProperties(IteratorOptionsCache.getView(options),
+                options.get(AccumuloStoreConstants.PROJECTION_REQUIRED_PROPERTY));
+        try {
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException | IllegalArgumentException | SecurityException | ClassCastException e) {
+            throw new IteratorException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the properties that need to be returned for each group in the view
+     * that has its properties set. Groups that return all of their properties
+     * are not included.
+     *
+     * @param view the view
+     * @return the names of the properties to return for each group
+     */
+    public static Map<String, Set<String>> getRequiredProperties(final View view) {
+        return getRequiredProperties(view, null);
+    }
+
+    /**
+     * Gets the properties that need to be returned for each group in the view
+     * that has its properties set, including the required property. Groups that
+     * return all of their properties are not included.
+     *
+     * @param view             the view
+     * @param requiredProperty a property to return for every group, or null
+     * @return the names of the properties to return for each group
+     */
+    public static Map<String, Set<String>> getRequiredProperties(final View view, final String requiredProperty) {
+        final Map<String, Set<String>> propertiesByGroup = new HashMap<>();
+        for (final String group : view.getEdgeGroups()) {
+            addRequiredProperties(group, view.getEdge(group), requiredProperty, propertiesByGroup);
+        }
+        for (final String group : view.getEntityGroups()) {
+            addRequiredProperties(group, view.getEntity(group), requiredProperty, propertiesByGroup);
+        }
+        return propertiesByGroup;
+    }
+
+    private static void addRequiredProperties(final String group, final ViewElementDefinition elementDef,
+                                              final String requiredProperty,
+                                              final Map<String, Set<String>> propertiesByGroup) {
+        if (null == elementDef || null == elementDef.getProperties()) {
+            return;
+        }
+
+        final Set<String> properties = new HashSet<>(elementDef.getProperties());
+        if (null != requiredProperty) {
+            properties.add(requiredProperty);
+        }
+        final ElementTransformer transformer = elementDef.getTransformer();
+        if (null != transformer) {
+            for (final ConsumerProducerFunctionContext<String, TransformFunction> function : transformer.getFunctions()) {
+                properties.addAll(function.getSelection());
+            }
+        }
+        final ElementFilter postTransformFilter = elementDef.getPostTransformFilter();
+        if (null != postTransformFilter) {
+            for (final ConsumerFunctionContext<String, FilterFunction> function : postTransformFilter.getFunctions()) {
+                properties.addAll(function.getSelection());
+            }
+        }
+        propertiesByGroup.put(group, properties);
+    }
+}
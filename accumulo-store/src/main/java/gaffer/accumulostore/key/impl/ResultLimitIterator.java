@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The ResultLimitIterator stops a scan once it has returned the number of
+ * entries given by the {@link AccumuloStoreConstants#RESULT_LIMIT} option, so a
+ * tablet server does not read and send results that the client will discard.
+ * <p>
+ * Each instance of the iterator counts separately, so a batch scan over several
+ * tablets, or a scan that is torn down and resumed, may return more entries than
+ * the limit in total but never fewer than are available up to the limit. The
+ * exact limit is still applied by the client.
+ */
+public class ResultLimitIterator extends WrappingIterator implements OptionDescriber {
+    private long resultLimit = Long.MAX_VALUE;
+    private long count;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public boolean hasTop() {
+        return count < resultLimit && super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        super.next();
+        count++;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final ResultLimitIterator copy = new ResultLimitIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.resultLimit = resultLimit;
+        return copy;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_NAME,
+                "Stops a scan once it has returned a given number of entries")
+                .addNamedOption(AccumuloStoreConstants.RESULT_LIMIT, "The maximum number of entries to return")
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.RESULT_LIMIT)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.RESULT_LIMIT);
+        }
+        try {
+            resultLimit = Long.parseLong(options.get(AccumuloStoreConstants.RESULT_LIMIT));
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("The " + AccumuloStoreConstants.RESULT_LIMIT + " must be a number", e);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.impl;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.IteratorException;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
+import gaffer.data.TopKElements;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The TopKIterator only returns the k key value pairs with the highest values of
+ * a property. When it is seeked it reads every key in the range from the iterators
+ * below it, keeping the top k pairs in a bounded min heap, and then returns them
+ * in key order. Pairs without a value for the property are not returned and only
+ * one pair is kept for each element, so an edge stored under both of its vertices
+ * only takes up one of the k places.
+ * <p>
+ * The iterator is seeked separately for each range in each tablet, so the top k
+ * pairs are returned for each of these and they need to be merged by the client,
+ * for example using {@link TopKElements}. If a scan is resumed part way through a
+ * range the top k of the remaining keys are returned, which still contains every
+ * pair from the remaining keys that is in the top k for the whole range.
+ */
+public class TopKIterator extends WrappingIterator implements OptionDescriber {
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in validateOptions method, which is always called first")
+    private AccumuloElementConverter elementConverter;
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "property is initialised in validateOptions method, which is always called first")
+    private String property;
+    private int k;
+
+    private Iterator<Map.Entry<Key, Value>> topEntries;
+    private Map.Entry<Key, Value> topEntry;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        super.seek(range, columnFamilies, inclusive);
+
+        final PriorityQueue<RankedEntry> heap = new PriorityQueue<>(Math.min(k, 1024) + 1, new RankComparator());
+        final Set<Key> heldElements = new HashSet<>();
+        while (getSource().hasTop()) {
+            final Key key = getSource().getTopKey();
+            final Value value = getSource().getTopValue();
+            final Object rank = getRank(key, value);
+            if (null != rank && (heap.size() < k || TopKElements.compareValues(rank, heap.peek().rank) > 0)) {
+                final Key element = getElementIdentity(key);
+                if (!heldElements.contains(element)) {
+                    if (heap.size() == k) {
+                        heldElements.remove(heap.poll().element);
+                    }
+                    heap.add(new RankedEntry(new Key(key), new Value(value), rank, element));
+                    heldElements.add(element);
+                }
+            }
+            getSource().next();
+        }
+
+        final TreeMap<Key, Value> sortedEntries = new TreeMap<>();
+        for (final RankedEntry entry : heap) {
+            sortedEntries.put(entry.key, entry.value);
+        }
+        topEntries = sortedEntries.entrySet().iterator();
+        next();
+    }
+
+    @Override
+    public boolean hasTop() {
+        return null != topEntry;
+    }
+
+    @Override
+    public void next() throws IOException {
+        topEntry = null != topEntries && topEntries.hasNext() ? topEntries.next() : null;
+    }
+
+    @Override
+    public Key getTopKey() {
+        return null != topEntry ? topEntry.getKey() : null;
+    }
+
+    @Override
+    public Value getTopValue() {
+        return null != topEntry ? topEntry.getValue() : null;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final TopKIterator copy = new TopKIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.elementConverter = elementConverter;
+        copy.property = property;
+        copy.k = k;
+        return copy;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.TOP_K_ITERATOR_NAME,
+                "Only returns the k elements with the highest values of a property")
+                .addNamedOption(AccumuloStoreConstants.TOP_K, "The maximum number of elements to return")
+                .addNamedOption(AccumuloStoreConstants.TOP_K_PROPERTY, "The name of the property to rank the elements by")
+                .addSchemaNamedOption()
+                .addElementConverterClassNamedOption()
+                .build();
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(AccumuloStoreConstants.SCHEMA)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.SCHEMA);
+        }
+        if (!options.containsKey(AccumuloStoreConstants.TOP_K_PROPERTY)) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.TOP_K_PROPERTY);
+        }
+        try {
+            k = Integer.parseInt(options.get(AccumuloStoreConstants.TOP_K));
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.TOP_K + " as an integer", e);
+        }
+        if (k < 1) {
+            throw new IllegalArgumentException(AccumuloStoreConstants.TOP_K + " must be at least 1 but was " + k);
+        }
+        property = options.get(AccumuloStoreConstants.TOP_K_PROPERTY);
+        try {
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException | IllegalArgumentException | SecurityException | ClassCastException e) {
+            throw new IteratorException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
+        }
+        return true;
+    }
+
+    private Object getRank(final Key key, final Value value) {
+        try {
+            final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+            return elementConverter.getLazyProperties(group, key, value).get(property);
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Failed to get the " + property + " property from an accumulo key value pair", e);
+        }
+    }
+
+    // Both keys of an edge give the same identity, without deserialising the element
+    private Key getElementIdentity(final Key key) {
+        try {
+            return new Key(elementConverter.getSerialisedIdentifiersFromKey(key),
+                    key.getColumnFamilyData().toArray(), key.getColumnQualifierData().toArray(),
+                    key.getColumnVisibilityData().toArray(), key.getTimestamp());
+        } catch (final AccumuloElementConversionException e) {
+            throw new IteratorException("Failed to get the identifiers of an element from an accumulo key", e);
+        }
+    }
+
+    private static final class RankedEntry {
+        private final Key key;
+        private final Value value;
+        private final Object rank;
+        private final Key element;
+
+        private RankedEntry(final Key key, final Value value, final Object rank, final Key element) {
+            this.key = key;
+            this.value = value;
+            this.rank = rank;
+            this.element = element;
+        }
+    }
+
+    private static final class RankComparator implements Comparator<RankedEntry>, Serializable {
+        private static final long serialVersionUID = 4468214405934316290L;
+
+        @Override
+        public int compare(final RankedEntry entry1, final RankedEntry entry2) {
+            return TopKElements.compareValues(entry1.rank, entry2.rank);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.IteratorSettingFactory;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.operation.impl.CountElements;
+import gaffer.accumulostore.retriever.RetrieverException;
+import gaffer.accumulostore.retriever.impl.AccumuloGroupCountRetriever;
+import gaffer.data.GroupCounts;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+import gaffer.user.User;
+
+public class CountElementsHandler implements OperationHandler<CountElements, GroupCounts> {
+    @Override
+    public GroupCounts doOperation(final CountElements operation, final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public GroupCounts doOperation(final CountElements operation, final User user, final AccumuloStore store)
+            throws OperationException {
+        if (operation.getView().hasPostTransformFilters() && !store.getProperties().getEnableServerSideTransforms()) {
+            throw new OperationException("Elements can only be counted with post transform filters if server side transforms are enabled");
+        }
+
+        // The elements are counted as a GetAllElements operation would return them
+        final GetAllElements<Element> getAllElements = new GetAllElements<>(operation.getView());
+        getAllElements.setOptions(operation.getOptions());
+        getAllElements.setIncludeEntities(operation.isIncludeEntities());
+        getAllElements.setIncludeEdges(operation.getIncludeEdges());
+
+        final IteratorSettingFactory iteratorFactory = store.getKeyPackage().getIteratorFactory();
+        try {
+            return new AccumuloGroupCountRetriever(store, getAllElements, user, iteratorFactory.getElementPropertyRangeQueryFilter(getAllElements),
+                    iteratorFactory.getElementPreAggregationFilterIteratorSetting(getAllElements.getView(), store),
+                    iteratorFactory.getElementPostAggregationFilterIteratorSetting(getAllElements.getView(), store),
+                    iteratorFactory.getElementPostTransformFilterIteratorSetting(getAllElements.getView(), store),
+                    iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(getAllElements),
+                    iteratorFactory.getQueryTimeAggregatorIteratorSetting(getAllElements.getView(), store),
+                    iteratorFactory.getMaxEdgesPerVertexIteratorSetting(getAllElements, store),
+                    iteratorFactory.getGroupCountIteratorSetting(store)).getGroupCounts();
+        } catch (IteratorSettingException | RetrieverException e) {
+            throw new OperationException("Failed to count elements", e);
+        }
+    }
+}
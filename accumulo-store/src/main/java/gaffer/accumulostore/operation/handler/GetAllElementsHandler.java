@@ -43,8 +43,12 @@ public class GetAllElementsHandler implements OperationHandler<GetAllElements<El
             return new AccumuloAllElementsRetriever(store, operation, user, iteratorFactory.getElementPropertyRangeQueryFilter(operation),
                     iteratorFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                     iteratorFactory.getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getElementPostTransformFilterIteratorSetting(operation.getView(), store),
                     iteratorFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
-                    iteratorFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
+                    iteratorFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getProjectionIteratorSetting(operation.getView(), store),
+                    iteratorFactory.getMaxEdgesPerVertexIteratorSetting(operation, store),
+                    iteratorFactory.getResultLimitIteratorSetting(operation, store));
         } catch (IteratorSettingException | StoreException e) {
             throw new OperationException("Failed to get elements", e);
         }
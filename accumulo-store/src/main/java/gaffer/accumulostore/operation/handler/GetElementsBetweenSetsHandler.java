@@ -44,7 +44,9 @@ public class GetElementsBetweenSetsHandler
             throws OperationException {
         try {
             return new AccumuloIDBetweenSetsRetriever(store, operation, user,
-                    store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
+                    store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                    store.getKeyPackage().getIteratorFactory().getProjectionIteratorSetting(operation.getView(), store),
+                    store.getKeyPackage().getIteratorFactory().getElementPostTransformFilterIteratorSetting(operation.getView(), store));
         } catch (IteratorSettingException | StoreException e) {
             throw new OperationException("Failed to get elements", e);
         }
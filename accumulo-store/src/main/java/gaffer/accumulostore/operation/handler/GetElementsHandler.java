@@ -47,8 +47,12 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
             return new AccumuloSingleIDRetriever(store, operation, user,
                     itrFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                     itrFactory.getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                    itrFactory.getElementPostTransformFilterIteratorSetting(operation.getView(), store),
                     itrFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
-                    itrFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
+                    itrFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                    itrFactory.getProjectionIteratorSetting(operation.getView(), store),
+                    itrFactory.getMaxEdgesPerVertexIteratorSetting(operation, store),
+                    itrFactory.getResultLimitIteratorSetting(operation, store));
         } catch (IteratorSettingException | StoreException e) {
             throw new OperationException("Failed to get elements", e);
         }
@@ -50,9 +50,13 @@ public class GetElementsInRangesHandler
             return new AccumuloRangeIDRetriever(store, operation, user,
                     itrFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store),
                     itrFactory.getElementPostAggregationFilterIteratorSetting(operation.getView(), store),
+                    itrFactory.getElementPostTransformFilterIteratorSetting(operation.getView(), store),
                     itrFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
                     itrFactory.getElementPropertyRangeQueryFilter(operation),
-                    itrFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
+                    itrFactory.getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                    itrFactory.getProjectionIteratorSetting(operation.getView(), store),
+                    itrFactory.getMaxEdgesPerVertexIteratorSetting(operation, store),
+                    itrFactory.getResultLimitIteratorSetting(operation, store));
         } catch (IteratorSettingException | StoreException e) {
             throw new OperationException("Failed to get elements", e);
         }
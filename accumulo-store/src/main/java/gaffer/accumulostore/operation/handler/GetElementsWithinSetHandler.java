@@ -43,7 +43,9 @@ public class GetElementsWithinSetHandler implements OperationHandler<GetElements
             throws OperationException {
         try {
             return new AccumuloIDWithinSetRetriever(store, operation, user,
-                    store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
+                    store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store),
+                    store.getKeyPackage().getIteratorFactory().getProjectionIteratorSetting(operation.getView(), store),
+                    store.getKeyPackage().getIteratorFactory().getElementPostTransformFilterIteratorSetting(operation.getView(), store));
         } catch (IteratorSettingException | StoreException e) {
             throw new OperationException("Failed to get elements", e);
         }
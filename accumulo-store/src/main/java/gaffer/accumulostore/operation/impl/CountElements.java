@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.impl;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.GroupCounts;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.AbstractGetOperation;
+import gaffer.operation.data.ElementSeed;
+
+/**
+ * A <code>CountElements</code> operation counts all of the elements in the store
+ * that are compatible with the provided view, returning the number of elements
+ * in each group as {@link GroupCounts}.
+ * <p>
+ * Unlike a {@link gaffer.operation.impl.CountGroups} operation the elements are
+ * counted by the tablet servers, after the view's filters have been applied, so
+ * only the counts for each tablet are sent to the client. Post transform filters
+ * can only be applied if server side transforms are enabled in the store properties.
+ *
+ * @see CountElements.Builder
+ */
+public class CountElements extends AbstractGetOperation<ElementSeed, GroupCounts> {
+    public CountElements() {
+        super();
+    }
+
+    public CountElements(final View view) {
+        super(view);
+    }
+
+    @Override
+    public SeedMatchingType getSeedMatching() {
+        return SeedMatchingType.EQUAL;
+    }
+
+    @Override
+    public void setSeeds(final Iterable<ElementSeed> seeds) {
+        if (null != seeds) {
+            throw new IllegalArgumentException("This operation does not allow seeds to be set");
+        }
+    }
+
+    @Override
+    public void setSeeds(final CloseableIterable<ElementSeed> seeds) {
+        if (null != seeds) {
+            throw new IllegalArgumentException("This operation does not allow seeds to be set");
+        }
+    }
+
+    @Override
+    public void setInput(final CloseableIterable<ElementSeed> input) {
+        if (null != input) {
+            throw new IllegalArgumentException("This operation does not allow seeds to be set");
+        }
+    }
+
+    @Override
+    public CloseableIterable<ElementSeed> getSeeds() {
+        return null;
+    }
+
+    @Override
+    public CloseableIterable<ElementSeed> getInput() {
+        return null;
+    }
+
+    @Override
+    public IncludeIncomingOutgoingType getIncludeIncomingOutGoing() {
+        return IncludeIncomingOutgoingType.OUTGOING;
+    }
+
+    @Override
+    public void setIncludeIncomingOutGoing(final IncludeIncomingOutgoingType includeIncomingOutGoing) {
+        if (!IncludeIncomingOutgoingType.OUTGOING.equals(includeIncomingOutGoing)) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " does not support any direction apart from outgoing edges");
+        }
+    }
+
+    public abstract static class BaseBuilder<CHILD_CLASS extends BaseBuilder<?>>
+            extends AbstractGetOperation.BaseBuilder<CountElements, ElementSeed, GroupCounts, CHILD_CLASS> {
+        public BaseBuilder() {
+            super(new CountElements());
+        }
+    }
+
+    public static final class Builder extends BaseBuilder<Builder> {
+        @Override
+        protected Builder self() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.impl;
+
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetElements;
+
+/**
+ * Retrieves the {@link gaffer.data.element.Element}s in the neighbourhood of the
+ * given {@link EntitySeed}s, by expanding the seeds breadth first for the given
+ * number of hops.
+ * <p>
+ * The first hop returns the elements related to the seeds, as a
+ * {@link gaffer.operation.impl.get.GetRelatedElements} would. Each following hop
+ * returns the elements related to the vertices at the other ends of the edges
+ * returned by the previous hop that have not already been visited. The view,
+ * edge, entity and direction settings apply to every hop, so the view's filters
+ * also decide which edges are followed.
+ * <p>
+ * The number of vertices expanded in each hop can be limited with
+ * maxVerticesPerHop. Vertices found once the limit has been reached are not
+ * expanded, although the edges to them are still returned.
+ *
+ * @param <ELEMENT_TYPE> the element return type
+ */
+public class GetKHopNeighbourhood<ELEMENT_TYPE extends Element> extends GetElements<EntitySeed, ELEMENT_TYPE> {
+    public static final int DEFAULT_HOPS = 1;
+
+    private int hops = DEFAULT_HOPS;
+    private Integer maxVerticesPerHop;
+
+    public GetKHopNeighbourhood() {
+    }
+
+    public GetKHopNeighbourhood(final Iterable<EntitySeed> seeds) {
+        super(seeds);
+    }
+
+    public GetKHopNeighbourhood(final View view) {
+        super(view);
+    }
+
+    public GetKHopNeighbourhood(final View view, final Iterable<EntitySeed> seeds) {
+        super(view, seeds);
+    }
+
+    public GetKHopNeighbourhood(final GetOperation<EntitySeed, ?> operation) {
+        super(operation);
+    }
+
+    /**
+     * @return the number of hops to expand the seeds by
+     */
+    public int getHops() {
+        return hops;
+    }
+
+    /**
+     * @param hops the number of hops to expand the seeds by, which must be at least 1
+     */
+    public void setHops(final int hops) {
+        if (hops < 1) {
+            throw new IllegalArgumentException("hops must be at least 1");
+        }
+        this.hops = hops;
+    }
+
+    /**
+     * @return the maximum number of new vertices to expand in each hop, or null if there is no limit
+     */
+    public Integer getMaxVerticesPerHop() {
+        return maxVerticesPerHop;
+    }
+
+    /**
+     * @param maxVerticesPerHop the maximum number of new vertices to expand in each hop, or null if there is no limit
+     */
+    public void setMaxVerticesPerHop(final Integer maxVerticesPerHop) {
+        this.maxVerticesPerHop = maxVerticesPerHop;
+    }
+
+    public abstract static class BaseBuilder<ELEMENT_TYPE extends Element, CHILD_CLASS extends BaseBuilder<ELEMENT_TYPE, ?>>
+            extends GetElements.BaseBuilder<GetKHopNeighbourhood<ELEMENT_TYPE>, EntitySeed, ELEMENT_TYPE, CHILD_CLASS> {
+        public BaseBuilder() {
+            super(new GetKHopNeighbourhood<ELEMENT_TYPE>());
+        }
+
+        public CHILD_CLASS hops(final int hops) {
+            op.setHops(hops);
+            return self();
+        }
+
+        public CHILD_CLASS maxVerticesPerHop(final Integer maxVerticesPerHop) {
+            op.setMaxVerticesPerHop(maxVerticesPerHop);
+            return self();
+        }
+    }
+
+    public static final class Builder<ELEMENT_TYPE extends Element>
+            extends BaseBuilder<ELEMENT_TYPE, Builder<ELEMENT_TYPE>> {
+
+        @Override
+        protected Builder<ELEMENT_TYPE> self() {
+            return this;
+        }
+    }
+}
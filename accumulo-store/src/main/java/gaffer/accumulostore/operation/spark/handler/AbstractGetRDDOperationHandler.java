@@ -18,6 +18,7 @@ package gaffer.accumulostore.operation.spark.handler;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
+import gaffer.accumulostore.utils.RangePlanner;
 import gaffer.commonutil.CommonConstants;
 import gaffer.data.element.Element;
 import gaffer.operation.GetOperation;
@@ -83,7 +84,8 @@ public abstract class AbstractGetRDDOperationHandler<OUTPUT, OP_TYPE extends Get
                 throw new OperationException("Failed to add ranges to configuration", e);
             }
         }
-        InputConfigurator.setRanges(AccumuloInputFormat.class, conf, ranges);
+        // Sort and merge the ranges, so adjacent seeds are read together
+        InputConfigurator.setRanges(AccumuloInputFormat.class, conf, RangePlanner.mergeRanges(ranges));
     }
 
     protected Configuration getConfiguration(final GetOperation<?, ?> operation) throws OperationException {
@@ -20,6 +20,7 @@ import com.google.common.collect.Iterators;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
+import gaffer.accumulostore.utils.RangePlanner;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.commonutil.iterable.EmptyCloseableIterator;
 import gaffer.data.element.Element;
@@ -32,18 +33,43 @@ import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? extends SEED_TYPE, ?>, SEED_TYPE>
         extends AccumuloRetriever<OP_TYPE> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloItemRetriever.class);
 
+    /**
+     * The number of seeds in the first window of seeds that have their ranges
+     * planned together.
+     */
+    static final int INITIAL_SEED_WINDOW = 1000;
+
+    /**
+     * The number of seconds a prefetch thread waits for more work before it stops.
+     */
+    static final long PREFETCH_THREAD_KEEP_ALIVE_SECONDS = 10;
+
     private final Iterable<? extends SEED_TYPE> ids;
 
     protected AccumuloItemRetriever(final AccumuloStore store, final OP_TYPE operation,
@@ -61,7 +87,12 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
         }
 
         try {
-            iterator = new ElementIterator(idIterator);
+            final int prefetchDepth = store.getProperties().getPrefetchDepthForBatchScanner();
+            if (prefetchDepth > 0) {
+                iterator = new PrefetchingElementIterator(idIterator, prefetchDepth);
+            } else {
+                iterator = new ElementIterator(idIterator);
+            }
         } catch (final RetrieverException e) {
             LOGGER.error(e.getMessage() + " returning empty iterator", e);
             return new EmptyCloseableIterator<>();
@@ -72,25 +103,42 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
     protected abstract void addToRanges(final SEED_TYPE seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * Reads entries from the scanner iterator until one is converted into an
+     * element that passes the post transformation filter.
+     *
+     * @param scannerIterator the iterator over the scanner entries
+     * @return the next element, or null if the scanner iterator is exhausted
+     */
+    protected Element getNextElement(final Iterator<Map.Entry<Key, Value>> scannerIterator) {
+        while (scannerIterator.hasNext()) {
+            final Map.Entry<Key, Value> entry = scannerIterator.next();
+            final Element element;
+            try {
+                element = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
+                        operation.getOptions());
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
+                        e);
+                continue;
+            }
+            doTransformation(element);
+            if (doPostFilter(element)) {
+                return element;
+            }
+        }
+        return null;
+    }
+
     protected class ElementIterator implements CloseableIterator<Element> {
-        private final Iterator<? extends SEED_TYPE> idsIterator;
-        private int count;
+        private final RangeBatchIterator rangeBatches;
         private BatchScanner scanner;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
         private Element nextElm;
 
         protected ElementIterator(final Iterator<? extends SEED_TYPE> idIterator) throws RetrieverException {
-            idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            rangeBatches = new RangeBatchIterator(idIterator);
+            final Set<Range> ranges = rangeBatches.hasNext() ? rangeBatches.next() : new HashSet<Range>();
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
@@ -108,38 +156,16 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             if (null != nextElm) {
                 return true;
             }
-            while (scannerIterator.hasNext()) {
-                final Map.Entry<Key, Value> entry = scannerIterator.next();
-                try {
-                    nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
-                            operation.getOptions());
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
-                            e);
-                    continue;
-                }
-                doTransformation(nextElm);
-                if (doPostFilter(nextElm)) {
-                    return true;
-                } else {
-                    nextElm = null;
-                }
+            nextElm = getNextElement(scannerIterator);
+            if (null != nextElm) {
+                return true;
             }
             // If current scanner is spent then go back to the iterator
             // through the provided entities, and see if there are more.
             // If so create the next scanner, if there are no more entities
             // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
+            while (rangeBatches.hasNext() && !scannerIterator.hasNext()) {
+                final Set<Range> ranges = rangeBatches.next();
                 scanner.close();
                 try {
                     scanner = getScanner(ranges);
@@ -181,4 +207,264 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             }
         }
     }
+
+    /**
+     * An iterator that builds the ranges for the next batches of seeds and opens
+     * their {@link BatchScanner}s on a background thread whilst the current
+     * batch is being consumed. At most prefetchDepth batches are opened ahead
+     * of the batch being consumed.
+     */
+    protected class PrefetchingElementIterator implements CloseableIterator<Element> {
+        private final RangeBatchIterator rangeBatches;
+        private final ExecutorService executor;
+        private final Deque<Future<ScannerBatch>> prefetchedScanners = new ArrayDeque<>();
+        private ScannerBatch batch;
+        private Element nextElm;
+        private volatile boolean closed;
+
+        protected PrefetchingElementIterator(final Iterator<? extends SEED_TYPE> idIterator, final int prefetchDepth)
+                throws RetrieverException {
+            rangeBatches = new RangeBatchIterator(idIterator);
+            // The thread stops once it is idle, so an iterator that is never closed does not keep it alive.
+            final ThreadPoolExecutor prefetchExecutor = new ThreadPoolExecutor(1, 1,
+                    PREFETCH_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable runnable) {
+                            final Thread thread = new Thread(runnable, "gaffer-batch-scanner-prefetch");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            prefetchExecutor.allowCoreThreadTimeOut(true);
+            executor = prefetchExecutor;
+
+            // The first scanner plus the prefetched scanners
+            for (int i = 0; i <= prefetchDepth; i++) {
+                prefetchedScanners.add(executor.submit(new CreateScanner()));
+            }
+            try {
+                batch = takeNextBatch();
+            } catch (final RetrieverException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != nextElm) {
+                return true;
+            }
+            while (null != batch) {
+                nextElm = getNextElement(batch.iterator);
+                if (null != nextElm) {
+                    return true;
+                }
+
+                // The current scanner is spent so move on to the next prefetched scanner
+                batch.scanner.close();
+                batch = null;
+                prefetchedScanners.add(executor.submit(new CreateScanner()));
+                try {
+                    batch = takeNextBatch();
+                } catch (final RetrieverException e) {
+                    LOGGER.error(e.getMessage() + " returning iterator doesn't have any more elements", e);
+                    close();
+                    return false;
+                }
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public Element next() {
+            if (null == nextElm) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+            }
+            final Element nextReturn = nextElm;
+            nextElm = null;
+            return nextReturn;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // Any scanner tasks still queued will see the iterator is closed and not create a scanner
+            executor.shutdown();
+            if (null != batch) {
+                batch.scanner.close();
+                batch = null;
+            }
+            for (final Future<ScannerBatch> prefetchedScanner : prefetchedScanners) {
+                try {
+                    final ScannerBatch unusedBatch = prefetchedScanner.get();
+                    if (null != unusedBatch) {
+                        unusedBatch.scanner.close();
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (final ExecutionException e) {
+                    // The scanner was not created so does not need to be closed.
+                }
+            }
+            prefetchedScanners.clear();
+        }
+
+        private ScannerBatch takeNextBatch() throws RetrieverException {
+            final Future<ScannerBatch> nextBatch = prefetchedScanners.poll();
+            if (null == nextBatch) {
+                return null;
+            }
+            try {
+                return nextBatch.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RetrieverException(e);
+            } catch (final ExecutionException e) {
+                throw new RetrieverException(e.getCause());
+            }
+        }
+
+        /**
+         * Gets the ranges for the next batch of seeds and opens a scanner over
+         * them. The tasks are run on a single thread so only one task reads the
+         * seeds at a time. Returns null if there are no more seeds or the
+         * iterator has been closed.
+         */
+        private final class CreateScanner implements Callable<ScannerBatch> {
+            @Override
+            public ScannerBatch call() throws TableNotFoundException, StoreException {
+                if (closed) {
+                    return null;
+                }
+
+                if (!rangeBatches.hasNext()) {
+                    return null;
+                }
+
+                final BatchScanner batchScanner = getScanner(rangeBatches.next());
+                // Creating the iterator starts the batch scanner lookups
+                return new ScannerBatch(batchScanner, batchScanner.iterator());
+            }
+        }
+    }
+
+    /**
+     * Reads windows of seeds, creates their ranges and plans the ranges into
+     * batches for the batch scanners using a {@link RangePlanner}, so each
+     * batch is sent to as few tablets as possible. Batches only contain the
+     * ranges of seeds from the same window. Empty batches are never returned.
+     * <p>
+     * The first window is small so the first results of a query over a stream of
+     * seeds are not held back until a full window has been read. Each window is
+     * then twice the size of the one before, up to the seed window set in the
+     * store properties. The ranges of a window that fit in a single batch are
+     * only sorted and merged, so the split points of the table are not needed.
+     */
+    protected class RangeBatchIterator implements Iterator<Set<Range>> {
+        private final Iterator<? extends SEED_TYPE> idsIterator;
+        private final Deque<Set<Range>> batches = new ArrayDeque<>();
+        private final int maxEntries;
+        private final int maxSeedWindow;
+        private int seedWindow;
+        private RangePlanner rangePlanner;
+
+        protected RangeBatchIterator(final Iterator<? extends SEED_TYPE> idIterator) {
+            idsIterator = idIterator;
+            maxEntries = store.getProperties().getMaxEntriesForBatchScanner();
+            maxSeedWindow = Math.max(maxEntries, store.getProperties().getSeedWindowForRangePlanner());
+            seedWindow = Math.min(INITIAL_SEED_WINDOW, maxSeedWindow);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (batches.isEmpty() && idsIterator.hasNext()) {
+                planNextWindow();
+            }
+            return !batches.isEmpty();
+        }
+
+        @Override
+        public Set<Range> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batches.poll();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove batches from this iterator");
+        }
+
+        private void planNextWindow() {
+            final Set<Range> ranges = new HashSet<>();
+            int count = 0;
+            while (idsIterator.hasNext() && count < seedWindow) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+            seedWindow = (int) Math.min((long) seedWindow * 2, maxSeedWindow);
+
+            if (ranges.isEmpty()) {
+                return;
+            }
+            if (ranges.size() <= maxEntries) {
+                batches.add(new LinkedHashSet<>(RangePlanner.mergeRanges(ranges)));
+            } else {
+                batches.addAll(getRangePlanner().plan(ranges));
+            }
+        }
+
+        private RangePlanner getRangePlanner() {
+            if (null == rangePlanner) {
+                rangePlanner = new RangePlanner(getSplits(), maxEntries);
+            }
+            return rangePlanner;
+        }
+    }
+
+    /**
+     * Gets the split points of the table, used to group the ranges for a query
+     * by tablet. The splits are cached by the store, see
+     * {@link AccumuloStore#getSplits()}. If the splits cannot be listed the
+     * ranges are still sorted and merged, but are treated as if they are all in
+     * a single tablet.
+     *
+     * @return the split points of the table
+     */
+    protected Collection<Text> getSplits() {
+        try {
+            return store.getSplits();
+        } catch (final StoreException e) {
+            LOGGER.warn("Unable to list the splits of the table, so ranges will not be grouped by tablet", e);
+            return Collections.emptyList();
+        }
+    }
+
+    private static final class ScannerBatch {
+        private final BatchScanner scanner;
+        private final Iterator<Map.Entry<Key, Value>> iterator;
+
+        private ScannerBatch(final BatchScanner scanner, final Iterator<Map.Entry<Key, Value>> iterator) {
+            this.scanner = scanner;
+            this.iterator = iterator;
+        }
+    }
 }
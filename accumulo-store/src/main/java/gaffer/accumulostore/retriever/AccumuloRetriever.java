@@ -20,6 +20,7 @@ import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.IteratorSettingFactory;
 import gaffer.accumulostore.key.RangeFactory;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.data.element.Element;
@@ -48,6 +49,7 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     protected final OP_TYPE operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    private final boolean postFilteredOnServer;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP_TYPE operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -58,13 +60,20 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         this.elementConverter = store.getKeyPackage().getKeyConverter();
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
+        this.postFilteredOnServer = hasIteratorSetting(AccumuloStoreConstants.ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_NAME);
         this.user = user;
+        this.authorisations = getAuthorisations(user);
+    }
+
+    /**
+     * @param user the user executing the operation
+     * @return the accumulo authorisations for the user's data auths
+     */
+    public static Authorizations getAuthorisations(final User user) {
         if (null != user && null != user.getDataAuths()) {
-            this.authorisations = new Authorizations(
-                    user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
-        } else {
-            this.authorisations = new Authorizations();
+            return new Authorizations(user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
         }
+        return new Authorizations();
     }
 
     /**
@@ -80,12 +89,17 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
     }
 
     /**
-     * Performs any post Filtering specified in a view on an element
+     * Performs any post Filtering specified in a view on an element. If the
+     * post filters have already been applied by the tablet servers the element
+     * is not filtered again.
      *
      * @param element the element to post Filter
      * @return the result of validating the element against the post filters
      */
     public boolean doPostFilter(final Element element) {
+        if (postFilteredOnServer) {
+            return true;
+        }
         final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
         if (viewDef != null) {
             return postFilter(element, viewDef.getPostTransformFilter());
@@ -111,6 +125,27 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
      * @throws StoreException         if a connection to accumulo could not be created.
      */
     protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+        return createScanner(store, authorisations, operation, ranges, iteratorSettings);
+    }
+
+    /**
+     * Creates a batch scanner for the store's table, with the iterator settings and ranges
+     * provided, that only fetches the column families for the groups in the operation's view.
+     *
+     * @param store            the accumulo store
+     * @param authorisations   the authorisations to scan with
+     * @param operation        the operation being executed
+     * @param ranges           the ranges to scan
+     * @param iteratorSettings the iterator settings, null settings are skipped
+     * @return A {@link org.apache.accumulo.core.client.BatchScanner} for the
+     * table specified in the properties with the ranges provided.
+     * @throws TableNotFoundException if an accumulo table could not be found
+     * @throws StoreException         if a connection to accumulo could not be created.
+     */
+    public static BatchScanner createScanner(final AccumuloStore store, final Authorizations authorisations,
+                                             final GetOperation<?, ?> operation, final Set<Range> ranges,
+                                             final IteratorSetting... iteratorSettings)
+            throws TableNotFoundException, StoreException {
         final BatchScanner scanner = store.getConnection().createBatchScanner(store.getProperties().getTable(),
                 authorisations, store.getProperties().getThreadsForBatchScanner());
         if (iteratorSettings != null) {
@@ -136,6 +171,17 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         return scanner;
     }
 
+    private boolean hasIteratorSetting(final String name) {
+        if (null != iteratorSettings) {
+            for (final IteratorSetting iteratorSetting : iteratorSettings) {
+                if (null != iteratorSetting && name.equals(iteratorSetting.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (transformer != null) {
             transformer.transform(element);
@@ -21,7 +21,9 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
+import gaffer.accumulostore.utils.BloomFilterCache;
 import gaffer.accumulostore.utils.BloomFilterUtils;
+import gaffer.commonutil.collection.CompactSet;
 import gaffer.commonutil.iterable.CloseableIterator;
 import gaffer.commonutil.iterable.EmptyCloseableIterator;
 import gaffer.data.element.Edge;
@@ -38,10 +40,16 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
 import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.hash.Hash;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -110,8 +118,37 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
     protected abstract AbstractElementIteratorFromBatches createElementIteratorFromBatches() throws RetrieverException;
 
+    /**
+     * Creates a set to hold vertices. Long and string vertices are held
+     * compactly, with strings held off heap, so large sets of seeds do not
+     * fill the heap. The set should be closed with {@link #closeVertexSet(Set)}
+     * when it is no longer needed to free the off heap buffers.
+     *
+     * @return an empty set of vertices
+     */
+    protected Set<Object> createVertexSet() {
+        return new CompactSet<>(new HashSet<>());
+    }
+
+    /**
+     * Closes a set from {@link #createVertexSet()}, freeing its off heap buffers.
+     *
+     * @param vertices the set to close
+     */
+    protected static void closeVertexSet(final Set<Object> vertices) {
+        if (vertices instanceof Closeable) {
+            try {
+                ((Closeable) vertices).close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close the set of vertices", e);
+            }
+        } else {
+            vertices.clear();
+        }
+    }
+
     protected Set<Object> extractVertices(final Iterator<EntitySeed> seeds) {
-        final Set<Object> vertices = new HashSet<>();
+        final Set<Object> vertices = createVertexSet();
         while (seeds.hasNext()) {
             vertices.add(seeds.next().getVertex());
         }
@@ -144,6 +181,132 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         addToBloomFilter(seed.getVertex(), filter2);
     }
 
+    /**
+     * Serialises vertices, in the order they are iterated over, so they can be
+     * added to bloom filters.
+     *
+     * @param vertices the vertices to serialise
+     * @return the serialised vertices
+     * @throws RetrieverException if a vertex could not be serialised
+     */
+    protected List<byte[]> serialiseVertices(final Iterator<?> vertices) throws RetrieverException {
+        final List<byte[]> serialisedVertices = new ArrayList<>();
+        while (vertices.hasNext()) {
+            try {
+                serialisedVertices.add(elementConverter.serialiseVertex(vertices.next()));
+            } catch (final AccumuloElementConversionException e) {
+                throw new RetrieverException("Failed to add identifier to the bloom key", e);
+            }
+        }
+        return serialisedVertices;
+    }
+
+    /**
+     * Gets a bloom filter containing the serialised vertices. The filter is sized
+     * from the number of vertices and the false positive rate, up to the maximum
+     * size. If the store has a {@link BloomFilterCache} a cached filter is reused
+     * when there is one, so the filter must not be modified.
+     *
+     * @param serialisedVertices the serialised vertices to add to the filter
+     * @param maximumSize        the maximum size of the filter
+     * @return the bloom filter
+     */
+    protected BloomFilter getBloomFilter(final List<byte[]> serialisedVertices, final int maximumSize) {
+        final int size = BloomFilterUtils.calculateBloomFilterSize(store.getProperties().getFalsePositiveRate(),
+                serialisedVertices.size(), maximumSize);
+        final int numHashes = BloomFilterUtils.calculateNumHashes(size, serialisedVertices.size());
+        final BloomFilterCache cache = store.getBloomFilterCache();
+        if (null == cache) {
+            return createBloomFilter(serialisedVertices, size, numHashes);
+        }
+
+        final String key = BloomFilterCache.createKey(size, numHashes, serialisedVertices);
+        BloomFilter filter = cache.getFilter(key);
+        if (null == filter) {
+            filter = createBloomFilter(serialisedVertices, size, numHashes);
+            cache.putFilter(key, filter);
+        }
+        return filter;
+    }
+
+    /**
+     * Gets the iterator setting that passes a bloom filter containing the
+     * serialised vertices to the iterators. The filter is created by
+     * {@link #getBloomFilter(List, int)}. If the store has a {@link BloomFilterCache}
+     * the setting is cached with the filter, so the filter is only serialised once.
+     *
+     * @param serialisedVertices the serialised vertices to add to the filter
+     * @param maximumSize        the maximum size of the filter
+     * @return the iterator setting
+     * @throws IteratorSettingException if the iterator setting could not be created
+     */
+    protected IteratorSetting getBloomFilterIteratorSetting(final List<byte[]> serialisedVertices,
+                                                            final int maximumSize) throws IteratorSettingException {
+        final BloomFilterCache cache = store.getBloomFilterCache();
+        if (null == cache) {
+            return iteratorSettingFactory.getBloomFilterIteratorSetting(getBloomFilter(serialisedVertices, maximumSize));
+        }
+
+        final int size = BloomFilterUtils.calculateBloomFilterSize(store.getProperties().getFalsePositiveRate(),
+                serialisedVertices.size(), maximumSize);
+        final String key = BloomFilterCache.createKey(size,
+                BloomFilterUtils.calculateNumHashes(size, serialisedVertices.size()), serialisedVertices);
+        IteratorSetting iteratorSetting = cache.getIteratorSetting(key);
+        if (null == iteratorSetting) {
+            iteratorSetting = iteratorSettingFactory.getBloomFilterIteratorSetting(
+                    getBloomFilter(serialisedVertices, maximumSize));
+            cache.putIteratorSetting(key, iteratorSetting);
+        }
+        return iteratorSetting;
+    }
+
+    /**
+     * Creates an empty bloom filter to be passed to the iterators, sized for the
+     * given number of seeds. If the number of seeds is not known the filter is
+     * sized for the max entries for the batch scanner.
+     *
+     * @param numSeeds the number of seeds that will be added, or -1 if not known
+     * @return the bloom filter
+     */
+    protected BloomFilter createIteratorBloomFilter(final int numSeeds) {
+        return BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                numSeeds < 0 ? store.getProperties().getMaxEntriesForBatchScanner() : numSeeds,
+                store.getProperties().getMaxBloomFilterToPassToAnIterator());
+    }
+
+    /**
+     * Creates an empty bloom filter to be used client side, sized for the given
+     * number of seeds. If the number of seeds is not known the filter has the
+     * client side bloom filter size.
+     *
+     * @param numSeeds the number of seeds that will be added, or -1 if not known
+     * @return the bloom filter
+     */
+    protected BloomFilter createClientSideBloomFilter(final int numSeeds) {
+        if (numSeeds < 0) {
+            return BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
+        }
+        return BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(), numSeeds,
+                store.getProperties().getClientSideBloomFilterSize());
+    }
+
+    /**
+     * @param seeds the seeds
+     * @return the number of seeds if they are a {@link Collection}, otherwise -1
+     */
+    protected static int getNumSeeds(final Iterable<?> seeds) {
+        return seeds instanceof Collection ? ((Collection<?>) seeds).size() : -1;
+    }
+
+    private static BloomFilter createBloomFilter(final List<byte[]> serialisedVertices, final int size,
+                                                 final int numHashes) {
+        final BloomFilter filter = new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
+        for (final byte[] serialisedVertex : serialisedVertices) {
+            filter.add(new org.apache.hadoop.util.bloom.Key(serialisedVertex));
+        }
+        return filter;
+    }
+
     private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
         try {
             filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex)));
@@ -158,23 +321,27 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         private Element nextElm;
 
         protected void initialise(final BloomFilter filter) throws RetrieverException {
-            IteratorSetting elementFilter = null;
             IteratorSetting bloomFilter = null;
             try {
-                elementFilter = iteratorSettingFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store);
+                bloomFilter = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
             } catch (final IteratorSettingException e) {
                 LOGGER.error(
-                        "Failed to apply the element filter to the retriever, creating the gaffer.accumulostore.retriever without the element filter",
+                        "Failed to apply the bloom filter to the retriever, creating the gaffer.accumulostore.retriever without bloom filter",
                         e);
             }
+            initialise(bloomFilter);
+        }
 
+        protected void initialise(final IteratorSetting bloomFilter) throws RetrieverException {
+            IteratorSetting elementFilter = null;
             try {
-                bloomFilter = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+                elementFilter = iteratorSettingFactory.getElementPreAggregationFilterIteratorSetting(operation.getView(), store);
             } catch (final IteratorSettingException e) {
                 LOGGER.error(
-                        "Failed to apply the bloom filter to the retriever, creating the gaffer.accumulostore.retriever without bloom filter",
+                        "Failed to apply the element filter to the retriever, creating the gaffer.accumulostore.retriever without the element filter",
                         e);
             }
+
             try {
                 parentRetriever = new AccumuloSingleIDRetriever(store, operation, user,
                         iteratorSettingFactory.getEdgeEntityDirectionFilterIteratorSetting(operation), elementFilter,
@@ -265,14 +432,14 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         private Element nextElm;
         private int count;
 
-        public AbstractElementIteratorFromBatches() {
-            // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            currentSeeds = new HashSet<>();
+        /**
+         * @param clientSideFilter the Bloom filter that is maintained client-side
+         * @param filter           the Bloom filter to be passed to the iterators
+         */
+        protected AbstractElementIteratorFromBatches(final BloomFilter clientSideFilter, final BloomFilter filter) {
+            this.clientSideFilter = clientSideFilter;
+            this.filter = filter;
+            currentSeeds = createVertexSet();
         }
 
         @Override
@@ -329,15 +496,29 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             if (scanner != null) {
                 scanner.close();
             }
+            closeVertexSet(currentSeeds);
         }
 
         protected abstract void updateBloomFilterIfRequired(final EntitySeed seed) throws RetrieverException;
 
+        /**
+         * Gets the iterator setting that passes the bloom filter to the iterators
+         * for the current batch.
+         *
+         * @return the bloom filter iterator setting
+         * @throws IteratorSettingException if the iterator setting could not be created
+         */
+        protected IteratorSetting getBloomFilterIteratorSetting() throws IteratorSettingException {
+            return iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+        }
+
         protected void updateScanner() throws RetrieverException {
             // Read through the first N entities (where N =
             // maxEntriesForBatchScanner), create the associated ranges
-            // and add them to a set.
+            // and add them to a set. The seeds of the previous batch are
+            // cleared, which keeps the set's buffers for this batch.
             count = 0;
+            currentSeeds.clear();
             final Set<Range> ranges = new HashSet<>();
             while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
                 final EntitySeed seed = idsAIterator.next();
@@ -357,7 +538,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 throw new RetrieverException(e);
             }
             try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                scanner.addScanIterator(getBloomFilterIteratorSetting());
             } catch (final IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
@@ -408,7 +589,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             while (idsAIterator.hasNext() && !scannerIterator.hasNext()) {
                 updateScanner();
             }
-            if (!scannerIterator.hasNext()) {
+            if (!scannerIterator.hasNext() && null != scanner) {
                 scanner.close();
             }
             return scannerIterator.hasNext();
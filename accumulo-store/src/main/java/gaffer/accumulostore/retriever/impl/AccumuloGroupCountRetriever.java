@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever.impl;
+
+import com.google.common.collect.Sets;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.impl.GroupCountIterator;
+import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.accumulostore.retriever.RetrieverException;
+import gaffer.data.GroupCounts;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.store.StoreException;
+import gaffer.user.User;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * This allows the elements in each group to be counted by the tablet servers.
+ * The iterator settings must include a {@link GroupCountIterator}, so a partial
+ * count is returned for each tablet rather than the elements themselves. The
+ * partial counts are merged by {@link #getGroupCounts()}.
+ * <p>
+ * The table is scanned in the same way as {@link AccumuloAllElementsRetriever},
+ * but as no elements are returned this is not an {@link AccumuloRetriever}.
+ */
+public class AccumuloGroupCountRetriever {
+    private final AccumuloStore store;
+    private final GetAllElements<?> operation;
+    private final User user;
+    private final IteratorSetting[] iteratorSettings;
+
+    public AccumuloGroupCountRetriever(final AccumuloStore store, final GetAllElements<?> operation,
+                                       final User user,
+                                       final IteratorSetting... iteratorSettings) {
+        this.store = store;
+        this.operation = operation;
+        this.user = user;
+        this.iteratorSettings = iteratorSettings;
+    }
+
+    /**
+     * Scans the table and merges the partial counts returned by each tablet.
+     *
+     * @return the number of elements in each group
+     * @throws RetrieverException if the table cannot be scanned
+     */
+    public GroupCounts getGroupCounts() throws RetrieverException {
+        final GroupCounts groupCounts = new GroupCounts();
+        final BatchScanner scanner;
+        try {
+            scanner = AccumuloRetriever.createScanner(store, AccumuloRetriever.getAuthorisations(user), operation,
+                    Sets.newHashSet(new Range()), iteratorSettings);
+        } catch (TableNotFoundException | StoreException e) {
+            throw new RetrieverException(e);
+        }
+
+        try {
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                GroupCountIterator.addCounts(entry.getValue(), groupCounts);
+            }
+        } catch (final IOException e) {
+            throw new RetrieverException("Failed to read the group counts", e);
+        } finally {
+            scanner.close();
+        }
+        return groupCounts;
+    }
+}
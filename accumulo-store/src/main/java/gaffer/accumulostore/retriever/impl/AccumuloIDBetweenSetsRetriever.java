@@ -18,10 +18,10 @@ package gaffer.accumulostore.retriever.impl;
 
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.operation.AbstractAccumuloTwoSetSeededOperation;
 import gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import gaffer.accumulostore.retriever.RetrieverException;
-import gaffer.accumulostore.utils.BloomFilterUtils;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
@@ -29,9 +29,11 @@ import gaffer.operation.data.EntitySeed;
 import gaffer.store.StoreException;
 import gaffer.user.User;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -67,6 +69,15 @@ import java.util.Set;
  * further reduce the chances of false positives making it to the user.
  */
 public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloIDBetweenSetsRetriever.class);
+
+    /**
+     * In batch mode the filters for set B are only cached if set B is already
+     * an in memory {@link java.util.Collection} of at most this many seeds, as computing
+     * the cache key requires all of the serialised seeds to be held in memory.
+     */
+    static final int MAX_SEEDS_B_TO_CACHE = 100000;
+
     private Iterable<EntitySeed> seedSetA;
     private Iterable<EntitySeed> seedSetB;
     private Iterator<EntitySeed> seedSetAIter;
@@ -108,7 +119,11 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
 
     @Override
     protected ElementIteratorFromBatches createElementIteratorFromBatches() throws RetrieverException {
-        return new ElementIteratorFromBatches();
+        final int numSeedsB = getNumSeeds(seedSetB);
+        if (null != store.getBloomFilterCache() && numSeedsB >= 0 && numSeedsB <= MAX_SEEDS_B_TO_CACHE) {
+            return new ElementIteratorFromBatches(serialiseVertices(new SeedVertexIterator(seedSetBIter)));
+        }
+        return new ElementIteratorFromBatches(numSeedsB);
     }
 
     private class ElementIteratorReadIntoMemory extends AbstractElementIteratorReadIntoMemory {
@@ -119,12 +134,17 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
             verticesA = extractVertices(seedSetAIter);
             verticesB = extractVertices(seedSetBIter);
 
-            // Create Bloom filter, read through set of entities B and add them
-            // to Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    verticesB.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(verticesB, filter);
-            initialise(filter);
+            // Get the Bloom filter of set of entities B, reusing a cached
+            // filter if the same set has been queried for before
+            IteratorSetting bloomFilter = null;
+            try {
+                bloomFilter = getBloomFilterIteratorSetting(serialiseVertices(verticesB.iterator()),
+                        store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            } catch (final IteratorSettingException e) {
+                LOGGER.error("Failed to apply the bloom filter to the retriever, creating the retriever without bloom filter",
+                        e);
+            }
+            initialise(bloomFilter);
         }
 
         /**
@@ -137,15 +157,50 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
             return verticesA.contains(source) && verticesB.contains(destination)
                     || verticesB.contains(source) && verticesA.contains(destination);
         }
+
+        @Override
+        public void close() {
+            super.close();
+            closeVertexSet(verticesA);
+            closeVertexSet(verticesB);
+        }
     }
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
-        ElementIteratorFromBatches() throws RetrieverException {
+        private IteratorSetting bloomFilterSetting;
+
+        // Streams set B into new filters, so set B is never held in memory.
+        ElementIteratorFromBatches(final int numSeedsB) throws RetrieverException {
+            super(createClientSideBloomFilter(numSeedsB), createIteratorBloomFilter(numSeedsB));
             addToBloomFilter(seedSetBIter, filter, clientSideFilter);
             idsAIterator = seedSetAIter;
             updateScanner();
         }
 
+        // The filters only contain set B, so they are sized for set B and are
+        // reused from the cache if the same set B has been queried for before.
+        ElementIteratorFromBatches(final List<byte[]> serialisedVerticesB) throws RetrieverException {
+            super(getBloomFilter(serialisedVerticesB, store.getProperties().getClientSideBloomFilterSize()),
+                    getBloomFilter(serialisedVerticesB, store.getProperties().getMaxBloomFilterToPassToAnIterator()));
+            try {
+                bloomFilterSetting = AccumuloIDBetweenSetsRetriever.this.getBloomFilterIteratorSetting(serialisedVerticesB,
+                        store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            } catch (final IteratorSettingException e) {
+                LOGGER.error("Failed to create the bloom filter iterator setting", e);
+            }
+            idsAIterator = seedSetAIter;
+            updateScanner();
+        }
+
+        @Override
+        protected IteratorSetting getBloomFilterIteratorSetting() throws IteratorSettingException {
+            // The filter does not change between batches, so it is only serialised once
+            if (null == bloomFilterSetting) {
+                bloomFilterSetting = super.getBloomFilterIteratorSetting();
+            }
+            return bloomFilterSetting;
+        }
+
         @Override
         protected void updateBloomFilterIfRequired(final EntitySeed seed) throws RetrieverException {
             // no action required.
@@ -180,4 +235,28 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
             return (destIsInCurrent && sourceMatchesClientFilter);
         }
     }
+
+    // Iterates over the vertices of seeds.
+    private static final class SeedVertexIterator implements Iterator<Object> {
+        private final Iterator<EntitySeed> seeds;
+
+        private SeedVertexIterator(final Iterator<EntitySeed> seeds) {
+            this.seeds = seeds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return seeds.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return seeds.next().getVertex();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
@@ -18,9 +18,9 @@ package gaffer.accumulostore.retriever.impl;
 
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import gaffer.accumulostore.retriever.RetrieverException;
-import gaffer.accumulostore.utils.BloomFilterUtils;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
@@ -29,7 +29,8 @@ import gaffer.operation.data.EntitySeed;
 import gaffer.store.StoreException;
 import gaffer.user.User;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Iterator;
 import java.util.Set;
@@ -70,6 +71,7 @@ import java.util.Set;
  * chances of false positives making it to the user.
  */
 public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloIDWithinSetRetriever.class);
     private Iterable<EntitySeed> seeds;
     private Iterator<EntitySeed> seedsIter;
 
@@ -113,13 +115,18 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
         ElementIteratorReadIntoMemory() throws RetrieverException {
             vertices = extractVertices(seedsIter);
 
-            // Create Bloom filter, read through set of entities and add them to
-            // Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(vertices, filter);
+            // Get the Bloom filter of the set of entities, reusing a cached
+            // filter if the same set has been queried for before
+            IteratorSetting bloomFilter = null;
+            try {
+                bloomFilter = getBloomFilterIteratorSetting(serialiseVertices(vertices.iterator()),
+                        store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            } catch (final IteratorSettingException e) {
+                LOGGER.error("Failed to apply the bloom filter to the retriever, creating the retriever without bloom filter",
+                        e);
+            }
 
-            initialise(filter);
+            initialise(bloomFilter);
         }
 
         /**
@@ -131,10 +138,19 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
         protected boolean checkIfBothEndsInSet(final Object source, final Object destination) {
             return vertices.contains(source) && vertices.contains(destination);
         }
+
+        @Override
+        public void close() {
+            super.close();
+            closeVertexSet(vertices);
+        }
     }
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            // The filters end up containing all of the seeds, so size them for
+            // the number of seeds if it is known.
+            super(createClientSideBloomFilter(getNumSeeds(seeds)), createIteratorBloomFilter(getNumSeeds(seeds)));
             idsAIterator = seedsIter;
             updateScanner();
         }
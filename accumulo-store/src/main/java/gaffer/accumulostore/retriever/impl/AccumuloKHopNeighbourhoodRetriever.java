@@ -0,0 +1,296 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.retriever.impl;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.operation.impl.GetKHopNeighbourhood;
+import gaffer.accumulostore.retriever.RetrieverException;
+import gaffer.commonutil.collection.CompactSet;
+import gaffer.commonutil.collection.SpillingSet;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.EmptyCloseableIterator;
+import gaffer.data.TransformIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import gaffer.user.User;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Retrieves the neighbourhood of a set of {@link EntitySeed}s for a
+ * {@link GetKHopNeighbourhood} operation, expanding the seeds breadth first one
+ * hop at a time.
+ * <p>
+ * Each hop batch scans all of the vertices in the current frontier with an
+ * {@link AccumuloSingleIDRetriever}, using the store's range factory and the
+ * given iterator settings, so the view's filters are applied by the tablet
+ * servers. The vertices at the other ends of the returned edges that have not
+ * already been visited form the frontier of the next hop. Elements are returned
+ * as they are read, so only the visited vertices and the current and next
+ * frontiers are held by the client.
+ * <p>
+ * The visited vertices and frontiers are held in {@link CompactSet}s, so long
+ * and string vertices are held compactly. If the store properties set a
+ * deduplicate max in memory the sets spill to disk rather than exhausting the
+ * client's memory. Vertices other than longs and strings must then be
+ * {@link java.io.Serializable}.
+ * <p>
+ * Edges between a vertex and a vertex visited in an earlier hop have already
+ * been returned by the earlier hop if they can be found from both of their ends,
+ * so they are not returned again. Edges between two vertices in the same
+ * frontier that can be found from both of their ends are only returned once.
+ * <p>
+ * The seeds are only read once for each iterator.
+ */
+public class AccumuloKHopNeighbourhoodRetriever implements CloseableIterable<Element> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloKHopNeighbourhoodRetriever.class);
+
+    private final AccumuloStore store;
+    private final GetKHopNeighbourhood<?> operation;
+    private final User user;
+    private final IteratorSetting[] iteratorSettings;
+    private CloseableIterator<Element> iterator;
+
+    public AccumuloKHopNeighbourhoodRetriever(final AccumuloStore store, final GetKHopNeighbourhood<?> operation,
+                                              final User user, final IteratorSetting... iteratorSettings) {
+        this.store = store;
+        this.operation = operation;
+        this.user = user;
+        this.iteratorSettings = iteratorSettings;
+    }
+
+    @Override
+    public CloseableIterator<Element> iterator() {
+        if (null == operation.getSeeds()) {
+            return new EmptyCloseableIterator<>();
+        }
+
+        iterator = new KHopIterator();
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        if (null != iterator) {
+            iterator.close();
+        }
+    }
+
+    private Set<Object> createVertexSet() {
+        final Integer maxInMemory = store.getProperties().getDeduplicateMaxInMemory();
+        if (null == maxInMemory) {
+            return new CompactSet<>(new HashSet<>());
+        }
+
+        final String spillDirectory = store.getProperties().getDeduplicateSpillDirectory();
+        final File spillDir = null != spillDirectory ? new File(spillDirectory) : null;
+        return new CompactSet<>(new SpillingSet<>(maxInMemory, spillDir),
+                maxInMemory * CompactSet.OFF_HEAP_BYTES_PER_ITEM_IN_MEMORY, spillDir);
+    }
+
+    private static void closeVertexSet(final Set<Object> vertices) {
+        if (vertices instanceof Closeable) {
+            try {
+                ((Closeable) vertices).close();
+            } catch (final IOException e) {
+                LOGGER.warn("Failed to close the set of vertices", e);
+            }
+        }
+    }
+
+    private final class KHopIterator implements CloseableIterator<Element> {
+        private final Set<Object> visited = createVertexSet();
+        private final boolean bothDirections = IncludeIncomingOutgoingType.BOTH == operation.getIncludeIncomingOutGoing();
+        private Set<Object> frontier = createVertexSet();
+        private Set<Object> nextFrontier = createVertexSet();
+        // Edges within the frontier that have been returned once and will be found again from their other end.
+        private final Set<Edge> frontierEdges = new HashSet<>();
+        private int hop;
+        private AccumuloSingleIDRetriever hopRetriever;
+        private Iterator<Element> hopIterator;
+        private Element nextElm;
+        private boolean closed;
+
+        private KHopIterator() {
+            final Iterator<? extends EntitySeed> seeds = operation.getSeeds().iterator();
+            try {
+                while (seeds.hasNext()) {
+                    final Object vertex = seeds.next().getVertex();
+                    if (visited.add(vertex)) {
+                        frontier.add(vertex);
+                    }
+                }
+            } finally {
+                if (seeds instanceof CloseableIterator) {
+                    ((CloseableIterator<?>) seeds).close();
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != nextElm) {
+                return true;
+            }
+
+            while (!closed) {
+                if (null == hopIterator) {
+                    if (hop >= operation.getHops() || frontier.isEmpty()) {
+                        close();
+                        return false;
+                    }
+                    try {
+                        startHop();
+                    } catch (final RetrieverException e) {
+                        LOGGER.error(e.getMessage() + " returning iterator doesn't have any more elements", e);
+                        close();
+                        return false;
+                    }
+                }
+
+                while (hopIterator.hasNext()) {
+                    final Element element = hopIterator.next();
+                    if (isNewElement(element)) {
+                        nextElm = element;
+                        return true;
+                    }
+                }
+                finishHop();
+            }
+            return false;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element nextReturn = nextElm;
+            nextElm = null;
+            return nextReturn;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (null != hopRetriever) {
+                hopRetriever.close();
+                hopRetriever = null;
+            }
+            hopIterator = null;
+            frontierEdges.clear();
+            closeVertexSet(visited);
+            closeVertexSet(frontier);
+            closeVertexSet(nextFrontier);
+        }
+
+        // Batch scans all of the vertices in the frontier.
+        private void startHop() throws RetrieverException {
+            final GetRelatedElements<EntitySeed, Element> hopOperation = new GetRelatedElements<>(operation);
+            hopOperation.setIncludeIncomingOutGoing(operation.getIncludeIncomingOutGoing());
+            hopOperation.setSeeds(new EntitySeedIterable(frontier));
+            try {
+                hopRetriever = new AccumuloSingleIDRetriever(store, hopOperation, user, iteratorSettings);
+            } catch (final StoreException e) {
+                throw new RetrieverException(e.getMessage(), e);
+            }
+            hopIterator = hopRetriever.iterator();
+        }
+
+        // Moves on to the frontier found by the current hop.
+        private void finishHop() {
+            hopRetriever.close();
+            hopRetriever = null;
+            hopIterator = null;
+            frontierEdges.clear();
+            hop++;
+
+            closeVertexSet(frontier);
+            frontier = nextFrontier;
+            nextFrontier = createVertexSet();
+        }
+
+        // Checks an element has not been returned by an earlier hop, adding the
+        // other end of an edge to the next frontier if it has not been visited.
+        private boolean isNewElement(final Element element) {
+            if (!(element instanceof Edge)) {
+                return true;
+            }
+
+            final Edge edge = (Edge) element;
+            final boolean foundFromBothEnds = bothDirections || !edge.isDirected();
+            final boolean sourceInFrontier = frontier.contains(edge.getSource());
+            final Object otherEnd = sourceInFrontier ? edge.getDestination() : edge.getSource();
+            if (sourceInFrontier && frontier.contains(otherEnd)) {
+                // Both copies of the edge are scanned in this hop, so only the first is returned.
+                if (!foundFromBothEnds || edge.getSource().equals(edge.getDestination())) {
+                    return true;
+                }
+                return frontierEdges.add(edge) || !frontierEdges.remove(edge);
+            }
+            if (nextFrontier.contains(otherEnd)) {
+                return true;
+            }
+
+            if (visited.contains(otherEnd)) {
+                // The edge was found from its other end in an earlier hop if it
+                // can be found from both ends.
+                return !foundFromBothEnds;
+            }
+
+            if (hop + 1 < operation.getHops() && (null == operation.getMaxVerticesPerHop()
+                    || nextFrontier.size() < operation.getMaxVerticesPerHop())) {
+                visited.add(otherEnd);
+                nextFrontier.add(otherEnd);
+            }
+            return true;
+        }
+    }
+
+    private static final class EntitySeedIterable extends TransformIterable<Object, EntitySeed> {
+        private EntitySeedIterable(final Iterable<Object> vertices) {
+            super(vertices);
+        }
+
+        @Override
+        protected EntitySeed transform(final Object vertex) {
+            return new EntitySeed(vertex);
+        }
+    }
+}
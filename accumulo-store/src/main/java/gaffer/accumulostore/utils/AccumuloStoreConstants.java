@@ -25,11 +25,17 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER_ITERATOR_NAME = "Bloom_Filter";
     public static final String ELEMENT_PRE_AGGREGATION_FILTER_ITERATOR_NAME = "Element_Pre_Aggregation_Filter";
     public static final String ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_NAME = "Element_Post_Aggregation_Filter";
+    public static final String ELEMENT_POST_TRANSFORM_FILTER_ITERATOR_NAME = "Element_Post_Transform_Filter";
 
     public static final String EDGE_ENTITY_DIRECTED_UNDIRECTED_INCOMING_OUTGOING_FILTER_ITERATOR_NAME = "Edge_Entity_Directed_Undirected_Incoming_Outgoing_Filter";
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String MAX_EDGES_PER_VERTEX_ITERATOR_NAME = "Max_Edges_Per_Vertex";
+    public static final String RESULT_LIMIT_ITERATOR_NAME = "Result_Limit";
+    public static final String PROJECTION_ITERATOR_NAME = "Projection";
+    public static final String GROUP_COUNT_ITERATOR_NAME = "Group_Count";
+    public static final String TOP_K_ITERATOR_NAME = "Top_K";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
@@ -49,6 +55,11 @@ public final class AccumuloStoreConstants {
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
     public static final String COLUMN_FAMILY = "columnFamily";
+    public static final String MAX_EDGES_PER_VERTEX = "Max_Edges_Per_Vertex";
+    public static final String RESULT_LIMIT = "Result_Limit";
+    public static final String TOP_K = "Top_K";
+    public static final String TOP_K_PROPERTY = "Top_K_Property";
+    public static final String PROJECTION_REQUIRED_PROPERTY = "Projection_Required_Property";
 
     // Iterator priorities
     // Applied during major compactions, minor compactions  and scans.
@@ -69,8 +80,18 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans, after the filters and aggregation that may need the removed properties.
+    public static final int PROJECTION_ITERATOR_PRIORITY = 40;
     // Applied only during scans.
     public static final int TRANSFORM_PRIORITY = 50;
+    // Applied only during scans, after the filters so only returned edges are counted.
+    public static final int MAX_EDGES_PER_VERTEX_ITERATOR_PRIORITY = 55;
+    // Applied only during scans, after the filters and aggregation so elements are ranked by their returned values.
+    public static final int TOP_K_ITERATOR_PRIORITY = 57;
+    // Applied only during scans, after all other scan time iterators.
+    public static final int RESULT_LIMIT_ITERATOR_PRIORITY = 60;
+    // Applied only during scans, after all other scan time iterators so only returned elements are counted.
+    public static final int GROUP_COUNT_ITERATOR_PRIORITY = 65;
 
     // Operations options
     public static final String OPERATION_HDFS_USE_ACCUMULO_PARTITIONER = "accumulostore.operation.hdfs.use_accumulo_partitioner";
@@ -79,6 +100,7 @@ public final class AccumuloStoreConstants {
     public static final String OPERATION_BULK_IMPORT_MIN_REDUCERS = "accumulostore.operation.bulk_import.min_reducers";
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
     public static final String OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE = "accumulostore.operation.return_matched_id_as_edge_source";
+    public static final String OPERATION_MAX_EDGES_PER_VERTEX = "accumulostore.operation.max_edges_per_vertex";
 
     // Store factory constants
     public static final String GAFFER_UTILS_TABLE = "gafferStoreUtils";
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A <code>BloomFilterCache</code> is a bounded cache of the
+ * {@link BloomFilter}s built by the set retrievers, along with the
+ * {@link IteratorSetting}s that pass them to the iterators, so queries that are
+ * repeated over the same seeds do not need to hash the seeds into new filters
+ * and serialise the filters again.
+ * <p>
+ * Filters are keyed by a digest of their size, their number of hashes and the
+ * serialised seeds added to them, see {@link #createKey(int, int, Iterable)}.
+ * The cache is bounded by the total number of bits in the cached filters and
+ * the least recently used filters are removed first. Cached filters are shared,
+ * so they must not be modified once they have been added to the cache.
+ * <p>
+ * The cache is thread safe.
+ */
+public class BloomFilterCache {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    private final long maxBits;
+    private final Map<String, CachedFilter> filters = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBits;
+
+    /**
+     * @param maxBits the maximum total number of bits in the cached filters
+     */
+    public BloomFilterCache(final long maxBits) {
+        this.maxBits = maxBits;
+    }
+
+    /**
+     * @param key the key of the filter
+     * @return the cached filter, or null if there is no filter cached for the key
+     */
+    public synchronized BloomFilter getFilter(final String key) {
+        final CachedFilter cachedFilter = filters.get(key);
+        return null != cachedFilter ? cachedFilter.filter : null;
+    }
+
+    /**
+     * Adds a filter to the cache, removing the least recently used filters if the
+     * cache is full. Filters with more bits than the cache can hold are not cached.
+     *
+     * @param key    the key of the filter
+     * @param filter the filter, which must not be modified once it has been cached
+     */
+    public synchronized void putFilter(final String key, final BloomFilter filter) {
+        final long bits = filter.getVectorSize();
+        if (bits > maxBits) {
+            return;
+        }
+
+        final CachedFilter previous = filters.put(key, new CachedFilter(filter));
+        if (null != previous) {
+            totalBits -= previous.filter.getVectorSize();
+        }
+        totalBits += bits;
+
+        final Iterator<CachedFilter> itr = filters.values().iterator();
+        while (totalBits > maxBits && itr.hasNext()) {
+            totalBits -= itr.next().filter.getVectorSize();
+            itr.remove();
+        }
+    }
+
+    /**
+     * @param key the key of the filter
+     * @return the cached iterator setting for the filter, or null if there is none
+     */
+    public synchronized IteratorSetting getIteratorSetting(final String key) {
+        final CachedFilter cachedFilter = filters.get(key);
+        return null != cachedFilter ? cachedFilter.iteratorSetting : null;
+    }
+
+    /**
+     * Caches the iterator setting for a cached filter. The setting is not cached
+     * if the filter is not in the cache.
+     *
+     * @param key             the key of the filter
+     * @param iteratorSetting the iterator setting for the filter
+     */
+    public synchronized void putIteratorSetting(final String key, final IteratorSetting iteratorSetting) {
+        final CachedFilter cachedFilter = filters.get(key);
+        if (null != cachedFilter) {
+            cachedFilter.iteratorSetting = iteratorSetting;
+        }
+    }
+
+    /**
+     * @return the number of cached filters
+     */
+    public synchronized int size() {
+        return filters.size();
+    }
+
+    /**
+     * Removes all of the cached filters.
+     */
+    public synchronized void clear() {
+        filters.clear();
+        totalBits = 0;
+    }
+
+    /**
+     * Creates the key for a filter of the given size and number of hashes, that
+     * contains the given serialised seeds. Seeds that are added in a different
+     * order create a different key.
+     *
+     * @param size            the number of bits in the filter
+     * @param numHashes       the number of hashes used by the filter
+     * @param serialisedSeeds the serialised seeds added to the filter
+     * @return the key
+     */
+    public static String createKey(final int size, final int numHashes, final Iterable<byte[]> serialisedSeeds) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to create a digest of the seeds", e);
+        }
+
+        final ByteBuffer lengthBuffer = ByteBuffer.allocate(8);
+        digest.update(lengthBuffer.putInt(size).putInt(numHashes).array());
+        for (final byte[] serialisedSeed : serialisedSeeds) {
+            lengthBuffer.clear();
+            digest.update(lengthBuffer.putInt(serialisedSeed.length).array(), 0, 4);
+            digest.update(serialisedSeed);
+        }
+
+        final byte[] bytes = digest.digest();
+        final char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_CHARS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static final class CachedFilter {
+        private final BloomFilter filter;
+        private IteratorSetting iteratorSetting;
+
+        private CachedFilter(final BloomFilter filter) {
+            this.filter = filter;
+        }
+    }
+}
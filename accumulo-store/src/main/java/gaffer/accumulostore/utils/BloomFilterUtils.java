@@ -44,8 +44,8 @@ public final class BloomFilterUtils {
     @SuppressFBWarnings(value = "ICAST_IDIV_CAST_TO_DOUBLE", justification = "the value is cast to an int after the division")
     public static int calculateBloomFilterSize(final double falsePositiveRate, final int numItemsToBeAdded,
             final int maximumSize) {
-        final int size = (int) (-numItemsToBeAdded * Math.log(falsePositiveRate) / (Math.pow(Math.log(2.0), 2.0)));
-        return Math.min(size, maximumSize);
+        final int size = (int) (-Math.max(1, numItemsToBeAdded) * Math.log(falsePositiveRate) / (Math.pow(Math.log(2.0), 2.0)));
+        return Math.max(1, Math.min(size, maximumSize));
     }
 
     /**
@@ -59,7 +59,7 @@ public final class BloomFilterUtils {
      */
     @SuppressFBWarnings(value = "ICAST_IDIV_CAST_TO_DOUBLE", justification = "the value is cast to an int after the division")
     public static int calculateNumHashes(final int bloomFilterSize, final int numItemsToBeAdded) {
-        return Math.max(1, (int) ((bloomFilterSize / numItemsToBeAdded) * Math.log(2.0)));
+        return Math.max(1, (int) ((bloomFilterSize / Math.max(1, numItemsToBeAdded)) * Math.log(2.0)));
     }
 
     /**
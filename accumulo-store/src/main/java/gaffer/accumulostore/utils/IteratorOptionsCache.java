@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.commonutil.CommonConstants;
+import gaffer.data.elementdefinition.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.store.schema.Schema;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An <code>IteratorOptionsCache</code> caches the {@link Schema}s, parsed {@link View}
+ * JSON and {@link AccumuloElementConverter}s created from iterator options, so the
+ * iterators do not parse the same schema and view JSON every time Accumulo creates them.
+ * <p>
+ * The caches are keyed by a digest of the JSON, which is calculated from the iterator
+ * options on the tablet server.
+ * <p>
+ * Schemas and element converters are shared by all threads in the JVM. Views contain
+ * filters and transformers that are not thread safe, so only the parsed view JSON is
+ * shared and each call to {@link #getView(Map)} creates a new view from it. All of the
+ * caches are bounded and the least recently used entries are removed first.
+ */
+public final class IteratorOptionsCache {
+    public static final int MAX_SCHEMAS = 50;
+    public static final int MAX_CONVERTERS = 100;
+    public static final int MAX_VIEWS = 100;
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+    private static final ObjectMapper MAPPER = new JSONSerialiser().getMapper();
+
+    private static final Map<String, Schema> SCHEMAS = new LruCache<>(MAX_SCHEMAS);
+    private static final Map<String, AccumuloElementConverter> CONVERTERS = new LruCache<>(MAX_CONVERTERS);
+    private static final Map<String, JsonNode> VIEWS = new LruCache<>(MAX_VIEWS);
+
+    private IteratorOptionsCache() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Gets the schema for the {@link AccumuloStoreConstants#SCHEMA} iterator option.
+     *
+     * @param options the iterator options
+     * @return the shared schema
+     */
+    public static Schema getSchema(final Map<String, String> options) {
+        final String json = getJson(options, AccumuloStoreConstants.SCHEMA);
+        final String digest = digest(json);
+        synchronized (SCHEMAS) {
+            final Schema schema = SCHEMAS.get(digest);
+            if (null != schema) {
+                return schema;
+            }
+        }
+
+        final Schema schema = Schema.fromJson(getJsonBytes(json, AccumuloStoreConstants.SCHEMA));
+        synchronized (SCHEMAS) {
+            SCHEMAS.put(digest, schema);
+        }
+        return schema;
+    }
+
+    /**
+     * Gets a view for the {@link AccumuloStoreConstants#VIEW} iterator option. A new
+     * view is created for every call, so the view is not shared with any other iterator.
+     *
+     * @param options the iterator options
+     * @return a new view
+     */
+    public static View getView(final Map<String, String> options) {
+        final String json = getJson(options, AccumuloStoreConstants.VIEW);
+        final String digest = digest(json);
+        JsonNode viewJson;
+        synchronized (VIEWS) {
+            viewJson = VIEWS.get(digest);
+        }
+
+        try {
+            if (null == viewJson) {
+                viewJson = MAPPER.readTree(getJsonBytes(json, AccumuloStoreConstants.VIEW));
+                synchronized (VIEWS) {
+                    VIEWS.put(digest, viewJson);
+                }
+            }
+            return MAPPER.treeToValue(viewJson, View.class);
+        } catch (final IOException e) {
+            throw new SchemaException("Unable to deserialise the " + AccumuloStoreConstants.VIEW + " from JSON", e);
+        }
+    }
+
+    /**
+     * Gets the element converter for the {@link AccumuloStoreConstants#ACCUMULO_ELEMENT_CONVERTER_CLASS}
+     * and schema iterator options.
+     *
+     * @param options the iterator options
+     * @return the shared element converter
+     * @throws ReflectiveOperationException if the element converter could not be created
+     */
+    public static AccumuloElementConverter getElementConverter(final Map<String, String> options)
+            throws ReflectiveOperationException {
+        final String converterClassName = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        final String key = converterClassName + ":" + digest(getJson(options, AccumuloStoreConstants.SCHEMA));
+        synchronized (CONVERTERS) {
+            final AccumuloElementConverter converter = CONVERTERS.get(key);
+            if (null != converter) {
+                return converter;
+            }
+        }
+
+        final AccumuloElementConverter converter = Class.forName(converterClassName)
+                .asSubclass(AccumuloElementConverter.class)
+                .getConstructor(Schema.class)
+                .newInstance(getSchema(options));
+        synchronized (CONVERTERS) {
+            CONVERTERS.put(key, converter);
+        }
+        return converter;
+    }
+
+    /**
+     * @param json the serialised schema or view
+     * @return the digest of the JSON, as used to key the caches
+     */
+    public static String digest(final String json) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(json.getBytes(CommonConstants.UTF_8));
+        } catch (final NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            throw new IllegalStateException("Unable to create a digest of the JSON", e);
+        }
+
+        final char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_CHARS[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_CHARS[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Removes all cached schemas, converters and views.
+     */
+    public static void clear() {
+        synchronized (SCHEMAS) {
+            SCHEMAS.clear();
+        }
+        synchronized (CONVERTERS) {
+            CONVERTERS.clear();
+        }
+        synchronized (VIEWS) {
+            VIEWS.clear();
+        }
+    }
+
+    private static String getJson(final Map<String, String> options, final String jsonOption) {
+        final String json = options.get(jsonOption);
+        if (null == json) {
+            throw new IllegalArgumentException("Must specify the " + jsonOption);
+        }
+        return json;
+    }
+
+    private static byte[] getJsonBytes(final String json, final String jsonOption) {
+        try {
+            return json.getBytes(CommonConstants.UTF_8);
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise the " + jsonOption + " from JSON", e);
+        }
+    }
+
+    private static final class LruCache<V> extends LinkedHashMap<String, V> {
+        private static final long serialVersionUID = -1863012733632187342L;
+        private final int maxEntries;
+
+        private LruCache(final int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
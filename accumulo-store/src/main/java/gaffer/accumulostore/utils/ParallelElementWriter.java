@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Writes {@link Element}s to a {@link BatchWriter}, converting the elements into
+ * {@link Mutation}s on a pool of converter threads.
+ * <p>
+ * The calling thread splits the input into chunks and submits each chunk to the
+ * converter threads. Once the configured number of chunks are in the pipeline the
+ * calling thread stops reading the input and instead adds the converted mutations
+ * to the {@link BatchWriter}, so the memory used is bounded by the queue size and
+ * chunk size regardless of the number of elements being added.
+ */
+public class ParallelElementWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelElementWriter.class);
+
+    private final AccumuloElementConverter converter;
+    private final BatchWriter writer;
+    private final int numThreads;
+    private final int queueSize;
+    private final int chunkSize;
+
+    public ParallelElementWriter(final AccumuloElementConverter converter, final BatchWriter writer,
+                                 final int numThreads, final int queueSize, final int chunkSize) {
+        if (numThreads < 1 || queueSize < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("The number of threads, queue size and chunk size must all be at least 1");
+        }
+        this.converter = converter;
+        this.writer = writer;
+        this.numThreads = numThreads;
+        this.queueSize = queueSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Converts the provided elements into mutations and adds them to the {@link BatchWriter}.
+     * The {@link BatchWriter} is not closed.
+     *
+     * @param elements the elements to write
+     * @throws StoreException if the conversion fails unexpectedly or the thread is interrupted
+     */
+    public void write(final Iterable<Element> elements) throws StoreException {
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final CompletionService<List<Mutation>> completionService = new ExecutorCompletionService<>(executor);
+        int chunksInPipeline = 0;
+        try {
+            List<Element> chunk = new ArrayList<>(chunkSize);
+            for (final Element element : elements) {
+                chunk.add(element);
+                if (chunk.size() == chunkSize) {
+                    if (chunksInPipeline == queueSize) {
+                        addMutations(completionService.take());
+                        chunksInPipeline--;
+                    }
+                    completionService.submit(new ConvertChunk(chunk));
+                    chunksInPipeline++;
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                completionService.submit(new ConvertChunk(chunk));
+                chunksInPipeline++;
+            }
+            while (chunksInPipeline > 0) {
+                addMutations(completionService.take());
+                chunksInPipeline--;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Converts an {@link Element} into the {@link Mutation}s that should be written
+     * to Accumulo. If the element cannot be converted the error is logged and an
+     * empty list is returned.
+     *
+     * @param converter the {@link AccumuloElementConverter} to use
+     * @param element   the {@link Element} to convert
+     * @return the {@link Mutation}s for the element, 1 for an entity and 2 for an edge
+     */
+    public static List<Mutation> getMutations(final AccumuloElementConverter converter, final Element element) {
+        final Pair<Key> keys;
+        try {
+            keys = converter.getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to create an accumulo key from element of type " + element.getGroup()
+                    + " when trying to insert elements");
+            return Collections.emptyList();
+        }
+        final Value value;
+        try {
+            value = converter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup()
+                    + " when trying to insert elements");
+            return Collections.emptyList();
+        }
+
+        // If the GraphElement is a Vertex then there will only be 1 key,
+        // and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        final List<Mutation> mutations = new ArrayList<>(null != keys.getSecond() ? 2 : 1);
+        mutations.add(createMutation(keys.getFirst(), value));
+        if (null != keys.getSecond()) {
+            mutations.add(createMutation(keys.getSecond(), value));
+        }
+        return mutations;
+    }
+
+    private static Mutation createMutation(final Key key, final Value value) {
+        final Mutation m = new Mutation(key.getRow());
+        m.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        return m;
+    }
+
+    private void addMutations(final Future<List<Mutation>> convertedChunk) throws InterruptedException, StoreException {
+        final List<Mutation> mutations;
+        try {
+            mutations = convertedChunk.get();
+        } catch (final ExecutionException e) {
+            throw new StoreException("Failed to convert elements into accumulo mutations", e.getCause());
+        }
+        for (final Mutation mutation : mutations) {
+            try {
+                writer.addMutation(mutation);
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to create an accumulo key mutation");
+            }
+        }
+    }
+
+    private final class ConvertChunk implements Callable<List<Mutation>> {
+        private final List<Element> chunk;
+
+        private ConvertChunk(final List<Element> chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        public List<Mutation> call() {
+            final List<Mutation> mutations = new ArrayList<>(chunk.size() * 2);
+            for (final Element element : chunk) {
+                mutations.addAll(getMutations(converter, element));
+            }
+            return mutations;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import org.apache.accumulo.core.data.Key;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@link Iterable} of {@link Element}s that aggregates elements which would be
+ * stored under the same Accumulo key before they are written to Accumulo.
+ * <p>
+ * Elements are read from the input into a window of at most windowSize distinct
+ * keys, where the key is the row, column family, column qualifier and column
+ * visibility of the element's first Accumulo key. Elements with the same key are
+ * merged using the schema's {@link ElementAggregator}, in the same way as the
+ * {@link gaffer.accumulostore.key.impl.AggregatorIterator} would merge them at
+ * scan or compaction time. When the window is full, or the input is exhausted,
+ * the merged elements are returned and the window is cleared.
+ * <p>
+ * Only properties stored in the Accumulo value are aggregated. Group by and
+ * visibility properties are identical for elements with the same key and the
+ * most recent timestamp property is kept, matching the key Accumulo keeps when
+ * combining. The input elements are not modified.
+ */
+public class PreAggregatingElementIterable implements Iterable<Element> {
+    private final Iterable<Element> elements;
+    private final AccumuloElementConverter converter;
+    private final Schema schema;
+    private final int windowSize;
+
+    public PreAggregatingElementIterable(final Iterable<Element> elements, final AccumuloElementConverter converter,
+                                         final Schema schema, final int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("The pre-aggregation window size must be at least 1");
+        }
+        this.elements = elements;
+        this.converter = converter;
+        this.schema = schema;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public Iterator<Element> iterator() {
+        return new PreAggregatingElementIterator(elements.iterator());
+    }
+
+    private final class PreAggregatingElementIterator implements Iterator<Element> {
+        private final Iterator<Element> input;
+        private final Map<Key, Element> window = new LinkedHashMap<>();
+        private final List<Element> unkeyedElements = new ArrayList<>();
+        private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+        private Iterator<Element> output;
+        private Element nextElement;
+
+        private PreAggregatingElementIterator(final Iterator<Element> input) {
+            this.input = input;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == output || !output.hasNext()) {
+                if (null == nextElement && !input.hasNext()) {
+                    return false;
+                }
+                fillWindow();
+            }
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return output.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Elements cannot be removed from this iterator");
+        }
+
+        private void fillWindow() {
+            window.clear();
+            unkeyedElements.clear();
+            while (null != nextElement || input.hasNext()) {
+                final Element element;
+                if (null != nextElement) {
+                    element = nextElement;
+                    nextElement = null;
+                } else {
+                    element = input.next();
+                }
+
+                final Key key;
+                try {
+                    key = getWindowKey(element);
+                } catch (final AccumuloElementConversionException e) {
+                    // The writer will log the conversion failure.
+                    unkeyedElements.add(element);
+                    continue;
+                }
+
+                final Element aggregatedElement = window.get(key);
+                if (null != aggregatedElement) {
+                    merge(aggregatedElement, element);
+                } else if (window.size() < windowSize) {
+                    final Element copy = element.emptyClone();
+                    copy.copyProperties(element.getProperties());
+                    window.put(key, copy);
+                } else {
+                    // The window is full so the element is added to the next window
+                    nextElement = element;
+                    break;
+                }
+            }
+
+            final List<Element> windowElements = new ArrayList<>(window.size() + unkeyedElements.size());
+            windowElements.addAll(window.values());
+            windowElements.addAll(unkeyedElements);
+            output = windowElements.iterator();
+        }
+
+        private Key getWindowKey(final Element element) throws AccumuloElementConversionException {
+            final Key key = converter.getKeysFromElement(element).getFirst();
+            return new Key(key.getRowData().toArray(), key.getColumnFamilyData().toArray(),
+                    key.getColumnQualifierData().toArray(), key.getColumnVisibilityData().toArray(), Long.MAX_VALUE);
+        }
+
+        private void merge(final Element aggregatedElement, final Element element) {
+            final String group = element.getGroup();
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            ElementAggregator aggregator = aggregators.get(group);
+            if (null == aggregator) {
+                aggregator = elementDef.getAggregator();
+                aggregators.put(group, aggregator);
+            }
+
+            aggregator.initFunctions();
+            aggregator.aggregate(aggregatedElement.getProperties());
+            aggregator.aggregate(element.getProperties());
+            final Properties aggregatedProperties = new Properties();
+            aggregator.state(aggregatedProperties);
+
+            for (final String propertyName : elementDef.getProperties()) {
+                if (propertyName.equals(schema.getTimestampProperty())) {
+                    aggregatedElement.putProperty(propertyName, getLatest(
+                            aggregatedElement.getProperty(propertyName), element.getProperty(propertyName)));
+                } else if (!elementDef.getGroupBy().contains(propertyName)
+                        && !propertyName.equals(schema.getVisibilityProperty())) {
+                    aggregatedElement.getProperties().remove(propertyName);
+                    aggregatedElement.putProperty(propertyName, aggregatedProperties.get(propertyName));
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object getLatest(final Object timestamp1, final Object timestamp2) {
+            if (null == timestamp1) {
+                return timestamp2;
+            }
+            if (null == timestamp2) {
+                return timestamp1;
+            }
+            if (timestamp1 instanceof Comparable && ((Comparable<Object>) timestamp1).compareTo(timestamp2) < 0) {
+                return timestamp2;
+            }
+            return timestamp1;
+        }
+    }
+}
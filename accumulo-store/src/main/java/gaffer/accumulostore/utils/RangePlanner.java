@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A <code>RangePlanner</code> plans the {@link Range}s for a seeded query into
+ * batches, with one batch per batch scanner.
+ * <p>
+ * The ranges are sorted and overlapping ranges are merged. The sorted ranges are
+ * then grouped by the tablet they start in, using the split points of the table,
+ * and the groups are added to batches in order. The ranges for a tablet are only
+ * split over more than one batch if there are more of them than fit in a single
+ * batch. Each batch therefore covers a contiguous section of the table, so it is
+ * sent to as few tablets, and so tablet servers, as possible, and ranges for
+ * adjacent seeds are read by the same batch scanner.
+ */
+public class RangePlanner {
+    private final Text[] splits;
+    private final int maxRangesPerBatch;
+
+    /**
+     * @param splits            the split points of the table, or an empty collection if the table has a single tablet
+     * @param maxRangesPerBatch the maximum number of ranges in each batch
+     */
+    public RangePlanner(final Collection<Text> splits, final int maxRangesPerBatch) {
+        if (maxRangesPerBatch < 1) {
+            throw new IllegalArgumentException("maxRangesPerBatch must be at least 1");
+        }
+        this.splits = splits.toArray(new Text[splits.size()]);
+        Arrays.sort(this.splits);
+        this.maxRangesPerBatch = maxRangesPerBatch;
+    }
+
+    /**
+     * Sorts and merges the ranges then plans them into batches.
+     *
+     * @param ranges the ranges to plan
+     * @return the batches of ranges, in the order of the ranges in the table
+     */
+    public List<Set<Range>> plan(final Collection<Range> ranges) {
+        final List<Set<Range>> batches = new ArrayList<>();
+        final List<Range> tabletRanges = new ArrayList<>();
+        Set<Range> batch = new LinkedHashSet<>();
+        int tablet = -1;
+        for (final Range range : mergeRanges(ranges)) {
+            final int rangeTablet = getTablet(range);
+            if (rangeTablet != tablet) {
+                batch = addTabletRanges(tabletRanges, batch, batches);
+                tabletRanges.clear();
+                tablet = rangeTablet;
+            }
+            tabletRanges.add(range);
+        }
+        batch = addTabletRanges(tabletRanges, batch, batches);
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Gets the index of the tablet that a range starts in. Tablet i holds the rows
+     * after split i - 1, up to and including split i.
+     *
+     * @param range the range
+     * @return the index of the tablet
+     */
+    public int getTablet(final Range range) {
+        if (null == range.getStartKey()) {
+            return 0;
+        }
+
+        final int index = Arrays.binarySearch(splits, range.getStartKey().getRow());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Sorts the ranges and merges any that overlap.
+     *
+     * @param ranges the ranges to merge
+     * @return the sorted, merged ranges
+     */
+    public static List<Range> mergeRanges(final Collection<Range> ranges) {
+        return Range.mergeOverlapping(ranges);
+    }
+
+    // Adds the ranges for a tablet to the current batch, starting a new batch first if
+    // they do not all fit. Returns the batch that is now being filled.
+    private Set<Range> addTabletRanges(final List<Range> tabletRanges, final Set<Range> batch,
+                                       final List<Set<Range>> batches) {
+        Set<Range> currentBatch = batch;
+        if (!currentBatch.isEmpty() && currentBatch.size() + tabletRanges.size() > maxRangesPerBatch) {
+            batches.add(currentBatch);
+            currentBatch = new LinkedHashSet<>();
+        }
+
+        for (final Range range : tabletRanges) {
+            if (currentBatch.size() >= maxRangesPerBatch) {
+                batches.add(currentBatch);
+                currentBatch = new LinkedHashSet<>();
+            }
+            currentBatch.add(range);
+        }
+        return currentBatch;
+    }
+}
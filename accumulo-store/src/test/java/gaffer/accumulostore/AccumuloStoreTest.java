@@ -70,6 +70,7 @@ import gaffer.store.schema.Schema;
 import gaffer.user.User;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.hadoop.io.Text;
 import org.hamcrest.core.IsCollectionContaining;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -77,7 +78,9 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.TreeSet;
 
 public class AccumuloStoreTest {
 
@@ -246,4 +249,36 @@ public class AccumuloStoreTest {
         assertTrue("Collection should contain VISIBILITY trait", traits.contains(VISIBILITY));
     }
 
+    @Test
+    public void shouldCacheTheSplitsUntilTheTtlExpires() throws Exception {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloStoreTest.class));
+        properties.setSplitsCacheTtl("3600000");
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        final Collection<Text> splitsBefore = store.getSplits();
+
+        // When
+        store.getConnection().tableOperations().addSplits(properties.getTable(), new TreeSet<>(Collections.singleton(new Text("b"))));
+
+        // Then
+        assertTrue(splitsBefore.isEmpty());
+        assertTrue(store.getSplits().isEmpty());
+    }
+
+    @Test
+    public void shouldListTheSplitsForEachCallWhenTheTtlIsZero() throws Exception {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloStoreTest.class));
+        properties.setSplitsCacheTtl("0");
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, properties);
+        assertTrue(store.getSplits().isEmpty());
+
+        // When
+        store.getConnection().tableOperations().addSplits(properties.getTable(), new TreeSet<>(Collections.singleton(new Text("b"))));
+
+        // Then
+        assertEquals(Collections.singletonList(new Text("b")), new ArrayList<>(store.getSplits()));
+    }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.function.simple.aggregate.LongMin;
+import gaffer.function.simple.aggregate.Max;
+import gaffer.function.simple.aggregate.NumericAggregateFunction;
+import gaffer.function.simple.aggregate.StringConcat;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+public class RawLongValueAggregatorTest {
+    private static final String INT_SUM_EDGE = "IntSumEdge";
+
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .aggregateFunction(new StringConcat())
+                    .build())
+            .type("directed", Boolean.class)
+            .type("compactSum", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .aggregateFunction(new Sum())
+                    .build())
+            .type("rawMax", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new RawLongSerialiser())
+                    .aggregateFunction(new Max())
+                    .build())
+            .type("compactMin", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .aggregateFunction(new LongMin())
+                    .build())
+            .type("intSum", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .aggregateFunction(createIntSum())
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("directed")
+                    .property(TestPropertyNames.PROP_1, "compactSum")
+                    .property(TestPropertyNames.COUNT, "compactSum")
+                    .property(TestPropertyNames.PROP_2, "rawMax")
+                    .property(TestPropertyNames.PROP_3, "compactMin")
+                    .property(TestPropertyNames.TIMESTAMP, "rawMax")
+                    .groupBy(TestPropertyNames.PROP_1)
+                    .build())
+            .edge(TestGroups.EDGE_2, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("directed")
+                    .property(TestPropertyNames.COUNT, "compactSum")
+                    .property(TestPropertyNames.STRING, "string")
+                    .build())
+            .edge(INT_SUM_EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("directed")
+                    .property(TestPropertyNames.COUNT, "intSum")
+                    .build())
+            .timestampProperty(TestPropertyNames.TIMESTAMP)
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final AbstractCoreKeyAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+
+    @Test
+    public void shouldAggregateValuesToTheSameBytesAsTheElementAggregator() throws AccumuloElementConversionException {
+        // Given
+        final List<Value> values = Arrays.asList(
+                createValue(1L, -5L, 300L),
+                createValue(1000000L, 7L, 2L),
+                createValue(3L, 2L, Long.MAX_VALUE));
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(converter, TestGroups.EDGE);
+
+        // When
+        final Value result = aggregator.reduce(values.iterator());
+
+        // Then
+        assertArrayEquals(aggregateProperties(values).get(), result.get());
+        final Properties properties = converter.getPropertiesFromValue(TestGroups.EDGE, result);
+        assertEquals(1000004L, properties.get(TestPropertyNames.COUNT));
+        assertEquals(7L, properties.get(TestPropertyNames.PROP_2));
+        assertEquals(2L, properties.get(TestPropertyNames.PROP_3));
+    }
+
+    @Test
+    public void shouldIgnoreNullPropertiesWhenAggregating() throws AccumuloElementConversionException {
+        // Given
+        final List<Value> values = Arrays.asList(
+                createValue(null, 4L, null),
+                createValue(2L, null, null),
+                new Value(),
+                createValue(3L, 1L, null));
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(converter, TestGroups.EDGE);
+
+        // When
+        final Value result = aggregator.reduce(values.iterator());
+
+        // Then
+        assertArrayEquals(aggregateProperties(values).get(), result.get());
+        final Properties properties = converter.getPropertiesFromValue(TestGroups.EDGE, result);
+        assertEquals(5L, properties.get(TestPropertyNames.COUNT));
+        assertEquals(4L, properties.get(TestPropertyNames.PROP_2));
+        assertNull(properties.get(TestPropertyNames.PROP_3));
+    }
+
+    @Test
+    public void shouldReturnAnEmptyValueWhenAllPropertiesAreNull() throws AccumuloElementConversionException {
+        // Given
+        final List<Value> values = Arrays.asList(new Value(), createValue(null, null, null));
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(converter, TestGroups.EDGE);
+
+        // When
+        final Value result = aggregator.reduce(values.iterator());
+
+        // Then
+        assertEquals(0, result.getSize());
+    }
+
+    @Test
+    public void shouldBeReusableForMultipleReductions() throws AccumuloElementConversionException {
+        // Given
+        final RawLongValueAggregator aggregator = RawLongValueAggregator.create(converter, TestGroups.EDGE);
+        aggregator.reduce(Arrays.asList(createValue(10L, 10L, 10L), createValue(10L, 10L, 10L)).iterator());
+        final List<Value> values = Arrays.asList(createValue(1L, 1L, 1L), createValue(2L, 2L, 2L));
+
+        // When
+        final Value result = aggregator.reduce(values.iterator());
+
+        // Then
+        assertArrayEquals(aggregateProperties(values).get(), result.get());
+    }
+
+    @Test
+    public void shouldOnlyCreateAggregatorForGroupsWithRawLongValueProperties() throws AccumuloElementConversionException {
+        // When / Then
+        assertNotNull(RawLongValueAggregator.create(converter, TestGroups.EDGE));
+        assertNull(RawLongValueAggregator.create(converter, TestGroups.EDGE_2));
+        assertNull(RawLongValueAggregator.create(converter, INT_SUM_EDGE));
+    }
+
+    private Value createValue(final Long count, final Long prop2, final Long prop3) throws AccumuloElementConversionException {
+        final Properties properties = new Properties();
+        properties.put(TestPropertyNames.COUNT, count);
+        properties.put(TestPropertyNames.PROP_2, prop2);
+        properties.put(TestPropertyNames.PROP_3, prop3);
+        return converter.getValueFromProperties(TestGroups.EDGE, properties);
+    }
+
+    private Value aggregateProperties(final List<Value> values) throws AccumuloElementConversionException {
+        final ElementAggregator aggregator = SCHEMA.getElement(TestGroups.EDGE).getAggregator();
+        for (final Value value : values) {
+            aggregator.aggregate(converter.getPropertiesFromValue(TestGroups.EDGE, value));
+        }
+        final Properties properties = new Properties();
+        aggregator.state(properties);
+        return converter.getValueFromProperties(TestGroups.EDGE, properties);
+    }
+
+    private static Sum createIntSum() {
+        final Sum sum = new Sum();
+        sum.setMode(NumericAggregateFunction.NumberType.INT);
+        return sum;
+    }
+}
@@ -16,9 +16,12 @@
 package gaffer.accumulostore.key.core.impl;
 
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import gaffer.accumulostore.key.AccumuloElementConverter;
@@ -30,6 +33,7 @@ import gaffer.commonutil.StreamUtil;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Entity;
+import gaffer.data.element.LazyProperties;
 import gaffer.data.element.Properties;
 import gaffer.data.elementdefinition.exception.SchemaException;
 import gaffer.store.schema.Schema;
@@ -39,7 +43,9 @@ import org.apache.accumulo.core.data.Value;
 import org.junit.Before;
 import org.junit.Test;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 
 public abstract class AbstractAccumuloElementConverterTest {
@@ -290,6 +296,48 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(10, deSerialisedProperties.get(AccumuloPropertyNames.PROP_4));
     }
 
+    @Test
+    public void shouldOnlyDeserialiseProjectedPropertiesFromValue() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_2, 166);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When
+        final Value projectedValue = converter.getProjectedValue(TestGroups.EDGE, value,
+                new HashSet<>(Arrays.asList(AccumuloPropertyNames.PROP_2, AccumuloPropertyNames.COUNT)));
+        final Properties deSerialisedProperties = converter.getPropertiesFromValue(TestGroups.EDGE, projectedValue);
+        final Properties lazyProperties = converter.getLazyPropertiesFromValue(TestGroups.EDGE, projectedValue);
+
+        // Then
+        assertTrue(projectedValue.getSize() < value.getSize());
+        assertEquals(2, deSerialisedProperties.size());
+        assertEquals(166, deSerialisedProperties.get(AccumuloPropertyNames.PROP_2));
+        assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
+        assertEquals(166, lazyProperties.get(AccumuloPropertyNames.PROP_2));
+        assertNull(lazyProperties.get(AccumuloPropertyNames.PROP_3));
+        assertEquals(8, lazyProperties.get(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldReturnEmptyValueWhenNoPropertiesAreProjected() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When
+        final Value projectedValue = converter.getProjectedValue(TestGroups.EDGE, value, new HashSet<String>());
+
+        // Then
+        assertEquals(0, projectedValue.getSize());
+        assertTrue(converter.getPropertiesFromValue(TestGroups.EDGE, projectedValue).isEmpty());
+    }
+
     @Test
     public void shouldSerialiseAndDeSerialiseBetweenPropertyAndValueMissingStartProperty() throws AccumuloElementConversionException {
         Properties properties = new Properties();
@@ -505,4 +553,105 @@ public abstract class AbstractAccumuloElementConverterTest {
             assertNotNull(e.getMessage());
         }
     }
+
+    @Test
+    public void shouldLazilyLoadTheSamePropertiesAndIdentifiersAsTheFullElement() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = createEdgeWithProperties();
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+
+        // When
+        final Edge fullEdge = (Edge) converter.getFullElement(keys.getFirst(), value);
+        final Edge lazyEdge = (Edge) converter.getLazyFullElement(keys.getFirst(), value);
+
+        // Then
+        assertEquals(fullEdge.getSource(), lazyEdge.getSource());
+        assertEquals(fullEdge.getDestination(), lazyEdge.getDestination());
+        assertEquals(fullEdge.isDirected(), lazyEdge.isDirected());
+        for (final String propertyName : Arrays.asList(AccumuloPropertyNames.COLUMN_QUALIFIER,
+                AccumuloPropertyNames.COLUMN_QUALIFIER_2, AccumuloPropertyNames.COLUMN_QUALIFIER_3,
+                AccumuloPropertyNames.COLUMN_QUALIFIER_4, AccumuloPropertyNames.PROP_1, AccumuloPropertyNames.PROP_2,
+                AccumuloPropertyNames.PROP_3, AccumuloPropertyNames.PROP_4, AccumuloPropertyNames.COUNT)) {
+            assertEquals(fullEdge.getProperty(propertyName), lazyEdge.getProperty(propertyName));
+        }
+    }
+
+    @Test
+    public void shouldOnlyDeserialiseRequestedPropertiesWhenLazilyLoadingProperties() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = createEdgeWithProperties();
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+
+        // When
+        final LazyProperties properties = (LazyProperties) converter.getLazyProperties(TestGroups.EDGE, keys.getFirst(), value);
+        final Object prop3 = properties.get(AccumuloPropertyNames.PROP_3);
+        final Object columnQualifier3 = properties.get(AccumuloPropertyNames.COLUMN_QUALIFIER_3);
+
+        // Then
+        assertEquals(30, prop3);
+        assertEquals(3, columnQualifier3);
+        assertEquals(2, properties.getProperties().size());
+    }
+
+    @Test
+    public void shouldOnlyLoadValuePropertiesWhenLazilyLoadingPropertiesFromValue() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = createEdgeWithProperties();
+        final Value value = converter.getValueFromElement(edge);
+
+        // When
+        final Properties properties = converter.getLazyPropertiesFromValue(TestGroups.EDGE, value);
+
+        // Then
+        assertEquals(40, properties.get(AccumuloPropertyNames.PROP_4));
+        assertEquals(5, properties.get(AccumuloPropertyNames.COUNT));
+        assertNull(properties.get(AccumuloPropertyNames.COLUMN_QUALIFIER));
+    }
+
+    @Test
+    public void shouldGetTheSameSerialisedIdentifiersFromBothKeysOfAnEdge() throws AccumuloElementConversionException {
+        for (final boolean directed : Arrays.asList(true, false)) {
+            // Given
+            final Pair<Key> keys = converter.getKeysFromElement(new Edge(TestGroups.EDGE, "1", "2", directed));
+            final Pair<Key> reversedKeys = converter.getKeysFromElement(new Edge(TestGroups.EDGE, "2", "1", directed));
+
+            // When
+            final byte[] identifiers = converter.getSerialisedIdentifiersFromKey(keys.getFirst());
+
+            // Then
+            assertArrayEquals(identifiers, converter.getSerialisedIdentifiersFromKey(keys.getSecond()));
+            if (directed) {
+                assertFalse(Arrays.equals(identifiers, converter.getSerialisedIdentifiersFromKey(reversedKeys.getFirst())));
+            } else {
+                assertArrayEquals(identifiers, converter.getSerialisedIdentifiersFromKey(reversedKeys.getFirst()));
+            }
+        }
+    }
+
+    @Test
+    public void shouldGetDifferentSerialisedIdentifiersForAnEntityAndAnEdge() throws AccumuloElementConversionException {
+        // Given
+        final Key entityKey = converter.getKeyFromEntity(new Entity(TestGroups.ENTITY, "1"));
+        final Key edgeKey = converter.getKeysFromElement(new Edge(TestGroups.EDGE, "1", "2", true)).getFirst();
+
+        // When
+        final byte[] entityIdentifiers = converter.getSerialisedIdentifiersFromKey(entityKey);
+        final byte[] edgeIdentifiers = converter.getSerialisedIdentifiersFromKey(edgeKey);
+
+        // Then
+        assertFalse(Arrays.equals(entityIdentifiers, edgeIdentifiers));
+    }
+
+    private Edge createEdgeWithProperties() {
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER_3, 3);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 10);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 30);
+        edge.putProperty(AccumuloPropertyNames.PROP_4, 40);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 5);
+        return edge;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.Lists;
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.operation.handler.GetElementsHandler;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.element.function.ElementTransformer;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.filter.IsEqual;
+import gaffer.function.simple.transform.Concat;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ElementPostTransformFilterTest {
+    private static final String CONCAT = "concat";
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ElementPostTransformFilterTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ElementPostTransformFilterTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(ElementPostTransformFilterTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setEnableServerSideTransforms(true);
+        final AccumuloProperties classicProperties = CLASSIC_PROPERTIES.clone();
+        classicProperties.setEnableServerSideTransforms(true);
+
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, properties);
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore.initialise(SCHEMA, classicProperties);
+
+        final List<Element> data = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            data.add(createEdge("B" + i, i));
+        }
+        byteEntityStore.execute(new AddElements(data), user);
+        gaffer1KeyStore.execute(new AddElements(data), user);
+    }
+
+    @Test
+    public void shouldFilterTransformedElementsOnTheServerByteEntityStore() throws Exception {
+        shouldFilterTransformedElementsOnTheServer(byteEntityStore);
+    }
+
+    @Test
+    public void shouldFilterTransformedElementsOnTheServerGaffer1Store() throws Exception {
+        shouldFilterTransformedElementsOnTheServer(gaffer1KeyStore);
+    }
+
+    private void shouldFilterTransformedElementsOnTheServer(final AccumuloStore store) throws Exception {
+        // Given
+        final IteratorSetting setting = store.getKeyPackage().getIteratorFactory()
+                .getElementPostTransformFilterIteratorSetting(createView(), store);
+        final Scanner scanner = store.getConnection().createScanner(store.getProperties().getTable(), new Authorizations());
+        scanner.addScanIterator(setting);
+
+        // When
+        final Set<Element> elements = new HashSet<>();
+        for (final Map.Entry<Key, Value> entry : scanner) {
+            elements.add(store.getKeyPackage().getKeyConverter().getFullElement(entry.getKey(), entry.getValue()));
+        }
+
+        // Then
+        assertEquals(1, elements.size());
+        assertEquals(createEdge("B3", 3), elements.iterator().next());
+    }
+
+    @Test
+    public void shouldReturnTransformedElementsThatPassThePostTransformFilter() throws OperationException {
+        // Given
+        final GetElements<ElementSeed, Element> operation = new GetRelatedElements.Builder<ElementSeed, Element>()
+                .addSeed(new EntitySeed("A"))
+                .view(createView())
+                .build();
+
+        // When
+        final List<Element> results;
+        try (final CloseableIterable<Element> elements = new GetElementsHandler().doOperation(operation, user, byteEntityStore)) {
+            results = Lists.newArrayList(elements);
+        }
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals("B3", ((Edge) results.get(0)).getDestination());
+        assertEquals("3,1", results.get(0).getProperty(CONCAT));
+    }
+
+    @Test
+    public void shouldNotApplyIteratorUnlessEnabled() throws StoreException, IteratorSettingException {
+        // Given
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(SCHEMA, PROPERTIES);
+
+        // When / Then
+        assertNull(store.getKeyPackage().getIteratorFactory().getElementPostTransformFilterIteratorSetting(createView(), store));
+        assertNotNull(byteEntityStore.getKeyPackage().getIteratorFactory().getElementPostTransformFilterIteratorSetting(createView(), byteEntityStore));
+    }
+
+    private View createView() {
+        return new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .transientProperty(CONCAT, String.class)
+                        .transformer(new ElementTransformer.Builder()
+                                .select(AccumuloPropertyNames.PROP_1, AccumuloPropertyNames.PROP_2)
+                                .project(CONCAT)
+                                .execute(new Concat())
+                                .build())
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(CONCAT)
+                                .execute(new IsEqual("3,1"))
+                                .build())
+                        .build())
+                .build();
+    }
+
+    private static Edge createEdge(final String destination, final int prop1) {
+        final Edge edge = new Edge(TestGroups.EDGE, "A", destination, true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, prop1);
+        edge.putProperty(AccumuloPropertyNames.PROP_2, 1);
+        return edge;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.operation.handler.GetElementsHandler;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class MaxEdgesPerVertexIteratorTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(MaxEdgesPerVertexIteratorTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(MaxEdgesPerVertexIteratorTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(MaxEdgesPerVertexIteratorTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+
+        // A has an entity and 10 edges, C has 2 edges
+        final List<Element> data = new ArrayList<>();
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        entity.putProperty(AccumuloPropertyNames.COUNT, 1);
+        data.add(entity);
+        for (int i = 0; i < 10; i++) {
+            data.add(createEdge("A", "B" + i));
+        }
+        data.add(createEdge("C", "D0"));
+        data.add(createEdge("C", "D1"));
+        byteEntityStore.execute(new AddElements(data), user);
+        gaffer1KeyStore.execute(new AddElements(data), user);
+    }
+
+    @Test
+    public void shouldReturnAtMostTheMaxEdgesForEachVertexByteEntityStore() throws OperationException {
+        shouldReturnAtMostTheMaxEdgesForEachVertex(byteEntityStore);
+    }
+
+    @Test
+    public void shouldReturnAtMostTheMaxEdgesForEachVertexGaffer1Store() throws OperationException {
+        shouldReturnAtMostTheMaxEdgesForEachVertex(gaffer1KeyStore);
+    }
+
+    private void shouldReturnAtMostTheMaxEdgesForEachVertex(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetElements<ElementSeed, Element> operation = createOperation();
+        operation.addOption(AccumuloStoreConstants.OPERATION_MAX_EDGES_PER_VERTEX, "3");
+
+        // When
+        final List<Element> results = getElements(store, operation);
+
+        // Then
+        int entities = 0;
+        int edgesFromA = 0;
+        int edgesFromC = 0;
+        for (final Element element : results) {
+            if (element instanceof Entity) {
+                entities++;
+            } else if ("A".equals(((Edge) element).getSource())) {
+                edgesFromA++;
+            } else {
+                edgesFromC++;
+            }
+        }
+        assertEquals(1, entities);
+        assertEquals(3, edgesFromA);
+        assertEquals(2, edgesFromC);
+    }
+
+    @Test
+    public void shouldApplyTheMaxToTheWholeVertexWhenAScanIsResumedByteEntityStore() throws Exception {
+        shouldApplyTheMaxToTheWholeVertexWhenAScanIsResumed(byteEntityStore);
+    }
+
+    @Test
+    public void shouldApplyTheMaxToTheWholeVertexWhenAScanIsResumedGaffer1Store() throws Exception {
+        shouldApplyTheMaxToTheWholeVertexWhenAScanIsResumed(gaffer1KeyStore);
+    }
+
+    private void shouldApplyTheMaxToTheWholeVertexWhenAScanIsResumed(final AccumuloStore store) throws Exception {
+        // Given - a scan of A that stops after 2 edges
+        final GetElements<ElementSeed, Element> operation = createOperation();
+        operation.addOption(AccumuloStoreConstants.OPERATION_MAX_EDGES_PER_VERTEX, "3");
+        final IteratorSetting setting = store.getKeyPackage().getIteratorFactory().getMaxEdgesPerVertexIteratorSetting(operation, store);
+        final AccumuloElementConverter converter = store.getKeyPackage().getKeyConverter();
+        final Range rangeOfA = new Range("A", true, "B", false);
+        Key lastKey = null;
+        int edges = 0;
+        final Iterator<Map.Entry<Key, Value>> firstScan = createScanner(store, rangeOfA, setting).iterator();
+        while (edges < 2) {
+            lastKey = firstScan.next().getKey();
+            if (!converter.doesKeyRepresentEntity(lastKey.getRowData().getBackingArray())) {
+                edges++;
+            }
+        }
+
+        // When - the scan is resumed after the last key, with new iterators
+        for (final Map.Entry<Key, Value> entry : createScanner(store, new Range(lastKey, false, rangeOfA.getEndKey(), false), setting)) {
+            if (!converter.doesKeyRepresentEntity(entry.getKey().getRowData().getBackingArray())) {
+                edges++;
+            }
+        }
+
+        // Then
+        assertEquals(3, edges);
+    }
+
+    @Test
+    public void shouldReturnAllEdgesWithoutTheOption() throws OperationException {
+        // When
+        final List<Element> results = getElements(byteEntityStore, createOperation());
+
+        // Then
+        assertEquals(13, results.size());
+        assertTrue(results.contains(createEdge("A", "B9")));
+    }
+
+    private GetElements<ElementSeed, Element> createOperation() {
+        return new GetRelatedElements.Builder<ElementSeed, Element>()
+                .addSeed(new EntitySeed("A"))
+                .addSeed(new EntitySeed("C"))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+    }
+
+    private List<Element> getElements(final AccumuloStore store, final GetElements<ElementSeed, Element> operation)
+            throws OperationException {
+        try (final CloseableIterable<Element> results = new GetElementsHandler().doOperation(operation, user, store)) {
+            return Lists.newArrayList(results);
+        }
+    }
+
+    private Scanner createScanner(final AccumuloStore store, final Range range, final IteratorSetting setting)
+            throws StoreException, TableNotFoundException {
+        final Scanner scanner = store.getConnection().createScanner(store.getProperties().getTable(), new Authorizations());
+        scanner.setRange(range);
+        scanner.addScanIterator(setting);
+        return scanner;
+    }
+
+    private static Edge createEdge(final String source, final String destination) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+        return edge;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.operation.handler.GetElementsHandler;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ProjectionIteratorTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ProjectionIteratorTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ProjectionIteratorTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(ProjectionIteratorTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+
+        final List<Element> data = Collections.<Element>singletonList(createEdge());
+        byteEntityStore.execute(new AddElements(data), user);
+        gaffer1KeyStore.execute(new AddElements(data), user);
+    }
+
+    @Test
+    public void shouldOnlyReturnRequestedPropertiesByteEntityStore() throws OperationException {
+        shouldOnlyReturnRequestedProperties(byteEntityStore);
+    }
+
+    @Test
+    public void shouldOnlyReturnRequestedPropertiesGaffer1Store() throws OperationException {
+        shouldOnlyReturnRequestedProperties(gaffer1KeyStore);
+    }
+
+    private void shouldOnlyReturnRequestedProperties(final AccumuloStore store) throws OperationException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(AccumuloPropertyNames.PROP_3)
+                        .build())
+                .build();
+
+        // When
+        final Edge edge = getEdge(store, view);
+
+        // Then
+        assertEquals(3, edge.getProperty(AccumuloPropertyNames.PROP_3));
+        assertEquals(1, edge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(edge.getProperty(AccumuloPropertyNames.PROP_1));
+        assertNull(edge.getProperty(AccumuloPropertyNames.PROP_4));
+        assertNull(edge.getProperty(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldReturnAllPropertiesWhenPropertiesAreNotSet() throws OperationException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final Edge edge = getEdge(byteEntityStore, view);
+
+        // Then
+        assertEquals(createEdge(), edge);
+    }
+
+    @Test
+    public void shouldKeepPropertiesUsedByThePostTransformFilter() throws OperationException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(AccumuloPropertyNames.COUNT)
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.PROP_1)
+                                .execute(new IsMoreThan(0))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final Edge edge = getEdge(byteEntityStore, view);
+        final Map<String, Set<String>> requiredProperties = ProjectionIterator.getRequiredProperties(view);
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(AccumuloPropertyNames.COUNT, AccumuloPropertyNames.PROP_1)),
+                requiredProperties.get(TestGroups.EDGE));
+        assertEquals(1, edge.getProperty(AccumuloPropertyNames.PROP_1));
+        assertEquals(5, edge.getProperty(AccumuloPropertyNames.COUNT));
+        assertNull(edge.getProperty(AccumuloPropertyNames.PROP_2));
+    }
+
+    private Edge getEdge(final AccumuloStore store, final View view) throws OperationException {
+        final GetElements<ElementSeed, Element> operation = new GetRelatedElements.Builder<ElementSeed, Element>()
+                .addSeed(new EntitySeed("A"))
+                .view(view)
+                .build();
+        try (final CloseableIterable<Element> results = new GetElementsHandler().doOperation(operation, user, store)) {
+            final List<Element> elements = Lists.newArrayList(results);
+            assertEquals(1, elements.size());
+            assertTrue(elements.get(0) instanceof Edge);
+            return (Edge) elements.get(0);
+        }
+    }
+
+    private static Edge createEdge() {
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 1);
+        edge.putProperty(AccumuloPropertyNames.PROP_2, 2);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 3);
+        edge.putProperty(AccumuloPropertyNames.PROP_4, 4);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 5);
+        return edge;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.Lists;
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.operation.handler.GetElementsHandler;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.filter.Exists;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResultLimitIteratorTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ResultLimitIteratorTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ResultLimitIteratorTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(ResultLimitIteratorTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+
+        final List<Element> data = createData();
+        byteEntityStore.execute(new AddElements(data), user);
+        gaffer1KeyStore.execute(new AddElements(data), user);
+    }
+
+    @Test
+    public void shouldLimitResultsOnTheTabletServerByteEntityStore() throws OperationException {
+        shouldLimitResultsOnTheTabletServer(byteEntityStore);
+    }
+
+    @Test
+    public void shouldLimitResultsOnTheTabletServerGaffer1Store() throws OperationException {
+        shouldLimitResultsOnTheTabletServer(gaffer1KeyStore);
+    }
+
+    private void shouldLimitResultsOnTheTabletServer(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetElements<ElementSeed, Element> operation = new GetRelatedElements.Builder<ElementSeed, Element>()
+                .addSeed(new EntitySeed("A"))
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .limitResults(3)
+                .build();
+
+        // When
+        final List<Element> results = getElements(store, operation);
+
+        // Then
+        assertEquals(3, results.size());
+    }
+
+    @Test
+    public void shouldNotLimitResultsOnTheTabletServerWhenTheClientAppliesThePostTransformFilters() throws OperationException {
+        // Given
+        final GetElements<ElementSeed, Element> operation = createPostTransformFilterOperation();
+
+        // When
+        final List<Element> results = getElements(byteEntityStore, operation);
+
+        // Then
+        assertNull(byteEntityStore.getKeyPackage().getIteratorFactory().getResultLimitIteratorSetting(operation, byteEntityStore));
+        assertEquals(10, results.size());
+    }
+
+    @Test
+    public void shouldLimitResultsOnTheTabletServerWhenThePostTransformFiltersAreAppliedServerSide() throws OperationException, StoreException {
+        // Given
+        final AccumuloProperties serverSideTransformProperties = PROPERTIES.clone();
+        serverSideTransformProperties.setEnableServerSideTransforms(true);
+        final AccumuloStore serverSideTransformStore = new SingleUseMockAccumuloStore();
+        serverSideTransformStore.initialise(SCHEMA, serverSideTransformProperties);
+        serverSideTransformStore.execute(new AddElements(createData()), user);
+        final GetElements<ElementSeed, Element> operation = createPostTransformFilterOperation();
+
+        // When
+        final List<Element> results = getElements(serverSideTransformStore, operation);
+
+        // Then
+        assertNotNull(serverSideTransformStore.getKeyPackage().getIteratorFactory().getResultLimitIteratorSetting(operation, serverSideTransformStore));
+        assertEquals(3, results.size());
+    }
+
+    private GetElements<ElementSeed, Element> createPostTransformFilterOperation() {
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COUNT)
+                                .execute(new Exists())
+                                .build())
+                        .build())
+                .build();
+        return new GetRelatedElements.Builder<ElementSeed, Element>()
+                .addSeed(new EntitySeed("A"))
+                .view(view)
+                .limitResults(3)
+                .build();
+    }
+
+    private List<Element> createData() {
+        final List<Element> data = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Edge edge = new Edge(TestGroups.EDGE, "A", "B" + i, true);
+            edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+            edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+            data.add(edge);
+        }
+        return data;
+    }
+
+    private List<Element> getElements(final AccumuloStore store, final GetElements<ElementSeed, Element> operation)
+            throws OperationException {
+        try (final CloseableIterable<Element> results = new GetElementsHandler().doOperation(operation, user, store)) {
+            return Lists.newArrayList(results);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.Lists;
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.retriever.impl.AccumuloAllElementsRetriever;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.element.function.ElementTransformer;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.function.simple.transform.Concat;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.operation.impl.get.GetTopKElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+public class TopKIteratorTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(TopKIteratorTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(TopKIteratorTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(TopKIteratorTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final View VIEW = new View.Builder()
+            .entity(TestGroups.ENTITY)
+            .edge(TestGroups.EDGE)
+            .build();
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        entity.putProperty(AccumuloPropertyNames.COUNT, 7);
+        final List<Element> data = Arrays.asList(entity,
+                createEdge("A", "B", 5),
+                createEdge("A", "C", 3),
+                createEdge("B", "C", 9));
+        byteEntityStore.execute(new AddElements(data), user);
+        gaffer1KeyStore.execute(new AddElements(data), user);
+    }
+
+    @Test
+    public void shouldOnlyReturnTopKElementsOnceEachByteEntityStore() throws Exception {
+        shouldOnlyReturnTopKElementsOnceEach(byteEntityStore);
+    }
+
+    @Test
+    public void shouldOnlyReturnTopKElementsOnceEachGaffer1Store() throws Exception {
+        shouldOnlyReturnTopKElementsOnceEach(gaffer1KeyStore);
+    }
+
+    private void shouldOnlyReturnTopKElementsOnceEach(final AccumuloStore store) throws Exception {
+        // Given - both copies of the B to C edge are read in the same range
+        final GetTopKElements<ElementSeed, Element> operation = createOperation(VIEW, 2);
+
+        // When
+        final List<Element> results;
+        try (final CloseableIterable<Element> elements = new AccumuloAllElementsRetriever(store, new GetAllElements<>(VIEW), user,
+                store.getKeyPackage().getIteratorFactory().getTopKIteratorSetting(operation, store))) {
+            results = Lists.newArrayList(elements);
+        }
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals(new HashSet<>(Arrays.asList(9, 7)), new HashSet<>(Arrays.asList(
+                results.get(0).getProperty(AccumuloPropertyNames.COUNT),
+                results.get(1).getProperty(AccumuloPropertyNames.COUNT))));
+    }
+
+    @Test
+    public void shouldNotRankOnTabletServersWhenPropertyIsTransformed() {
+        // Given
+        final GetTopKElements<ElementSeed, Element> operation = createOperation(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .transformer(new ElementTransformer.Builder()
+                                .select(AccumuloPropertyNames.PROP_1, AccumuloPropertyNames.PROP_2)
+                                .project(AccumuloPropertyNames.COUNT)
+                                .execute(new Concat())
+                                .build())
+                        .build())
+                .build(), 2);
+
+        // When / Then
+        assertNull(byteEntityStore.getKeyPackage().getIteratorFactory().getTopKIteratorSetting(operation, byteEntityStore));
+    }
+
+    @Test
+    public void shouldOnlyRankOnTabletServersWithPostTransformFiltersIfServerSideTransformsAreEnabled() throws StoreException {
+        // Given
+        final GetTopKElements<ElementSeed, Element> operation = createOperation(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COUNT)
+                                .execute(new IsMoreThan(5))
+                                .build())
+                        .build())
+                .build(), 2);
+        final AccumuloProperties serverSideTransformProperties = PROPERTIES.clone();
+        serverSideTransformProperties.setEnableServerSideTransforms(true);
+        final AccumuloStore serverSideTransformStore = new SingleUseMockAccumuloStore();
+        serverSideTransformStore.initialise(SCHEMA, serverSideTransformProperties);
+
+        // When / Then
+        assertNull(byteEntityStore.getKeyPackage().getIteratorFactory().getTopKIteratorSetting(operation, byteEntityStore));
+        assertNotNull(serverSideTransformStore.getKeyPackage().getIteratorFactory().getTopKIteratorSetting(operation, serverSideTransformStore));
+    }
+
+    private GetTopKElements<ElementSeed, Element> createOperation(final View view, final int k) {
+        return new GetTopKElements.Builder<ElementSeed, Element>()
+                .view(view)
+                .property(AccumuloPropertyNames.COUNT)
+                .k(k)
+                .build();
+    }
+
+    private static Edge createEdge(final String source, final String destination, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        return edge;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.operation.impl.CountElements;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.GroupCounts;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CountElementsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(CountElementsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(CountElementsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(CountElementsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final View VIEW = new View.Builder()
+            .entity(TestGroups.ENTITY)
+            .edge(TestGroups.EDGE)
+            .build();
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+
+        final List<Element> data = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + i);
+            entity.putProperty(AccumuloPropertyNames.COUNT, i);
+            data.add(entity);
+
+            data.add(createEdge("vertex" + i, "vertex" + (i + 1), true, i));
+        }
+        data.add(createEdge("vertex0", "vertex5", false, 1));
+        data.add(createEdge("vertex0", "vertex0", true, 1));
+        byteEntityStore.execute(new AddElements(data), user);
+        gaffer1KeyStore.execute(new AddElements(data), user);
+    }
+
+    @Test
+    public void shouldCountAllElementsByteEntityStore() throws OperationException {
+        shouldCountAllElements(byteEntityStore);
+    }
+
+    @Test
+    public void shouldCountAllElementsGaffer1Store() throws OperationException {
+        shouldCountAllElements(gaffer1KeyStore);
+    }
+
+    private void shouldCountAllElements(final AccumuloStore store) throws OperationException {
+        // When
+        final GroupCounts counts = new CountElementsHandler().doOperation(new CountElements(VIEW), user, store);
+
+        // Then
+        assertEquals(getAllElementCounts(store).toString(), counts.toString());
+        assertEquals(10, (long) counts.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(12, (long) counts.getEdgeGroups().get(TestGroups.EDGE));
+        assertFalse(counts.isLimitHit());
+    }
+
+    @Test
+    public void shouldCountOnlyFilteredElementsByteEntityStore() throws OperationException {
+        shouldCountOnlyFilteredElements(byteEntityStore);
+    }
+
+    @Test
+    public void shouldCountOnlyFilteredElementsGaffer1Store() throws OperationException {
+        shouldCountOnlyFilteredElements(gaffer1KeyStore);
+    }
+
+    private void shouldCountOnlyFilteredElements(final AccumuloStore store) throws OperationException {
+        // Given
+        final ElementFilter countMoreThan5 = new ElementFilter.Builder()
+                .select(AccumuloPropertyNames.COUNT)
+                .execute(new IsMoreThan(5))
+                .build();
+        final CountElements operation = new CountElements(new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(countMoreThan5)
+                        .build())
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(countMoreThan5)
+                        .build())
+                .build());
+        operation.setIncludeEntities(false);
+
+        // When
+        final GroupCounts counts = new CountElementsHandler().doOperation(operation, user, store);
+
+        // Then
+        assertNull(counts.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(4, (long) counts.getEdgeGroups().get(TestGroups.EDGE));
+    }
+
+    @Test(expected = OperationException.class)
+    public void shouldNotCountWithPostTransformFiltersUnlessServerSideTransformsAreEnabled() throws OperationException {
+        // Given
+        final CountElements operation = new CountElements(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COUNT)
+                                .execute(new IsMoreThan(5))
+                                .build())
+                        .build())
+                .build());
+
+        // When
+        new CountElementsHandler().doOperation(operation, user, byteEntityStore);
+    }
+
+    private GroupCounts getAllElementCounts(final AccumuloStore store) throws OperationException {
+        final GroupCounts counts = new GroupCounts();
+        try (final CloseableIterable<Element> elements = new GetAllElementsHandler().doOperation(new GetAllElements<>(VIEW), user, store)) {
+            for (final Element element : elements) {
+                if (element instanceof Entity) {
+                    counts.addEntityGroup(element.getGroup());
+                } else {
+                    counts.addEdgeGroup(element.getGroup());
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static Edge createEdge(final String source, final String destination, final boolean directed, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, directed);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        return edge;
+    }
+}
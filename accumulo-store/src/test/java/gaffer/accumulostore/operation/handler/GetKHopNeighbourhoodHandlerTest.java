@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.operation.impl.GetKHopNeighbourhood;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+public class GetKHopNeighbourhoodHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetKHopNeighbourhoodHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetKHopNeighbourhoodHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(GetKHopNeighbourhoodHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+    private static final View EDGE_VIEW = new View.Builder()
+            .edge(TestGroups.EDGE)
+            .build();
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+
+        // A -> B -> C -> D and A -> E -> F
+        final List<Element> data = Arrays.<Element>asList(
+                createEdge("A", "B"), createEdge("B", "C"), createEdge("C", "D"),
+                createEdge("A", "E"), createEdge("E", "F"));
+        byteEntityStore.execute(new AddElements(data), user);
+        gaffer1KeyStore.execute(new AddElements(data), user);
+    }
+
+    @Test
+    public void shouldGetRelatedEdgesForOneHopByteEntityStore() throws OperationException {
+        shouldGetRelatedEdgesForOneHop(byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetRelatedEdgesForOneHopGaffer1Store() throws OperationException {
+        shouldGetRelatedEdgesForOneHop(gaffer1KeyStore);
+    }
+
+    private void shouldGetRelatedEdgesForOneHop(final AccumuloStore store) throws OperationException {
+        // When
+        final List<Element> results = getNeighbourhood(store, new GetKHopNeighbourhood.Builder<>()
+                .addSeed(new EntitySeed("A"))
+                .view(EDGE_VIEW)
+                .build());
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(createEdge("A", "B"), createEdge("A", "E"))), new HashSet<>(results));
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    public void shouldExpandEachHopOnlyOnceByteEntityStore() throws OperationException {
+        shouldExpandEachHopOnlyOnce(byteEntityStore);
+    }
+
+    @Test
+    public void shouldExpandEachHopOnlyOnceGaffer1Store() throws OperationException {
+        shouldExpandEachHopOnlyOnce(gaffer1KeyStore);
+    }
+
+    private void shouldExpandEachHopOnlyOnce(final AccumuloStore store) throws OperationException {
+        // When
+        final List<Element> results = getNeighbourhood(store, new GetKHopNeighbourhood.Builder<>()
+                .addSeed(new EntitySeed("A"))
+                .view(EDGE_VIEW)
+                .hops(3)
+                .build());
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(createEdge("A", "B"), createEdge("B", "C"), createEdge("C", "D"),
+                createEdge("A", "E"), createEdge("E", "F"))), new HashSet<>(results));
+        assertEquals(5, results.size());
+    }
+
+    @Test
+    public void shouldOnlyFollowEdgesInTheRequestedDirection() throws OperationException {
+        // When
+        final List<Element> results = getNeighbourhood(byteEntityStore, new GetKHopNeighbourhood.Builder<>()
+                .addSeed(new EntitySeed("C"))
+                .view(EDGE_VIEW)
+                .inOutType(IncludeIncomingOutgoingType.INCOMING)
+                .hops(5)
+                .build());
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(createEdge("A", "B"), createEdge("B", "C"))), new HashSet<>(results));
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    public void shouldLimitTheNumberOfVerticesExpandedInEachHop() throws OperationException {
+        // When
+        final List<Element> results = getNeighbourhood(byteEntityStore, new GetKHopNeighbourhood.Builder<>()
+                .addSeed(new EntitySeed("A"))
+                .view(EDGE_VIEW)
+                .hops(2)
+                .maxVerticesPerHop(1)
+                .build());
+
+        // Then
+        assertEquals(3, results.size());
+        assertTrue(results.contains(createEdge("A", "B")));
+        assertTrue(results.contains(createEdge("A", "E")));
+        assertTrue(results.contains(createEdge("B", "C")) || results.contains(createEdge("E", "F")));
+    }
+
+    private List<Element> getNeighbourhood(final AccumuloStore store, final GetKHopNeighbourhood<Element> operation)
+            throws OperationException {
+        try (final CloseableIterable<Element> results = new GetKHopNeighbourhoodHandler().doOperation(operation, user, store)) {
+            return Lists.newArrayList(results);
+        }
+    }
+
+    private static Edge createEdge(final String source, final String destination) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+        edge.putProperty(AccumuloPropertyNames.PROP_1, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_2, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_3, 0);
+        edge.putProperty(AccumuloPropertyNames.PROP_4, 0);
+        return edge;
+    }
+}
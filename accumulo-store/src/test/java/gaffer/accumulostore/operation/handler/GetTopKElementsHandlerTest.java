@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.SingleUseMockAccumuloStore;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetTopKElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GetTopKElementsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetTopKElementsHandlerTest.class));
+    private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetTopKElementsHandlerTest.class));
+    private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(GetTopKElementsHandlerTest.class, "/accumuloStoreClassicKeys.properties"));
+
+    private final User user = new User();
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws StoreException, OperationException {
+        byteEntityStore = new SingleUseMockAccumuloStore();
+        byteEntityStore.initialise(SCHEMA, PROPERTIES);
+        gaffer1KeyStore = new SingleUseMockAccumuloStore();
+        gaffer1KeyStore.initialise(SCHEMA, CLASSIC_PROPERTIES);
+
+        final List<Element> data = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + i);
+            entity.putProperty(AccumuloPropertyNames.COUNT, i);
+            data.add(entity);
+
+            data.add(createEdge("vertex" + i, "vertex" + (i + 1), 1, i));
+        }
+        data.add(createEdge("vertexA", "vertexB", 1, 6));
+        data.add(createEdge("vertexA", "vertexB", 2, 6));
+        byteEntityStore.execute(new AddElements(data), user);
+        gaffer1KeyStore.execute(new AddElements(data), user);
+    }
+
+    @Test
+    public void shouldGetTopKEdgesOnceEachByteEntityStore() throws OperationException {
+        shouldGetTopKEdgesOnceEach(byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetTopKEdgesOnceEachGaffer1Store() throws OperationException {
+        shouldGetTopKEdgesOnceEach(gaffer1KeyStore);
+    }
+
+    private void shouldGetTopKEdgesOnceEach(final AccumuloStore store) throws OperationException {
+        // Given - every edge is related to both of its vertices
+        final GetTopKElements<ElementSeed, Element> operation = createOperation(new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build(), 3);
+        operation.setIncludeEntities(false);
+
+        // When
+        final List<Element> results = getResults(operation, store);
+
+        // Then
+        assertEquals(Arrays.<Element>asList(
+                createEdge("vertex9", "vertex10", 1, 9),
+                createEdge("vertex8", "vertex9", 1, 8),
+                createEdge("vertex7", "vertex8", 1, 7)), results);
+    }
+
+    @Test
+    public void shouldRankEntitiesAndEdgesTogetherByteEntityStore() throws OperationException {
+        shouldRankEntitiesAndEdgesTogether(byteEntityStore);
+    }
+
+    @Test
+    public void shouldRankEntitiesAndEdgesTogetherGaffer1Store() throws OperationException {
+        shouldRankEntitiesAndEdgesTogether(gaffer1KeyStore);
+    }
+
+    private void shouldRankEntitiesAndEdgesTogether(final AccumuloStore store) throws OperationException {
+        // Given
+        final GetTopKElements<ElementSeed, Element> operation = createOperation(new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build(), 4);
+
+        // When
+        final List<Element> results = getResults(operation, store);
+
+        // Then
+        assertEquals(4, results.size());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(9, results.get(i).getProperty(AccumuloPropertyNames.COUNT));
+        }
+        for (int i = 2; i < 4; i++) {
+            assertEquals(8, results.get(i).getProperty(AccumuloPropertyNames.COUNT));
+        }
+    }
+
+    @Test
+    public void shouldRankEdgesAfterQueryTimeAggregationByteEntityStore() throws OperationException {
+        shouldRankEdgesAfterQueryTimeAggregation(byteEntityStore);
+    }
+
+    @Test
+    public void shouldRankEdgesAfterQueryTimeAggregationGaffer1Store() throws OperationException {
+        shouldRankEdgesAfterQueryTimeAggregation(gaffer1KeyStore);
+    }
+
+    private void shouldRankEdgesAfterQueryTimeAggregation(final AccumuloStore store) throws OperationException {
+        // Given - the two vertexA to vertexB edges are only in the top 1 once they are aggregated
+        final GetTopKElements<ElementSeed, Element> operation = createOperation(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .groupBy()
+                        .build())
+                .build(), 1);
+        operation.setIncludeEntities(false);
+
+        // When
+        final List<Element> results = getResults(operation, store);
+
+        // Then
+        assertEquals(1, results.size());
+        final Edge edge = (Edge) results.get(0);
+        assertEquals("vertexA", edge.getSource());
+        assertEquals("vertexB", edge.getDestination());
+        assertEquals(12, edge.getProperty(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldRankEdgesAfterClientSidePostTransformFilterByteEntityStore() throws OperationException {
+        shouldRankEdgesAfterClientSidePostTransformFilter(byteEntityStore);
+    }
+
+    @Test
+    public void shouldRankEdgesAfterClientSidePostTransformFilterGaffer1Store() throws OperationException {
+        shouldRankEdgesAfterClientSidePostTransformFilter(gaffer1KeyStore);
+    }
+
+    private void shouldRankEdgesAfterClientSidePostTransformFilter(final AccumuloStore store) throws OperationException {
+        // Given - the post transform filter is applied by the client, so the tablet servers must not rank the edges
+        final GetTopKElements<ElementSeed, Element> operation = createOperation(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COUNT)
+                                .execute(new IsMoreThan(7))
+                                .build())
+                        .build())
+                .build(), 1);
+        operation.setIncludeEntities(false);
+        operation.setSeeds(Arrays.<ElementSeed>asList(new EntitySeed("vertex8"), new EntitySeed("vertex9")));
+
+        // When
+        final List<Element> results = getResults(operation, store);
+
+        // Then
+        assertEquals(Arrays.<Element>asList(createEdge("vertex9", "vertex10", 1, 9)), results);
+    }
+
+    @Test
+    public void shouldRankEdgesWhenTheViewDoesNotProjectThePropertyByteEntityStore() throws OperationException {
+        shouldRankEdgesWhenTheViewDoesNotProjectTheProperty(byteEntityStore);
+    }
+
+    @Test
+    public void shouldRankEdgesWhenTheViewDoesNotProjectThePropertyGaffer1Store() throws OperationException {
+        shouldRankEdgesWhenTheViewDoesNotProjectTheProperty(gaffer1KeyStore);
+    }
+
+    private void shouldRankEdgesWhenTheViewDoesNotProjectTheProperty(final AccumuloStore store) throws OperationException {
+        // Given - the projection must keep the property used to rank the edges
+        final GetTopKElements<ElementSeed, Element> operation = createOperation(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                        .build())
+                .build(), 2);
+        operation.setIncludeEntities(false);
+
+        // When
+        final List<Element> results = getResults(operation, store);
+
+        // Then
+        assertEquals(Arrays.<Element>asList(
+                createEdge("vertex9", "vertex10", 1, 9),
+                createEdge("vertex8", "vertex9", 1, 8)), results);
+    }
+
+    private GetTopKElements<ElementSeed, Element> createOperation(final View view, final int k) {
+        final List<ElementSeed> seeds = new ArrayList<>();
+        for (int i = 0; i <= 10; i++) {
+            seeds.add(new EntitySeed("vertex" + i));
+        }
+        seeds.add(new EntitySeed("vertexA"));
+        return new GetTopKElements.Builder<ElementSeed, Element>()
+                .seeds(seeds)
+                .view(view)
+                .property(AccumuloPropertyNames.COUNT)
+                .k(k)
+                .build();
+    }
+
+    private List<Element> getResults(final GetTopKElements<ElementSeed, Element> operation, final AccumuloStore store)
+            throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        for (final Element element : new GetTopKElementsHandler().doOperation(operation, user, store)) {
+            results.add(element);
+        }
+        return results;
+    }
+
+    private static Edge createEdge(final String source, final String destination, final int columnQualifier, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        return edge;
+    }
+}
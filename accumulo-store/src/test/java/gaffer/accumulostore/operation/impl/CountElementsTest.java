@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import gaffer.accumulostore.utils.AccumuloTestData;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.ElementSeed;
+import org.junit.Test;
+import java.util.Collections;
+
+public class CountElementsTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final CountElements op = new CountElements(new View.Builder().edge("testEdgeGroup").build());
+        op.setIncludeEntities(false);
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final CountElements deserialisedOp = serialiser.deserialise(json, CountElements.class);
+
+        // Then
+        assertNull(deserialisedOp.getSeeds());
+        assertFalse(deserialisedOp.isIncludeEntities());
+        assertEquals(Collections.singleton("testEdgeGroup"), deserialisedOp.getView().getEdgeGroups());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final CountElements countElements = new CountElements.Builder()
+                .includeEntities(false)
+                .includeEdges(GetOperation.IncludeEdgeType.DIRECTED)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .view(new View.Builder().edge("testEdgeGroup").build())
+                .build();
+        assertEquals("true", countElements.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertFalse(countElements.isIncludeEntities());
+        assertEquals(GetOperation.IncludeEdgeType.DIRECTED, countElements.getIncludeEdges());
+        assertEquals(GetOperation.IncludeIncomingOutgoingType.OUTGOING, countElements.getIncludeIncomingOutGoing());
+        assertEquals(Collections.singleton("testEdgeGroup"), countElements.getView().getEdgeGroups());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowSeeds() {
+        new CountElements().setSeeds(Collections.<ElementSeed>singletonList(AccumuloTestData.SEED_A));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import gaffer.accumulostore.utils.AccumuloTestData;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.EntitySeed;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class GetKHopNeighbourhoodTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final GetKHopNeighbourhood<Element> op = new GetKHopNeighbourhood<>(
+                Arrays.asList(AccumuloTestData.SEED_A, AccumuloTestData.SEED_B));
+        op.setHops(3);
+        op.setMaxVerticesPerHop(10);
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetKHopNeighbourhood<Element> deserialisedOp = serialiser.deserialise(json, GetKHopNeighbourhood.class);
+
+        // Then
+        final Iterator<EntitySeed> itrSeeds = deserialisedOp.getSeeds().iterator();
+        assertEquals(AccumuloTestData.SEED_A, itrSeeds.next());
+        assertEquals(AccumuloTestData.SEED_B, itrSeeds.next());
+        assertFalse(itrSeeds.hasNext());
+        assertEquals(3, deserialisedOp.getHops());
+        assertEquals(10, (int) deserialisedOp.getMaxVerticesPerHop());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        final GetKHopNeighbourhood<Element> getKHopNeighbourhood = new GetKHopNeighbourhood.Builder<>()
+                .inOutType(GetOperation.IncludeIncomingOutgoingType.OUTGOING)
+                .addSeed(AccumuloTestData.SEED_A)
+                .includeEntities(false)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .view(new View.Builder().edge("testEdgeGroup").build())
+                .hops(2)
+                .maxVerticesPerHop(5)
+                .build();
+        assertEquals("true", getKHopNeighbourhood.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertFalse(getKHopNeighbourhood.isIncludeEntities());
+        assertEquals(GetOperation.IncludeIncomingOutgoingType.OUTGOING, getKHopNeighbourhood.getIncludeIncomingOutGoing());
+        assertEquals(AccumuloTestData.SEED_A, getKHopNeighbourhood.getInput().iterator().next());
+        assertEquals(2, getKHopNeighbourhood.getHops());
+        assertEquals(5, (int) getKHopNeighbourhood.getMaxVerticesPerHop());
+        assertNotNull(getKHopNeighbourhood.getView());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowLessThanOneHop() {
+        new GetKHopNeighbourhood<>().setHops(0);
+    }
+}
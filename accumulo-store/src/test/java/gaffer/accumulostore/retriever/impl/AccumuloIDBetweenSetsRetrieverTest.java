@@ -22,6 +22,7 @@ import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 
 import gaffer.accumulostore.AccumuloProperties;
@@ -131,6 +132,29 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         assertThat(thirdResults, IsCollectionContaining.hasItem(AccumuloTestData.A1_ENTITY));
     }
 
+    @Test
+    public void shouldGetCorrectEdgesWhenSetBIsStreamedFromByteEntityStore() throws StoreException {
+        shouldGetCorrectEdgesWhenSetBIsStreamed(byteEntityStore);
+    }
+
+    @Test
+    public void shouldGetCorrectEdgesWhenSetBIsStreamedFromGaffer1Store() throws StoreException {
+        shouldGetCorrectEdgesWhenSetBIsStreamed(gaffer1KeyStore);
+    }
+
+    private void shouldGetCorrectEdgesWhenSetBIsStreamed(final AccumuloStore store) throws StoreException {
+        // Set B is not a Collection, so it is streamed into the bloom filters rather than cached
+        final Iterable<EntitySeed> seedsB = new Iterable<EntitySeed>() {
+            @Override
+            public Iterator<EntitySeed> iterator() {
+                return AccumuloTestData.SEED_A23_SET.iterator();
+            }
+        };
+        final AbstractAccumuloTwoSetSeededOperation<EntitySeed, Element> op = new GetElementsBetweenSets<>(AccumuloTestData.SEED_A0_SET, seedsB, defaultView);
+        final Set<Element> results = returnElementsFromOperation(store, op, new User(), false);
+        assertThat(results, IsCollectionContaining.hasItems(AccumuloTestData.EDGE_A0_A23, AccumuloTestData.A0_ENTITY));
+    }
+
     @Test
     public void shouldDealWithOutgoingEdgesOnlyOptionGaffer1KeyStore() {
         shouldDealWithOutgoingEdgesOnlyOption(gaffer1KeyStore);
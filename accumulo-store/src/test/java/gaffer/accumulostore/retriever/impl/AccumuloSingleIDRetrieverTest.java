@@ -60,6 +60,7 @@ public class AccumuloSingleIDRetrieverTest {
     private static AccumuloStore gaffer1KeyStore;
     private static final Schema schema = Schema.fromJson(StreamUtil.schemas(AccumuloSingleIDRetrieverTest.class));
     private static final AccumuloProperties PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(AccumuloSingleIDRetrieverTest.class));
+    private static final AccumuloProperties PREFETCH_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(AccumuloSingleIDRetrieverTest.class, "/accumuloStorePrefetch.properties"));
     private static final AccumuloProperties CLASSIC_PROPERTIES = AccumuloProperties.loadStoreProperties(StreamUtil.openStream(AccumuloSingleIDRetrieverTest.class, "/accumuloStoreClassicKeys.properties"));
 
     @BeforeClass
@@ -312,6 +313,37 @@ public class AccumuloSingleIDRetrieverTest {
         assertEquals(numEntries * 2, count);
     }
 
+    @Test
+    public void shouldReturnAllElementsWhenPrefetchingBatchScanners() throws AccumuloException, StoreException {
+        // Given
+        final AccumuloProperties prefetchProperties = PREFETCH_PROPERTIES.clone();
+        prefetchProperties.setMaxEntriesForBatchScanner("7");
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(schema, prefetchProperties);
+        setupGraph(store, numEntries);
+
+        final Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.ALL);
+
+        // When
+        AccumuloSingleIDRetriever retriever = null;
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+        } catch (IteratorSettingException e) {
+            fail("Unable to construct SingleID Retriever");
+        }
+
+        // Then - should find both i-B and i-C edges and entities i
+        assertEquals(numEntries * 3, Iterables.size(retriever));
+        retriever.close();
+    }
+
     private static void setupGraph(final AccumuloStore store, final int numEntries) {
         final List<Element> elements = new ArrayList<>();
         for (int i = 0; i < numEntries; i++) {
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.hash.Hash;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+public class BloomFilterCacheTest {
+    private static final List<byte[]> SEEDS = Arrays.asList(new byte[]{1, 2}, new byte[]{3});
+
+    @Test
+    public void shouldCreateTheSameKeyForTheSameSeeds() {
+        // When
+        final String key = BloomFilterCache.createKey(100, 3, SEEDS);
+
+        // Then
+        assertEquals(key, BloomFilterCache.createKey(100, 3, Arrays.asList(new byte[]{1, 2}, new byte[]{3})));
+        assertNotEquals(key, BloomFilterCache.createKey(200, 3, SEEDS));
+        assertNotEquals(key, BloomFilterCache.createKey(100, 4, SEEDS));
+        assertNotEquals(key, BloomFilterCache.createKey(100, 3, Arrays.asList(new byte[]{1}, new byte[]{2, 3})));
+    }
+
+    @Test
+    public void shouldGetCachedFiltersAndIteratorSettings() {
+        // Given
+        final BloomFilterCache cache = new BloomFilterCache(1000);
+        final BloomFilter filter = new BloomFilter(100, 3, Hash.MURMUR_HASH);
+        final IteratorSetting setting = new IteratorSetting(1, "bloomFilter", "iteratorClass");
+
+        // When
+        cache.putFilter("key", filter);
+        cache.putIteratorSetting("key", setting);
+
+        // Then
+        assertSame(filter, cache.getFilter("key"));
+        assertSame(setting, cache.getIteratorSetting("key"));
+        assertNull(cache.getFilter("otherKey"));
+    }
+
+    @Test
+    public void shouldNotCacheIteratorSettingsWithoutAFilter() {
+        // Given
+        final BloomFilterCache cache = new BloomFilterCache(1000);
+
+        // When
+        cache.putIteratorSetting("key", new IteratorSetting(1, "bloomFilter", "iteratorClass"));
+
+        // Then
+        assertNull(cache.getIteratorSetting("key"));
+    }
+
+    @Test
+    public void shouldRemoveTheLeastRecentlyUsedFiltersWhenFull() {
+        // Given
+        final BloomFilterCache cache = new BloomFilterCache(300);
+        final BloomFilter filter1 = new BloomFilter(100, 3, Hash.MURMUR_HASH);
+        final BloomFilter filter2 = new BloomFilter(100, 3, Hash.MURMUR_HASH);
+        final BloomFilter filter3 = new BloomFilter(150, 3, Hash.MURMUR_HASH);
+        cache.putFilter("key1", filter1);
+        cache.putFilter("key2", filter2);
+        cache.getFilter("key1");
+
+        // When
+        cache.putFilter("key3", filter3);
+
+        // Then
+        assertEquals(2, cache.size());
+        assertSame(filter1, cache.getFilter("key1"));
+        assertNull(cache.getFilter("key2"));
+        assertSame(filter3, cache.getFilter("key3"));
+    }
+
+    @Test
+    public void shouldNotCacheFiltersLargerThanTheCache() {
+        // Given
+        final BloomFilterCache cache = new BloomFilterCache(100);
+
+        // When
+        cache.putFilter("key", new BloomFilter(200, 3, Hash.MURMUR_HASH));
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+}
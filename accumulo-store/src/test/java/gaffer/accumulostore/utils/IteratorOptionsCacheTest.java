@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class IteratorOptionsCacheTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private static final View VIEW = new View.Builder()
+            .entity(TestGroups.ENTITY)
+            .build();
+
+    @Before
+    public void setUp() {
+        IteratorOptionsCache.clear();
+    }
+
+    @Test
+    public void shouldReturnTheSameSchemaForTheSameJson() {
+        // Given
+        final Map<String, String> options = createOptions();
+
+        // When
+        final Schema schema1 = IteratorOptionsCache.getSchema(options);
+        final Schema schema2 = IteratorOptionsCache.getSchema(new HashMap<>(options));
+
+        // Then
+        assertSame(schema1, schema2);
+        assertEquals(SCHEMA.getEntityGroups(), schema1.getEntityGroups());
+    }
+
+    @Test
+    public void shouldReturnADifferentSchemaForDifferentJson() throws UnsupportedEncodingException {
+        // Given
+        final Map<String, String> options = createOptions();
+        final Schema schema = IteratorOptionsCache.getSchema(options);
+        final Map<String, String> otherOptions = new HashMap<>(options);
+        final Schema otherSchemaToSend = new Schema.Builder()
+                .type("string", new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .entity(TestGroups.ENTITY_2, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        otherOptions.put(AccumuloStoreConstants.SCHEMA, new String(otherSchemaToSend.toJson(false), CommonConstants.UTF_8));
+
+        // When
+        final Schema otherSchema = IteratorOptionsCache.getSchema(otherOptions);
+
+        // Then
+        assertNotSame(schema, otherSchema);
+        assertTrue(otherSchema.getEntityGroups().contains(TestGroups.ENTITY_2));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTheSchemaIsNotProvided() {
+        // Given
+        final Map<String, String> options = new HashMap<>();
+
+        // When / Then
+        try {
+            IteratorOptionsCache.getSchema(options);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.SCHEMA));
+        }
+    }
+
+    @Test
+    public void shouldShareElementConvertersForTheSameClassAndSchema() throws ReflectiveOperationException {
+        // Given
+        final Map<String, String> options = createOptions();
+        final Map<String, String> classicOptions = createOptions();
+        classicOptions.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, ClassicAccumuloElementConverter.class.getName());
+
+        // When
+        final AccumuloElementConverter converter1 = IteratorOptionsCache.getElementConverter(options);
+        final AccumuloElementConverter converter2 = IteratorOptionsCache.getElementConverter(options);
+        final AccumuloElementConverter classicConverter = IteratorOptionsCache.getElementConverter(classicOptions);
+
+        // Then
+        assertSame(converter1, converter2);
+        assertTrue(converter1 instanceof ByteEntityAccumuloElementConverter);
+        assertTrue(classicConverter instanceof ClassicAccumuloElementConverter);
+    }
+
+    @Test
+    public void shouldCreateANewViewForEachCall() {
+        // Given
+        final Map<String, String> options = createOptions();
+
+        // When
+        final View view1 = IteratorOptionsCache.getView(options);
+        final View view2 = IteratorOptionsCache.getView(options);
+
+        // Then
+        assertNotSame(view1, view2);
+        assertEquals(VIEW.getEntityGroups(), view1.getEntityGroups());
+        assertEquals(view1.getEntityGroups(), view2.getEntityGroups());
+    }
+
+    private Map<String, String> createOptions() {
+        return new HashMap<>(new IteratorSettingBuilder(1, "test", "test")
+                .schema(SCHEMA)
+                .view(VIEW)
+                .keyConverter(ByteEntityAccumuloElementConverter.class)
+                .build()
+                .getOptions());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.store.StoreException;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ParallelElementWriterTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex(String.class)
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source(String.class)
+                    .destination(String.class)
+                    .directed(Boolean.class)
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+
+    @Test
+    public void shouldCreateOneMutationForAnEntityAndTwoForAnEdge() {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertexA");
+        final Edge edge = new Edge(TestGroups.EDGE, "vertexA", "vertexB", true);
+
+        // When
+        final List<Mutation> entityMutations = ParallelElementWriter.getMutations(converter, entity);
+        final List<Mutation> edgeMutations = ParallelElementWriter.getMutations(converter, edge);
+
+        // Then
+        assertEquals(1, entityMutations.size());
+        assertEquals(2, edgeMutations.size());
+    }
+
+    @Test
+    public void shouldWriteAllElementsUsingMultipleConverterThreads() throws StoreException {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 103; i++) {
+            elements.add(new Entity(TestGroups.ENTITY, "vertex" + i));
+            elements.add(new Edge(TestGroups.EDGE, "vertex" + i, "vertex" + (i + 1), true));
+        }
+        final RecordingBatchWriter writer = new RecordingBatchWriter();
+        final ParallelElementWriter parallelWriter = new ParallelElementWriter(converter, writer, 4, 2, 10);
+
+        // When
+        parallelWriter.write(elements);
+
+        // Then
+        final List<String> expectedRows = new ArrayList<>();
+        for (final Element element : elements) {
+            for (final Mutation mutation : ParallelElementWriter.getMutations(converter, element)) {
+                expectedRows.add(Arrays.toString(mutation.getRow()));
+            }
+        }
+        final List<String> actualRows = new ArrayList<>();
+        for (final Mutation mutation : writer.mutations) {
+            actualRows.add(Arrays.toString(mutation.getRow()));
+        }
+        Collections.sort(expectedRows);
+        Collections.sort(actualRows);
+        assertEquals(103 * 3, actualRows.size());
+        assertEquals(expectedRows, actualRows);
+    }
+
+    @Test
+    public void shouldWriteNothingWhenThereAreNoElements() throws StoreException {
+        // Given
+        final RecordingBatchWriter writer = new RecordingBatchWriter();
+        final ParallelElementWriter parallelWriter = new ParallelElementWriter(converter, writer, 2, 2, 10);
+
+        // When
+        parallelWriter.write(new ArrayList<Element>());
+
+        // Then
+        assertEquals(0, writer.mutations.size());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenNumberOfThreadsIsLessThanOne() {
+        try {
+            new ParallelElementWriter(converter, new RecordingBatchWriter(), 0, 2, 10);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            // Expected
+        }
+    }
+
+    private static final class RecordingBatchWriter implements BatchWriter {
+        private final List<Mutation> mutations = new ArrayList<>();
+
+        @Override
+        public void addMutation(final Mutation m) {
+            mutations.add(m);
+        }
+
+        @Override
+        public void addMutations(final Iterable<Mutation> iterable) {
+            for (final Mutation m : iterable) {
+                addMutation(m);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
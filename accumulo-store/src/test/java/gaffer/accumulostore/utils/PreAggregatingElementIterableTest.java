@@ -0,0 +1,151 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import com.google.common.collect.Lists;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.function.simple.aggregate.Max;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.hamcrest.core.IsCollectionContaining;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+public class PreAggregatingElementIterableTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .type("directed", Boolean.class)
+            .type("count", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .aggregateFunction(new Sum())
+                    .build())
+            .type("timestamp", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .aggregateFunction(new Max())
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("directed")
+                    .property(TestPropertyNames.COUNT, "count")
+                    .property(TestPropertyNames.PROP_1, "count")
+                    .property(TestPropertyNames.TIMESTAMP, "timestamp")
+                    .groupBy(TestPropertyNames.PROP_1)
+                    .build())
+            .timestampProperty(TestPropertyNames.TIMESTAMP)
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+
+    @Test
+    public void shouldAggregateElementsWithTheSameKey() {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                (Element) createEdge("A", "B", 1L, 1L, 10L),
+                createEdge("A", "B", 1L, 2L, 30L),
+                createEdge("A", "B", 1L, 3L, 20L));
+
+        // When
+        final List<Element> results = Lists.newArrayList(
+                new PreAggregatingElementIterable(elements, converter, SCHEMA, 10));
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(createEdge("A", "B", 1L, 6L, 30L), results.get(0));
+    }
+
+    @Test
+    public void shouldNotAggregateElementsWithDifferentGroupByProperties() {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                (Element) createEdge("A", "B", 1L, 1L, 10L),
+                createEdge("A", "B", 2L, 2L, 10L),
+                createEdge("A", "C", 1L, 3L, 10L),
+                createEdge("A", "B", 1L, 4L, 10L));
+
+        // When
+        final List<Element> results = Lists.newArrayList(
+                new PreAggregatingElementIterable(elements, converter, SCHEMA, 10));
+
+        // Then
+        assertEquals(3, results.size());
+        assertThat(results, IsCollectionContaining.hasItems(
+                (Element) createEdge("A", "B", 1L, 5L, 10L),
+                createEdge("A", "B", 2L, 2L, 10L),
+                createEdge("A", "C", 1L, 3L, 10L)));
+    }
+
+    @Test
+    public void shouldOnlyAggregateElementsWithinTheWindow() {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                (Element) createEdge("A", "B", 1L, 1L, 10L),
+                createEdge("A", "B", 1L, 2L, 10L),
+                createEdge("A", "C", 1L, 3L, 10L),
+                createEdge("A", "B", 1L, 4L, 10L));
+
+        // When
+        final List<Element> results = Lists.newArrayList(
+                new PreAggregatingElementIterable(elements, converter, SCHEMA, 1));
+
+        // Then
+        assertEquals(Arrays.asList(
+                (Element) createEdge("A", "B", 1L, 3L, 10L),
+                createEdge("A", "C", 1L, 3L, 10L),
+                createEdge("A", "B", 1L, 4L, 10L)), results);
+    }
+
+    @Test
+    public void shouldNotModifyTheInputElements() {
+        // Given
+        final Edge edge = createEdge("A", "B", 1L, 1L, 10L);
+        final List<Element> elements = Arrays.asList(
+                (Element) edge,
+                createEdge("A", "B", 1L, 2L, 10L));
+
+        // When
+        Lists.newArrayList(new PreAggregatingElementIterable(elements, converter, SCHEMA, 10));
+
+        // Then
+        assertEquals(createEdge("A", "B", 1L, 1L, 10L), edge);
+    }
+
+    private Edge createEdge(final String source, final String destination, final long groupByValue,
+                            final long count, final long timestamp) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(TestPropertyNames.PROP_1, groupByValue);
+        edge.putProperty(TestPropertyNames.COUNT, count);
+        edge.putProperty(TestPropertyNames.TIMESTAMP, timestamp);
+        return edge;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.Sets;
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+public class RangePlannerTest {
+    private static final List<Text> SPLITS = Arrays.asList(new Text("d"), new Text("m"), new Text("t"));
+
+    @Test
+    public void shouldGetTheTabletARangeStartsIn() {
+        // Given
+        final RangePlanner planner = new RangePlanner(SPLITS, 10);
+
+        // When / Then
+        assertEquals(0, planner.getTablet(new Range("a")));
+        assertEquals(0, planner.getTablet(new Range("d")));
+        assertEquals(1, planner.getTablet(new Range("e")));
+        assertEquals(2, planner.getTablet(new Range("p", "z")));
+        assertEquals(3, planner.getTablet(new Range("x")));
+        assertEquals(0, planner.getTablet(new Range()));
+    }
+
+    @Test
+    public void shouldSortAndMergeOverlappingRanges() {
+        // When
+        final List<Range> ranges = RangePlanner.mergeRanges(Arrays.asList(
+                new Range("m", "p"), new Range("a"), new Range("n", "q"), new Range("a")));
+
+        // Then
+        assertEquals(Arrays.asList(new Range("a"), new Range("m", "q")), ranges);
+    }
+
+    @Test
+    public void shouldKeepTheRangesForATabletInTheSameBatch() {
+        // Given
+        final RangePlanner planner = new RangePlanner(SPLITS, 3);
+
+        // When
+        final List<Set<Range>> batches = planner.plan(Arrays.asList(
+                new Range("x"), new Range("b"), new Range("n"), new Range("a"), new Range("o"), new Range("c")));
+
+        // Then
+        assertEquals(Arrays.asList(
+                Sets.newHashSet(new Range("a"), new Range("b"), new Range("c")),
+                Sets.newHashSet(new Range("n"), new Range("o"), new Range("x"))), batches);
+    }
+
+    @Test
+    public void shouldStartANewBatchRatherThanSplitATablet() {
+        // Given
+        final RangePlanner planner = new RangePlanner(SPLITS, 3);
+
+        // When
+        final List<Set<Range>> batches = planner.plan(Arrays.asList(
+                new Range("a"), new Range("n"), new Range("o"), new Range("p")));
+
+        // Then
+        assertEquals(Arrays.asList(
+                Collections.singleton(new Range("a")),
+                Sets.newHashSet(new Range("n"), new Range("o"), new Range("p"))), batches);
+    }
+
+    @Test
+    public void shouldSplitATabletWithMoreRangesThanFitInABatch() {
+        // Given
+        final RangePlanner planner = new RangePlanner(Collections.<Text>emptyList(), 2);
+
+        // When
+        final List<Set<Range>> batches = planner.plan(Arrays.asList(
+                new Range("e"), new Range("d"), new Range("c"), new Range("b"), new Range("a")));
+
+        // Then
+        assertEquals(Arrays.asList(
+                Sets.newHashSet(new Range("a"), new Range("b")),
+                Sets.newHashSet(new Range("c"), new Range("d")),
+                Collections.singleton(new Range("e"))), batches);
+    }
+
+    @Test
+    public void shouldPlanNoBatchesForNoRanges() {
+        // Given
+        final RangePlanner planner = new RangePlanner(SPLITS, 2);
+
+        // When / Then
+        assertEquals(0, planner.plan(Collections.<Range>emptyList()).size());
+    }
+}
@@ -22,6 +22,7 @@ import gaffer.arrayliststore.operation.handler.AddElementsHandler;
 import gaffer.arrayliststore.operation.handler.GetAdjacentEntitySeedsHandler;
 import gaffer.arrayliststore.operation.handler.GetAllElementsHandler;
 import gaffer.arrayliststore.operation.handler.GetElementsHandler;
+import gaffer.arrayliststore.operation.handler.GetTopKElementsHandler;
 import gaffer.arrayliststore.operation.handler.InitialiseArrayListStoreExport;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.data.element.Edge;
@@ -34,16 +35,22 @@ import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetAllElements;
 import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetTopKElements;
 import gaffer.store.Context;
 import gaffer.store.Store;
+import gaffer.store.StoreException;
+import gaffer.store.StoreProperties;
 import gaffer.store.StoreTrait;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.operation.handler.export.InitialiseExportHandler;
+import gaffer.store.schema.Schema;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 
 /**
@@ -52,11 +59,30 @@ import java.util.Set;
  * This store holds 2 {@link java.util.ArrayList}s one for {@link Entity} and one for
  * {@link Edge}. As the elements are simply
  * stored in lists they are not serialised and not indexed, so look ups require full scans.
+ * Each call to {@link #addElements(Iterable)} adds its entities and edges under a single
+ * write lock, and {@link #getEntities()} and {@link #getEdges()} return copies of the lists,
+ * so the store can be queried whilst elements are being added.
+ * <p>
+ * If the store property {@value #INDEXED} is set to true the elements are instead held in an
+ * {@link ElementIndex}. Seeded look ups then only read the elements for the seed vertices,
+ * elements are aggregated as they are added using the schema aggregate functions and
+ * the store can be queried whilst elements are being added.
  */
 public class ArrayListStore extends Store {
+    public static final String INDEXED = "gaffer.store.arrayliststore.indexed";
     private static final Set<StoreTrait> TRAITS = new HashSet<>(Collections.singletonList(PRE_AGGREGATION_FILTERING));
     private final List<Entity> entities = new ArrayList<>();
     private final List<Edge> edges = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ElementIndex index;
+
+    @Override
+    public void initialise(final Schema schema, final StoreProperties properties) throws StoreException {
+        super.initialise(schema, properties);
+        if (Boolean.parseBoolean(properties.get(INDEXED, "false"))) {
+            index = new ElementIndex(getSchema());
+        }
+    }
 
     @Override
     public Set<StoreTrait> getTraits() {
@@ -89,11 +115,13 @@ public class ArrayListStore extends Store {
     }
 
     /**
-     * This store does not support any other optional operations.
+     * This store supports {@link GetTopKElements}, ranking the elements with a local
+     * heap, but does not support any other optional operations.
      */
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(InitialiseArrayListStoreExport.class, new InitialiseExportHandler());
+        addOperationHandler(GetTopKElements.class, new GetTopKElementsHandler());
     }
 
     @Override
@@ -101,22 +129,70 @@ public class ArrayListStore extends Store {
         throw new UnsupportedOperationException("I do not know how to handle: " + operation.getClass().getSimpleName());
     }
 
+    public boolean isIndexed() {
+        return null != index;
+    }
+
+    public ElementIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * @return a copy of all the entities in the store.
+     */
     public List<Entity> getEntities() {
-        return entities;
+        if (null != index) {
+            return index.getEntities();
+        }
+
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(entities);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
+    /**
+     * @return a copy of all the edges in the store.
+     */
     public List<Edge> getEdges() {
-        return edges;
+        if (null != index) {
+            return index.getEdges();
+        }
+
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(edges);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public void addElements(final Iterable<Element> elements) {
+        if (null != index) {
+            index.addElements(elements);
+            return;
+        }
+
+        // Split the elements before taking the lock, so readers are only blocked whilst the batch is appended.
+        final List<Entity> newEntities = new ArrayList<>();
+        final List<Edge> newEdges = new ArrayList<>();
         for (final Element element : elements) {
             if (element instanceof Entity) {
-                entities.add((Entity) element);
+                newEntities.add((Entity) element);
             } else {
                 // Assume it is an Edge
-                edges.add((Edge) element);
+                newEdges.add((Edge) element);
             }
         }
+
+        lock.writeLock().lock();
+        try {
+            entities.addAll(newEntities);
+            edges.addAll(newEdges);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.arrayliststore;
+
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An in memory index of {@link Entity}s and {@link Edge}s used by the {@link ArrayListStore}
+ * when it is configured to be indexed.
+ * <p>
+ * Elements are partitioned by group. Within each group partition entities are indexed
+ * by vertex and edges are indexed by both their source and destination, so the elements
+ * for a vertex can be found without scanning the whole store.
+ * <p>
+ * If a group's schema has aggregate functions, elements with the same identifiers and
+ * group by properties are aggregated as they are added, so only one element is held for
+ * each. Undirected edges are aggregated whichever way round their vertices are given.
+ * Aggregated elements are replaced rather than modified, so elements returned from
+ * this index are never changed by later additions.
+ * <p>
+ * The index can be read from multiple threads whilst elements are being added. All of the
+ * lookup methods return a copy of the matching elements.
+ */
+public class ElementIndex {
+    private final Schema schema;
+    private final Map<String, GroupPartition> entityPartitions = new LinkedHashMap<>();
+    private final Map<String, GroupPartition> edgePartitions = new LinkedHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ElementIndex(final Schema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * Adds a batch of elements under a single write lock. The elements are read before
+     * the lock is taken, so readers are only blocked whilst the batch is indexed.
+     *
+     * @param elements the elements to add
+     */
+    public void addElements(final Iterable<Element> elements) {
+        final List<Element> batch = new ArrayList<>();
+        for (final Element element : elements) {
+            batch.add(element);
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (final Element element : batch) {
+                index(element);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addElement(final Element element) {
+        lock.writeLock().lock();
+        try {
+            index(element);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return a copy of all the entities in the index.
+     */
+    public List<Entity> getEntities() {
+        final List<Entity> entities = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (final GroupPartition partition : entityPartitions.values()) {
+                addAll(partition.elements.values(), entities);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entities;
+    }
+
+    /**
+     * @return a copy of all the edges in the index.
+     */
+    public List<Edge> getEdges() {
+        final List<Edge> edges = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (final GroupPartition partition : edgePartitions.values()) {
+                addAll(partition.elements.values(), edges);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return edges;
+    }
+
+    /**
+     * Gets the entities for a vertex.
+     *
+     * @param vertex the vertex of the entities
+     * @param groups the groups to return entities for, or null to return all groups
+     * @return a copy of the entities for the vertex in the given groups
+     */
+    public List<Entity> getEntities(final Object vertex, final Collection<String> groups) {
+        final List<Entity> entities = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (final GroupPartition partition : getPartitions(entityPartitions, groups)) {
+                final Map<Object, Element> vertexElements = partition.elementsByVertex.get(vertex);
+                if (null != vertexElements) {
+                    addAll(vertexElements.values(), entities);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return entities;
+    }
+
+    /**
+     * Gets the edges with a source or destination equal to a vertex.
+     *
+     * @param vertex the source or destination of the edges
+     * @param groups the groups to return edges for, or null to return all groups
+     * @return a copy of the edges for the vertex in the given groups
+     */
+    public List<Edge> getEdges(final Object vertex, final Collection<String> groups) {
+        final List<Edge> edges = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (final GroupPartition partition : getPartitions(edgePartitions, groups)) {
+                final Map<Object, Element> vertexElements = partition.elementsByVertex.get(vertex);
+                if (null != vertexElements) {
+                    addAll(vertexElements.values(), edges);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return edges;
+    }
+
+    private void index(final Element element) {
+        if (element instanceof Entity) {
+            final Entity entity = (Entity) element;
+            getPartition(entityPartitions, entity.getGroup()).add(entity, entity.getVertex());
+        } else if (element instanceof Edge) {
+            final Edge edge = (Edge) element;
+            getPartition(edgePartitions, edge.getGroup()).add(edge, edge.getSource(), edge.getDestination());
+        }
+    }
+
+    private GroupPartition getPartition(final Map<String, GroupPartition> partitions, final String group) {
+        GroupPartition partition = partitions.get(group);
+        if (null == partition) {
+            partition = new GroupPartition(schema.getElement(group));
+            partitions.put(group, partition);
+        }
+        return partition;
+    }
+
+    private Collection<GroupPartition> getPartitions(final Map<String, GroupPartition> partitions,
+                                                     final Collection<String> groups) {
+        if (null == groups) {
+            return partitions.values();
+        }
+
+        final List<GroupPartition> groupPartitions = new ArrayList<>(groups.size());
+        for (final String group : groups) {
+            final GroupPartition partition = partitions.get(group);
+            if (null != partition) {
+                groupPartitions.add(partition);
+            }
+        }
+        return groupPartitions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Element> void addAll(final Collection<Element> elements, final List<T> result) {
+        for (final Element element : elements) {
+            result.add((T) element);
+        }
+    }
+
+    /**
+     * The elements of a single group. Elements are held by a key of their identifiers and
+     * group by properties if the group is aggregated, otherwise each element has a unique key.
+     */
+    private static final class GroupPartition {
+        private final ElementAggregator aggregator;
+        private final LinkedHashSet<String> groupBy;
+        private final Map<Object, Element> elements = new LinkedHashMap<>();
+        private final Map<Object, Map<Object, Element>> elementsByVertex = new HashMap<>();
+        private long nextId;
+
+        private GroupPartition(final SchemaElementDefinition elementDef) {
+            final ElementAggregator elementAggregator = null != elementDef ? elementDef.getAggregator() : null;
+            if (null != elementAggregator && null != elementAggregator.getFunctions()
+                    && !elementAggregator.getFunctions().isEmpty()) {
+                aggregator = elementAggregator;
+                groupBy = elementDef.getGroupBy();
+            } else {
+                aggregator = null;
+                groupBy = null;
+            }
+        }
+
+        private void add(final Element element, final Object... vertices) {
+            final Object key;
+            Element indexedElement = element;
+            if (null != aggregator) {
+                key = createKey(element, vertices);
+                final Element existing = elements.get(key);
+                if (null != existing) {
+                    indexedElement = aggregate(existing, element);
+                }
+            } else {
+                key = nextId++;
+            }
+
+            elements.put(key, indexedElement);
+            for (final Object vertex : vertices) {
+                Map<Object, Element> vertexElements = elementsByVertex.get(vertex);
+                if (null == vertexElements) {
+                    vertexElements = new LinkedHashMap<>();
+                    elementsByVertex.put(vertex, vertexElements);
+                }
+                vertexElements.put(key, indexedElement);
+            }
+        }
+
+        private Object createKey(final Element element, final Object... vertices) {
+            final List<Object> key = new ArrayList<>(vertices.length + 1 + groupBy.size());
+            if (element instanceof Edge && !((Edge) element).isDirected()) {
+                // Undirected edges are equal in either direction, so key them on an unordered pair.
+                key.add(new HashSet<>(Arrays.asList(vertices)));
+                key.add(false);
+            } else {
+                for (final Object vertex : vertices) {
+                    key.add(vertex);
+                }
+                if (element instanceof Edge) {
+                    key.add(true);
+                }
+            }
+            for (final String propertyName : groupBy) {
+                key.add(element.getProperty(propertyName));
+            }
+            return key;
+        }
+
+        private Element aggregate(final Element existing, final Element element) {
+            aggregator.initFunctions();
+            aggregator.aggregate(existing.getProperties());
+            aggregator.aggregate(element.getProperties());
+            final Properties aggregatedProperties = new Properties();
+            aggregator.state(aggregatedProperties);
+
+            final Element aggregatedElement = existing.emptyClone();
+            aggregatedElement.copyProperties(existing.getProperties());
+            for (final Map.Entry<String, Object> entry : aggregatedProperties.entrySet()) {
+                if (!groupBy.contains(entry.getKey())) {
+                    aggregatedElement.putProperty(entry.getKey(), entry.getValue());
+                }
+            }
+            return aggregatedElement;
+        }
+    }
+}
@@ -30,7 +30,11 @@ import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.operation.handler.OperationHandler;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjacentEntitySeeds, CloseableIterable<EntitySeed>> {
     @Override
@@ -43,9 +47,13 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
     private List<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final ArrayListStore store) {
         final EntitySeed[] reuseableTuple = new EntitySeed[2];
         final List<EntitySeed> result = new ArrayList<>();
-        for (final Edge edge : store.getEdges()) {
+        final Set<Object> seedVertices = new LinkedHashSet<>();
+        for (final EntitySeed seed : operation.getSeeds()) {
+            seedVertices.add(seed.getVertex());
+        }
+        for (final Edge edge : getEdges(operation, seedVertices, store)) {
             if (operation.validateFlags(edge)) {
-                extractOtherEndOfSeededEdge(edge, operation, reuseableTuple);
+                extractOtherEndOfSeededEdge(edge, operation, seedVertices, reuseableTuple);
                 if ((null != reuseableTuple[0] || null != reuseableTuple[1]) && operation.validatePreAggregationFilter(edge)) {
                     if (null != reuseableTuple[0]) {
                         result.add(reuseableTuple[0]);
@@ -60,37 +68,50 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
         return result;
     }
 
+    // If the store is indexed only the edges for the seed vertices need to be checked,
+    // otherwise all edges are scanned.
+    private Iterable<Edge> getEdges(final GetAdjacentEntitySeeds operation, final Set<Object> seedVertices,
+                                    final ArrayListStore store) {
+        if (!store.isIndexed()) {
+            return store.getEdges();
+        }
+
+        final Set<String> edgeGroups = null != operation.getView() ? operation.getView().getEdgeGroups() : null;
+        final Set<Edge> edges = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+        final List<Edge> orderedEdges = new ArrayList<>();
+        for (final Object vertex : seedVertices) {
+            for (final Edge edge : store.getIndex().getEdges(vertex, edgeGroups)) {
+                if (edges.add(edge)) {
+                    orderedEdges.add(edge);
+                }
+            }
+        }
+        return orderedEdges;
+    }
+
     /**
      * Extracts the vertex at other end of a seeded edge
      *
      * @param edge           the edge to extract the vertex at other end of
      * @param operation      the operation
+     * @param seedVertices   the vertices of the operation seeds
      * @param reuseableTuple instead of creating an array every time the method is called this array is reused.
      */
     private void extractOtherEndOfSeededEdge(final Edge edge,
                                              final GetAdjacentEntitySeeds operation,
+                                             final Set<Object> seedVertices,
                                              final EntitySeed[] reuseableTuple) {
         reuseableTuple[0] = null;
         reuseableTuple[1] = null;
-        boolean matchSource = !edge.isDirected() || !INCOMING.equals(operation.getIncludeIncomingOutGoing());
-        boolean matchDestination = !edge.isDirected() || !OUTGOING.equals(operation.getIncludeIncomingOutGoing());
+        final boolean matchSource = !edge.isDirected() || !INCOMING.equals(operation.getIncludeIncomingOutGoing());
+        final boolean matchDestination = !edge.isDirected() || !OUTGOING.equals(operation.getIncludeIncomingOutGoing());
 
-        for (final EntitySeed seed : operation.getSeeds()) {
-            if (matchSource && edge.getSource().equals(seed.getVertex())) {
-                reuseableTuple[1] = new EntitySeed(edge.getDestination());
-                matchSource = false;
-                if (!matchDestination) {
-                    break;
-                }
-            }
+        if (matchSource && seedVertices.contains(edge.getSource())) {
+            reuseableTuple[1] = new EntitySeed(edge.getDestination());
+        }
 
-            if (matchDestination && edge.getDestination().equals(seed.getVertex())) {
-                reuseableTuple[0] = new EntitySeed(edge.getSource());
-                matchDestination = false;
-                if (!matchSource) {
-                    break;
-                }
-            }
+        if (matchDestination && seedVertices.contains(edge.getDestination())) {
+            reuseableTuple[0] = new EntitySeed(edge.getSource());
         }
 
         // Don't return duplicate results
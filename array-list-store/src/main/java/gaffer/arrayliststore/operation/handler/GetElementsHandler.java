@@ -20,6 +20,7 @@ import static gaffer.operation.GetOperation.IncludeEdgeType;
 import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
 
 import gaffer.arrayliststore.ArrayListStore;
+import gaffer.arrayliststore.ElementIndex;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.data.element.Edge;
@@ -30,13 +31,18 @@ import gaffer.operation.OperationException;
 import gaffer.operation.data.EdgeSeed;
 import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.ElementSeed.Matches;
+import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.store.Context;
 import gaffer.store.Store;
 import gaffer.store.operation.handler.OperationHandler;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class GetElementsHandler implements OperationHandler<GetElements<ElementSeed, Element>, CloseableIterable<Element>> {
@@ -48,6 +54,10 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
     }
 
     private List<Element> doOperation(final GetElements<ElementSeed, Element> operation, final ArrayListStore store) {
+        if (store.isIndexed()) {
+            return doIndexedOperation(operation, store.getIndex());
+        }
+
         final ArrayList<Element> result = new ArrayList<>();
         if (null != operation.getSeeds()) {
             if (operation.isIncludeEntities()) {
@@ -73,9 +83,65 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
                                 result.add(edge);
                             }
                         } else {
-                            if (isSeedRelated(operation, edge)) {
+                            if (isSeedRelated(operation, edge, operation.getSeeds())) {
+                                result.add(edge);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    // Looks up the elements for each seed vertex in the index, rather than scanning every
+    // element. Each element is only compared against the seeds that share one of its vertices,
+    // as an element cannot be related to any other seed.
+    private List<Element> doIndexedOperation(final GetElements<ElementSeed, Element> operation, final ElementIndex index) {
+        final List<Element> result = new ArrayList<>();
+        if (null == operation.getSeeds()) {
+            return result;
+        }
+
+        final Map<Object, List<ElementSeed>> seedsByVertex = new LinkedHashMap<>();
+        for (final ElementSeed seed : operation.getSeeds()) {
+            if (seed instanceof EntitySeed) {
+                addSeed(((EntitySeed) seed).getVertex(), seed, seedsByVertex);
+            } else {
+                addSeed(((EdgeSeed) seed).getSource(), seed, seedsByVertex);
+                addSeed(((EdgeSeed) seed).getDestination(), seed, seedsByVertex);
+            }
+        }
+
+        final boolean equalMatching = operation.getSeedMatching() == SeedMatchingType.EQUAL;
+        final Set<String> entityGroups = null != operation.getView() ? operation.getView().getEntityGroups() : null;
+        final Set<String> edgeGroups = null != operation.getView() ? operation.getView().getEdgeGroups() : null;
+        final Set<Element> edgesSeen = Collections.newSetFromMap(new IdentityHashMap<Element, Boolean>());
+        for (final Map.Entry<Object, List<ElementSeed>> entry : seedsByVertex.entrySet()) {
+            if (operation.isIncludeEntities()) {
+                for (final Entity entity : index.getEntities(entry.getKey(), entityGroups)) {
+                    if (operation.validateFlags(entity) && operation.validatePreAggregationFilter(entity)) {
+                        if (equalMatching) {
+                            if (isSeedEqual(ElementSeed.createSeed(entity), entry.getValue(), operation.getIncludeEdges())) {
+                                result.add(entity);
+                            }
+                        } else if (isSeedRelated(ElementSeed.createSeed(entity), entry.getValue()).isMatch()) {
+                            result.add(entity);
+                        }
+                    }
+                }
+            }
+            if (!IncludeEdgeType.NONE.equals(operation.getIncludeEdges())) {
+                for (final Edge edge : index.getEdges(entry.getKey(), edgeGroups)) {
+                    if (edgesSeen.add(edge) && operation.validateFlags(edge) && operation.validatePreAggregationFilter(edge)) {
+                        final List<ElementSeed> edgeSeeds = getSeeds(edge, seedsByVertex);
+                        if (equalMatching) {
+                            if (isSeedEqual(ElementSeed.createSeed(edge), edgeSeeds, operation.getIncludeEdges())) {
                                 result.add(edge);
                             }
+                        } else if (isSeedRelated(operation, edge, edgeSeeds)) {
+                            result.add(edge);
                         }
                     }
                 }
@@ -85,8 +151,34 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
         return result;
     }
 
-    private boolean isSeedRelated(final GetElements<ElementSeed, Element> operation, final Edge edge) {
-        final Matches seedMatches = isSeedRelated(ElementSeed.createSeed(edge), operation.getSeeds());
+    private void addSeed(final Object vertex, final ElementSeed seed, final Map<Object, List<ElementSeed>> seedsByVertex) {
+        List<ElementSeed> seeds = seedsByVertex.get(vertex);
+        if (null == seeds) {
+            seeds = new ArrayList<>();
+            seedsByVertex.put(vertex, seeds);
+        }
+        seeds.add(seed);
+    }
+
+    private List<ElementSeed> getSeeds(final Edge edge, final Map<Object, List<ElementSeed>> seedsByVertex) {
+        final List<ElementSeed> sourceSeeds = seedsByVertex.get(edge.getSource());
+        final List<ElementSeed> destinationSeeds = seedsByVertex.get(edge.getDestination());
+        if (null == destinationSeeds || sourceSeeds == destinationSeeds) {
+            return null != sourceSeeds ? sourceSeeds : Collections.<ElementSeed>emptyList();
+        }
+        if (null == sourceSeeds) {
+            return destinationSeeds;
+        }
+
+        final List<ElementSeed> seeds = new ArrayList<>(sourceSeeds.size() + destinationSeeds.size());
+        seeds.addAll(sourceSeeds);
+        seeds.addAll(destinationSeeds);
+        return seeds;
+    }
+
+    private boolean isSeedRelated(final GetElements<ElementSeed, Element> operation, final Edge edge,
+                                  final Iterable<ElementSeed> seeds) {
+        final Matches seedMatches = isSeedRelated(ElementSeed.createSeed(edge), seeds);
         final IncludeEdgeType includeEdgeType = operation.getIncludeEdges();
         final IncludeIncomingOutgoingType inOutType = operation.getIncludeIncomingOutGoing();
 
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.arrayliststore.operation.handler;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.TopKElements;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.impl.get.GetTopKElements;
+import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+
+public class GetTopKElementsHandler implements OperationHandler<GetTopKElements<ElementSeed, Element>, CloseableIterable<Element>> {
+    private final GetElementsHandler getElementsHandler = new GetElementsHandler();
+
+    @Override
+    public CloseableIterable<Element> doOperation(final GetTopKElements<ElementSeed, Element> operation,
+                                                  final Context context, final Store store)
+            throws OperationException {
+        if (null == operation.getProperty()) {
+            throw new OperationException("A property is required to rank the elements");
+        }
+
+        final TopKElements<Element> topK = new TopKElements<>(operation.getProperty(), operation.getK());
+        topK.addAll(getElementsHandler.doOperation(operation, context, store));
+        return new WrappedCloseableIterable<>(topK.getElements());
+    }
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import gaffer.arrayliststore.data.SimpleEdgeDataObject;
 import gaffer.arrayliststore.data.SimpleEntityDataObject;
 import gaffer.arrayliststore.data.generator.SimpleEdgeGenerator;
@@ -30,6 +31,7 @@ import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.element.IdentifierType;
 import gaffer.data.element.function.ElementFilter;
@@ -37,6 +39,7 @@ import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.function.simple.filter.IsLessThan;
 import gaffer.graph.Graph;
+import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.EdgeSeed;
@@ -45,16 +48,28 @@ import gaffer.operation.data.generator.EntitySeedExtractor;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetEdgesBySeed;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedEntities;
+import gaffer.operation.impl.get.GetTopKElements;
+import gaffer.store.StoreProperties;
+import gaffer.store.schema.Schema;
 import gaffer.user.User;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ArrayListStoreTest {
     private static final Logger LOGGER = LoggerFactory.getLogger(ArrayListStoreTest.class);
@@ -304,6 +319,201 @@ public class ArrayListStoreTest {
         results.close();
     }
 
+    @Test
+    public void shouldGetTheSameSeededResultsWhenIndexed() throws OperationException {
+        final Graph graph = createGraph();
+        addElementsToGraph(graph);
+        final Graph indexedGraph = createIndexedGraph();
+        addElementsToGraph(indexedGraph);
+
+        final List<Operation<?, ?>> operations = Arrays.<Operation<?, ?>>asList(
+                new GetRelatedEdges.Builder<>()
+                        .addSeed(new EntitySeed(1))
+                        .addSeed(new EntitySeed(2))
+                        .build(),
+                new GetRelatedEntities.Builder<>()
+                        .addSeed(new EdgeSeed(2, 1, false))
+                        .build(),
+                new GetEntitiesBySeed.Builder()
+                        .addSeed(new EntitySeed(1))
+                        .addSeed(new EntitySeed(5))
+                        .build(),
+                new GetEdgesBySeed.Builder()
+                        .addSeed(new EdgeSeed(2, 1, false))
+                        .addSeed(new EdgeSeed(1, 3, true))
+                        .build(),
+                new GetAdjacentEntitySeeds.Builder()
+                        .addSeed(new EntitySeed(1))
+                        .addSeed(new EntitySeed(3))
+                        .build());
+
+        for (final Operation<?, ?> operation : operations) {
+            // When
+            final List<?> expected = execute(graph, operation);
+            final List<?> results = execute(indexedGraph, operation);
+
+            // Then
+            assertEquals(operation.getClass().getSimpleName(), Sets.newHashSet(expected), Sets.newHashSet(results));
+            assertEquals(operation.getClass().getSimpleName(), expected.size(), results.size());
+        }
+    }
+
+    @Test
+    public void shouldGetTheSameResultsWhenExecutedConcurrentlyWithAGraphView() throws Exception {
+        // Given
+        final Graph graph = new Graph.Builder()
+                .storeProperties(StreamUtil.storeProps(getClass()))
+                .addSchema(StreamUtil.schema(getClass()))
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .preAggregationFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.INT).execute(new IsLessThan(2))
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        addElementsToGraph(graph);
+
+        final int numThreads = 8;
+        final int numExecutionsPerThread = 50;
+        final Set<?> expected = Sets.newHashSet(execute(graph, createGetRelatedEdges()));
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final List<Future<Set<?>>> futures = new ArrayList<>(numThreads);
+
+        // When
+        try {
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executor.submit(new Callable<Set<?>>() {
+                    @Override
+                    public Set<?> call() throws OperationException {
+                        final Set<Object> results = new HashSet<>();
+                        for (int j = 0; j < numExecutionsPerThread; j++) {
+                            final List<?> executionResults = execute(graph, createGetRelatedEdges());
+                            assertEquals(expected.size(), executionResults.size());
+                            results.addAll(executionResults);
+                        }
+                        return results;
+                    }
+                }));
+            }
+
+            // Then
+            for (final Future<Set<?>> future : futures) {
+                assertEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3, expected.size());
+    }
+
+    @Test
+    public void shouldGetTopKRelatedEdgesRankedByAProperty() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        addElementsToGraph(graph);
+        final GetTopKElements<EntitySeed, Element> getTopKElements = new GetTopKElements.Builder<EntitySeed, Element>()
+                .addSeed(new EntitySeed(1))
+                .addSeed(new EntitySeed(2))
+                .includeEntities(false)
+                .property(TestPropertyNames.STRING)
+                .k(2)
+                .build();
+
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(getTopKElements, new User()));
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals("242", results.get(0).getProperty(TestPropertyNames.STRING));
+        assertEquals("231", results.get(1).getProperty(TestPropertyNames.STRING));
+    }
+
+    @Test
+    public void shouldOnlyReadWholeBatchesWhilstElementsAreBeingAdded() throws Exception {
+        // Given
+        final ArrayListStore store = new ArrayListStore();
+        store.initialise(Schema.fromJson(StreamUtil.schema(getClass())),
+                StoreProperties.loadStoreProperties(StreamUtil.storeProps(getClass())));
+        final int batchSize = 10;
+        final int numBatches = 200;
+        final int numReaders = 4;
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final ExecutorService executor = Executors.newFixedThreadPool(numReaders + 1);
+        final List<Future<Integer>> readers = new ArrayList<>(numReaders);
+
+        // When
+        try {
+            for (int i = 0; i < numReaders; i++) {
+                readers.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() {
+                        int numReads = 0;
+                        while (writing.get()) {
+                            final int numEntities = store.getEntities().size();
+                            final int numEdges = store.getEdges().size();
+                            assertEquals(0, numEntities % batchSize);
+                            assertEquals(0, numEdges % batchSize);
+                            numReads++;
+                        }
+                        return numReads;
+                    }
+                }));
+            }
+            final Future<?> writer = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    try {
+                        for (int i = 0; i < numBatches; i++) {
+                            final List<Element> batch = new ArrayList<>(batchSize * 2);
+                            for (int j = 0; j < batchSize; j++) {
+                                final int vertex = i * batchSize + j;
+                                batch.add(new Entity(TestGroups.ENTITY, vertex));
+                                batch.add(new Edge(TestGroups.EDGE, vertex, vertex + 1, true));
+                            }
+                            store.addElements(batch);
+                        }
+                    } finally {
+                        writing.set(false);
+                    }
+                    return null;
+                }
+            });
+            writer.get();
+
+            // Then
+            for (final Future<Integer> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(batchSize * numBatches, store.getEntities().size());
+        assertEquals(batchSize * numBatches, store.getEdges().size());
+    }
+
+    private GetRelatedEdges<EntitySeed> createGetRelatedEdges() {
+        return new GetRelatedEdges.Builder<EntitySeed>()
+                .addSeed(new EntitySeed(1))
+                .addSeed(new EntitySeed(2))
+                .build();
+    }
+
+    private List<?> execute(final Graph graph, final Operation<?, ?> operation) throws OperationException {
+        final Object results = graph.execute(new OperationChain<>(operation), new User());
+        return Lists.newArrayList((Iterable<?>) results);
+    }
+
+    private Graph createIndexedGraph() {
+        final StoreProperties storeProperties = StoreProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        storeProperties.set(ArrayListStore.INDEXED, "true");
+        return new Graph.Builder()
+                .storeProperties(storeProperties)
+                .addSchema(StreamUtil.schema(getClass()))
+                .build();
+    }
+
     private Graph createGraph() {
         return new Graph.Builder()
                 .storeProperties(StreamUtil.storeProps(getClass()))
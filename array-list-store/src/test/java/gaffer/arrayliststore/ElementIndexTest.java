@@ -0,0 +1,210 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.arrayliststore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ElementIndexTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .type("directed", Boolean.class)
+            .type("count", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .aggregateFunction(new Sum())
+                    .build())
+            .type("value", Integer.class)
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "count")
+                    .build())
+            .entity(TestGroups.ENTITY_2, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.INT, "value")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("directed")
+                    .property(TestPropertyNames.COUNT, "count")
+                    .property(TestPropertyNames.PROP_1, "count")
+                    .groupBy(TestPropertyNames.PROP_1)
+                    .build())
+            .build();
+
+    @Test
+    public void shouldGetEntitiesAndEdgesForAVertex() {
+        // Given
+        final ElementIndex index = new ElementIndex(SCHEMA);
+        final Entity entityA = createEntity("A", 1);
+        final Entity entityB = createEntity("B", 1);
+        final Edge edgeAB = createEdge("A", "B", 1, 1);
+        final Edge edgeBC = createEdge("B", "C", 1, 1);
+        index.addElements(Arrays.asList((Element) entityA, entityB, edgeAB, edgeBC));
+
+        // When / Then
+        assertEquals(Collections.singletonList(entityA), index.getEntities("A", null));
+        assertEquals(Collections.singletonList(edgeAB), index.getEdges("A", null));
+        assertEquals(Arrays.asList(edgeAB, edgeBC), index.getEdges("B", null));
+        assertEquals(Collections.singletonList(edgeBC), index.getEdges("C", null));
+        assertTrue(index.getEntities("C", null).isEmpty());
+        assertTrue(index.getEdges("D", null).isEmpty());
+    }
+
+    @Test
+    public void shouldOnlyGetElementsInTheRequestedGroups() {
+        // Given
+        final ElementIndex index = new ElementIndex(SCHEMA);
+        final Entity entity1 = createEntity("A", 1);
+        final Entity entity2 = new Entity(TestGroups.ENTITY_2, "A");
+        index.addElements(Arrays.asList((Element) entity1, entity2));
+
+        // When / Then
+        assertEquals(Collections.singletonList(entity2),
+                index.getEntities("A", Collections.singletonList(TestGroups.ENTITY_2)));
+        assertEquals(Arrays.asList(entity1, entity2), index.getEntities("A", null));
+    }
+
+    @Test
+    public void shouldAggregateElementsWithTheSameKeyOnInsert() {
+        // Given
+        final ElementIndex index = new ElementIndex(SCHEMA);
+
+        // When
+        index.addElements(Arrays.asList(
+                (Element) createEntity("A", 1),
+                createEntity("A", 2),
+                createEdge("A", "B", 1, 3),
+                createEdge("A", "B", 1, 4),
+                createEdge("A", "B", 2, 5)));
+
+        // Then
+        assertEquals(Collections.singletonList(createEntity("A", 3)), index.getEntities());
+        assertEquals(Arrays.asList(createEdge("A", "B", 1, 7), createEdge("A", "B", 2, 5)), index.getEdges("B", null));
+    }
+
+    @Test
+    public void shouldNotAggregateElementsInGroupsWithoutAggregateFunctions() {
+        // Given
+        final ElementIndex index = new ElementIndex(SCHEMA);
+        final Entity entity1 = new Entity(TestGroups.ENTITY_2, "A");
+        entity1.putProperty(TestPropertyNames.INT, 1);
+        final Entity entity2 = new Entity(TestGroups.ENTITY_2, "A");
+        entity2.putProperty(TestPropertyNames.INT, 1);
+
+        // When
+        index.addElements(Arrays.asList((Element) entity1, entity2));
+
+        // Then
+        assertEquals(2, index.getEntities("A", null).size());
+    }
+
+    @Test
+    public void shouldNotModifyPreviouslyReturnedElementsWhenAggregating() {
+        // Given
+        final ElementIndex index = new ElementIndex(SCHEMA);
+        index.addElement(createEntity("A", 1));
+        final List<Entity> entities = index.getEntities("A", null);
+
+        // When
+        index.addElement(createEntity("A", 2));
+
+        // Then
+        assertEquals(Collections.singletonList(createEntity("A", 1)), entities);
+        assertEquals(Collections.singletonList(createEntity("A", 3)), index.getEntities("A", null));
+    }
+
+    @Test
+    public void shouldOnlyIndexSelfEdgesOnce() {
+        // Given
+        final ElementIndex index = new ElementIndex(SCHEMA);
+        final Edge edge = createEdge("A", "A", 1, 1);
+
+        // When
+        index.addElement(edge);
+
+        // Then
+        assertEquals(Collections.singletonList(edge), index.getEdges("A", null));
+        assertEquals(Collections.singletonList(edge), index.getEdges());
+    }
+
+    @Test
+    public void shouldAggregateUndirectedEdgesWhicheverWayRoundTheyAreAdded() {
+        // Given
+        final ElementIndex index = new ElementIndex(SCHEMA);
+        final Edge edgeAB = createEdge("A", "B", false, 1, 1);
+        final Edge edgeBA = createEdge("B", "A", false, 1, 2);
+
+        // When
+        index.addElements(Arrays.asList((Element) edgeAB, edgeBA));
+
+        // Then
+        final List<Edge> edges = index.getEdges();
+        assertEquals(1, edges.size());
+        assertEquals(createEdge("A", "B", false, 1, 3), edges.get(0));
+        assertEquals(3, edges.get(0).getProperty(TestPropertyNames.COUNT));
+        assertEquals(edges, index.getEdges("A", null));
+        assertEquals(edges, index.getEdges("B", null));
+    }
+
+    @Test
+    public void shouldNotAggregateDirectedEdgesInOppositeDirections() {
+        // Given
+        final ElementIndex index = new ElementIndex(SCHEMA);
+        final Edge edgeAB = createEdge("A", "B", 1, 1);
+        final Edge edgeBA = createEdge("B", "A", 1, 2);
+
+        // When
+        index.addElements(Arrays.asList((Element) edgeAB, edgeBA));
+
+        // Then
+        assertEquals(Arrays.asList(edgeAB, edgeBA), index.getEdges());
+    }
+
+    private Entity createEntity(final String vertex, final int count) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(TestPropertyNames.COUNT, count);
+        return entity;
+    }
+
+    private Edge createEdge(final String source, final String destination, final int groupByValue, final int count) {
+        return createEdge(source, destination, true, groupByValue, count);
+    }
+
+    private Edge createEdge(final String source, final String destination, final boolean directed,
+                            final int groupByValue, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, directed);
+        edge.putProperty(TestPropertyNames.PROP_1, groupByValue);
+        edge.putProperty(TestPropertyNames.COUNT, count);
+        return edge;
+    }
+}
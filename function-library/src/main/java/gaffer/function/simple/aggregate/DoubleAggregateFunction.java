@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function.simple.aggregate;
+
+import gaffer.function.SimpleAggregateFunction;
+
+/**
+ * An <code>DoubleAggregateFunction</code> is a {@link SimpleAggregateFunction} that takes in
+ * {@link java.lang.Double}s and holds the aggregate as a primitive double, so the aggregate is not
+ * boxed every time a value is aggregated. To implement this class just implement the merge method.
+ * <p>
+ * The merge method is stateless so it can also be used to aggregate doubles that have not been
+ * boxed, for example when merging serialised values.
+ *
+ * @see gaffer.function.simple.aggregate.NumericAggregateFunction
+ */
+public abstract class DoubleAggregateFunction extends SimpleAggregateFunction<Double> {
+    private double aggregate;
+    private boolean hasAggregate;
+
+    @Override
+    public void init() {
+        aggregate = 0;
+        hasAggregate = false;
+    }
+
+    @Override
+    protected void _aggregate(final Double input) {
+        if (null == input) {
+            return;
+        }
+
+        if (hasAggregate) {
+            aggregate = merge(aggregate, input);
+        } else {
+            aggregate = input;
+            hasAggregate = true;
+        }
+    }
+
+    @Override
+    protected Double _state() {
+        return hasAggregate ? aggregate : null;
+    }
+
+    /**
+     * Merges two values.
+     *
+     * @param current the current aggregate
+     * @param input   the value to aggregate
+     * @return the new aggregate
+     */
+    public abstract double merge(final double current, final double input);
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function.simple.aggregate;
+
+import gaffer.function.annotation.Inputs;
+import gaffer.function.annotation.Outputs;
+
+/**
+ * An <code>DoubleMin</code> is a {@link DoubleAggregateFunction} that takes in
+ * {@link java.lang.Double}s and calculates the minimum.
+ */
+@Inputs(Double.class)
+@Outputs(Double.class)
+public class DoubleMin extends DoubleAggregateFunction {
+    @Override
+    public double merge(final double current, final double input) {
+        return Math.min(current, input);
+    }
+
+    public DoubleMin statelessClone() {
+        final DoubleMin min = new DoubleMin();
+        min.init();
+        return min;
+    }
+}
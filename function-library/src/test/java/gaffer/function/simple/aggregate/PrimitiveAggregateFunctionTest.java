@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function.simple.aggregate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import gaffer.commonutil.JsonUtil;
+import gaffer.exception.SerialisationException;
+import gaffer.function.AggregateFunction;
+import gaffer.function.AggregateFunctionTest;
+import gaffer.function.Function;
+import gaffer.function.SimpleAggregateFunction;
+import gaffer.jsonserialisation.JSONSerialiser;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Tests the aggregate functions that hold their aggregate as a primitive long, int or double.
+ * Each function is given the inputs 2, 5 and 3.
+ */
+@RunWith(Parameterized.class)
+public class PrimitiveAggregateFunctionTest extends AggregateFunctionTest {
+    private final Class<? extends SimpleAggregateFunction> functionClass;
+    private final Object[] inputs;
+    private final Object expected;
+
+    public PrimitiveAggregateFunctionTest(final Class<? extends SimpleAggregateFunction> functionClass,
+                                          final Object[] inputs, final Object expected) {
+        this.functionClass = functionClass;
+        this.inputs = inputs;
+        this.expected = expected;
+    }
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> functions() {
+        final Object[] longs = {2L, 5L, 3L};
+        final Object[] integers = {2, 5, 3};
+        final Object[] doubles = {2.0d, 5.0d, 3.0d};
+        return Arrays.asList(new Object[][]{
+                {LongSum.class, longs, 10L},
+                {LongMin.class, longs, 2L},
+                {LongMax.class, longs, 5L},
+                {LongProduct.class, longs, 30L},
+                {IntegerSum.class, integers, 10},
+                {IntegerMin.class, integers, 2},
+                {IntegerMax.class, integers, 5},
+                {IntegerProduct.class, integers, 30},
+                {DoubleSum.class, doubles, 10.0d},
+                {DoubleMin.class, doubles, 2.0d},
+                {DoubleMax.class, doubles, 5.0d},
+                {DoubleProduct.class, doubles, 30.0d}
+        });
+    }
+
+    @Test
+    public void shouldAggregateValues() {
+        // Given
+        final SimpleAggregateFunction function = getInstance();
+        function.init();
+
+        // When
+        for (final Object input : inputs) {
+            function.aggregate(new Object[]{input});
+        }
+
+        // Then
+        assertEquals(expected, function.state()[0]);
+    }
+
+    @Test
+    public void shouldIgnoreNullValues() {
+        // Given
+        final SimpleAggregateFunction function = getInstance();
+        function.init();
+
+        // When
+        function.aggregate(new Object[]{null});
+        function.aggregate(new Object[]{inputs[0]});
+        function.aggregate(new Object[]{null});
+
+        // Then
+        assertEquals(inputs[0], function.state()[0]);
+    }
+
+    @Test
+    public void shouldResetStateOnInit() {
+        // Given
+        final SimpleAggregateFunction function = getInstance();
+        function.init();
+        function.aggregate(new Object[]{inputs[0]});
+
+        // When
+        function.init();
+
+        // Then
+        assertNull(function.state()[0]);
+    }
+
+    @Test
+    public void testCloneOf() {
+        // Given
+        final SimpleAggregateFunction function = getInstance();
+        function.init();
+        function.aggregate(new Object[]{inputs[0]});
+
+        // When
+        final AggregateFunction clone = function.statelessClone();
+
+        // Then
+        assertNotSame(function, clone);
+        assertSame(functionClass, clone.getClass());
+        assertNull(clone.state()[0]);
+    }
+
+    @Override
+    @Test
+    public void shouldJsonSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final SimpleAggregateFunction aggregator = getInstance();
+
+        // When 1
+        final String json = new String(new JSONSerialiser().serialise(aggregator, true));
+
+        // Then 1
+        JsonUtil.assertEquals(String.format("{%n" +
+                "  \"class\" : \"" + functionClass.getName() + "\"%n" +
+                "}"), json);
+
+        // When 2
+        final SimpleAggregateFunction deserialisedAggregator = new JSONSerialiser().deserialise(json.getBytes(), functionClass);
+
+        // Then 2
+        assertNotNull(deserialisedAggregator);
+    }
+
+    @Override
+    protected SimpleAggregateFunction getInstance() {
+        try {
+            return functionClass.newInstance();
+        } catch (final InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("Unable to create an instance of " + functionClass.getName(), e);
+        }
+    }
+
+    @Override
+    protected Class<? extends Function> getFunctionClass() {
+        return functionClass;
+    }
+}
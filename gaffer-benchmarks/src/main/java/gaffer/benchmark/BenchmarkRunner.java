@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for running the Gaffer benchmarks.
+ * <p>
+ * Every benchmark is run in throughput mode with the JMH {@link GCProfiler}
+ * attached, so the results include the allocation rate per operation as well
+ * as the number of operations per second. The results are also written to
+ * gaffer-benchmarks.json so runs against different Gaffer versions can be compared.
+ * <p>
+ * Usage: java -jar benchmarks.jar [benchmark regex] [param=value ...]
+ * <p>
+ * For example, to only run the element converter benchmarks with 50 properties:
+ * java -jar benchmarks.jar ElementConverterBenchmark propertyCount=50
+ * <p>
+ * The threads argument sets the number of threads each benchmark is run with,
+ * rather than a benchmark parameter. For example, to compare concurrent graph
+ * throughput with 1 and 8 threads:
+ * java -jar benchmarks.jar GraphConcurrencyBenchmark threads=1,8
+ */
+public final class BenchmarkRunner {
+    public static final String RESULTS_FILE = "gaffer-benchmarks.json";
+    public static final String THREADS_ARG = "threads";
+
+    private BenchmarkRunner() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULTS_FILE);
+
+        boolean hasInclude = false;
+        String[] threadCounts = null;
+        for (final String arg : args) {
+            final int separatorIndex = arg.indexOf('=');
+            if (separatorIndex > 0) {
+                final String name = arg.substring(0, separatorIndex);
+                final String[] values = arg.substring(separatorIndex + 1).split(",");
+                if (THREADS_ARG.equals(name)) {
+                    threadCounts = values;
+                } else {
+                    options.param(name, values);
+                }
+            } else {
+                options.include(arg);
+                hasInclude = true;
+            }
+        }
+
+        if (!hasInclude) {
+            options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+
+        if (null == threadCounts) {
+            new Runner(options.build()).run();
+        } else {
+            for (final String threadCount : threadCounts) {
+                options.threads(Integer.parseInt(threadCount))
+                        .result(threadCount + "-threads-" + RESULTS_FILE);
+                new Runner(options.build()).run();
+            }
+        }
+    }
+}
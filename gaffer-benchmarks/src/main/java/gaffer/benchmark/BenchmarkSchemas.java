@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility methods for building the synthetic {@link Schema}s and {@link Element}s
+ * that the benchmarks run against.
+ * <p>
+ * Each schema contains a single entity group {@link #ENTITY} and a single edge
+ * group {@link #EDGE}. Both groups have the same number of {@link Long} properties,
+ * named property0, property1, ..., which are serialised with the
+ * {@link CompactRawLongSerialiser} and aggregated with {@link Sum}. The first
+ * groupByCount properties are used as group by properties so they are stored
+ * in the Accumulo column qualifier, the rest are stored in the Accumulo value.
+ */
+public final class BenchmarkSchemas {
+    public static final String ENTITY = "BasicEntity";
+    public static final String EDGE = "BasicEdge";
+    public static final String PROPERTY_PREFIX = "property";
+
+    private static final String VERTEX_TYPE = "vertex.string";
+    private static final String DIRECTED_TYPE = "directed.either";
+    private static final String COUNT_TYPE = "count.long";
+
+    private BenchmarkSchemas() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Creates a {@link Schema} with the given number of properties on each group.
+     *
+     * @param propertyCount the number of properties on each group
+     * @param groupByCount  the number of properties that should be group by properties
+     * @return the synthetic {@link Schema}
+     */
+    public static Schema createSchema(final int propertyCount, final int groupByCount) {
+        if (groupByCount > propertyCount) {
+            throw new IllegalArgumentException("groupByCount (" + groupByCount
+                    + ") cannot be larger than propertyCount (" + propertyCount + ")");
+        }
+
+        final SchemaEntityDefinition.Builder entityBuilder = new SchemaEntityDefinition.Builder()
+                .vertex(VERTEX_TYPE);
+        final SchemaEdgeDefinition.Builder edgeBuilder = new SchemaEdgeDefinition.Builder()
+                .source(VERTEX_TYPE)
+                .destination(VERTEX_TYPE)
+                .directed(DIRECTED_TYPE);
+        final String[] groupBy = new String[groupByCount];
+        for (int i = 0; i < propertyCount; i++) {
+            final String propertyName = getPropertyName(i);
+            entityBuilder.property(propertyName, COUNT_TYPE);
+            edgeBuilder.property(propertyName, COUNT_TYPE);
+            if (i < groupByCount) {
+                groupBy[i] = propertyName;
+            }
+        }
+        entityBuilder.groupBy(groupBy);
+        edgeBuilder.groupBy(groupBy);
+
+        return new Schema.Builder()
+                .type(VERTEX_TYPE, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .build())
+                .type(DIRECTED_TYPE, Boolean.class)
+                .type(COUNT_TYPE, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .serialiser(new CompactRawLongSerialiser())
+                        .aggregateFunction(new Sum())
+                        .build())
+                .entity(ENTITY, entityBuilder.build())
+                .edge(EDGE, edgeBuilder.build())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    /**
+     * Creates an {@link Entity} in the {@link #ENTITY} group with every property populated.
+     *
+     * @param vertex        the entity vertex
+     * @param propertyCount the number of properties to populate
+     * @return the {@link Entity}
+     */
+    public static Entity createEntity(final String vertex, final int propertyCount) {
+        final Entity entity = new Entity(ENTITY, vertex);
+        addProperties(entity, propertyCount);
+        return entity;
+    }
+
+    /**
+     * Creates a directed {@link Edge} in the {@link #EDGE} group with every property populated.
+     *
+     * @param source        the edge source
+     * @param destination   the edge destination
+     * @param propertyCount the number of properties to populate
+     * @return the {@link Edge}
+     */
+    public static Edge createEdge(final String source, final String destination, final int propertyCount) {
+        final Edge edge = new Edge(EDGE, source, destination, true);
+        addProperties(edge, propertyCount);
+        return edge;
+    }
+
+    /**
+     * Creates a list of elements containing, for each of the numVertices vertices, an
+     * {@link Entity} and an {@link Edge} to each of the next edgesPerVertex vertices.
+     *
+     * @param numVertices    the number of distinct vertices
+     * @param edgesPerVertex the number of outgoing edges from each vertex
+     * @param propertyCount  the number of properties to populate on each element
+     * @return the list of elements
+     */
+    public static List<Element> createElements(final int numVertices, final int edgesPerVertex, final int propertyCount) {
+        final List<Element> elements = new ArrayList<>(numVertices * (edgesPerVertex + 1));
+        for (int i = 0; i < numVertices; i++) {
+            elements.add(createEntity(getVertex(i), propertyCount));
+            for (int j = 1; j <= edgesPerVertex; j++) {
+                elements.add(createEdge(getVertex(i), getVertex((i + j) % numVertices), propertyCount));
+            }
+        }
+        return elements;
+    }
+
+    public static String getVertex(final int index) {
+        return "vertex" + index;
+    }
+
+    public static String getPropertyName(final int index) {
+        return PROPERTY_PREFIX + index;
+    }
+
+    private static void addProperties(final Element element, final int propertyCount) {
+        for (int i = 0; i < propertyCount; i++) {
+            element.putProperty(getPropertyName(i), (long) (i + 1));
+        }
+    }
+}
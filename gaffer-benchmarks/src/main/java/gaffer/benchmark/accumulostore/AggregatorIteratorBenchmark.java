@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.impl.AggregatorIterator;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorSettingBuilder;
+import gaffer.benchmark.BenchmarkSchemas;
+import gaffer.data.element.Edge;
+import gaffer.store.schema.Schema;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link AggregatorIterator#reduce(Key, java.util.Iterator)}, which is
+ * run by Accumulo at compaction and scan time to combine all the versions of a key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregatorIteratorBenchmark {
+    @Param({"BYTE_ENTITY", "CLASSIC"})
+    public KeyPackageType keyPackage;
+
+    @Param({"1", "10", "50"})
+    public int propertyCount;
+
+    @Param({"1"})
+    public int groupByCount;
+
+    @Param({"2", "10", "100"})
+    public int valuesPerKey;
+
+    private AggregatorIterator iterator;
+    private Key key;
+    private List<Value> values;
+
+    @Setup
+    public void setup() throws AccumuloElementConversionException {
+        final Schema schema = BenchmarkSchemas.createSchema(propertyCount, groupByCount);
+        final AccumuloElementConverter converter = keyPackage.createKeyPackage(schema).getKeyConverter();
+
+        iterator = new AggregatorIterator();
+        iterator.validateOptions(new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.AGGREGATOR_ITERATOR_NAME, AggregatorIterator.class)
+                .all()
+                .schema(schema)
+                .keyConverter(converter)
+                .build()
+                .getOptions());
+
+        final Edge edge = BenchmarkSchemas.createEdge(BenchmarkSchemas.getVertex(0), BenchmarkSchemas.getVertex(1), propertyCount);
+        key = converter.getKeysFromElement(edge).getFirst();
+        values = new ArrayList<>(valuesPerKey);
+        for (int i = 0; i < valuesPerKey; i++) {
+            values.add(converter.getValueFromElement(edge));
+        }
+    }
+
+    @Benchmark
+    public Value reduce() {
+        return iterator.reduce(key, values.iterator());
+    }
+}
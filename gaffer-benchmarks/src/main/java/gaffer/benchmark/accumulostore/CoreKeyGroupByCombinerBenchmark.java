@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
+import gaffer.accumulostore.key.core.impl.CoreKeyGroupByCombiner;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IteratorSettingBuilder;
+import gaffer.benchmark.BenchmarkSchemas;
+import gaffer.data.element.Edge;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.store.schema.Schema;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a full scan through a {@link CoreKeyGroupByCombiner}, which is used
+ * to aggregate elements at query time, over a source containing numRows rows each
+ * with versionsPerRow versions of an edge.
+ * <p>
+ * If summarise is true the view overrides the group by properties with an empty
+ * set, so all versions within a row are summarised into a single element even
+ * though their column qualifiers differ.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoreKeyGroupByCombinerBenchmark {
+    @Param({"BYTE_ENTITY", "CLASSIC"})
+    public KeyPackageType keyPackage;
+
+    @Param({"1", "10", "50"})
+    public int propertyCount;
+
+    @Param({"1"})
+    public int groupByCount;
+
+    @Param({"100"})
+    public int numRows;
+
+    @Param({"10"})
+    public int versionsPerRow;
+
+    @Param({"false", "true"})
+    public boolean summarise;
+
+    private CoreKeyGroupByCombiner combiner;
+
+    @Setup
+    public void setup() throws AccumuloElementConversionException, IOException {
+        final Schema schema = BenchmarkSchemas.createSchema(propertyCount, groupByCount);
+        final AccumuloElementConverter converter = keyPackage.createKeyPackage(schema).getKeyConverter();
+
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (int row = 0; row < numRows; row++) {
+            for (int version = 0; version < versionsPerRow; version++) {
+                final Edge edge = BenchmarkSchemas.createEdge(BenchmarkSchemas.getVertex(row),
+                        BenchmarkSchemas.getVertex(row + 1), propertyCount);
+                if (summarise && groupByCount > 0) {
+                    edge.putProperty(BenchmarkSchemas.getPropertyName(0), (long) version);
+                }
+                final Key key = converter.getKeysFromElement(edge).getFirst();
+                data.put(new Key(key.getRowData().getBackingArray(),
+                                key.getColumnFamilyData().getBackingArray(),
+                                key.getColumnQualifierData().getBackingArray(),
+                                key.getColumnVisibilityData().getBackingArray(),
+                                version),
+                        converter.getValueFromElement(edge));
+            }
+        }
+
+        final ViewElementDefinition edgeViewDef = summarise
+                ? new ViewElementDefinition.Builder().groupBy().build()
+                : new ViewElementDefinition.Builder().build();
+        final View view = new View.Builder()
+                .edge(BenchmarkSchemas.EDGE, edgeViewDef)
+                .build();
+
+        combiner = new CoreKeyGroupByAggregatorIterator();
+        combiner.init(new SortedMapIterator(data),
+                new IteratorSettingBuilder(AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY,
+                        AccumuloStoreConstants.COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME,
+                        CoreKeyGroupByAggregatorIterator.class)
+                        .all()
+                        .schema(schema)
+                        .view(view)
+                        .keyConverter(converter)
+                        .build()
+                        .getOptions(),
+                null);
+    }
+
+    @Benchmark
+    public void scan(final Blackhole blackhole) throws IOException {
+        combiner.seek(new Range(), Collections.<ByteSequence>emptyList(), false);
+        while (combiner.hasTop()) {
+            blackhole.consume(combiner.getTopKey());
+            blackhole.consume(combiner.getTopValue());
+            combiner.next();
+        }
+    }
+}
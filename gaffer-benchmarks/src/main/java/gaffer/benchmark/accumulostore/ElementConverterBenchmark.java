@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.benchmark.BenchmarkSchemas;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of {@link Element}s to and from Accumulo {@link Key}s
+ * and {@link Value}s using the {@link AccumuloElementConverter} from each key package.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ElementConverterBenchmark {
+    @Param({"BYTE_ENTITY", "CLASSIC"})
+    public KeyPackageType keyPackage;
+
+    @Param({"1", "10", "50"})
+    public int propertyCount;
+
+    @Param({"1"})
+    public int groupByCount;
+
+    private AccumuloElementConverter converter;
+    private Entity entity;
+    private Edge edge;
+    private Key entityKey;
+    private Key edgeKey;
+    private Value entityValue;
+    private Value edgeValue;
+
+    @Setup
+    public void setup() throws AccumuloElementConversionException {
+        converter = keyPackage.createKeyPackage(BenchmarkSchemas.createSchema(propertyCount, groupByCount))
+                .getKeyConverter();
+        entity = BenchmarkSchemas.createEntity(BenchmarkSchemas.getVertex(0), propertyCount);
+        edge = BenchmarkSchemas.createEdge(BenchmarkSchemas.getVertex(0), BenchmarkSchemas.getVertex(1), propertyCount);
+        entityKey = converter.getKeysFromElement(entity).getFirst();
+        edgeKey = converter.getKeysFromElement(edge).getFirst();
+        entityValue = converter.getValueFromElement(entity);
+        edgeValue = converter.getValueFromElement(edge);
+    }
+
+    @Benchmark
+    public Pair<Key> getKeysFromEntity() throws AccumuloElementConversionException {
+        return converter.getKeysFromElement(entity);
+    }
+
+    @Benchmark
+    public Pair<Key> getKeysFromEdge() throws AccumuloElementConversionException {
+        return converter.getKeysFromElement(edge);
+    }
+
+    @Benchmark
+    public Value getValueFromEdge() throws AccumuloElementConversionException {
+        return converter.getValueFromElement(edge);
+    }
+
+    @Benchmark
+    public Element getFullEntity() throws AccumuloElementConversionException {
+        return converter.getFullElement(entityKey, entityValue);
+    }
+
+    @Benchmark
+    public Element getFullEdge() throws AccumuloElementConversionException {
+        return converter.getFullElement(edgeKey, edgeValue);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.key.AccumuloKeyPackage;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import gaffer.store.schema.Schema;
+
+/**
+ * The {@link AccumuloKeyPackage}s that the Accumulo store benchmarks are run against.
+ */
+public enum KeyPackageType {
+    BYTE_ENTITY {
+        @Override
+        public AccumuloKeyPackage createKeyPackage(final Schema schema) {
+            return new ByteEntityKeyPackage(schema);
+        }
+    },
+    CLASSIC {
+        @Override
+        public AccumuloKeyPackage createKeyPackage(final Schema schema) {
+            return new ClassicKeyPackage(schema);
+        }
+    };
+
+    public abstract AccumuloKeyPackage createKeyPackage(final Schema schema);
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark.arrayliststore;
+
+import gaffer.arrayliststore.ArrayListStore;
+import gaffer.arrayliststore.operation.handler.GetElementsHandler;
+import gaffer.benchmark.BenchmarkSchemas;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.Context;
+import gaffer.store.StoreException;
+import gaffer.store.StoreProperties;
+import gaffer.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a seeded {@link GetRelatedElements} query handled by the
+ * {@link ArrayListStore} {@link GetElementsHandler}, against a store populated
+ * with numVertices entities and edgesPerVertex edges per vertex.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetElementsHandlerBenchmark {
+    @Param({"1000", "10000"})
+    public int numVertices;
+
+    @Param({"2"})
+    public int edgesPerVertex;
+
+    @Param({"1", "100"})
+    public int numSeeds;
+
+    @Param({"1"})
+    public int propertyCount;
+
+    private ArrayListStore store;
+    private GetElementsHandler handler;
+    private GetElements<ElementSeed, Element> operation;
+    private Context context;
+
+    @Setup
+    public void setup() throws StoreException {
+        store = new ArrayListStore();
+        store.initialise(BenchmarkSchemas.createSchema(propertyCount, 0), new StoreProperties(ArrayListStore.class));
+        store.addElements(BenchmarkSchemas.createElements(numVertices, edgesPerVertex, propertyCount));
+
+        final List<ElementSeed> seeds = new ArrayList<>(numSeeds);
+        final int seedStep = Math.max(1, numVertices / numSeeds);
+        for (int i = 0; i < numSeeds; i++) {
+            seeds.add(new EntitySeed(BenchmarkSchemas.getVertex((i * seedStep) % numVertices)));
+        }
+
+        operation = new GetRelatedElements.Builder<ElementSeed, Element>()
+                .seeds(seeds)
+                .view(new View.Builder()
+                        .entity(BenchmarkSchemas.ENTITY)
+                        .edge(BenchmarkSchemas.EDGE)
+                        .build())
+                .build();
+        handler = new GetElementsHandler();
+        context = new Context(new User());
+    }
+
+    @Benchmark
+    public void getRelatedElements(final Blackhole blackhole) throws OperationException {
+        try (final CloseableIterable<Element> results = handler.doOperation(operation, context, store)) {
+            for (final Element element : results) {
+                blackhole.consume(element);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark.function;
+
+import gaffer.benchmark.BenchmarkSchemas;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.function.simple.filter.IsMoreThan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link gaffer.function.processor.Filter#filter(gaffer.function.Tuple)} and
+ * {@link gaffer.function.processor.Aggregator#aggregate(gaffer.function.Tuple)} via the {@link ElementFilter}
+ * and {@link ElementAggregator} that are run for every element in the
+ * iterators, the stores and the {@link gaffer.store.ElementValidator}.
+ * <p>
+ * The filter applies an {@link IsMoreThan} function to each of the first
+ * functionCount properties and the aggregator is taken from the schema, so it
+ * sums every non group by property.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessorBenchmark {
+    @Param({"1", "10", "50"})
+    public int propertyCount;
+
+    @Param({"1"})
+    public int groupByCount;
+
+    @Param({"1", "5"})
+    public int functionCount;
+
+    private Edge edge;
+    private Properties properties;
+    private ElementFilter filter;
+    private ElementAggregator aggregator;
+
+    @Setup
+    public void setup() {
+        edge = BenchmarkSchemas.createEdge(BenchmarkSchemas.getVertex(0), BenchmarkSchemas.getVertex(1), propertyCount);
+        properties = edge.getProperties();
+
+        final ElementFilter.Builder filterBuilder = new ElementFilter.Builder();
+        for (int i = 0; i < Math.min(functionCount, propertyCount); i++) {
+            filterBuilder.select(BenchmarkSchemas.getPropertyName(i))
+                    .execute(new IsMoreThan(0L));
+        }
+        filter = filterBuilder.build();
+
+        aggregator = BenchmarkSchemas.createSchema(propertyCount, groupByCount)
+                .getElement(BenchmarkSchemas.EDGE)
+                .getAggregator();
+        aggregator.initFunctions();
+    }
+
+    @Benchmark
+    public boolean filter() {
+        return filter.filter(edge);
+    }
+
+    @Benchmark
+    public void aggregate() {
+        aggregator.aggregate(properties);
+    }
+
+    @Benchmark
+    public Properties aggregateAndState() {
+        aggregator.initFunctions();
+        aggregator.aggregate(properties);
+        aggregator.aggregate(properties);
+        final Properties state = new Properties();
+        aggregator.state(state);
+        return state;
+    }
+}
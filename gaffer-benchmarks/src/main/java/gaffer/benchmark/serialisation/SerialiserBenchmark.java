@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark.serialisation;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the raw and compact raw {@link Serialisation}s that are used to
+ * store numeric properties, such as counts, in Accumulo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerialiserBenchmark {
+    @Param({"RAW_LONG", "COMPACT_RAW_LONG", "RAW_INTEGER", "COMPACT_RAW_INTEGER", "RAW_DOUBLE", "RAW_FLOAT", "RAW_DATE"})
+    public SerialiserType serialiserType;
+
+    @Param({"false", "true"})
+    public boolean largeValue;
+
+    private Serialisation<Object> serialiser;
+    private Object value;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        serialiser = serialiserType.getSerialiser();
+        value = serialiserType.getValue(largeValue);
+        bytes = serialiser.serialise(value);
+    }
+
+    @Benchmark
+    public byte[] serialise() throws SerialisationException {
+        return serialiser.serialise(value);
+    }
+
+    @Benchmark
+    public Object deserialise() throws SerialisationException {
+        return serialiser.deserialise(bytes);
+    }
+}
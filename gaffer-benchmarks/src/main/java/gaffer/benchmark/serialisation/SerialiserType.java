@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.benchmark.serialisation;
+
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.RawDateSerialiser;
+import gaffer.serialisation.implementation.raw.RawDoubleSerialiser;
+import gaffer.serialisation.implementation.raw.RawFloatSerialiser;
+import gaffer.serialisation.implementation.raw.RawIntegerSerialiser;
+import gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import java.util.Date;
+
+/**
+ * The raw and compact raw {@link Serialisation}s that are benchmarked, along
+ * with a small and a large sample value for each.
+ */
+@SuppressWarnings("unchecked")
+public enum SerialiserType {
+    RAW_LONG(new RawLongSerialiser(), 1L, Long.MAX_VALUE / 3),
+    COMPACT_RAW_LONG(new CompactRawLongSerialiser(), 1L, Long.MAX_VALUE / 3),
+    RAW_INTEGER(new RawIntegerSerialiser(), 1, Integer.MAX_VALUE / 3),
+    COMPACT_RAW_INTEGER(new CompactRawIntegerSerialiser(), 1, Integer.MAX_VALUE / 3),
+    RAW_DOUBLE(new RawDoubleSerialiser(), 1.0d, Double.MAX_VALUE / 3),
+    RAW_FLOAT(new RawFloatSerialiser(), 1.0f, Float.MAX_VALUE / 3),
+    RAW_DATE(new RawDateSerialiser(), new Date(1L), new Date(Long.MAX_VALUE / 3));
+
+    private final Serialisation<Object> serialiser;
+    private final Object smallValue;
+    private final Object largeValue;
+
+    SerialiserType(final Serialisation<?> serialiser, final Object smallValue, final Object largeValue) {
+        this.serialiser = (Serialisation<Object>) serialiser;
+        this.smallValue = smallValue;
+        this.largeValue = largeValue;
+    }
+
+    public Serialisation<Object> getSerialiser() {
+        return serialiser;
+    }
+
+    public Object getValue(final boolean large) {
+        return large ? largeValue : smallValue;
+    }
+}
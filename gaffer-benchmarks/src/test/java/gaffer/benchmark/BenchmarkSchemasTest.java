@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import org.junit.Test;
+import java.util.List;
+
+public class BenchmarkSchemasTest {
+
+    @Test
+    public void shouldCreateValidSchemaWithRequestedProperties() {
+        // When
+        final Schema schema = BenchmarkSchemas.createSchema(5, 2);
+
+        // Then
+        assertTrue(schema.validate());
+        for (final String group : new String[]{BenchmarkSchemas.ENTITY, BenchmarkSchemas.EDGE}) {
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            assertEquals(5, elementDef.getProperties().size());
+            assertEquals(2, elementDef.getGroupBy().size());
+            assertTrue(elementDef.getGroupBy().contains(BenchmarkSchemas.getPropertyName(0)));
+            assertTrue(elementDef.getGroupBy().contains(BenchmarkSchemas.getPropertyName(1)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowMoreGroupByPropertiesThanProperties() {
+        BenchmarkSchemas.createSchema(1, 2);
+    }
+
+    @Test
+    public void shouldCreateElementsWithAllProperties() {
+        // When
+        final List<Element> elements = BenchmarkSchemas.createElements(10, 2, 3);
+
+        // Then
+        assertEquals(30, elements.size());
+        assertTrue(elements.get(0) instanceof Entity);
+        assertTrue(elements.get(1) instanceof Edge);
+        for (final Element element : elements) {
+            assertEquals(3, element.getProperties().size());
+        }
+    }
+}
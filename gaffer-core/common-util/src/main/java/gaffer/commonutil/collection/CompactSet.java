@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.commonutil.collection;
+
+import gaffer.commonutil.iterable.ChainedIterable;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A <code>CompactSet</code> is a {@link Set} that holds {@link Long}s in a
+ * {@link LongHashSet} and {@link String}s, keyed on their UTF-16 bytes, in an
+ * {@link OffHeapByteArraySet}. Any other items are held in a fallback set, such as a
+ * {@link java.util.HashSet} or a {@link SpillingSet}.
+ * <p>
+ * This is intended for sets of vertices, which are usually longs or strings, so
+ * that large sets of them do not fill the heap with boxed values and hash table
+ * entries. Longs and strings are recreated as they are iterated over.
+ * <p>
+ * Items cannot be removed. Clearing the set keeps its off heap buffers for reuse.
+ * The set must be closed to free the off heap buffers and delete any spilled
+ * files. Instances are not thread safe.
+ *
+ * @param <T> the type of items in the set
+ */
+public class CompactSet<T> extends AbstractSet<T> implements Closeable {
+    /**
+     * The number of bytes of strings to hold off heap for each item allowed in
+     * memory, when a set is limited to a number of items in memory.
+     */
+    public static final long OFF_HEAP_BYTES_PER_ITEM_IN_MEMORY = 64L;
+
+    private final Set<T> fallback;
+    private final long maxOffHeapBytes;
+    private final File spillDirectory;
+    private LongHashSet longs;
+    private OffHeapByteArraySet strings;
+    private byte[] stringBytes = new byte[0];
+
+    /**
+     * Creates a <code>CompactSet</code> with the default off heap limit,
+     * {@link OffHeapByteArraySet#DEFAULT_MAX_OFF_HEAP_BYTES}.
+     *
+     * @param fallback the set to hold items that are not longs or strings
+     */
+    public CompactSet(final Set<T> fallback) {
+        this(fallback, OffHeapByteArraySet.DEFAULT_MAX_OFF_HEAP_BYTES, null);
+    }
+
+    /**
+     * @param fallback        the set to hold items that are not longs or strings
+     * @param maxOffHeapBytes the maximum number of bytes of strings to hold off heap before spilling to disk, or a negative number for no limit
+     * @param spillDirectory  the directory to spill to, or null to use the default temporary directory
+     */
+    public CompactSet(final Set<T> fallback, final long maxOffHeapBytes, final File spillDirectory) {
+        if (null == fallback) {
+            throw new IllegalArgumentException("A fallback set is required");
+        }
+        this.fallback = fallback;
+        this.maxOffHeapBytes = maxOffHeapBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public boolean add(final T item) {
+        if (item instanceof Long) {
+            if (null == longs) {
+                longs = new LongHashSet();
+            }
+            return longs.add(((Long) item).longValue());
+        }
+
+        if (item instanceof String) {
+            if (null == strings) {
+                strings = new OffHeapByteArraySet(0, maxOffHeapBytes, spillDirectory);
+            }
+            final int length = toBytes((String) item);
+            return strings.add(stringBytes, 0, length);
+        }
+
+        return fallback.add(item);
+    }
+
+    @Override
+    public boolean contains(final Object item) {
+        if (item instanceof Long) {
+            return null != longs && longs.contains(((Long) item).longValue());
+        }
+
+        if (item instanceof String) {
+            if (null == strings) {
+                return false;
+            }
+            final int length = toBytes((String) item);
+            return strings.contains(stringBytes, 0, length);
+        }
+
+        return fallback.contains(item);
+    }
+
+    @Override
+    public int size() {
+        final long size = (null != longs ? longs.size() : 0)
+                + (null != strings ? strings.size() : 0)
+                + fallback.size();
+        return (int) Math.min(Integer.MAX_VALUE, size);
+    }
+
+    /**
+     * Iterates over the longs, then the strings, then the other items. The
+     * iterator does not support removal.
+     *
+     * @return an iterator over the items in the set
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new ChainedIterable<T>(
+                null != longs ? longs : new LongHashSet(0),
+                new StringIterable(),
+                fallback).iterator();
+    }
+
+    /**
+     * Removes all of the items, keeping the off heap buffers so they can be
+     * reused.
+     */
+    @Override
+    public void clear() {
+        longs = null;
+        if (null != strings) {
+            strings.clear();
+        }
+        fallback.clear();
+    }
+
+    /**
+     * Frees the off heap buffers and closes the fallback set if it is
+     * {@link Closeable}.
+     *
+     * @throws IOException if the fallback set could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        clear();
+        if (null != strings) {
+            strings.close();
+            strings = null;
+        }
+        if (fallback instanceof Closeable) {
+            ((Closeable) fallback).close();
+        }
+    }
+
+    // Writes the UTF-16 chars of the string to stringBytes and returns the number of bytes.
+    private int toBytes(final String item) {
+        final int length = item.length() << 1;
+        if (stringBytes.length < length) {
+            stringBytes = new byte[Math.max(length, stringBytes.length << 1)];
+        }
+        for (int i = 0; i < item.length(); i++) {
+            final char c = item.charAt(i);
+            stringBytes[i << 1] = (byte) (c >>> 8);
+            stringBytes[(i << 1) + 1] = (byte) c;
+        }
+        return length;
+    }
+
+    // Iterates over the strings, if there are any.
+    private final class StringIterable implements Iterable<T> {
+        @Override
+        public Iterator<T> iterator() {
+            return new StringIterator<>(null != strings ? strings.iterator() : Collections.<byte[]>emptyIterator());
+        }
+    }
+
+    // Recreates the strings from their UTF-16 bytes.
+    private static final class StringIterator<T> implements Iterator<T> {
+        private final Iterator<byte[]> bytesItr;
+
+        private StringIterator(final Iterator<byte[]> bytesItr) {
+            this.bytesItr = bytesItr;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return bytesItr.hasNext();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public T next() {
+            final byte[] bytes = bytesItr.next();
+            final char[] chars = new char[bytes.length >> 1];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) ((bytes[i << 1] & 0xFF) << 8 | bytes[(i << 1) + 1] & 0xFF);
+            }
+            return (T) new String(chars);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
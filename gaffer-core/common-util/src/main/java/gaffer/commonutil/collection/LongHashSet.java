@@ -0,0 +1,216 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.commonutil.collection;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>LongHashSet</code> is a {@link java.util.Set} of primitive longs. The values
+ * are held in a single open addressing array, so each value costs 8 to 16 bytes
+ * rather than the boxed {@link Long} and hash table entry held by a
+ * {@link java.util.HashSet}, and the set adds almost nothing for the garbage
+ * collector to trace.
+ * <p>
+ * Use {@link #add(long)} and {@link #contains(long)} to avoid boxing. Values cannot
+ * be removed. Instances are not thread safe.
+ */
+public class LongHashSet extends AbstractSet<Long> {
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final double LOAD_FACTOR = 0.6;
+    // 0 marks an empty slot, so whether the set contains 0 is held separately.
+    private static final long EMPTY = 0L;
+
+    private long[] values;
+    private boolean containsEmpty;
+    private int size;
+    private int resizeThreshold;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of values the set is expected to hold
+     */
+    public LongHashSet(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        allocate(getCapacity(expectedSize));
+    }
+
+    /**
+     * @param value the value to add
+     * @return true if the value was not already in the set
+     */
+    public boolean add(final long value) {
+        if (EMPTY == value) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+
+        final int mask = values.length - 1;
+        int slot = mix(value) & mask;
+        while (EMPTY != values[slot]) {
+            if (value == values[slot]) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        values[slot] = value;
+        size++;
+        if (size > resizeThreshold) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * @param value the value to check
+     * @return true if the set contains the value
+     */
+    public boolean contains(final long value) {
+        if (EMPTY == value) {
+            return containsEmpty;
+        }
+
+        final int mask = values.length - 1;
+        int slot = mix(value) & mask;
+        while (EMPTY != values[slot]) {
+            if (value == values[slot]) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(final Long value) {
+        return add(value.longValue());
+    }
+
+    @Override
+    public boolean contains(final Object value) {
+        return value instanceof Long && contains(((Long) value).longValue());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        containsEmpty = false;
+        size = 0;
+    }
+
+    /**
+     * Iterates over the values in the set. The values are boxed as they are
+     * returned. The iterator does not support removal.
+     *
+     * @return an iterator over the values in the set
+     */
+    @Override
+    public Iterator<Long> iterator() {
+        return new LongIterator();
+    }
+
+    private void allocate(final int capacity) {
+        values = new long[capacity];
+        resizeThreshold = capacity < MAX_CAPACITY ? (int) (capacity * LOAD_FACTOR) : Integer.MAX_VALUE;
+    }
+
+    private void resize() {
+        final long[] oldValues = values;
+        allocate(values.length << 1);
+        final int mask = values.length - 1;
+        for (final long value : oldValues) {
+            if (EMPTY != value) {
+                int slot = mix(value) & mask;
+                while (EMPTY != values[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                values[slot] = value;
+            }
+        }
+    }
+
+    private static int getCapacity(final int expectedSize) {
+        final long minCapacity = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(minCapacity - 1) << 1);
+    }
+
+    // The 64 bit finaliser from MurmurHash3, so sequential values are spread across the table.
+    private static int mix(final long value) {
+        long mixed = (value ^ value >>> 33) * 0xFF51AFD7ED558CCDL;
+        mixed = (mixed ^ mixed >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return (int) (mixed ^ mixed >>> 33);
+    }
+
+    // Iterates over the table, then returns 0 if the set contains it.
+    private final class LongIterator implements Iterator<Long> {
+        private final long[] iteratedValues = values;
+        private int slot = -1;
+        private boolean returnedEmpty = !containsEmpty;
+
+        @Override
+        public boolean hasNext() {
+            return -1 != getNextSlot() || !returnedEmpty;
+        }
+
+        @Override
+        public Long next() {
+            final int nextSlot = getNextSlot();
+            if (-1 != nextSlot) {
+                slot = nextSlot;
+                return iteratedValues[slot];
+            }
+            if (!returnedEmpty) {
+                returnedEmpty = true;
+                slot = iteratedValues.length;
+                return EMPTY;
+            }
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private int getNextSlot() {
+            for (int nextSlot = slot + 1; nextSlot < iteratedValues.length; nextSlot++) {
+                if (EMPTY != iteratedValues[nextSlot]) {
+                    return nextSlot;
+                }
+            }
+            return -1;
+        }
+    }
+}
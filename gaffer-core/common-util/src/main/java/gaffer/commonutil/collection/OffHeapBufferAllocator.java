@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.commonutil.collection;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Allocates the buffers for the off heap collections. Buffers are allocated as
+ * direct buffers until the off heap limit is reached, after which they are mapped
+ * from a temporary file so the operating system can page them out to disk.
+ * <p>
+ * Released buffers, and all buffers when the allocator is closed, are freed or
+ * unmapped straight away rather than when they are garbage collected, so the
+ * direct memory is returned even if explicit garbage collection is disabled. If
+ * the JVM does not allow this they are freed when they are garbage collected.
+ * Freed buffers must not be used again. Space in the temporary file is not
+ * reused; the file is deleted when the allocator is closed, or when the JVM
+ * exits if the allocator is never closed.
+ */
+final class OffHeapBufferAllocator implements Closeable {
+    // sun.misc.Unsafe.invokeCleaner on Java 9 and later
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+    // sun.nio.ch.DirectBuffer.cleaner and sun.misc.Cleaner.clean on Java 8
+    private static final Method GET_CLEANER;
+    private static final Method CLEAN;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        Method getCleaner = null;
+        Method clean = null;
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            unsafe = getUnsafe(unsafeClass);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            invokeCleaner = null;
+            try {
+                getCleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            } catch (final ReflectiveOperationException | RuntimeException e2) {
+                getCleaner = null;
+                clean = null;
+            }
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+        GET_CLEANER = getCleaner;
+        CLEAN = clean;
+    }
+
+    private final long maxOffHeapBytes;
+    private final File spillDirectory;
+    private final Set<ByteBuffer> directBuffers = Collections.newSetFromMap(new IdentityHashMap<ByteBuffer, Boolean>());
+    private final List<ByteBuffer> mappedBuffers = new ArrayList<>();
+    private long offHeapBytes;
+    private File spillFile;
+    private RandomAccessFile spillFileAccess;
+    private long spillFileLength;
+
+    /**
+     * @param maxOffHeapBytes the maximum number of bytes to allocate as direct buffers, or a negative number for no limit
+     * @param spillDirectory  the directory to create the temporary file in, or null to use the default temporary directory
+     */
+    OffHeapBufferAllocator(final long maxOffHeapBytes, final File spillDirectory) {
+        this.maxOffHeapBytes = maxOffHeapBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    ByteBuffer allocate(final int capacity) {
+        if (maxOffHeapBytes < 0 || offHeapBytes + capacity <= maxOffHeapBytes) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
+            directBuffers.add(buffer);
+            offHeapBytes += capacity;
+            return buffer;
+        }
+
+        try {
+            if (null == spillFileAccess) {
+                spillFile = File.createTempFile("gaffer-spill", ".bin", spillDirectory);
+                spillFile.deleteOnExit();
+                spillFileAccess = new RandomAccessFile(spillFile, "rw");
+            }
+            final ByteBuffer buffer = spillFileAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, spillFileLength, capacity);
+            spillFileLength += capacity;
+            mappedBuffers.add(buffer);
+            return buffer;
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to spill to disk", e);
+        }
+    }
+
+    /**
+     * Frees a buffer from this allocator. The buffer must not be used again.
+     *
+     * @param buffer the buffer to free
+     */
+    void release(final ByteBuffer buffer) {
+        if (directBuffers.remove(buffer)) {
+            offHeapBytes -= buffer.capacity();
+            free(buffer);
+            return;
+        }
+        for (int i = 0; i < mappedBuffers.size(); i++) {
+            if (buffer == mappedBuffers.get(i)) {
+                mappedBuffers.remove(i);
+                free(buffer);
+                return;
+            }
+        }
+    }
+
+    boolean hasSpilled() {
+        return null != spillFile;
+    }
+
+    /**
+     * Frees all of the buffers from this allocator and deletes the temporary
+     * file. The allocator can still be used.
+     */
+    @Override
+    public void close() {
+        for (final ByteBuffer buffer : directBuffers) {
+            free(buffer);
+        }
+        directBuffers.clear();
+        offHeapBytes = 0;
+        for (final ByteBuffer buffer : mappedBuffers) {
+            free(buffer);
+        }
+        mappedBuffers.clear();
+        IOUtils.closeQuietly(spillFileAccess);
+        spillFileAccess = null;
+        spillFileLength = 0;
+        if (null != spillFile) {
+            FileUtils.deleteQuietly(spillFile);
+            spillFile = null;
+        }
+    }
+
+    @SuppressFBWarnings(value = "DP_DO_INSIDE_DO_PRIVILEGED",
+            justification = "AccessController is deprecated for removal and a failure falls back to garbage collection")
+    private static Object getUnsafe(final Class<?> unsafeClass) throws ReflectiveOperationException {
+        final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        return theUnsafe.get(null);
+    }
+
+    private static void free(final ByteBuffer buffer) {
+        try {
+            if (null != INVOKE_CLEANER) {
+                INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            } else if (null != GET_CLEANER) {
+                final Object cleaner = GET_CLEANER.invoke(buffer);
+                if (null != cleaner) {
+                    CLEAN.invoke(cleaner);
+                }
+            }
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            // The buffer will be freed when it is garbage collected instead.
+            return;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.commonutil.collection;
+
+import java.io.Closeable;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An <code>OffHeapByteArraySet</code> is a set of byte arrays, compared by their
+ * contents, that is held outside of the Java heap. It is intended for large sets
+ * of serialised vertices: each entry costs its length plus about 24 bytes, and the
+ * entries add nothing for the garbage collector to trace.
+ * <p>
+ * The set is an open addressing hash table of 12 byte slots, holding the hash and
+ * the address of each entry, over append only blocks of entries. Both are held in
+ * direct buffers until the off heap limit is reached, after which further buffers
+ * are mapped from a temporary file so the operating system can page them out to
+ * disk. Direct buffers count towards the JVM's maximum direct memory size, so
+ * unless another limit is given the set holds at most
+ * {@link #DEFAULT_MAX_OFF_HEAP_BYTES} bytes in direct buffers.
+ * <p>
+ * Entries cannot be removed. Clearing the set keeps its buffers so they can be
+ * reused, for example for each batch of a query. The set should be closed to free
+ * the buffers and delete any temporary file. Instances are not thread safe.
+ */
+public class OffHeapByteArraySet implements Iterable<byte[]>, Closeable {
+    /**
+     * The default maximum number of bytes held in direct buffers by a set: the
+     * smaller of 256MB and an eighth of the maximum heap size. By default the
+     * JVM's maximum direct memory size is the maximum heap size, so several sets
+     * can be open at once.
+     */
+    public static final long DEFAULT_MAX_OFF_HEAP_BYTES = Math.min(256L << 20, Runtime.getRuntime().maxMemory() / 8);
+
+    private static final int SLOT_SIZE = 12;
+    private static final int HASH_OFFSET = 8;
+    private static final int MIN_CAPACITY = 16;
+    // The largest power of 2 number of slots that fits in a single buffer.
+    private static final int MAX_CAPACITY = 1 << 27;
+    private static final double LOAD_FACTOR = 0.6;
+    private static final int MIN_BLOCK_SIZE = 1 << 16;
+    private static final int MAX_BLOCK_SIZE = 1 << 24;
+    private static final int LENGTH_SIZE = 4;
+    private static final int ZEROS_SIZE = 8192;
+
+    private final OffHeapBufferAllocator allocator;
+    private final List<ByteBuffer> blocks = new ArrayList<>();
+    private final int initialCapacity;
+    private ByteBuffer slots;
+    private int currentBlock;
+    private int capacity;
+    private int resizeThreshold;
+    private long size;
+
+    public OffHeapByteArraySet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an <code>OffHeapByteArraySet</code> with the default off heap limit.
+     *
+     * @param expectedSize the number of entries the set is expected to hold
+     */
+    public OffHeapByteArraySet(final int expectedSize) {
+        this(expectedSize, DEFAULT_MAX_OFF_HEAP_BYTES, null);
+    }
+
+    /**
+     * @param expectedSize    the number of entries the set is expected to hold
+     * @param maxOffHeapBytes the maximum number of bytes to hold in direct buffers before spilling to disk, or a negative number for no limit
+     * @param spillDirectory  the directory to spill to, or null to use the default temporary directory
+     */
+    public OffHeapByteArraySet(final int expectedSize, final long maxOffHeapBytes, final File spillDirectory) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative");
+        }
+        allocator = new OffHeapBufferAllocator(maxOffHeapBytes, spillDirectory);
+        initialCapacity = getCapacity(expectedSize);
+    }
+
+    /**
+     * @param bytes the entry to add
+     * @return true if the entry was not already in the set
+     */
+    public boolean add(final byte[] bytes) {
+        return add(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Adds a copy of part of a byte array to the set.
+     *
+     * @param bytes  the bytes holding the entry to add
+     * @param offset the offset of the entry
+     * @param length the length of the entry
+     * @return true if the entry was not already in the set
+     */
+    public boolean add(final byte[] bytes, final int offset, final int length) {
+        if (null == slots) {
+            allocateSlots(initialCapacity);
+        }
+
+        final int hash = hash(bytes, offset, length);
+        int slot = findSlot(bytes, offset, length, hash);
+        if (0 != getAddress(slot)) {
+            return false;
+        }
+
+        if (size >= resizeThreshold) {
+            resize();
+            slot = findSlot(bytes, offset, length, hash);
+        }
+        slots.putLong(slot * SLOT_SIZE, write(bytes, offset, length));
+        slots.putInt(slot * SLOT_SIZE + HASH_OFFSET, hash);
+        size++;
+        return true;
+    }
+
+    /**
+     * @param bytes the entry to check
+     * @return true if the set contains the entry
+     */
+    public boolean contains(final byte[] bytes) {
+        return contains(bytes, 0, bytes.length);
+    }
+
+    /**
+     * @param bytes  the bytes holding the entry to check
+     * @param offset the offset of the entry
+     * @param length the length of the entry
+     * @return true if the set contains the entry
+     */
+    public boolean contains(final byte[] bytes, final int offset, final int length) {
+        return null != slots && 0 != getAddress(findSlot(bytes, offset, length, hash(bytes, offset, length)));
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * @return true if any of the set has been spilled to disk.
+     */
+    public boolean hasSpilled() {
+        return allocator.hasSpilled();
+    }
+
+    /**
+     * Removes all of the entries but keeps the off heap buffers, so they can be
+     * reused without allocating new ones.
+     */
+    public void clear() {
+        if (null != slots) {
+            final byte[] zeros = new byte[Math.min(ZEROS_SIZE, slots.capacity())];
+            slots.clear();
+            while (slots.hasRemaining()) {
+                slots.put(zeros, 0, Math.min(zeros.length, slots.remaining()));
+            }
+            slots.clear();
+        }
+        for (final ByteBuffer block : blocks) {
+            block.clear();
+        }
+        currentBlock = 0;
+        size = 0;
+    }
+
+    /**
+     * Frees the off heap buffers and deletes any temporary file. The set is
+     * left empty and can still be used.
+     */
+    @Override
+    public void close() {
+        allocator.close();
+        blocks.clear();
+        slots = null;
+        currentBlock = 0;
+        size = 0;
+    }
+
+    /**
+     * Iterates over copies of the entries in the order they were added. The
+     * iterator does not support removal.
+     *
+     * @return an iterator over the entries in the set
+     */
+    @Override
+    public Iterator<byte[]> iterator() {
+        return new EntryIterator();
+    }
+
+    private void allocateSlots(final int newCapacity) {
+        capacity = newCapacity;
+        slots = allocator.allocate(capacity * SLOT_SIZE);
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void resize() {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("OffHeapByteArraySet cannot hold more than " + resizeThreshold + " entries");
+        }
+
+        final ByteBuffer oldSlots = slots;
+        final int oldCapacity = capacity;
+        allocateSlots(capacity << 1);
+        final int mask = capacity - 1;
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            final long address = oldSlots.getLong(oldSlot * SLOT_SIZE);
+            if (0 != address) {
+                final int hash = oldSlots.getInt(oldSlot * SLOT_SIZE + HASH_OFFSET);
+                int slot = hash & mask;
+                while (0 != getAddress(slot)) {
+                    slot = (slot + 1) & mask;
+                }
+                slots.putLong(slot * SLOT_SIZE, address);
+                slots.putInt(slot * SLOT_SIZE + HASH_OFFSET, hash);
+            }
+        }
+        allocator.release(oldSlots);
+    }
+
+    // Finds the slot holding the entry, or the empty slot it would be added to.
+    private int findSlot(final byte[] bytes, final int offset, final int length, final int hash) {
+        final int mask = capacity - 1;
+        int slot = hash & mask;
+        long address = getAddress(slot);
+        while (0 != address) {
+            if (hash == slots.getInt(slot * SLOT_SIZE + HASH_OFFSET) && isEqual(address, bytes, offset, length)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+            address = getAddress(slot);
+        }
+        return slot;
+    }
+
+    private long getAddress(final int slot) {
+        return slots.getLong(slot * SLOT_SIZE);
+    }
+
+    // Appends the entry to the current block, moving on to the next block that has
+    // room, and returns its address. Blocks kept when the set is cleared are used
+    // before new ones are allocated. Addresses are the block index and position,
+    // plus 1 so that 0 marks an empty slot.
+    private long write(final byte[] bytes, final int offset, final int length) {
+        final int entrySize = LENGTH_SIZE + length;
+        ByteBuffer block = blocks.isEmpty() ? null : blocks.get(currentBlock);
+        while (null == block || block.remaining() < entrySize) {
+            if (currentBlock + 1 < blocks.size()) {
+                currentBlock++;
+            } else {
+                final int previousSize = blocks.isEmpty() ? MIN_BLOCK_SIZE / 2 : blocks.get(blocks.size() - 1).capacity();
+                blocks.add(allocator.allocate(Math.max(entrySize, Math.min(MAX_BLOCK_SIZE, previousSize << 1))));
+                currentBlock = blocks.size() - 1;
+            }
+            block = blocks.get(currentBlock);
+        }
+
+        final long address = ((long) currentBlock << 32 | block.position()) + 1;
+        block.putInt(length);
+        block.put(bytes, offset, length);
+        return address;
+    }
+
+    private boolean isEqual(final long address, final byte[] bytes, final int offset, final int length) {
+        final ByteBuffer block = blocks.get((int) ((address - 1) >>> 32));
+        final int position = (int) (address - 1);
+        if (length != block.getInt(position)) {
+            return false;
+        }
+        final int start = position + LENGTH_SIZE;
+        for (int i = 0; i < length; i++) {
+            if (bytes[offset + i] != block.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getCapacity(final int expectedSize) {
+        final long minCapacity = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR));
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(minCapacity - 1) << 1);
+    }
+
+    // Hashes the bytes and mixes the result with the 32 bit finaliser from MurmurHash3.
+    private static int hash(final byte[] bytes, final int offset, final int length) {
+        int hash = length;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        hash = (hash ^ hash >>> 16) * 0x85EBCA6B;
+        hash = (hash ^ hash >>> 13) * 0xC2B2AE35;
+        return hash ^ hash >>> 16;
+    }
+
+    // Reads the blocks in order.
+    private final class EntryIterator implements Iterator<byte[]> {
+        private int blockIndex;
+        private int position;
+
+        @Override
+        public boolean hasNext() {
+            while (blockIndex < blocks.size()) {
+                if (position < blocks.get(blockIndex).position()) {
+                    return true;
+                }
+                blockIndex++;
+                position = 0;
+            }
+            return false;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final ByteBuffer block = blocks.get(blockIndex);
+            final byte[] bytes = new byte[block.getInt(position)];
+            position += LENGTH_SIZE;
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = block.get(position + i);
+            }
+            position += bytes.length;
+            return bytes;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
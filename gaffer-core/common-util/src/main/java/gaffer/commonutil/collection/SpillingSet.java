@@ -0,0 +1,584 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil.collection;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A <code>SpillingSet</code> is a {@link Set} that holds up to a maximum number of
+ * items in memory. When that number is reached the in memory items are spilled
+ * to files in a temporary directory, so the set can hold more items than will fit
+ * in memory.
+ * <p>
+ * Each spill writes a run file with the items sorted by hash code. For each run a
+ * Bloom filter of the hash codes and the offset of every 32nd
+ * item are kept in memory, about 2 bytes per spilled item. A lookup only reads a run
+ * if its Bloom filter matches and then only reads the one or two blocks of items that
+ * could hold the hash code. Runs are merged in tiers of 4, so the
+ * number of runs grows with the log of the number of spilled items.
+ * <p>
+ * Items must be {@link java.io.Serializable} and must have a consistent hash code
+ * once serialised and deserialised. Items cannot be removed. The set must be closed
+ * to delete any spilled files. Spilled files are also registered to be deleted when
+ * the JVM exits, so a set that is never closed does not leave them behind after
+ * the JVM exits, but they use disk space until then. Instances are not thread safe.
+ *
+ * @param <T> the type of items in the set
+ */
+public class SpillingSet<T> extends AbstractSet<T> implements Closeable {
+    private static final int MERGE_FACTOR = 4;
+    private static final int INDEX_INTERVAL = 32;
+    private static final int BLOOM_BITS_PER_ITEM = 10;
+    private static final long MIN_BLOOM_BITS = 64;
+    private static final long MAX_BLOOM_BITS = 1L << 30;
+    private static final int NUM_BLOOM_HASHES = 7;
+
+    private final int maxInMemory;
+    private final File parentDirectory;
+    private final Set<T> inMemory = new HashSet<>();
+    private final List<Run> runs = new ArrayList<>();
+    private File spillDirectory;
+    private int numSpilled;
+    private int nextRunId;
+    private long numBlockReads;
+
+    /**
+     * Creates a <code>SpillingSet</code> that spills to the default temporary directory.
+     *
+     * @param maxInMemory the maximum number of items to hold in memory
+     */
+    public SpillingSet(final int maxInMemory) {
+        this(maxInMemory, null);
+    }
+
+    /**
+     * @param maxInMemory     the maximum number of items to hold in memory
+     * @param parentDirectory the directory to create the spill directory in, or null to use the default temporary directory
+     */
+    public SpillingSet(final int maxInMemory, final File parentDirectory) {
+        if (maxInMemory < 1) {
+            throw new IllegalArgumentException("maxInMemory must be at least 1");
+        }
+        this.maxInMemory = maxInMemory;
+        this.parentDirectory = parentDirectory;
+    }
+
+    @Override
+    public boolean add(final T item) {
+        if (contains(item)) {
+            return false;
+        }
+
+        inMemory.add(item);
+        if (inMemory.size() >= maxInMemory) {
+            spill();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object item) {
+        return inMemory.contains(item) || isSpilled(item);
+    }
+
+    @Override
+    public int size() {
+        return inMemory.size() + numSpilled;
+    }
+
+    /**
+     * @return true if any items have been spilled to disk.
+     */
+    public boolean hasSpilled() {
+        return numSpilled > 0;
+    }
+
+    /**
+     * Iterates over the in memory items and then the spilled items. The iterator
+     * does not support removal.
+     *
+     * @return an iterator over the items in the set
+     */
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<T> inMemoryItr = inMemory.iterator();
+        return new Iterator<T>() {
+            private final Iterator<T> spilledItr = new SpilledIterator(new ArrayList<>(runs));
+
+            @Override
+            public boolean hasNext() {
+                return inMemoryItr.hasNext() || spilledItr.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (inMemoryItr.hasNext()) {
+                    return inMemoryItr.next();
+                }
+                return spilledItr.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public void clear() {
+        inMemory.clear();
+        runs.clear();
+        numSpilled = 0;
+        deleteSpillDirectory();
+    }
+
+    /**
+     * Deletes any spilled files.
+     */
+    @Override
+    public void close() {
+        clear();
+    }
+
+    /**
+     * @return the number of blocks of spilled items that have been read from disk to look up items.
+     */
+    long getNumBlockReads() {
+        return numBlockReads;
+    }
+
+    private void spill() {
+        final Object[] items = inMemory.toArray();
+        Arrays.sort(items, new HashComparator());
+        try {
+            if (null == spillDirectory) {
+                spillDirectory = null != parentDirectory
+                        ? Files.createTempDirectory(parentDirectory.toPath(), "gaffer-spill").toFile()
+                        : Files.createTempDirectory("gaffer-spill").toFile();
+                // Files registered later are deleted first, so the run files are deleted before the directory.
+                spillDirectory.deleteOnExit();
+            }
+
+            final RunWriter writer = new RunWriter(0, items.length);
+            try {
+                for (final Object item : items) {
+                    writer.write(hash(item), serialise(item));
+                }
+                runs.add(writer.finish());
+            } finally {
+                writer.closeQuietly();
+            }
+            mergeRuns();
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to spill items to disk", e);
+        }
+
+        numSpilled += items.length;
+        inMemory.clear();
+    }
+
+    // Merges MERGE_FACTOR runs of the same level into one run of the next level.
+    private void mergeRuns() throws IOException {
+        int level = 0;
+        while (true) {
+            final List<Run> levelRuns = new ArrayList<>();
+            for (final Run run : runs) {
+                if (run.level == level) {
+                    levelRuns.add(run);
+                }
+            }
+            if (levelRuns.size() < MERGE_FACTOR) {
+                return;
+            }
+
+            runs.removeAll(levelRuns);
+            runs.add(merge(levelRuns, level + 1));
+            level++;
+        }
+    }
+
+    private Run merge(final List<Run> toMerge, final int level) throws IOException {
+        int size = 0;
+        for (final Run run : toMerge) {
+            size += run.size;
+        }
+
+        final RunReader[] readers = new RunReader[toMerge.size()];
+        final RunWriter writer = new RunWriter(level, size);
+        final Run merged;
+        try {
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = new RunReader(toMerge.get(i).file);
+                readers[i].next();
+            }
+
+            while (true) {
+                RunReader min = null;
+                for (final RunReader reader : readers) {
+                    if (reader.hasRecord && (null == min || reader.hash < min.hash)) {
+                        min = reader;
+                    }
+                }
+                if (null == min) {
+                    break;
+                }
+                writer.write(min.hash, min.bytes);
+                min.next();
+            }
+            merged = writer.finish();
+        } finally {
+            writer.closeQuietly();
+            for (final RunReader reader : readers) {
+                if (null != reader) {
+                    IOUtils.closeQuietly(reader.input);
+                }
+            }
+        }
+
+        for (final Run run : toMerge) {
+            FileUtils.deleteQuietly(run.file);
+        }
+        return merged;
+    }
+
+    private boolean isSpilled(final Object item) {
+        if (0 == numSpilled) {
+            return false;
+        }
+
+        final int hash = hash(item);
+        try {
+            for (final Run run : runs) {
+                if (mightBeInBloomFilter(run.bloomFilter, hash) && isInRun(run, hash, item)) {
+                    return true;
+                }
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to read spilled items from disk", e);
+        }
+        return false;
+    }
+
+    private boolean isInRun(final Run run, final int hash, final Object item) throws IOException {
+        try (final RandomAccessFile file = new RandomAccessFile(run.file, "r")) {
+            for (int block = run.findBlock(hash); block < run.blockHashes.length; block++) {
+                final byte[] blockBytes = new byte[(int) (run.blockOffsets[block + 1] - run.blockOffsets[block])];
+                file.seek(run.blockOffsets[block]);
+                file.readFully(blockBytes);
+                numBlockReads++;
+
+                final DataInputStream input = new DataInputStream(new ByteArrayInputStream(blockBytes));
+                while (input.available() > 0) {
+                    final int spilledHash = input.readInt();
+                    final int length = input.readInt();
+                    if (spilledHash > hash) {
+                        return false;
+                    }
+                    if (spilledHash == hash) {
+                        final byte[] bytes = new byte[length];
+                        input.readFully(bytes);
+                        final Object spilledItem = deserialise(bytes);
+                        if (null == item ? null == spilledItem : item.equals(spilledItem)) {
+                            return true;
+                        }
+                    } else {
+                        IOUtils.skipFully(input, length);
+                    }
+                }
+
+                // Items with the same hash may continue into the next block
+                if (block + 1 >= run.blockHashes.length || run.blockHashes[block + 1] != hash) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void deleteSpillDirectory() {
+        if (null != spillDirectory) {
+            FileUtils.deleteQuietly(spillDirectory);
+            spillDirectory = null;
+        }
+    }
+
+    private static int hash(final Object item) {
+        return null != item ? item.hashCode() : 0;
+    }
+
+    private static int getBloomFilterLength(final int numItems) {
+        final long numBits = Math.max(MIN_BLOOM_BITS, (long) numItems * BLOOM_BITS_PER_ITEM);
+        return (int) (Math.min(MAX_BLOOM_BITS, Long.highestOneBit(numBits - 1) << 1) >>> 6);
+    }
+
+    private static void addToBloomFilter(final long[] bloomFilter, final int hash) {
+        long bloomHash = hash;
+        for (int i = 0; i < NUM_BLOOM_HASHES; i++) {
+            bloomHash = mix(bloomHash);
+            final int bit = getBloomBit(bloomFilter, bloomHash);
+            bloomFilter[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static boolean mightBeInBloomFilter(final long[] bloomFilter, final int hash) {
+        long bloomHash = hash;
+        for (int i = 0; i < NUM_BLOOM_HASHES; i++) {
+            bloomHash = mix(bloomHash);
+            final int bit = getBloomBit(bloomFilter, bloomHash);
+            if (0 == (bloomFilter[bit >>> 6] & 1L << bit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getBloomBit(final long[] bloomFilter, final long bloomHash) {
+        return (int) (bloomHash >>> 32) & ((bloomFilter.length << 6) - 1);
+    }
+
+    // The 64 bit finaliser from MurmurHash3
+    private static long mix(final long value) {
+        long mixed = value + 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ mixed >>> 33) * 0xFF51AFD7ED558CCDL;
+        mixed = (mixed ^ mixed >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return mixed ^ mixed >>> 33;
+    }
+
+    private static byte[] serialise(final Object item) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(item);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialise(final byte[] bytes) throws IOException {
+        try (final ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return input.readObject();
+        } catch (final ClassNotFoundException e) {
+            throw new IOException("Unable to deserialise spilled item", e);
+        }
+    }
+
+    // A spilled run file, with its items sorted by hash, and its in memory index.
+    private static final class Run {
+        private final File file;
+        private final int level;
+        private final int size;
+        private final long[] bloomFilter;
+        // The hash of the first item in each block and the offset of each block, followed by the file length
+        private final int[] blockHashes;
+        private final long[] blockOffsets;
+
+        private Run(final File file, final int level, final int size, final long[] bloomFilter,
+                    final int[] blockHashes, final long[] blockOffsets) {
+            this.file = file;
+            this.level = level;
+            this.size = size;
+            this.bloomFilter = bloomFilter;
+            this.blockHashes = blockHashes;
+            this.blockOffsets = blockOffsets;
+        }
+
+        // Returns the last block starting with a lower hash, which is the first block that may hold the hash
+        private int findBlock(final int hash) {
+            int low = 0;
+            int high = blockHashes.length - 1;
+            int block = 0;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (blockHashes[mid] < hash) {
+                    block = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return block;
+        }
+    }
+
+    // Writes a run file and builds its index. The number of items must be known up front.
+    private final class RunWriter {
+        private final File file;
+        private final int level;
+        private final DataOutputStream output;
+        private final long[] bloomFilter;
+        private final int[] blockHashes;
+        private final long[] blockOffsets;
+        private int count;
+        private long offset;
+
+        private RunWriter(final int level, final int size) throws IOException {
+            this.file = new File(spillDirectory, "run-" + nextRunId++);
+            this.file.deleteOnExit();
+            this.level = level;
+            this.output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+            this.bloomFilter = new long[getBloomFilterLength(size)];
+            final int numBlocks = (size + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+            this.blockHashes = new int[numBlocks];
+            this.blockOffsets = new long[numBlocks + 1];
+        }
+
+        private void write(final int hash, final byte[] bytes) throws IOException {
+            if (0 == count % INDEX_INTERVAL) {
+                blockHashes[count / INDEX_INTERVAL] = hash;
+                blockOffsets[count / INDEX_INTERVAL] = offset;
+            }
+            output.writeInt(hash);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+            addToBloomFilter(bloomFilter, hash);
+            offset += 8 + bytes.length;
+            count++;
+        }
+
+        private Run finish() throws IOException {
+            output.close();
+            blockOffsets[blockHashes.length] = offset;
+            return new Run(file, level, count, bloomFilter, blockHashes, blockOffsets);
+        }
+
+        private void closeQuietly() {
+            IOUtils.closeQuietly(output);
+        }
+    }
+
+    // Reads the records of a run file in order.
+    private static final class RunReader {
+        private final DataInputStream input;
+        private boolean hasRecord;
+        private int hash;
+        private byte[] bytes;
+
+        private RunReader(final File file) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        }
+
+        private void next() throws IOException {
+            try {
+                hash = input.readInt();
+            } catch (final EOFException e) {
+                hasRecord = false;
+                bytes = null;
+                IOUtils.closeQuietly(input);
+                return;
+            }
+            bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            hasRecord = true;
+        }
+    }
+
+    private static final class HashComparator implements Comparator<Object>, Serializable {
+        private static final long serialVersionUID = 6123479915248416398L;
+
+        @Override
+        public int compare(final Object item1, final Object item2) {
+            return Integer.compare(hash(item1), hash(item2));
+        }
+    }
+
+    // Reads the spilled items one run at a time.
+    private final class SpilledIterator implements Iterator<T> {
+        private final Iterator<Run> runItr;
+        private RunReader reader;
+        private T next;
+        private boolean hasNext;
+
+        private SpilledIterator(final List<Run> runsToRead) {
+            this.runItr = runsToRead.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!hasNext) {
+                readNext();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = false;
+            return next;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void readNext() {
+            try {
+                while (true) {
+                    if (null == reader) {
+                        if (!runItr.hasNext()) {
+                            return;
+                        }
+                        reader = new RunReader(runItr.next().file);
+                    }
+
+                    reader.next();
+                    if (reader.hasRecord) {
+                        next = (T) deserialise(reader.bytes);
+                        hasNext = true;
+                        return;
+                    }
+                    reader = null;
+                }
+            } catch (final IOException e) {
+                if (null != reader) {
+                    IOUtils.closeQuietly(reader.input);
+                }
+                throw new RuntimeException("Unable to read spilled items from disk", e);
+            }
+        }
+    }
+}
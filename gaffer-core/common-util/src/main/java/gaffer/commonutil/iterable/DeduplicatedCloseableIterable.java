@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil.iterable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A <code>DeduplicatedCloseableIterable</code> lazily removes duplicates from a
+ * {@link CloseableIterable}. Items are returned in the order they are first seen,
+ * without reading the rest of the wrapped iterable.
+ * <p>
+ * The items that have been seen are held in a {@link gaffer.commonutil.collection.CompactSet},
+ * so longs are held as primitives and strings are held off heap. By default the other
+ * items are held in memory. If a maximum number of items in memory is provided, then
+ * the other items are held in a {@link gaffer.commonutil.collection.SpillingSet} and
+ * the strings spill to disk after 64 bytes per item in memory, so results larger than
+ * memory can be deduplicated. The items must then be {@link java.io.Serializable}.
+ * <p>
+ * Callers that stop reading before the end must close the iterator or the iterable,
+ * which closes any iterators it has created, so the seen items are freed and any
+ * spilled files are deleted. Spilled files are otherwise only deleted when the JVM exits.
+ *
+ * @param <T> the type of items in the iterable
+ */
+public class DeduplicatedCloseableIterable<T> implements CloseableIterable<T> {
+    private final CloseableIterable<T> iterable;
+    private final Integer maxInMemory;
+    private final File spillDirectory;
+    private final List<DeduplicatedCloseableIterator<T>> iterators = new ArrayList<>();
+
+    public DeduplicatedCloseableIterable(final Iterable<T> iterable) {
+        this(new WrappedCloseableIterable<>(iterable));
+    }
+
+    public DeduplicatedCloseableIterable(final CloseableIterable<T> iterable) {
+        this(iterable, null, null);
+    }
+
+    /**
+     * @param iterable       the iterable to deduplicate
+     * @param maxInMemory    the maximum number of seen items to hold in memory, or null for no maximum
+     * @param spillDirectory the directory to spill seen items to, or null to use the default temporary directory
+     */
+    public DeduplicatedCloseableIterable(final CloseableIterable<T> iterable, final Integer maxInMemory, final File spillDirectory) {
+        if (null == iterable) {
+            this.iterable = new EmptyClosableIterable<>();
+        } else {
+            this.iterable = iterable;
+        }
+
+        this.maxInMemory = maxInMemory;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @JsonIgnore
+    public Integer getMaxInMemory() {
+        return maxInMemory;
+    }
+
+    @Override
+    public void close() {
+        final List<DeduplicatedCloseableIterator<T>> openIterators;
+        synchronized (iterators) {
+            openIterators = new ArrayList<>(iterators);
+            iterators.clear();
+        }
+        for (final DeduplicatedCloseableIterator<T> itr : openIterators) {
+            itr.close();
+        }
+        iterable.close();
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        final DeduplicatedCloseableIterator<T> itr = new DeduplicatedCloseableIterator<>(iterable.iterator(), maxInMemory, spillDirectory);
+        if (null != maxInMemory) {
+            synchronized (iterators) {
+                iterators.add(itr);
+            }
+        }
+        return itr;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil.iterable;
+
+import gaffer.commonutil.collection.CompactSet;
+import gaffer.commonutil.collection.SpillingSet;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>DeduplicatedCloseableIterator</code> skips the items of the wrapped iterator
+ * that it has already returned. It is closed when the end of the wrapped iterator is
+ * reached; callers that stop reading before then must close it to free the seen items
+ * and delete any spilled files.
+ *
+ * @param <T> the type of items in the iterator
+ */
+public class DeduplicatedCloseableIterator<T> implements CloseableIterator<T> {
+    private final CloseableIterator<T> iterator;
+    private final CompactSet<T> seen;
+    private T next;
+    private boolean hasNext;
+    private boolean closed;
+
+    public DeduplicatedCloseableIterator(final Iterator<T> iterator) {
+        this(new WrappedCloseableIterator<>(iterator), null, null);
+    }
+
+    public DeduplicatedCloseableIterator(final CloseableIterator<T> iterator, final Integer maxInMemory, final File spillDirectory) {
+        if (null == iterator) {
+            this.iterator = new EmptyCloseableIterator<>();
+        } else {
+            this.iterator = iterator;
+        }
+
+        if (null == maxInMemory) {
+            seen = new CompactSet<>(new HashSet<T>());
+        } else {
+            seen = new CompactSet<>(new SpillingSet<T>(maxInMemory, spillDirectory),
+                    maxInMemory * CompactSet.OFF_HEAP_BYTES_PER_ITEM_IN_MEMORY, spillDirectory);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            iterator.close();
+            try {
+                seen.close();
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to close the set of seen items", e);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!hasNext && !closed && iterator.hasNext()) {
+            final T item = iterator.next();
+            if (seen.add(item)) {
+                next = item;
+                hasNext = true;
+            }
+        }
+
+        if (!hasNext) {
+            close();
+        }
+
+        return hasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        hasNext = false;
+        final T result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
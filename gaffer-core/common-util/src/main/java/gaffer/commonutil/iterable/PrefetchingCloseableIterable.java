@@ -0,0 +1,238 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil.iterable;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A <code>PrefetchingCloseableIterable</code> reads a {@link CloseableIterable} on
+ * another thread, buffering up to a maximum number of items in a bounded queue. This
+ * allows the work done to produce the items to overlap with the work done to consume
+ * them.
+ * <p>
+ * Only the first call to {@link #iterator()} is prefetched. It starts a prefetching
+ * task on the executor, which reads an iterator from the wrapped iterable. Later calls
+ * return an iterator of the wrapped iterable, read on the calling thread, so consumers
+ * that iterate their input more than once do not start a prefetching task for every
+ * pass. If the executor rejects the task then the wrapped iterator is also returned and
+ * read on the calling thread.
+ * <p>
+ * Consumers that stop reading early should close the iterator or the iterable, which
+ * stops the prefetching task and closes the wrapped iterator. As a safety net for
+ * consumers that abandon the iterator without closing it, if no item is taken for
+ * longer than the idle timeout then the prefetching task closes the wrapped iterator
+ * and discards the buffered items. A consumer that comes back to the iterator after
+ * that gets an {@link IllegalStateException} rather than a truncated result.
+ * <p>
+ * Exceptions thrown by the wrapped iterator are rethrown by the prefetching
+ * iterator when the consumer reaches the point at which they occurred.
+ *
+ * @param <T> the type of items in the iterable
+ */
+public class PrefetchingCloseableIterable<T> implements CloseableIterable<T> {
+    private static final long OFFER_WAIT_MILLIS = 100;
+    private static final Object NULL_ITEM = new Object();
+    private static final Object END = new Object();
+
+    private final CloseableIterable<T> iterable;
+    private final Executor executor;
+    private final int bufferSize;
+    private final long idleTimeoutMillis;
+    private final AtomicBoolean prefetched = new AtomicBoolean();
+    private volatile PrefetchingIterator prefetchingIterator;
+
+    /**
+     * @param iterable          the iterable to prefetch
+     * @param executor          the executor to run the prefetching tasks on
+     * @param bufferSize        the maximum number of items to buffer
+     * @param idleTimeoutMillis the time to wait for the consumer to take an item before giving up
+     */
+    public PrefetchingCloseableIterable(final CloseableIterable<T> iterable, final Executor executor,
+                                        final int bufferSize, final long idleTimeoutMillis) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1");
+        }
+
+        if (null == iterable) {
+            this.iterable = new EmptyClosableIterable<>();
+        } else {
+            this.iterable = iterable;
+        }
+
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @Override
+    public void close() {
+        final PrefetchingIterator itr = prefetchingIterator;
+        if (null != itr) {
+            itr.close();
+        }
+        iterable.close();
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        if (!prefetched.compareAndSet(false, true)) {
+            return iterable.iterator();
+        }
+
+        final PrefetchingIterator itr = new PrefetchingIterator();
+        try {
+            executor.execute(itr);
+        } catch (final RejectedExecutionException e) {
+            return iterable.iterator();
+        }
+        prefetchingIterator = itr;
+        return itr;
+    }
+
+    private final class PrefetchingIterator implements CloseableIterator<T>, Runnable {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        private volatile boolean closed;
+        private volatile Throwable error;
+        private boolean timedOut;
+        private Object next;
+        private boolean finished;
+
+        @Override
+        public void run() {
+            CloseableIterator<T> source = null;
+            try {
+                source = iterable.iterator();
+                while (!closed && source.hasNext()) {
+                    final T item = source.next();
+                    if (!offer(null != item ? item : NULL_ITEM)) {
+                        break;
+                    }
+                }
+            } catch (final Throwable t) {
+                error = t;
+            } finally {
+                if (null != source) {
+                    source.close();
+                }
+                if (!closed && (timedOut || !offer(END))) {
+                    // The consumer has abandoned the iterator, so discard the buffered
+                    // items and make sure it fails if it comes back to it.
+                    if (null == error) {
+                        error = new IllegalStateException("Prefetching abandoned after idle timeout of "
+                                + idleTimeoutMillis + "ms");
+                    }
+                    queue.clear();
+                    queue.add(END);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != next) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+
+            final Object item;
+            try {
+                item = queue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("Interrupted whilst waiting for the next item", e);
+            }
+
+            if (END == item) {
+                finished = true;
+                closed = true;
+                rethrowError();
+                return false;
+            }
+
+            next = item;
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Object item = next;
+            next = null;
+            return NULL_ITEM == item ? null : (T) item;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            finished = true;
+            next = null;
+            queue.clear();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        // Waits for space in the queue, giving up if the consumer has closed the
+        // iterator or has not taken an item within the idle timeout.
+        private boolean offer(final Object item) {
+            final long giveUpTime = System.currentTimeMillis() + idleTimeoutMillis;
+            try {
+                while (!closed) {
+                    if (queue.offer(item, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                    if (System.currentTimeMillis() > giveUpTime) {
+                        timedOut = true;
+                        return false;
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timedOut = true;
+            }
+            return false;
+        }
+
+        private void rethrowError() {
+            final Throwable t = error;
+            if (null != t) {
+                if (t instanceof RuntimeException) {
+                    throw (RuntimeException) t;
+                }
+                if (t instanceof Error) {
+                    throw (Error) t;
+                }
+                throw new RuntimeException(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.commonutil.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Sets;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.IOException;
+import java.util.HashSet;
+
+public class CompactSetTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldAddAndContainLongsStringsAndOtherItems() throws IOException {
+        // Given
+        final HashSet<Object> fallback = new HashSet<>();
+        final CompactSet<Object> set = new CompactSet<>(fallback);
+
+        // When
+        assertTrue(set.add(1L));
+        assertTrue(set.add("1"));
+        assertTrue(set.add(1));
+        assertTrue(set.add(""));
+        assertTrue(set.add("\uD800"));
+        assertFalse(set.add(1L));
+        assertFalse(set.add("1"));
+        assertFalse(set.add(1));
+
+        // Then
+        assertEquals(5, set.size());
+        assertEquals(Sets.<Object>newHashSet(1), fallback);
+        assertTrue(set.contains(1L));
+        assertTrue(set.contains("1"));
+        assertTrue(set.contains(1));
+        assertTrue(set.contains("\uD800"));
+        assertFalse(set.contains(2L));
+        assertFalse(set.contains("2"));
+        assertFalse(set.contains("\uD801"));
+        assertEquals(Sets.<Object>newHashSet(1L, "1", 1, "", "\uD800"), new HashSet<>(set));
+        set.close();
+    }
+
+    @Test
+    public void shouldSpillStringsAndOtherItems() throws IOException {
+        // Given
+        final CompactSet<Object> set = new CompactSet<Object>(new SpillingSet<>(10, tempFolder.getRoot()),
+                1024, tempFolder.getRoot());
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.add("item" + i));
+            assertTrue(set.add(i));
+        }
+
+        // Then
+        assertEquals(2000, set.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains("item" + i));
+            assertTrue(set.contains(i));
+        }
+        assertEquals(2000, new HashSet<>(set).size());
+    }
+
+    @Test
+    public void shouldDeleteSpilledFilesWhenClosed() throws IOException {
+        // Given
+        final CompactSet<Object> set = new CompactSet<Object>(new SpillingSet<>(1, tempFolder.getRoot()),
+                0, tempFolder.getRoot());
+        set.add("A");
+        set.add(1);
+        set.add(2);
+
+        // When
+        set.close();
+
+        // Then
+        assertEquals(0, set.size());
+        assertEquals(0, tempFolder.getRoot().list().length);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.commonutil.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+import java.util.HashSet;
+import java.util.Set;
+
+public class LongHashSetTest {
+    @Test
+    public void shouldAddAndContainValues() {
+        // Given
+        final LongHashSet set = new LongHashSet();
+
+        // When
+        final boolean added1 = set.add(1L);
+        final boolean added0 = set.add(0L);
+        final boolean addedMin = set.add(Long.MIN_VALUE);
+        final boolean added1Again = set.add(1L);
+        final boolean added0Again = set.add(0L);
+
+        // Then
+        assertTrue(added1);
+        assertTrue(added0);
+        assertTrue(addedMin);
+        assertFalse(added1Again);
+        assertFalse(added0Again);
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0L));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertFalse(set.contains(2L));
+        assertFalse(set.contains("1"));
+        assertEquals(Sets.newHashSet(0L, 1L, Long.MIN_VALUE), new HashSet<>(set));
+    }
+
+    @Test
+    public void shouldGrowToHoldManyValues() {
+        // Given
+        final LongHashSet set = new LongHashSet(0);
+        final Set<Long> expected = new HashSet<>();
+
+        // When
+        for (long i = -5000; i < 5000; i++) {
+            expected.add(i * 1024);
+            assertTrue(set.add(i * 1024));
+        }
+
+        // Then
+        assertEquals(10000, set.size());
+        for (long i = -5000; i < 5000; i++) {
+            assertTrue(set.contains(i * 1024));
+            assertFalse(set.contains(i * 1024 + 1));
+        }
+        assertEquals(expected, new HashSet<>(set));
+    }
+
+    @Test
+    public void shouldClearValues() {
+        // Given
+        final LongHashSet set = new LongHashSet();
+        set.add(0L);
+        set.add(5L);
+
+        // When
+        set.clear();
+
+        // Then
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(5L));
+        assertFalse(set.iterator().hasNext());
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.commonutil.collection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.util.Iterator;
+
+public class OffHeapByteArraySetTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldAddAndContainEntriesByContent() {
+        // Given
+        final OffHeapByteArraySet set = new OffHeapByteArraySet();
+
+        // When
+        final boolean addedA = set.add(new byte[]{1, 2});
+        final boolean addedEmpty = set.add(new byte[0]);
+        final boolean addedAAgain = set.add(new byte[]{1, 2});
+        final boolean addedPart = set.add(new byte[]{0, 1, 2, 3}, 1, 2);
+
+        // Then
+        assertTrue(addedA);
+        assertTrue(addedEmpty);
+        assertFalse(addedAAgain);
+        assertFalse(addedPart);
+        assertEquals(2, set.size());
+        assertTrue(set.contains(new byte[]{1, 2}));
+        assertTrue(set.contains(new byte[0]));
+        assertFalse(set.contains(new byte[]{1}));
+        assertFalse(set.contains(new byte[]{1, 2, 3}));
+        set.close();
+    }
+
+    @Test
+    public void shouldIterateOverEntriesInTheOrderTheyWereAdded() {
+        // Given
+        final OffHeapByteArraySet set = new OffHeapByteArraySet();
+        set.add(new byte[]{3});
+        set.add(new byte[]{1, 2});
+        set.add(new byte[]{3});
+
+        // When
+        final Iterator<byte[]> itr = set.iterator();
+
+        // Then
+        assertArrayEquals(new byte[]{3}, itr.next());
+        assertArrayEquals(new byte[]{1, 2}, itr.next());
+        assertFalse(itr.hasNext());
+        set.close();
+    }
+
+    @Test
+    public void shouldGrowToHoldManyEntries() {
+        // Given
+        final OffHeapByteArraySet set = new OffHeapByteArraySet(0);
+
+        // When
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(set.add(toBytes("vertex" + i)));
+        }
+
+        // Then
+        assertEquals(20000, set.size());
+        assertFalse(set.hasSpilled());
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(set.contains(toBytes("vertex" + i)));
+        }
+        assertFalse(set.contains(toBytes("vertex20000")));
+        set.close();
+    }
+
+    @Test
+    public void shouldSpillToDiskWhenOffHeapLimitIsReached() {
+        // Given
+        final OffHeapByteArraySet set = new OffHeapByteArraySet(0, 1024, tempFolder.getRoot());
+
+        // When
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(set.add(toBytes("vertex" + i)));
+        }
+
+        // Then
+        assertTrue(set.hasSpilled());
+        assertEquals(1, tempFolder.getRoot().list().length);
+        assertEquals(20000, set.size());
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(set.contains(toBytes("vertex" + i)));
+            assertFalse(set.add(toBytes("vertex" + i)));
+        }
+        int count = 0;
+        for (final byte[] ignored : set) {
+            count++;
+        }
+        assertEquals(20000, count);
+    }
+
+    @Test
+    public void shouldDeleteSpilledFileWhenClosed() {
+        // Given
+        final OffHeapByteArraySet set = new OffHeapByteArraySet(0, 0, tempFolder.getRoot());
+        set.add(new byte[]{1});
+
+        // When
+        set.close();
+
+        // Then
+        assertFalse(set.hasSpilled());
+        assertEquals(0, tempFolder.getRoot().list().length);
+        assertEquals(0, set.size());
+        assertFalse(set.contains(new byte[]{1}));
+        assertTrue(set.add(new byte[]{1}));
+        set.close();
+    }
+
+    @Test
+    public void shouldReuseBuffersWhenCleared() {
+        // Given - the first round uses most of the off heap limit, so the later rounds would spill if they allocated
+        final OffHeapByteArraySet set = new OffHeapByteArraySet(0, 2 << 20, tempFolder.getRoot());
+
+        for (int round = 0; round < 3; round++) {
+            // When
+            for (int i = 0; i < 20000; i++) {
+                assertTrue(set.add(toBytes("round" + round + "vertex" + i)));
+            }
+
+            // Then
+            assertEquals(20000, set.size());
+            for (int i = 0; i < 20000; i++) {
+                assertTrue(set.contains(toBytes("round" + round + "vertex" + i)));
+                assertFalse(set.contains(toBytes("round" + (round - 1) + "vertex" + i)));
+            }
+            int count = 0;
+            for (final byte[] ignored : set) {
+                count++;
+            }
+            assertEquals(20000, count);
+            set.clear();
+        }
+        assertFalse(set.hasSpilled());
+        assertEquals(0, set.size());
+        assertFalse(set.iterator().hasNext());
+        set.close();
+    }
+
+    private static byte[] toBytes(final String value) {
+        return value.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Sets;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+public class SpillingSetTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldAddAndContainItemsWithoutSpilling() {
+        // Given
+        final SpillingSet<String> set = new SpillingSet<>(10, tempFolder.getRoot());
+
+        // When
+        final boolean addedA = set.add("A");
+        final boolean addedB = set.add("B");
+        final boolean addedAAgain = set.add("A");
+
+        // Then
+        assertTrue(addedA);
+        assertTrue(addedB);
+        assertFalse(addedAAgain);
+        assertEquals(2, set.size());
+        assertFalse(set.hasSpilled());
+        assertEquals(Sets.newHashSet("A", "B"), new HashSet<>(set));
+    }
+
+    @Test
+    public void shouldSpillItemsToDiskAndStillDeduplicate() {
+        // Given
+        final SpillingSet<String> set = new SpillingSet<>(10, tempFolder.getRoot());
+        final Set<String> expected = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            expected.add("item" + i);
+            assertTrue(set.add("item" + i));
+        }
+
+        // Then
+        assertTrue(set.hasSpilled());
+        assertEquals(1000, set.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains("item" + i));
+            assertFalse(set.add("item" + i));
+        }
+        assertFalse(set.contains("item1000"));
+        assertEquals(expected, new HashSet<>(set));
+    }
+
+    @Test
+    public void shouldHandleNullItemsWhenSpilling() {
+        // Given
+        final SpillingSet<String> set = new SpillingSet<>(1, tempFolder.getRoot());
+
+        // When
+        final boolean addedNull = set.add(null);
+        final boolean addedA = set.add("A");
+
+        // Then
+        assertTrue(addedNull);
+        assertTrue(addedA);
+        assertFalse(set.add(null));
+        assertTrue(set.contains(null));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    public void shouldDeleteSpilledFilesWhenClosed() {
+        // Given
+        final SpillingSet<Integer> set = new SpillingSet<>(2, tempFolder.getRoot());
+        for (int i = 0; i < 10; i++) {
+            set.add(i);
+        }
+        assertEquals(1, listFiles(tempFolder.getRoot()).length);
+
+        // When
+        set.close();
+
+        // Then
+        assertEquals(0, listFiles(tempFolder.getRoot()).length);
+        assertEquals(0, set.size());
+        assertFalse(set.contains(1));
+    }
+
+    @Test
+    public void shouldOnlyReadABoundedNumberOfBlocksWhenSpillingWellPastMaxInMemory() {
+        // Given
+        final int numItems = 20000;
+        final SpillingSet<Integer> set = new SpillingSet<>(100, tempFolder.getRoot());
+
+        // When
+        for (int i = 0; i < numItems; i++) {
+            assertTrue(set.add(i));
+        }
+        final long readsToAdd = set.getNumBlockReads();
+
+        int numFound = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (set.contains(numItems + i)) {
+                numFound++;
+            }
+        }
+        final long readsForMissingItems = set.getNumBlockReads() - readsToAdd;
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(set.contains(i * 17));
+        }
+        final long readsForSpilledItems = set.getNumBlockReads() - readsToAdd - readsForMissingItems;
+
+        // Then
+        assertEquals(numItems, set.size());
+        assertEquals(0, numFound);
+        assertTrue("Too many reads to add items: " + readsToAdd, readsToAdd < numItems / 10);
+        assertTrue("Too many reads for missing items: " + readsForMissingItems, readsForMissingItems < 100);
+        assertTrue("Too many reads for spilled items: " + readsForSpilledItems, readsForSpilledItems < 1200);
+        set.close();
+    }
+
+    private File[] listFiles(final File directory) {
+        final File[] files = directory.listFiles();
+        return null != files ? files : new File[0];
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil.iterable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class DeduplicatedCloseableIterableTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldDeduplicateAndMaintainOrder() {
+        // Given
+        final List<Integer> values = Arrays.asList(3, 1, 3, 2, 1, 4, 2);
+
+        // When
+        final CloseableIterable<Integer> results = new DeduplicatedCloseableIterable<>(values);
+
+        // Then
+        assertEquals(Arrays.asList(3, 1, 2, 4), Lists.newArrayList(results));
+    }
+
+    @Test
+    public void shouldOnlyReadInputUntilTheNextNewItem() {
+        // Given
+        final List<Integer> read = new ArrayList<>();
+        final Iterable<Integer> values = new Iterable<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                final Iterator<Integer> itr = Arrays.asList(1, 1, 2, 3).iterator();
+                return new Iterator<Integer>() {
+                    @Override
+                    public boolean hasNext() {
+                        return itr.hasNext();
+                    }
+
+                    @Override
+                    public Integer next() {
+                        final Integer next = itr.next();
+                        read.add(next);
+                        return next;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+        final Iterator<Integer> itr = new DeduplicatedCloseableIterable<>(values).iterator();
+
+        // When
+        final Integer first = itr.next();
+        final Integer second = itr.next();
+
+        // Then
+        assertEquals(1, (int) first);
+        assertEquals(2, (int) second);
+        assertEquals(Arrays.asList(1, 1, 2), read);
+    }
+
+    @Test
+    public void shouldDeduplicateWhenSeenItemsAreSpilledToDisk() {
+        // Given
+        final List<Integer> values = new ArrayList<>();
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            values.add(i);
+            values.add(i / 2);
+            expected.add(i);
+        }
+
+        // When
+        final CloseableIterable<Integer> results = new DeduplicatedCloseableIterable<>(
+                new WrappedCloseableIterable<>(values), 20, tempFolder.getRoot());
+
+        // Then
+        assertEquals(expected, Lists.newArrayList(results));
+        final String[] spillFiles = tempFolder.getRoot().list();
+        assertTrue(null == spillFiles || 0 == spillFiles.length);
+    }
+
+    @Test
+    public void shouldDeleteSpilledFilesOfAbandonedIteratorsWhenClosed() {
+        // Given
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            values.add(i);
+        }
+        final CloseableIterable<Integer> results = new DeduplicatedCloseableIterable<>(
+                new WrappedCloseableIterable<>(values), 20, tempFolder.getRoot());
+        final Iterator<Integer> itr = results.iterator();
+        for (int i = 0; i < 100; i++) {
+            itr.next();
+        }
+        assertTrue(0 < tempFolder.getRoot().list().length);
+
+        // When
+        results.close();
+
+        // Then
+        assertEquals(0, tempFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void shouldCloseWrappedIteratorWhenExhausted() {
+        // Given
+        final CloseableIterator<Integer> wrapped = mock(CloseableIterator.class);
+        final CloseableIterator<Integer> itr = new DeduplicatedCloseableIterator<>(wrapped, null, null);
+
+        // When
+        final boolean hasNext = itr.hasNext();
+
+        // Then
+        assertFalse(hasNext);
+        verify(wrapped).close();
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.commonutil.iterable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class PrefetchingCloseableIterableTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnAllItemsInOrderIncludingNulls() {
+        // Given
+        final List<Integer> values = Arrays.asList(1, 2, null, 4, 5, 6, 7);
+
+        // When
+        final CloseableIterable<Integer> prefetched = new PrefetchingCloseableIterable<>(
+                new WrappedCloseableIterable<>(values), executor, 2, 10000);
+
+        // Then
+        assertEquals(values, Lists.newArrayList(prefetched));
+        assertEquals(values, Lists.newArrayList(prefetched));
+    }
+
+    @Test
+    public void shouldReadTheWrappedIterableOnAnotherThread() {
+        // Given
+        final List<String> threads = new ArrayList<>();
+        final CloseableIterable<Integer> iterable = new WrappedCloseableIterable<Integer>(Arrays.asList(1, 2, 3)) {
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                threads.add(Thread.currentThread().getName());
+                return super.iterator();
+            }
+        };
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new PrefetchingCloseableIterable<>(iterable, executor, 1, 10000));
+
+        // Then
+        assertEquals(Arrays.asList(1, 2, 3), results);
+        assertEquals(1, threads.size());
+        assertNotEquals(Thread.currentThread().getName(), threads.get(0));
+    }
+
+    @Test
+    public void shouldOnlyPrefetchTheFirstIteratorWhenTheConsumerIteratesMoreThanOnce() {
+        // Given
+        final List<String> threads = new ArrayList<>();
+        final CloseableIterable<Integer> iterable = new WrappedCloseableIterable<Integer>(Arrays.asList(1, 2, 3)) {
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                threads.add(Thread.currentThread().getName());
+                return super.iterator();
+            }
+        };
+        final CloseableIterable<Integer> prefetched = new PrefetchingCloseableIterable<>(iterable, executor, 1, 10000);
+
+        // When - the first pass is abandoned after one item, like a consumer searching the input
+        final Integer first = prefetched.iterator().next();
+        final List<Integer> secondPass = Lists.newArrayList(prefetched);
+        final List<Integer> thirdPass = Lists.newArrayList(prefetched);
+
+        // Then
+        assertEquals(1, (int) first);
+        assertEquals(Arrays.asList(1, 2, 3), secondPass);
+        assertEquals(Arrays.asList(1, 2, 3), thirdPass);
+        assertEquals(3, threads.size());
+        assertNotEquals(Thread.currentThread().getName(), threads.get(0));
+        assertEquals(Thread.currentThread().getName(), threads.get(1));
+        assertEquals(Thread.currentThread().getName(), threads.get(2));
+    }
+
+    @Test
+    public void shouldStopPrefetchingWhenTheIterableIsClosed() throws InterruptedException {
+        // Given
+        final CountDownLatch closed = new CountDownLatch(1);
+        final CloseableIterable<Integer> iterable = new WrappedCloseableIterable<Integer>(infiniteIterable()) {
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                final CloseableIterator<Integer> itr = super.iterator();
+                return new WrappedCloseableIterator<Integer>(itr) {
+                    @Override
+                    public void close() {
+                        closed.countDown();
+                    }
+                };
+            }
+        };
+        final CloseableIterable<Integer> prefetched = new PrefetchingCloseableIterable<>(iterable, executor, 2, 100000);
+        prefetched.iterator().next();
+
+        // When - the iterator is abandoned without being closed
+        prefetched.close();
+
+        // Then
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldRethrowExceptionsFromTheWrappedIterator() {
+        // Given
+        final CloseableIterable<Integer> iterable = new WrappedCloseableIterable<>(new Iterable<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new Iterator<Integer>() {
+                    private int count;
+
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        if (count++ > 0) {
+                            throw new IllegalStateException("Test exception");
+                        }
+                        return 1;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        });
+        final Iterator<Integer> itr = new PrefetchingCloseableIterable<>(iterable, executor, 10, 10000).iterator();
+
+        // When
+        final Integer first = itr.next();
+
+        // Then
+        assertEquals(1, (int) first);
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("Test exception", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldStopReadingTheWrappedIteratorWhenClosed() throws InterruptedException {
+        // Given
+        final CountDownLatch closed = new CountDownLatch(1);
+        final CloseableIterable<Integer> iterable = new WrappedCloseableIterable<Integer>(infiniteIterable()) {
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                final CloseableIterator<Integer> itr = super.iterator();
+                return new WrappedCloseableIterator<Integer>(itr) {
+                    @Override
+                    public void close() {
+                        closed.countDown();
+                    }
+                };
+            }
+        };
+        final CloseableIterator<Integer> itr = new PrefetchingCloseableIterable<>(iterable, executor, 2, 10000).iterator();
+
+        // When
+        itr.next();
+        itr.close();
+
+        // Then
+        assertTrue(closed.await(10, TimeUnit.SECONDS));
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldCloseTheWrappedIteratorAndFailWhenTheConsumerIsIdleForTooLong() throws InterruptedException {
+        // Given
+        final CountDownLatch closed = new CountDownLatch(1);
+        final CloseableIterable<Integer> iterable = new WrappedCloseableIterable<Integer>(infiniteIterable()) {
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                final CloseableIterator<Integer> itr = super.iterator();
+                return new WrappedCloseableIterator<Integer>(itr) {
+                    @Override
+                    public void close() {
+                        closed.countDown();
+                    }
+                };
+            }
+        };
+        final CloseableIterator<Integer> itr = new PrefetchingCloseableIterable<>(iterable, executor, 1, 10).iterator();
+        itr.next();
+
+        // When
+        final boolean sourceClosed = closed.await(10, TimeUnit.SECONDS);
+
+        // Then
+        assertTrue(sourceClosed);
+        try {
+            while (itr.hasNext()) {
+                itr.next();
+            }
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("Prefetching abandoned after idle timeout"));
+        }
+    }
+
+    @Test
+    public void shouldReadOnTheCallingThreadWhenTheExecutorIsBusy() {
+        // Given
+        final ThreadPoolExecutor busyExecutor = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+        busyExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(2000);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        final List<String> threads = new ArrayList<>();
+        final CloseableIterable<Integer> iterable = new WrappedCloseableIterable<Integer>(Arrays.asList(1, 2)) {
+            @Override
+            public CloseableIterator<Integer> iterator() {
+                threads.add(Thread.currentThread().getName());
+                return super.iterator();
+            }
+        };
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new PrefetchingCloseableIterable<>(iterable, busyExecutor, 1, 10000));
+
+        // Then
+        assertEquals(Arrays.asList(1, 2), results);
+        assertEquals(Arrays.asList(Thread.currentThread().getName()), threads);
+        busyExecutor.shutdownNow();
+    }
+
+    private Iterable<Integer> infiniteIterable() {
+        return new Iterable<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return new Iterator<Integer>() {
+                    private int count;
+
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        return count++;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+}
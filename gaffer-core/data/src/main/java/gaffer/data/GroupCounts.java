@@ -25,8 +25,8 @@ import java.util.Map;
  * point at which the limit was reached.
  */
 public class GroupCounts {
-    private Map<String, Integer> entityGroups = new HashMap<>();
-    private Map<String, Integer> edgeGroups = new HashMap<>();
+    private Map<String, Long> entityGroups = new HashMap<>();
+    private Map<String, Long> edgeGroups = new HashMap<>();
     private boolean limitHit;
 
     public void addEntityGroup(final String group) {
@@ -37,15 +37,33 @@ public class GroupCounts {
         addElementGroup(group, edgeGroups);
     }
 
-    private void addElementGroup(final String group, final Map<String, Integer> elementGroups) {
-        Integer count = elementGroups.get(group);
-        if (null == count) {
-            count = 1;
-        } else {
-            count += 1;
-        }
+    /**
+     * Adds a number of entities to the count for a group.
+     *
+     * @param group the entity group
+     * @param count the number of entities to add
+     */
+    public void addEntityGroup(final String group, final long count) {
+        addElementGroup(group, count, entityGroups);
+    }
+
+    /**
+     * Adds a number of edges to the count for a group.
+     *
+     * @param group the edge group
+     * @param count the number of edges to add
+     */
+    public void addEdgeGroup(final String group, final long count) {
+        addElementGroup(group, count, edgeGroups);
+    }
+
+    private void addElementGroup(final String group, final Map<String, Long> elementGroups) {
+        addElementGroup(group, 1L, elementGroups);
+    }
 
-        elementGroups.put(group, count);
+    private void addElementGroup(final String group, final long count, final Map<String, Long> elementGroups) {
+        final Long currentCount = elementGroups.get(group);
+        elementGroups.put(group, null == currentCount ? count : currentCount + count);
     }
 
     public boolean isLimitHit() {
@@ -56,19 +74,19 @@ public class GroupCounts {
         this.limitHit = limitHit;
     }
 
-    public Map<String, Integer> getEntityGroups() {
+    public Map<String, Long> getEntityGroups() {
         return entityGroups;
     }
 
-    public void setEntityGroups(final Map<String, Integer> entityGroups) {
+    public void setEntityGroups(final Map<String, Long> entityGroups) {
         this.entityGroups = entityGroups;
     }
 
-    public Map<String, Integer> getEdgeGroups() {
+    public Map<String, Long> getEdgeGroups() {
         return edgeGroups;
     }
 
-    public void setEdgeGroups(final Map<String, Integer> edgeGroups) {
+    public void setEdgeGroups(final Map<String, Long> edgeGroups) {
         this.edgeGroups = edgeGroups;
     }
 
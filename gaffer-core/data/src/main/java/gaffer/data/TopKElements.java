@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data;
+
+import gaffer.data.element.Element;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * A <code>TopKElements</code> keeps the k elements with the highest values of
+ * a property, using a bounded min heap so only k elements are held in memory.
+ * Elements without a value for the property are ignored, as are elements equal
+ * to an element that is already held.
+ *
+ * @param <ELEMENT_TYPE> the element type
+ */
+public class TopKElements<ELEMENT_TYPE extends Element> {
+    private final String property;
+    private final int k;
+    private final PriorityQueue<ELEMENT_TYPE> heap;
+    private final Set<ELEMENT_TYPE> heldElements;
+
+    public TopKElements(final String property, final int k) {
+        if (null == property) {
+            throw new IllegalArgumentException("A property is required to rank the elements");
+        }
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1 but was " + k);
+        }
+        this.property = property;
+        this.k = k;
+        this.heap = new PriorityQueue<>(Math.min(k, 1024) + 1, new PropertyComparator<ELEMENT_TYPE>(property));
+        this.heldElements = new HashSet<>();
+    }
+
+    /**
+     * Offers an element to the top k.
+     *
+     * @param element the element to offer
+     * @return true if the element is now one of the top k elements
+     */
+    public boolean add(final ELEMENT_TYPE element) {
+        if (null == element.getProperty(property) || heldElements.contains(element)) {
+            return false;
+        }
+
+        if (heap.size() == k) {
+            if (compare(property, element, heap.peek()) <= 0) {
+                return false;
+            }
+            heldElements.remove(heap.poll());
+        }
+
+        heap.add(element);
+        heldElements.add(element);
+        return true;
+    }
+
+    public void addAll(final Iterable<? extends ELEMENT_TYPE> elements) {
+        for (final ELEMENT_TYPE element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * @return the top k elements in descending order of the property.
+     */
+    public List<ELEMENT_TYPE> getElements() {
+        final List<ELEMENT_TYPE> elements = new ArrayList<>(heap);
+        Collections.sort(elements, Collections.reverseOrder(heap.comparator()));
+        return elements;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Compares two property values. Both values must be non null and mutually {@link Comparable}.
+     *
+     * @param value1 the first property value
+     * @param value2 the second property value
+     * @return a negative integer, zero, or a positive integer as the first value is less than, equal to, or greater than the second
+     */
+    @SuppressWarnings("unchecked")
+    public static int compareValues(final Object value1, final Object value2) {
+        if (!(value1 instanceof Comparable)) {
+            throw new IllegalArgumentException("Property values must be Comparable to be ranked but got " + value1.getClass().getName());
+        }
+        return ((Comparable<Object>) value1).compareTo(value2);
+    }
+
+    private static int compare(final String property, final Element element1, final Element element2) {
+        return compareValues(element1.getProperty(property), element2.getProperty(property));
+    }
+
+    private static final class PropertyComparator<ELEMENT_TYPE extends Element> implements Comparator<ELEMENT_TYPE>, Serializable {
+        private static final long serialVersionUID = -2813245461637419328L;
+
+        private final String property;
+
+        private PropertyComparator(final String property) {
+            this.property = property;
+        }
+
+        @Override
+        public int compare(final ELEMENT_TYPE element1, final ELEMENT_TYPE element2) {
+            return TopKElements.compare(property, element1, element2);
+        }
+    }
+}
@@ -17,14 +17,17 @@
 package gaffer.data.element;
 
 
-import gaffer.function.Tuple;
+import gaffer.function.ResolvableTuple;
 
 /**
  * An <code>ElementTuple</code> implements {@link gaffer.function.Tuple} wrapping an
  * {@link gaffer.data.element.Element} and providing a getter and setter for the element's identifiers and properties.
  * This class allows Elements to be used with the function module whilst minimising dependencies.
+ * <p>
+ * References are resolved to either an {@link gaffer.data.element.IdentifierType} or a property name, so function
+ * contexts only need to look up whether a reference is an identifier once rather than for every element.
  */
-public class ElementTuple implements Tuple<String> {
+public class ElementTuple implements ResolvableTuple<String> {
     private Element element;
 
     public ElementTuple() {
@@ -63,6 +66,30 @@ public class ElementTuple implements Tuple<String> {
         }
     }
 
+    @Override
+    public Object resolve(final String reference) {
+        final IdentifierType idType = IdentifierType.fromName(reference);
+        return null != idType ? idType : reference;
+    }
+
+    @Override
+    public Object getResolved(final Object resolvedReference) {
+        if (resolvedReference instanceof IdentifierType) {
+            return element.getIdentifier((IdentifierType) resolvedReference);
+        }
+
+        return element.getProperty((String) resolvedReference);
+    }
+
+    @Override
+    public void putResolved(final Object resolvedReference, final Object value) {
+        if (resolvedReference instanceof IdentifierType) {
+            element.putIdentifier((IdentifierType) resolvedReference, value);
+        } else {
+            element.putProperty((String) resolvedReference, value);
+        }
+    }
+
     @Override
     public String toString() {
         return "ElementTuple{"
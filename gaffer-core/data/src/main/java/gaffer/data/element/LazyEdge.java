@@ -68,7 +68,7 @@ public class LazyEdge extends Edge {
 
     @Override
     public boolean isDirected() {
-        if (!loadedIdentifiers.contains(IdentifierType.DIRECTED)) {
+        if (loadedIdentifiers.contains(IdentifierType.DIRECTED)) {
             return edge.isDirected();
         }
 
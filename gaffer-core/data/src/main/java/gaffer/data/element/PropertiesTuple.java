@@ -16,14 +16,17 @@
 
 package gaffer.data.element;
 
-import gaffer.function.Tuple;
+import gaffer.function.ResolvableTuple;
 
 /**
  * An <code>PropertiesTuple</code> implements {@link gaffer.function.Tuple} wrapping a
  * {@link Properties} and providing a getter and setter for the element's property values.
  * This class allows Properties to be used with the function module whilst minimising dependencies.
+ * <p>
+ * Every reference is a property name, so references resolve to themselves. Function contexts can still use
+ * their resolved selections and projections, rather than iterating over their references for every tuple.
  */
-public class PropertiesTuple implements Tuple<String> {
+public class PropertiesTuple implements ResolvableTuple<String> {
 
     private Properties properties;
 
@@ -44,6 +47,21 @@ public class PropertiesTuple implements Tuple<String> {
         properties.put(propertyName, value);
     }
 
+    @Override
+    public Object resolve(final String propertyName) {
+        return propertyName;
+    }
+
+    @Override
+    public Object getResolved(final Object resolvedReference) {
+        return properties.get(resolvedReference);
+    }
+
+    @Override
+    public void putResolved(final Object resolvedReference, final Object value) {
+        properties.put((String) resolvedReference, value);
+    }
+
     public Properties getProperties() {
         return properties;
     }
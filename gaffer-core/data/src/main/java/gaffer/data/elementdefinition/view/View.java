@@ -80,6 +80,23 @@ public class View extends ElementDefinitions<ViewElementDefinition, ViewElementD
         return viewElementDef.getGroupBy();
     }
 
+    /**
+     * @return true if any of the element definitions in this view have a post transform filter.
+     */
+    public boolean hasPostTransformFilters() {
+        for (final String group : getEdgeGroups()) {
+            if (null != getEdge(group).getPostTransformFilter()) {
+                return true;
+            }
+        }
+        for (final String group : getEntityGroups()) {
+            if (null != getEntity(group).getPostTransformFilter()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static class Builder extends ElementDefinitions.Builder<ViewElementDefinition, ViewElementDefinition> {
         public Builder() {
             this(new View());
@@ -66,6 +66,24 @@ public class ViewElementDefinition implements ElementDefinition {
      */
     private LinkedHashSet<String> groupBy;
 
+    /**
+     * The properties to return for elements of this group.
+     * <p>
+     * If null, then all properties are returned.
+     * </p>
+     * <p>
+     * Otherwise the specified properties are the ones the caller needs, and
+     * stores may use them to avoid reading or sending the other properties. This
+     * is a best effort projection and its extent depends on the store, so
+     * elements may still be returned with other properties. For example, stores
+     * keep the properties used by filters and the transformer, properties that
+     * are stored in the row key or column qualifier, and any property an
+     * operation needs, such as the property that ranks elements. Some stores
+     * ignore the projection entirely.
+     * </p>
+     */
+    private LinkedHashSet<String> properties;
+
     /**
      * Transient property map of property name to class.
      */
@@ -79,6 +97,14 @@ public class ViewElementDefinition implements ElementDefinition {
         this.groupBy = groupBy;
     }
 
+    public LinkedHashSet<String> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(final LinkedHashSet<String> properties) {
+        this.properties = properties;
+    }
+
     @Override
     public void merge(final ElementDefinition elementDef) {
         if (elementDef instanceof ViewElementDefinition) {
@@ -282,6 +308,14 @@ public class ViewElementDefinition implements ElementDefinition {
             return this;
         }
 
+        public Builder properties(final String... properties) {
+            if (null == getElementDef().getProperties()) {
+                getElementDef().setProperties(new LinkedHashSet<String>());
+            }
+            Collections.addAll(getElementDef().getProperties(), properties);
+            return this;
+        }
+
         public ViewElementDefinition build() {
             return elDef;
         }
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import gaffer.commonutil.TestGroups;
+import org.junit.Test;
+
+public class GroupCountsTest {
+
+    @Test
+    public void shouldAddCountsToGroups() {
+        // Given
+        final GroupCounts counts = new GroupCounts();
+
+        // When
+        counts.addEntityGroup(TestGroups.ENTITY);
+        counts.addEntityGroup(TestGroups.ENTITY, 5L);
+        counts.addEdgeGroup(TestGroups.EDGE, 3L);
+        counts.addEdgeGroup(TestGroups.EDGE);
+
+        // Then
+        assertEquals(6, (long) counts.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(4, (long) counts.getEdgeGroups().get(TestGroups.EDGE));
+        assertFalse(counts.isLimitHit());
+    }
+
+    @Test
+    public void shouldKeepCountsThatDoNotFitInAnInt() {
+        // Given
+        final GroupCounts counts = new GroupCounts();
+        counts.addEdgeGroup(TestGroups.EDGE, Integer.MAX_VALUE - 1L);
+
+        // When
+        counts.addEdgeGroup(TestGroups.EDGE, 3L * Integer.MAX_VALUE);
+
+        // Then
+        assertEquals(4L * Integer.MAX_VALUE - 1L, (long) counts.getEdgeGroups().get(TestGroups.EDGE));
+        assertFalse(counts.isLimitHit());
+    }
+}
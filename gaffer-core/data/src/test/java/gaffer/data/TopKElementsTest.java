@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.List;
+
+public class TopKElementsTest {
+
+    @Test
+    public void shouldKeepTheKElementsWithTheHighestPropertyValuesInDescendingOrder() {
+        // Given
+        final TopKElements<Element> topK = new TopKElements<>(TestPropertyNames.COUNT, 3);
+
+        // When
+        topK.addAll(Arrays.asList(
+                createEdge("A", "B", 5),
+                createEdge("A", "C", 1),
+                createEdge("A", "D", 9),
+                createEntity("A", 3),
+                createEdge("B", "C", 7),
+                createEdge("C", "D", 2)));
+
+        // Then
+        final List<Element> elements = topK.getElements();
+        assertEquals(Arrays.<Element>asList(
+                createEdge("A", "D", 9),
+                createEdge("B", "C", 7),
+                createEdge("A", "B", 5)), elements);
+    }
+
+    @Test
+    public void shouldIgnoreElementsWithoutThePropertyAndDuplicates() {
+        // Given
+        final TopKElements<Element> topK = new TopKElements<>(TestPropertyNames.COUNT, 3);
+        final Entity entityWithoutCount = new Entity(TestGroups.ENTITY, "A");
+
+        // When
+        final boolean addedEdge = topK.add(createEdge("A", "B", 5));
+        final boolean addedDuplicate = topK.add(createEdge("A", "B", 5));
+        final boolean addedEntityWithoutCount = topK.add(entityWithoutCount);
+
+        // Then
+        assertTrue(addedEdge);
+        assertFalse(addedDuplicate);
+        assertFalse(addedEntityWithoutCount);
+        assertEquals(1, topK.size());
+    }
+
+    @Test
+    public void shouldNotAddElementsLowerThanTheSmallestHeldElementOnceFull() {
+        // Given
+        final TopKElements<Element> topK = new TopKElements<>(TestPropertyNames.COUNT, 1);
+        topK.add(createEdge("A", "B", 5));
+
+        // When
+        final boolean addedLower = topK.add(createEdge("A", "C", 4));
+        final boolean addedHigher = topK.add(createEdge("A", "D", 6));
+
+        // Then
+        assertFalse(addedLower);
+        assertTrue(addedHigher);
+        assertEquals(Arrays.<Element>asList(createEdge("A", "D", 6)), topK.getElements());
+    }
+
+    @Test
+    public void shouldNotAllowKLessThanOne() {
+        // When / Then
+        try {
+            new TopKElements<>(TestPropertyNames.COUNT, 0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("k must be at least 1"));
+        }
+    }
+
+    private Edge createEdge(final String source, final String destination, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(TestPropertyNames.COUNT, count);
+        return edge;
+    }
+
+    private Entity createEntity(final String vertex, final int count) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(TestPropertyNames.COUNT, count);
+        return entity;
+    }
+}
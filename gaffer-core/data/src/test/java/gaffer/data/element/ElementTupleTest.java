@@ -16,6 +16,7 @@
 
 package gaffer.data.element;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
@@ -109,4 +110,48 @@ public class ElementTupleTest {
         verify(element).putProperty(propertyName, property);
         verify(element, never()).putIdentifier(Mockito.any(IdentifierType.class), Mockito.anyObject());
     }
+
+    @Test
+    public void shouldResolveIdentifiersAndProperties() {
+        // Given
+        final ElementTuple tuple = new ElementTuple();
+
+        // When / Then
+        assertSame(IdentifierType.SOURCE, tuple.resolve(IdentifierType.SOURCE.name()));
+        assertEquals("property name", tuple.resolve("property name"));
+    }
+
+    @Test
+    public void shouldGetResolvedIdentifierAndPropertyFromElement() {
+        // Given
+        final Element element = mock(Element.class);
+        final ElementTuple tuple = new ElementTuple(element);
+        final String propertyName = "property name";
+        given(element.getIdentifier(IdentifierType.SOURCE)).willReturn("source");
+        given(element.getProperty(propertyName)).willReturn("property value");
+
+        // When
+        final Object identifier = tuple.getResolved(tuple.resolve(IdentifierType.SOURCE.name()));
+        final Object property = tuple.getResolved(tuple.resolve(propertyName));
+
+        // Then
+        assertEquals("source", identifier);
+        assertEquals("property value", property);
+    }
+
+    @Test
+    public void shouldPutResolvedIdentifierAndPropertyOnElement() {
+        // Given
+        final Element element = mock(Element.class);
+        final ElementTuple tuple = new ElementTuple(element);
+        final String propertyName = "property name";
+
+        // When
+        tuple.putResolved(tuple.resolve(IdentifierType.SOURCE.name()), "source");
+        tuple.putResolved(tuple.resolve(propertyName), "property value");
+
+        // Then
+        verify(element).putIdentifier(IdentifierType.SOURCE, "source");
+        verify(element).putProperty(propertyName, "property value");
+    }
 }
@@ -106,6 +106,25 @@ public class LazyEdgeTest {
 
         // Then
         assertTrue(isDirected);
+        verify(edgeLoader, never()).getIdentifier(IdentifierType.DIRECTED);
+    }
+
+    @Test
+    public void shouldLoadIsDirectedWhenNotLoaded() {
+        // Given
+        final Edge edge = new Edge();
+        final ElementValueLoader edgeLoader = mock(ElementValueLoader.class);
+        final LazyEdge lazyEdge = new LazyEdge(edge, edgeLoader);
+        given(edgeLoader.getIdentifier(IdentifierType.DIRECTED)).willReturn(true);
+
+        // When
+        final boolean isDirected = lazyEdge.isDirected();
+        final boolean isDirectedAgain = lazyEdge.isDirected();
+
+        // Then
+        assertTrue(isDirected);
+        assertTrue(isDirectedAgain);
+        assertTrue(edge.isDirected());
         verify(edgeLoader, times(1)).getIdentifier(IdentifierType.DIRECTED);
     }
 
@@ -69,4 +69,28 @@ public class PropertiesTupleTest {
         // Then
         assertEquals(propertyValue, properties.get(propertyName));
     }
+
+    @Test
+    public void shouldResolvePropertyNamesToThemselves() {
+        // Given
+        final PropertiesTuple tuple = new PropertiesTuple();
+
+        // When / Then
+        assertEquals("property name", tuple.resolve("property name"));
+    }
+
+    @Test
+    public void shouldGetAndPutResolvedPropertiesInProperties() {
+        // Given
+        final Properties properties = new Properties("property 1", "value 1");
+        final PropertiesTuple tuple = new PropertiesTuple(properties);
+
+        // When
+        final Object property = tuple.getResolved(tuple.resolve("property 1"));
+        tuple.putResolved(tuple.resolve("property 2"), "value 2");
+
+        // Then
+        assertEquals("value 1", property);
+        assertEquals("value 2", properties.get("property 2"));
+    }
 }
@@ -17,14 +17,18 @@
 package gaffer.data.elementdefinition.view;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.data.element.function.ElementFilter;
 import gaffer.data.element.function.ElementTransformer;
 import org.junit.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 public class ViewElementDefinitionTest {
     @Test
@@ -53,4 +57,42 @@ public class ViewElementDefinitionTest {
         assertSame(postFilter, elementDef.getPostTransformFilter());
         assertSame(transformer, elementDef.getTransformer());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldBuildElementDefinitionWithProperties() {
+        // When
+        final ViewElementDefinition elementDef = new ViewElementDefinition.Builder()
+                .properties(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                .build();
+
+        // Then
+        assertEquals(Arrays.asList(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2),
+                new ArrayList<>(elementDef.getProperties()));
+    }
+
+    @Test
+    public void shouldReturnAllPropertiesByDefault() {
+        // When
+        final ViewElementDefinition elementDef = new ViewElementDefinition.Builder().build();
+
+        // Then
+        assertNull(elementDef.getProperties());
+    }
+
+    @Test
+    public void shouldJsonSerialiseAndDeserialiseProperties() {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_2, TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+
+        // When
+        final View deserialisedView = View.fromJson(view.toJson(false));
+
+        // Then
+        assertEquals(Arrays.asList(TestPropertyNames.PROP_2, TestPropertyNames.PROP_1),
+                new ArrayList<>(deserialisedView.getEdge(TestGroups.EDGE).getProperties()));
+    }
+}
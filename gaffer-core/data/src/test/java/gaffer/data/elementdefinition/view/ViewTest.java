@@ -17,6 +17,7 @@
 package gaffer.data.elementdefinition.view;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -96,6 +97,28 @@ public class ViewTest {
         assertSame(entityDef2, view.getEntity(TestGroups.ENTITY_2));
     }
 
+    @Test
+    public void shouldOnlyHavePostTransformFiltersIfAGroupHasOne() {
+        // Given
+        final View viewWithoutFilters = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build();
+        final View viewWithFilter = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new ExampleFilterFunction())
+                                .build())
+                        .build())
+                .build();
+
+        // When / Then
+        assertFalse(viewWithoutFilters.hasPostTransformFilters());
+        assertTrue(viewWithFilter.hasPostTransformFilters());
+    }
+
     @Test
     public void shouldSerialiseToJson() {
         // Given
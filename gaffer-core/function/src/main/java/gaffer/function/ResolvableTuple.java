@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function;
+
+/**
+ * A <code>ResolvableTuple</code> is a {@link gaffer.function.Tuple} that can resolve a reference once into a form that
+ * is quicker to look up, for example by deciding up front which part of the underlying data structure the reference
+ * refers to. Function contexts resolve their references the first time they are used with a
+ * <code>ResolvableTuple</code> and then use the resolved references for every subsequent tuple of the same class.
+ * <p>
+ * The resolved form of a reference must only depend on the reference and the class of the tuple, not on the data
+ * currently held by the tuple.
+ *
+ * @param <R> The type of reference used by the underlying data structure to access data values.
+ */
+public interface ResolvableTuple<R> extends Tuple<R> {
+    /**
+     * @param reference Data item reference.
+     * @return Resolved reference to be passed to <code>getResolved</code> and <code>putResolved</code>.
+     */
+    Object resolve(final R reference);
+
+    /**
+     * @param resolvedReference Data item reference returned by <code>resolve(R)</code>.
+     * @return Data item corresponding to the resolved reference.
+     */
+    Object getResolved(final Object resolvedReference);
+
+    /**
+     * @param resolvedReference Data item reference returned by <code>resolve(R)</code>.
+     * @param value             Data item value to set on the underlying data structure.
+     */
+    void putResolved(final Object resolvedReference, final Object value);
+}
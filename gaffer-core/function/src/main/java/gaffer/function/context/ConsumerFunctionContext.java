@@ -17,7 +17,10 @@
 package gaffer.function.context;
 
 import gaffer.function.ConsumerFunction;
+import gaffer.function.ResolvableTuple;
 import gaffer.function.Tuple;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,6 +35,7 @@ public class ConsumerFunctionContext<R, F extends ConsumerFunction> extends Func
     private static final long serialVersionUID = -4572706365436487862L;
     private List<R> selection;
     private Object[] selected;
+    private transient ResolvedReferences<R> resolvedSelection;
 
     /**
      * Default constructor - used for serialisation.
@@ -65,25 +69,58 @@ public class ConsumerFunctionContext<R, F extends ConsumerFunction> extends Func
     public void setSelection(final List<R> selection) {
         this.selection = selection;
         selected = new Object[null != selection ? selection.size() : 0];
+        resolvedSelection = null;
     }
 
     /**
      * Select data from an input {@link gaffer.function.Tuple}.
      * <p>
+     * If the tuple is a {@link gaffer.function.ResolvableTuple} the selection references are only resolved the first
+     * time they are used with that class of tuple.
+     * <p>
      * <b>Note</b>: due to re-use of the container used to return input data, this method is not thread safe.
      *
      * @param tuple Input tuple to select from.
      * @return Selected values.
      */
     public Object[] select(final Tuple<R> tuple) {
-        int i = 0;
-        for (final R reference : selection) {
-            selected[i++] = tuple.get(reference);
+        if (tuple instanceof ResolvableTuple) {
+            final ResolvableTuple<R> resolvableTuple = (ResolvableTuple<R>) tuple;
+            final Object[] references = resolveSelection(resolvableTuple);
+            for (int i = 0; i < references.length; i++) {
+                selected[i] = resolvableTuple.getResolved(references[i]);
+            }
+        } else {
+            int i = 0;
+            for (final R reference : selection) {
+                selected[i++] = tuple.get(reference);
+            }
         }
 
         return selected;
     }
 
+    /**
+     * Resolve the selection references against a {@link gaffer.function.ResolvableTuple}. The resolved references are
+     * cached until the selection is changed or a different class of tuple is used.
+     *
+     * @param tuple Tuple to resolve the references against.
+     * @return Resolved selection references.
+     */
+    protected Object[] resolveSelection(final ResolvableTuple<R> tuple) {
+        if (null == resolvedSelection) {
+            resolvedSelection = new ResolvedReferences<>(selection);
+        }
+
+        return resolvedSelection.resolve(tuple);
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The resolved references are rebuilt the next time they are used.
+        resolvedSelection = null;
+    }
+
     /**
      * Implementation of the Builder pattern for {@link gaffer.function.context.ConsumerFunctionContext}.
      *
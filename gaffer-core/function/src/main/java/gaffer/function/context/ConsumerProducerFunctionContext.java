@@ -17,7 +17,10 @@
 package gaffer.function.context;
 
 import gaffer.function.ConsumerProducerFunction;
+import gaffer.function.ResolvableTuple;
 import gaffer.function.Tuple;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,6 +35,7 @@ import java.util.List;
 public class ConsumerProducerFunctionContext<R, F extends ConsumerProducerFunction> extends ConsumerFunctionContext<R, F> {
     private static final long serialVersionUID = 1587227291326202052L;
     private List<R> projection;
+    private transient ResolvedReferences<R> resolvedProjection;
 
     /**
      * Default constructor - used for serialisation.
@@ -64,6 +68,7 @@ public class ConsumerProducerFunctionContext<R, F extends ConsumerProducerFuncti
      */
     public void setProjection(final List<R> projection) {
         this.projection = projection;
+        resolvedProjection = null;
     }
 
     /**
@@ -73,14 +78,31 @@ public class ConsumerProducerFunctionContext<R, F extends ConsumerProducerFuncti
      * @param values Results to project.
      */
     public void project(final Tuple<R> tuple, final Object[] values) {
-        int i = 0;
-        for (final R reference : projection) {
-            Object value = i < values.length ? values[i] : null;
-            tuple.put(reference, value);
-            i++;
+        if (tuple instanceof ResolvableTuple) {
+            final ResolvableTuple<R> resolvableTuple = (ResolvableTuple<R>) tuple;
+            if (null == resolvedProjection) {
+                resolvedProjection = new ResolvedReferences<>(projection);
+            }
+            final Object[] references = resolvedProjection.resolve(resolvableTuple);
+            for (int i = 0; i < references.length; i++) {
+                resolvableTuple.putResolved(references[i], i < values.length ? values[i] : null);
+            }
+        } else {
+            int i = 0;
+            for (final R reference : projection) {
+                Object value = i < values.length ? values[i] : null;
+                tuple.put(reference, value);
+                i++;
+            }
         }
     }
 
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The resolved references are rebuilt the next time they are used.
+        resolvedProjection = null;
+    }
+
     /**
      * Implementation of the Builder pattern for {@link gaffer.function.context.ConsumerProducerFunctionContext}.
      *
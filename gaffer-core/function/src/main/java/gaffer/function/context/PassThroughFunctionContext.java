@@ -17,6 +17,7 @@
 package gaffer.function.context;
 
 import gaffer.function.ConsumerProducerFunction;
+import gaffer.function.ResolvableTuple;
 import gaffer.function.Tuple;
 import java.util.List;
 
@@ -57,11 +58,19 @@ public class PassThroughFunctionContext<R, F extends ConsumerProducerFunction> e
      * @param values Results to project.
      */
     public void project(final Tuple<R> tuple, final Object[] values) {
-        int i = 0;
-        for (final R reference : getSelection()) {
-            Object value = i < values.length ? values[i] : null;
-            tuple.put(reference, value);
-            i++;
+        if (tuple instanceof ResolvableTuple) {
+            final ResolvableTuple<R> resolvableTuple = (ResolvableTuple<R>) tuple;
+            final Object[] references = resolveSelection(resolvableTuple);
+            for (int i = 0; i < references.length; i++) {
+                resolvableTuple.putResolved(references[i], i < values.length ? values[i] : null);
+            }
+        } else {
+            int i = 0;
+            for (final R reference : getSelection()) {
+                Object value = i < values.length ? values[i] : null;
+                tuple.put(reference, value);
+                i++;
+            }
         }
     }
 
@@ -17,7 +17,10 @@
 package gaffer.function.context;
 
 import gaffer.function.ProducerFunction;
+import gaffer.function.ResolvableTuple;
 import gaffer.function.Tuple;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -31,6 +34,7 @@ import java.util.List;
 public class ProducerFunctionContext<R, F extends ProducerFunction> extends FunctionContext<F> {
     private static final long serialVersionUID = 3569894349639432082L;
     private List<R> projection;
+    private transient ResolvedReferences<R> resolvedProjection;
 
     /**
      * Default constructor - used for serialisation.
@@ -63,6 +67,7 @@ public class ProducerFunctionContext<R, F extends ProducerFunction> extends Func
      */
     public void setProjection(final List<R> projection) {
         this.projection = projection;
+        resolvedProjection = null;
     }
 
     /**
@@ -72,14 +77,31 @@ public class ProducerFunctionContext<R, F extends ProducerFunction> extends Func
      * @param values Results to project.
      */
     public void project(final Tuple<R> tuple, final Object[] values) {
-        int i = 0;
-        for (final R reference : projection) {
-            Object value = i < values.length ? values[i] : null;
-            tuple.put(reference, value);
-            i++;
+        if (tuple instanceof ResolvableTuple) {
+            final ResolvableTuple<R> resolvableTuple = (ResolvableTuple<R>) tuple;
+            if (null == resolvedProjection) {
+                resolvedProjection = new ResolvedReferences<>(projection);
+            }
+            final Object[] references = resolvedProjection.resolve(resolvableTuple);
+            for (int i = 0; i < references.length; i++) {
+                resolvableTuple.putResolved(references[i], i < values.length ? values[i] : null);
+            }
+        } else {
+            int i = 0;
+            for (final R reference : projection) {
+                Object value = i < values.length ? values[i] : null;
+                tuple.put(reference, value);
+                i++;
+            }
         }
     }
 
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // The resolved references are rebuilt the next time they are used.
+        resolvedProjection = null;
+    }
+
     /**
      * Implementation of the Builder pattern for {@link gaffer.function.context.ProducerFunctionContext}.
      *
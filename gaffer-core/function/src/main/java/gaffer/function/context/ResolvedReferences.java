@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.function.context;
+
+import gaffer.function.ResolvableTuple;
+import java.util.List;
+
+/**
+ * Holds a list of references resolved against a class of {@link gaffer.function.ResolvableTuple}, so each reference
+ * is only resolved once rather than every time a tuple is selected from or projected into.
+ * <p>
+ * <b>Note</b>: this class is not thread safe.
+ *
+ * @param <R> The type of reference used to select from and project into tuples.
+ */
+final class ResolvedReferences<R> {
+    private final List<R> references;
+    private Class<?> tupleClass;
+    private Object[] resolved;
+
+    ResolvedReferences(final List<R> references) {
+        this.references = references;
+    }
+
+    /**
+     * @param tuple Tuple to resolve the references against.
+     * @return The resolved references, in the same order as the references.
+     */
+    Object[] resolve(final ResolvableTuple<R> tuple) {
+        if (tuple.getClass() != tupleClass) {
+            final Object[] newResolved = new Object[references.size()];
+            int i = 0;
+            for (final R reference : references) {
+                newResolved[i++] = tuple.resolve(reference);
+            }
+            resolved = newResolved;
+            tupleClass = tuple.getClass();
+        }
+
+        return resolved;
+    }
+}
@@ -125,8 +125,10 @@ public class Filter<R> extends Processor<R, ConsumerFunctionContext<R, FilterFun
             boolean result = function.isValid(selection);
 
             if (!result) {
-                LOGGER.debug(function.getClass().getName() + " filtered out "
-                        + Arrays.toString(selection) + " from input: " + tuple);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug(function.getClass().getName() + " filtered out "
+                            + Arrays.toString(selection) + " from input: " + tuple);
+                }
                 return false;
             }
         }
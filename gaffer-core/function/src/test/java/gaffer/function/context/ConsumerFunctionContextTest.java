@@ -17,10 +17,13 @@
 package gaffer.function.context;
 
 import gaffer.function.ConsumerFunction;
+import gaffer.function.ResolvableTuple;
 import gaffer.function.Tuple;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -29,6 +32,9 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class ConsumerFunctionContextTest {
     @Test
@@ -118,4 +124,54 @@ public class ConsumerFunctionContextTest {
         // Then
         assertArrayEquals(values, selectedValues);
     }
+
+    @Test
+    public void shouldOnlyResolveSelectionOnceForResolvableTuples() {
+        // Given
+        final String reference1 = "reference 1";
+        final String reference2 = "reference 2";
+        final Object resolved1 = "resolved 1";
+        final Object resolved2 = "resolved 2";
+        final ResolvableTuple<String> tuple = mock(ResolvableTuple.class);
+        given(tuple.resolve(reference1)).willReturn(resolved1);
+        given(tuple.resolve(reference2)).willReturn(resolved2);
+        given(tuple.getResolved(resolved1)).willReturn("value 1");
+        given(tuple.getResolved(resolved2)).willReturn("value 2");
+
+        final ConsumerFunctionContext<String, ConsumerFunction> context = new ConsumerFunctionContext<>();
+        context.setSelection(Arrays.asList(reference1, reference2));
+
+        // When
+        context.select(tuple);
+        final Object[] selectedValues = context.select(tuple);
+
+        // Then
+        assertArrayEquals(new Object[]{"value 1", "value 2"}, selectedValues);
+        verify(tuple, times(1)).resolve(reference1);
+        verify(tuple, times(1)).resolve(reference2);
+        verify(tuple, never()).get(Mockito.anyString());
+    }
+
+    @Test
+    public void shouldResolveSelectionAgainWhenSelectionIsChanged() {
+        // Given
+        final String reference1 = "reference 1";
+        final String reference2 = "reference 2";
+        final ResolvableTuple<String> tuple = mock(ResolvableTuple.class);
+        given(tuple.resolve(reference1)).willReturn(reference1);
+        given(tuple.resolve(reference2)).willReturn(reference2);
+        given(tuple.getResolved(reference1)).willReturn("value 1");
+        given(tuple.getResolved(reference2)).willReturn("value 2");
+
+        final ConsumerFunctionContext<String, ConsumerFunction> context = new ConsumerFunctionContext<>();
+        context.setSelection(Collections.singletonList(reference1));
+        context.select(tuple);
+
+        // When
+        context.setSelection(Collections.singletonList(reference2));
+        final Object[] selectedValues = context.select(tuple);
+
+        // Then
+        assertArrayEquals(new Object[]{"value 2"}, selectedValues);
+    }
 }
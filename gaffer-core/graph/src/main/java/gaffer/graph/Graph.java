@@ -49,6 +49,12 @@ import java.util.Set;
  * and can transform {@link gaffer.data.element.Properties} into transient properties such as averages.
  * <p>
  * When executing operations on a graph, an operation view would override the graph view.
+ * <p>
+ * A Graph can be shared by many threads and used to execute operation chains concurrently. It
+ * holds no state for an execution - each operation is given its own copy of the graph view, as
+ * views contain functions that are not thread safe, and all other execution state is held in
+ * the {@link gaffer.store.Context} created by the store. An operation chain and its operations
+ * are updated during execution, so they must not be executed by more than one thread at a time.
  *
  * @see gaffer.graph.Graph.Builder
  */
@@ -65,11 +71,16 @@ public final class Graph {
      */
     private final View view;
 
+    /**
+     * The graph view serialised to JSON, used to give each operation its own copy of the view.
+     */
+    private final byte[] viewJson;
+
     /**
      * List of {@link GraphHook}s to be triggered before and after operations are
      * executed on the graph.
      */
-    private List<GraphHook> graphHooks;
+    private final List<GraphHook> graphHooks;
 
     /**
      * Constructs a <code>Graph</code> with the given {@link gaffer.store.Store} and
@@ -82,6 +93,7 @@ public final class Graph {
     private Graph(final Store store, final View view, final List<GraphHook> graphHooks) {
         this.store = store;
         this.view = view;
+        this.viewJson = null != view ? view.toJson(false) : null;
         this.graphHooks = graphHooks;
     }
 
@@ -115,12 +127,12 @@ public final class Graph {
         // Update the view
         for (final Operation operation : operationChain.getOperations()) {
             if (null == operation.getView()) {
-                operation.setView(view);
+                operation.setView(copyView());
             } else if (operation.getView().getEntityGroups().isEmpty()
                     && operation.getView().getEdgeGroups().isEmpty()) {
                 // this allows users to create an empty view and setup summarisation,
                 // without having to specify all the element groups.
-                operation.getView().merge(view);
+                operation.getView().merge(copyView());
             }
         }
 
@@ -168,6 +180,11 @@ public final class Graph {
         return store.getSchema();
     }
 
+    // Creates a copy of the graph view that is not shared with other operations.
+    private View copyView() {
+        return null != viewJson ? View.fromJson(viewJson) : view;
+    }
+
     /**
      * @param storeTrait the store trait to check
      * @return true if the store has the given trait.
@@ -185,6 +202,14 @@ public final class Graph {
         return store.getTraits();
     }
 
+    /**
+     * Closes the underlying store, releasing any threads or other resources it holds.
+     * See {@link Store#close()}.
+     */
+    public void close() {
+        store.close();
+    }
+
     /**
      * Builder for {@link Graph}.
      */
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.ElementSeed;
+
+/**
+ * Extends {@link gaffer.operation.impl.get.GetElements} to return only the k elements
+ * with the highest values of a chosen property, in descending order of that property.
+ * The elements are ranked after any query time aggregation, transformation and filtering
+ * has been applied. Elements that do not have a value for the property are not returned.
+ * The property values must be {@link Comparable}, for example a count.
+ *
+ * @param <SEED_TYPE>    the seed seed type
+ * @param <ELEMENT_TYPE> the element return type
+ * @see gaffer.operation.impl.get.GetTopKElements.Builder
+ * @see gaffer.operation.impl.get.GetElements
+ */
+public class GetTopKElements<SEED_TYPE extends ElementSeed, ELEMENT_TYPE extends Element>
+        extends GetElements<SEED_TYPE, ELEMENT_TYPE> {
+    public static final int DEFAULT_K = 100;
+
+    private String property;
+    private int k = DEFAULT_K;
+
+    public GetTopKElements() {
+        super();
+    }
+
+    public GetTopKElements(final Iterable<SEED_TYPE> seeds) {
+        super(seeds);
+    }
+
+    public GetTopKElements(final CloseableIterable<SEED_TYPE> seeds) {
+        super(seeds);
+    }
+
+    public GetTopKElements(final View view) {
+        super(view);
+    }
+
+    public GetTopKElements(final View view, final Iterable<SEED_TYPE> seeds) {
+        super(view, seeds);
+    }
+
+    public GetTopKElements(final View view, final CloseableIterable<SEED_TYPE> seeds) {
+        super(view, seeds);
+    }
+
+    public GetTopKElements(final GetOperation<SEED_TYPE, ?> operation) {
+        super(operation);
+    }
+
+    /**
+     * @return the name of the property the elements are ranked by.
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    public void setProperty(final String property) {
+        this.property = property;
+    }
+
+    /**
+     * @return the maximum number of elements to return.
+     */
+    public int getK() {
+        return k;
+    }
+
+    public void setK(final int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1 but was " + k);
+        }
+        this.k = k;
+    }
+
+    public abstract static class BaseBuilder<SEED_TYPE extends ElementSeed,
+            ELEMENT_TYPE extends Element,
+            CHILD_CLASS extends BaseBuilder<SEED_TYPE, ELEMENT_TYPE, ?>>
+            extends GetElements.BaseBuilder<GetTopKElements<SEED_TYPE, ELEMENT_TYPE>, SEED_TYPE, ELEMENT_TYPE, CHILD_CLASS> {
+        public BaseBuilder() {
+            super(new GetTopKElements<SEED_TYPE, ELEMENT_TYPE>());
+        }
+
+        /**
+         * @param property the name of the property to rank the elements by
+         * @return this Builder
+         * @see gaffer.operation.impl.get.GetTopKElements#setProperty(String)
+         */
+        public CHILD_CLASS property(final String property) {
+            getOp().setProperty(property);
+            return self();
+        }
+
+        /**
+         * @param k the maximum number of elements to return
+         * @return this Builder
+         * @see gaffer.operation.impl.get.GetTopKElements#setK(int)
+         */
+        public CHILD_CLASS k(final int k) {
+            getOp().setK(k);
+            return self();
+        }
+    }
+
+    public static final class Builder<SEED_TYPE extends ElementSeed, ELEMENT_TYPE extends Element>
+            extends BaseBuilder<SEED_TYPE, ELEMENT_TYPE, Builder<SEED_TYPE, ELEMENT_TYPE>> {
+        @Override
+        protected Builder<SEED_TYPE, ELEMENT_TYPE> self() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class GetTopKElementsTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    public void shouldDefaultKTo100() {
+        // When
+        final GetTopKElements op = new GetTopKElements();
+
+        // Then
+        assertEquals(GetTopKElements.DEFAULT_K, op.getK());
+        assertEquals(100, op.getK());
+    }
+
+    @Test
+    public void shouldNotAllowKLessThanOne() {
+        // Given
+        final GetTopKElements op = new GetTopKElements();
+
+        // When / Then
+        try {
+            op.setK(0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final ElementSeed elementSeed1 = new EntitySeed("identifier");
+        final ElementSeed elementSeed2 = new EdgeSeed("source2", "destination2", true);
+        final GetTopKElements op = new GetTopKElements(Arrays.asList(elementSeed1, elementSeed2));
+        op.setProperty(TestPropertyNames.COUNT);
+        op.setK(10);
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetTopKElements deserialisedOp = serialiser.deserialise(json, GetTopKElements.class);
+
+        // Then
+        final Iterator itr = deserialisedOp.getSeeds().iterator();
+        assertEquals(elementSeed1, itr.next());
+        assertEquals(elementSeed2, itr.next());
+        assertFalse(itr.hasNext());
+        assertEquals(TestPropertyNames.COUNT, deserialisedOp.getProperty());
+        assertEquals(10, deserialisedOp.getK());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        ElementSeed seed = new EntitySeed("A");
+        GetTopKElements getTopKElements = new GetTopKElements.Builder<>()
+                .addSeed(seed)
+                .property(TestPropertyNames.COUNT)
+                .k(5)
+                .includeEdges(GetOperation.IncludeEdgeType.DIRECTED)
+                .includeEntities(false)
+                .option("testOption", "true")
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        assertEquals("true", getTopKElements.getOption("testOption"));
+        assertEquals(TestPropertyNames.COUNT, getTopKElements.getProperty());
+        assertEquals(5, getTopKElements.getK());
+        assertFalse(getTopKElements.isIncludeEntities());
+        assertEquals(GetOperation.IncludeEdgeType.DIRECTED, getTopKElements.getIncludeEdges());
+        assertNotNull(getTopKElements.getView());
+        assertEquals(seed, getTopKElements.getSeeds().iterator().next());
+    }
+}
@@ -16,15 +16,63 @@
 
 package gaffer.serialisation;
 
+import gaffer.exception.SerialisationException;
+import java.util.Arrays;
+
 /**
  * Abstract implementation of the {@link Serialisation} interface, providing default
  * implementations of the {@link Serialisation#deserialiseEmptyBytes()} and
  * {@link Serialisation#serialiseNull()} methods.
+ * <p>
+ * It also adds {@link #deserialise(byte[], int, int)} so that an object can be
+ * deserialised from part of a larger byte array without copying the bytes. The
+ * default implementation copies the bytes, serialisers should override it where
+ * they are able to read the bytes in place.
  */
 public abstract class AbstractSerialisation<T> implements Serialisation<T> {
 
     private static final byte[] EMPTY_BYTES = new byte[0];
 
+    /**
+     * Deserialises an object from a section of a byte array.
+     *
+     * @param allBytes the byte array containing the serialised object
+     * @param offset   the index of the first byte of the serialised object
+     * @param length   the number of bytes in the serialised object
+     * @return T the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    public T deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        if (0 == offset && allBytes.length == length) {
+            return deserialise(allBytes);
+        }
+        return deserialise(Arrays.copyOfRange(allBytes, offset, offset + length));
+    }
+
+    /**
+     * Deserialises an object from a section of a byte array using the provided
+     * {@link Serialisation}. If the serialisation is an {@link AbstractSerialisation}
+     * the bytes are read in place, otherwise they are copied into a new array.
+     *
+     * @param serialiser the serialiser to use
+     * @param allBytes   the byte array containing the serialised object
+     * @param offset     the index of the first byte of the serialised object
+     * @param length     the number of bytes in the serialised object
+     * @param <T>        the type of the deserialised object
+     * @return T the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    public static <T> T deserialise(final Serialisation<T> serialiser, final byte[] allBytes,
+                                    final int offset, final int length) throws SerialisationException {
+        if (serialiser instanceof AbstractSerialisation) {
+            return ((AbstractSerialisation<T>) serialiser).deserialise(allBytes, offset, length);
+        }
+        if (0 == offset && allBytes.length == length) {
+            return serialiser.deserialise(allBytes);
+        }
+        return serialiser.deserialise(Arrays.copyOfRange(allBytes, offset, offset + length));
+    }
+
     @Override
     public byte[] serialiseNull() {
         return EMPTY_BYTES;
@@ -35,6 +35,11 @@ public class BooleanSerialiser extends AbstractSerialisation<Boolean> {
         return bytes.length == 1 && TRUE == bytes[0];
     }
 
+    @Override
+    public Boolean deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return length == 1 && TRUE == allBytes[offset];
+    }
+
     public <T> T deserialise(final byte[] bytes, final Class<T> clazz) throws SerialisationException {
         return clazz.cast(bytes.length == 1 && TRUE == bytes[0]);
     }
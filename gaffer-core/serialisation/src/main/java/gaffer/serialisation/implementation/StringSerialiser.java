@@ -47,6 +47,15 @@ public class StringSerialiser extends AbstractSerialisation<String> {
         }
     }
 
+    @Override
+    public String deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        try {
+            return new String(allBytes, offset, length, CommonConstants.UTF_8);
+        } catch (UnsupportedEncodingException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public String deserialiseEmptyBytes() {
         return "";
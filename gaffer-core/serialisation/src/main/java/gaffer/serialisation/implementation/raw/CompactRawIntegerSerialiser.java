@@ -45,7 +45,12 @@ public class CompactRawIntegerSerialiser extends AbstractSerialisation<Integer>
 
     @Override
     public Integer deserialise(final byte[] bytes) throws SerialisationException {
-        final long result = CompactRawSerialisationUtils.readLong(bytes);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final long result = CompactRawSerialisationUtils.readLong(allBytes, offset, length);
         if ((result > Integer.MAX_VALUE) || (result < Integer.MIN_VALUE)) {
             throw new SerialisationException("Value too long to fit in integer");
         }
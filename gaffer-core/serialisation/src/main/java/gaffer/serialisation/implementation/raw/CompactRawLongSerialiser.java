@@ -44,6 +44,11 @@ public class CompactRawLongSerialiser extends AbstractSerialisation<Long> {
         return CompactRawSerialisationUtils.readLong(bytes);
     }
 
+    @Override
+    public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return CompactRawSerialisationUtils.readLong(allBytes, offset, length);
+    }
+
     @Override
     public boolean isByteOrderPreserved() {
         return false;
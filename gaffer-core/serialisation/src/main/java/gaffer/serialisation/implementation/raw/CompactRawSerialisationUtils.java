@@ -61,13 +61,30 @@ public final class CompactRawSerialisationUtils {
     }
 
     public static long readLong(final byte[] bytes) throws SerialisationException {
-        final byte firstByte = bytes[0];
+        return readLong(bytes, 0);
+    }
+
+    /**
+     * Reads a long, written by {@link CompactRawSerialisationUtils#writeLong(long)}, from
+     * the provided byte array starting at the given offset. The number of bytes read is
+     * given by {@link CompactRawSerialisationUtils#decodeVIntSize(byte)} of the first byte.
+     *
+     * @param bytes  The byte array to read from.
+     * @param offset The index of the first byte of the serialised long.
+     * @return The value of the serialised long.
+     * @throws SerialisationException if the byte array is too short to contain the long.
+     */
+    public static long readLong(final byte[] bytes, final int offset) throws SerialisationException {
+        final byte firstByte = bytes[offset];
         final int len = decodeVIntSize(firstByte);
         if (len == 1) {
             return (long) firstByte;
         }
+        if (offset + len > bytes.length) {
+            throw new SerialisationException("Not enough bytes to read a long of length " + len);
+        }
         long i = 0;
-        short place = 1;
+        int place = offset + 1;
         for (int idx = 0; idx < len - 1; idx++) {
             final byte b = bytes[place++];
             i = i << 8;
@@ -76,6 +93,30 @@ public final class CompactRawSerialisationUtils {
         return (isNegativeVInt(firstByte) ? (i ^ -1L) : i);
     }
 
+    /**
+     * Reads a long, written by {@link CompactRawSerialisationUtils#writeLong(long)}, from
+     * the given range of the provided byte array. Unlike {@link #readLong(byte[], int)}
+     * this does not read past the end of the range, so a truncated value is not read
+     * from the bytes that follow it.
+     *
+     * @param bytes  The byte array to read from.
+     * @param offset The index of the first byte of the serialised long.
+     * @param length The number of bytes in the range holding the serialised long.
+     * @return The value of the serialised long.
+     * @throws SerialisationException if the range is too short to contain the long.
+     */
+    public static long readLong(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        if (length < 1) {
+            throw new SerialisationException("Not enough bytes to read a long from " + length + " bytes");
+        }
+        final int len = decodeVIntSize(bytes[offset]);
+        if (len > length) {
+            throw new SerialisationException("Not enough bytes to read a long of length " + len
+                    + " from " + length + " bytes");
+        }
+        return readLong(bytes, offset);
+    }
+
     /**
      * Writes a long to the provided {@link OutputStream}.
      * NB: This code is very similar to the code in the {@link CompactRawSerialisationUtils#writeLong(long)}
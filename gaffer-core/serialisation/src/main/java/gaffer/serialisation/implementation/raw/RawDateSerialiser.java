@@ -51,14 +51,19 @@ public class RawDateSerialiser extends AbstractSerialisation<Date> {
 
     @Override
     public Date deserialise(final byte[] bytes) throws SerialisationException {
-        final long value = ((long) bytes[0] & 255L) << 56
-                | ((long) bytes[1] & 255L) << 48
-                | ((long) bytes[2] & 255L) << 40
-                | ((long) bytes[3] & 255L) << 32
-                | ((long) bytes[4] & 255L) << 24
-                | ((long) bytes[5] & 255L) << 16
-                | ((long) bytes[6] & 255L) << 8
-                | ((long) bytes[7] & 255L);
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Date deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final long value = ((long) allBytes[offset] & 255L) << 56
+                | ((long) allBytes[offset + 1] & 255L) << 48
+                | ((long) allBytes[offset + 2] & 255L) << 40
+                | ((long) allBytes[offset + 3] & 255L) << 32
+                | ((long) allBytes[offset + 4] & 255L) << 24
+                | ((long) allBytes[offset + 5] & 255L) << 16
+                | ((long) allBytes[offset + 6] & 255L) << 8
+                | ((long) allBytes[offset + 7] & 255L);
         return new Date(value);
     }
 
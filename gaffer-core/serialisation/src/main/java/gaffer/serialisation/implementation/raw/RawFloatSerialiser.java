@@ -43,10 +43,15 @@ public class RawFloatSerialiser extends AbstractSerialisation<Float> {
 
     @Override
     public Float deserialise(final byte[] bytes) throws SerialisationException {
-        return Float.intBitsToFloat((int) ((int) bytes[0] & 255L
-                | ((int) bytes[1] & 255L) << 8
-                | ((int) bytes[2] & 255L) << 16
-                | ((int) bytes[3] & 255L) << 24));
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Float deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return Float.intBitsToFloat((int) ((int) allBytes[offset] & 255L
+                | ((int) allBytes[offset + 1] & 255L) << 8
+                | ((int) allBytes[offset + 2] & 255L) << 16
+                | ((int) allBytes[offset + 3] & 255L) << 24));
     }
 
     @Override
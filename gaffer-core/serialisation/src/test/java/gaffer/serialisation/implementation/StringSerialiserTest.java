@@ -47,4 +47,18 @@ public class StringSerialiserTest {
     public void canSerialiseStringClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(String.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void canDeserialiseFromPartOfAByteArray() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise("a string value");
+        final byte[] allBytes = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When
+        final Object value = SERIALISER.deserialise(allBytes, 2, bytes.length);
+
+        // Then
+        assertEquals("a string value", value);
+    }
+}
@@ -18,6 +18,7 @@ package gaffer.serialisation.implementation.raw;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import gaffer.exception.SerialisationException;
 import org.junit.Test;
@@ -76,4 +77,34 @@ public class CompactRawIntegerSerialiserTest {
         assertEquals(value, o);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void canDeserialiseFromPartOfAByteArray() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(123456);
+        final byte[] allBytes = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When
+        final Object value = SERIALISER.deserialise(allBytes, 2, bytes.length);
+
+        // Then
+        assertEquals(123456, value);
+    }
+
+    @Test
+    public void shouldNotDeserialiseFromPartOfAByteArrayThatIsTooShort() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(123456);
+        final byte[] allBytes = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When / Then
+        try {
+            SERIALISER.deserialise(allBytes, 2, bytes.length - 1);
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertTrue(e.getMessage().contains("Not enough bytes"));
+        }
+    }
+}
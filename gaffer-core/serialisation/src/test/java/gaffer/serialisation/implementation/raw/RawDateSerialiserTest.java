@@ -73,4 +73,18 @@ public class RawDateSerialiserTest {
         return 0;
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void canDeserialiseFromPartOfAByteArray() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(new Date(1234567890L));
+        final byte[] allBytes = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When
+        final Object value = SERIALISER.deserialise(allBytes, 2, bytes.length);
+
+        // Then
+        assertEquals(new Date(1234567890L), value);
+    }
+}
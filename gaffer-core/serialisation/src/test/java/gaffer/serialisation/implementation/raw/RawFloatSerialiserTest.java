@@ -62,4 +62,18 @@ public class RawFloatSerialiserTest {
         assertTrue(SERIALISER.canHandle(Float.class));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void canDeserialiseFromPartOfAByteArray() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(1.5f);
+        final byte[] allBytes = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When
+        final Object value = SERIALISER.deserialise(allBytes, 2, bytes.length);
+
+        // Then
+        assertEquals(1.5f, value);
+    }
+}
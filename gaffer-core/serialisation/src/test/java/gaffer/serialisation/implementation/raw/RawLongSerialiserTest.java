@@ -61,4 +61,18 @@ public class RawLongSerialiserTest {
     public void canSerialiseLongClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void canDeserialiseFromPartOfAByteArray() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(123456789L);
+        final byte[] allBytes = new byte[bytes.length + 3];
+        System.arraycopy(bytes, 0, allBytes, 2, bytes.length);
+
+        // When
+        final Object value = SERIALISER.deserialise(allBytes, 2, bytes.length);
+
+        // Then
+        assertEquals(123456789L, value);
+    }
+}
@@ -18,6 +18,7 @@ package gaffer.store;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.PrefetchingCloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.IdentifierType;
 import gaffer.data.elementdefinition.exception.SchemaException;
@@ -78,6 +79,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A <code>Store</code> backs a Graph and is responsible for storing the {@link gaffer.data.element.Element}s and
@@ -104,6 +111,11 @@ public abstract class Store {
     private SchemaOptimiser schemaOptimiser;
     private ViewValidator viewValidator;
 
+    /**
+     * Runs the stages of operation chains concurrently, or null if operation chains are run on the calling thread.
+     */
+    private volatile ExecutorService pipelineExecutor;
+
     public Store() {
         opChainOptimisers.add(new CoreOperationChainOptimiser(this));
         this.viewValidator = new ViewValidator();
@@ -113,6 +125,7 @@ public abstract class Store {
     public void initialise(final Schema schema, final StoreProperties properties) throws StoreException {
         this.schema = schema;
         this.properties = properties;
+        initialisePipelineExecutor();
         addOpHandlers();
         optimiseSchemas();
         validateSchemas();
@@ -352,14 +365,63 @@ public abstract class Store {
             final OperationChain<OUTPUT> operationChain, final Context context) throws
             OperationException {
         Object result = null;
-        for (final Operation op : operationChain.getOperations()) {
+        final List<Operation> ops = operationChain.getOperations();
+        for (int i = 0; i < ops.size(); i++) {
+            final Operation op = ops.get(i);
             updateOperationInput(op, result);
             result = handleOperation(op, context);
+            if (i < ops.size() - 1) {
+                result = pipelineResult(result, ops.get(i + 1));
+            }
         }
 
         return (OUTPUT) result;
     }
 
+    /**
+     * Releases the resources held by the store, such as the threads used to pipeline operation chains.
+     * Operation chains that are executed after the store has been closed are run on the calling thread.
+     * Stores that hold other resources should override this method and call super.
+     */
+    public void close() {
+        shutdownPipelineExecutor();
+    }
+
+    /**
+     * If the store is configured to pipeline operation chains, the result of an operation
+     * is read on another thread whilst the next operation consumes it.
+     *
+     * @param result the result of an operation in a chain
+     * @param nextOp the next operation in the chain, which will consume the result
+     * @return the result, wrapped so it is prefetched if the result can be pipelined
+     */
+    protected Object pipelineResult(final Object result, final Operation nextOp) {
+        final ExecutorService executor = pipelineExecutor;
+        if (null != executor && result instanceof CloseableIterable && isPipelineStage(nextOp)) {
+            return new PrefetchingCloseableIterable<>((CloseableIterable<?>) result, executor,
+                    properties.getPipelineBufferSize(),
+                    TimeUnit.SECONDS.toMillis(properties.getPipelineIdleTimeoutSeconds()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Stores can override this method to pipeline the input to other operations.
+     * Only operations whose handlers read their input once should be pipelined, as only
+     * the first pass over a pipelined input is prefetched. {@link gaffer.operation.GetOperation}s are not
+     * pipelined by default, as their handlers may search their seeds many times.
+     *
+     * @param op the operation
+     * @return true if the operation streams through its input, so its input can be produced concurrently.
+     */
+    protected boolean isPipelineStage(final Operation op) {
+        return op instanceof GenerateObjects
+                || op instanceof GenerateElements
+                || op instanceof Validate
+                || op instanceof Deduplicate;
+    }
+
     protected <OPERATION extends Operation<?, OUTPUT>, OUTPUT> OUTPUT handleOperation(final OPERATION operation, final Context context) throws OperationException {
         final OperationHandler<OPERATION, OUTPUT> handler = getOperationHandler(operation.getClass());
         OUTPUT result;
@@ -384,6 +446,30 @@ public abstract class Store {
         }
     }
 
+    private void shutdownPipelineExecutor() {
+        final ExecutorService executor = pipelineExecutor;
+        pipelineExecutor = null;
+        if (null != executor) {
+            // Results that are already being prefetched are still read to completion.
+            executor.shutdown();
+        }
+    }
+
+    private void initialisePipelineExecutor() {
+        shutdownPipelineExecutor();
+        final int threads = null != properties ? properties.getPipelineThreads() : 0;
+        if (threads > 0) {
+            // Tasks are rejected rather than queued when all the threads are busy,
+            // so the result is read on the calling thread instead of waiting.
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new SynchronousQueue<Runnable>(), new PipelineThreadFactory());
+            executor.allowCoreThreadTimeOut(true);
+            pipelineExecutor = executor;
+        } else {
+            pipelineExecutor = null;
+        }
+    }
+
     private void addOpHandlers() {
         addCoreOpHandlers();
         addAdditionalOperationHandlers();
@@ -438,4 +524,15 @@ public abstract class Store {
             }
         });
     }
+
+    private static final class PipelineThreadFactory implements ThreadFactory {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "gaffer-pipeline-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
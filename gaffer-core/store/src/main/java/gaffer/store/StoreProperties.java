@@ -42,6 +42,13 @@ public class StoreProperties implements Cloneable {
     public static final String SCHEMA_CLASS = "gaffer.store.schema.class";
     public static final String STORE_PROPERTIES_CLASS = "gaffer.store.properties.class";
     public static final String OPERATION_DECLARATIONS = "gaffer.store.operation.declarations";
+    public static final String DEDUPLICATE_MAX_IN_MEMORY = "gaffer.store.operation.deduplicate.max.in.memory";
+    public static final String DEDUPLICATE_SPILL_DIRECTORY = "gaffer.store.operation.deduplicate.spill.directory";
+    public static final String PIPELINE_THREADS = "gaffer.store.operation.chain.pipeline.threads";
+    public static final String PIPELINE_BUFFER_SIZE = "gaffer.store.operation.chain.pipeline.buffer.size";
+    public static final String PIPELINE_IDLE_TIMEOUT_SECONDS = "gaffer.store.operation.chain.pipeline.idle.timeout.seconds";
+    public static final String DEFAULT_PIPELINE_BUFFER_SIZE = "1000";
+    public static final String DEFAULT_PIPELINE_IDLE_TIMEOUT_SECONDS = "300";
 
     private Path propFileLocation;
     private Properties props;
@@ -195,6 +202,55 @@ public class StoreProperties implements Cloneable {
         set(STORE_PROPERTIES_CLASS, storePropertiesClass.getName());
     }
 
+    /**
+     * @return the maximum number of results a deduplicate operation should hold in memory
+     * before spilling them to disk, or null if the results should always be held in memory.
+     */
+    public Integer getDeduplicateMaxInMemory() {
+        final String maxInMemory = get(DEDUPLICATE_MAX_IN_MEMORY);
+        return null != maxInMemory ? Integer.valueOf(maxInMemory) : null;
+    }
+
+    public void setDeduplicateMaxInMemory(final int maxInMemory) {
+        set(DEDUPLICATE_MAX_IN_MEMORY, String.valueOf(maxInMemory));
+    }
+
+    public String getDeduplicateSpillDirectory() {
+        return get(DEDUPLICATE_SPILL_DIRECTORY);
+    }
+
+    public void setDeduplicateSpillDirectory(final String spillDirectory) {
+        set(DEDUPLICATE_SPILL_DIRECTORY, spillDirectory);
+    }
+
+    /**
+     * @return the maximum number of threads used to run the stages of operation chains
+     * concurrently, or 0 if operation chains should be run on the calling thread.
+     */
+    public int getPipelineThreads() {
+        return Integer.parseInt(get(PIPELINE_THREADS, "0"));
+    }
+
+    public void setPipelineThreads(final int threads) {
+        set(PIPELINE_THREADS, String.valueOf(threads));
+    }
+
+    public int getPipelineBufferSize() {
+        return Integer.parseInt(get(PIPELINE_BUFFER_SIZE, DEFAULT_PIPELINE_BUFFER_SIZE));
+    }
+
+    public void setPipelineBufferSize(final int bufferSize) {
+        set(PIPELINE_BUFFER_SIZE, String.valueOf(bufferSize));
+    }
+
+    public int getPipelineIdleTimeoutSeconds() {
+        return Integer.parseInt(get(PIPELINE_IDLE_TIMEOUT_SECONDS, DEFAULT_PIPELINE_IDLE_TIMEOUT_SECONDS));
+    }
+
+    public void setPipelineIdleTimeoutSeconds(final int idleTimeoutSeconds) {
+        set(PIPELINE_IDLE_TIMEOUT_SECONDS, String.valueOf(idleTimeoutSeconds));
+    }
+
 
     public void setProperties(final Properties properties) {
         this.props = properties;
@@ -267,6 +323,8 @@ public class StoreProperties implements Cloneable {
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
+        } else {
+            props = new Properties();
         }
     }
 }
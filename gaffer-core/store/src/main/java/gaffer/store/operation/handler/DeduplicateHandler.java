@@ -16,22 +16,38 @@
 
 package gaffer.store.operation.handler;
 
-import com.google.common.collect.Sets;
 import gaffer.commonutil.iterable.CloseableIterable;
-import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.commonutil.iterable.DeduplicatedCloseableIterable;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.Deduplicate;
 import gaffer.store.Context;
 import gaffer.store.Store;
+import gaffer.store.StoreProperties;
+import java.io.File;
 
 /**
- * An <code>DeduplicateHandler</code> handles for {@link Deduplicate} operations.
- * Adds all the operation input items into a {@link java.util.LinkedHashSet} to
- * remove duplicate items.
+ * A <code>DeduplicateHandler</code> lazily removes duplicate results, returning each
+ * result as soon as it is first seen.
+ * <p>
+ * If the store properties set {@link StoreProperties#DEDUPLICATE_MAX_IN_MEMORY} then
+ * no more than that number of seen results are held in memory; the rest are spilled to
+ * {@link StoreProperties#DEDUPLICATE_SPILL_DIRECTORY}, or the default temporary directory.
+ *
+ * @param <T> the type of results to deduplicate
  */
 public class DeduplicateHandler<T> implements OperationHandler<Deduplicate<T>, CloseableIterable<T>> {
     @Override
     public CloseableIterable<T> doOperation(final Deduplicate<T> operation, final Context context, final Store store) throws OperationException {
-        return new WrappedCloseableIterable<>(Sets.newLinkedHashSet(operation.getInput()));
+        Integer maxInMemory = null;
+        File spillDirectory = null;
+        if (null != store && null != store.getProperties()) {
+            final StoreProperties properties = store.getProperties();
+            maxInMemory = properties.getDeduplicateMaxInMemory();
+            if (null != properties.getDeduplicateSpillDirectory()) {
+                spillDirectory = new File(properties.getDeduplicateSpillDirectory());
+            }
+        }
+
+        return new DeduplicatedCloseableIterable<>(operation.getInput(), maxInMemory, spillDirectory);
     }
 }
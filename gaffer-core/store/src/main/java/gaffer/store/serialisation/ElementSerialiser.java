@@ -0,0 +1,477 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.serialisation;
+
+import gaffer.commonutil.CommonConstants;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractSerialisation;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaElementDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.apache.commons.io.IOUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An <code>ElementSerialiser</code> converts streams of {@link Element}s to and from a
+ * compact binary format using the {@link Serialisation}s in a {@link Schema} - the same
+ * serialisers that the stores use to persist vertices and properties.
+ * <p>
+ * A stream starts with a header and is followed by one record per element. Each record
+ * is prefixed with its length and contains:
+ * <ul>
+ * <li>the element type - entity or edge</li>
+ * <li>the group - written in full the first time it appears in the stream and as an
+ * index after that</li>
+ * <li>the vertex, or the source, destination and directed flag, serialised with the
+ * schema's vertex serialiser</li>
+ * <li>each property in the order it is defined in the schema, serialised with the
+ * property's type serialiser</li>
+ * </ul>
+ * Variable length integers are used for all lengths and indexes. A record with a length
+ * of zero marks the end of the stream.
+ * <p>
+ * Both ends of the stream must use the same schema. Only the properties defined in the
+ * schema for an element's group are written, so properties that are not in the schema,
+ * such as transient properties added by a view's transformer, are dropped.
+ * <p>
+ * Streams may come from untrusted clients, so records longer than the maximum record size
+ * are rejected before any memory is allocated for them.
+ */
+public class ElementSerialiser {
+    private static final byte[] HEADER = {'G', 'F', 'E', 1};
+
+    private static final byte ENTITY = 0;
+    private static final byte DIRECTED_EDGE = 1;
+    private static final byte UNDIRECTED_EDGE = 2;
+
+    /**
+     * The default maximum length of a single record, in bytes.
+     */
+    public static final int DEFAULT_MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    private final Schema schema;
+    private final int maxRecordSize;
+
+    public ElementSerialiser(final Schema schema) {
+        this(schema, DEFAULT_MAX_RECORD_SIZE);
+    }
+
+    /**
+     * @param schema        the schema containing the serialisers for the vertices and properties
+     * @param maxRecordSize the maximum length of a record that will be read, in bytes
+     */
+    public ElementSerialiser(final Schema schema, final int maxRecordSize) {
+        if (maxRecordSize < 1) {
+            throw new IllegalArgumentException("maxRecordSize must be at least 1");
+        }
+        this.schema = schema;
+        this.maxRecordSize = maxRecordSize;
+    }
+
+    /**
+     * Writes the elements to the output stream. The output stream is not closed.
+     *
+     * @param elements the elements to write
+     * @param output   the stream to write to
+     * @throws SerialisationException if the elements could not be serialised or written
+     */
+    public void serialise(final Iterable<? extends Element> elements, final OutputStream output)
+            throws SerialisationException {
+        final StreamWriter writer = createWriter(output);
+        for (final Element element : elements) {
+            writer.write(element);
+        }
+        writer.end();
+    }
+
+    /**
+     * Creates a writer that writes elements to the output stream one at a time.
+     * The header is written immediately.
+     *
+     * @param output the stream to write to
+     * @return a new writer
+     * @throws SerialisationException if the header could not be written
+     */
+    public StreamWriter createWriter(final OutputStream output) throws SerialisationException {
+        return new StreamWriter(output);
+    }
+
+    /**
+     * Reads elements from the input stream lazily. The returned iterable can only be
+     * iterated once and closing it closes the input stream.
+     *
+     * @param input the stream to read from
+     * @return an iterable of the elements in the stream
+     */
+    public CloseableIterable<Element> deserialise(final InputStream input) {
+        return new ElementIterable(input);
+    }
+
+    /**
+     * Writes elements to an output stream one at a time.
+     */
+    public final class StreamWriter {
+        private final OutputStream output;
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        private final Map<String, Integer> groups = new HashMap<>();
+
+        private StreamWriter(final OutputStream output) throws SerialisationException {
+            this.output = output;
+            try {
+                output.write(HEADER);
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to write header", e);
+            }
+        }
+
+        /**
+         * @param element the element to write
+         * @throws SerialisationException if the element could not be serialised or written
+         */
+        public void write(final Element element) throws SerialisationException {
+            final SchemaElementDefinition elementDef = schema.getElement(element.getGroup());
+            if (null == elementDef) {
+                throw new SerialisationException("No schema element definition found for group " + element.getGroup());
+            }
+
+            record.reset();
+            try {
+                if (element instanceof Entity) {
+                    record.write(ENTITY);
+                    writeGroup(element.getGroup());
+                    writeValue(getVertexSerialiser(), ((Entity) element).getVertex());
+                } else if (element instanceof Edge) {
+                    final Edge edge = (Edge) element;
+                    record.write(edge.isDirected() ? DIRECTED_EDGE : UNDIRECTED_EDGE);
+                    writeGroup(element.getGroup());
+                    writeValue(getVertexSerialiser(), edge.getSource());
+                    writeValue(getVertexSerialiser(), edge.getDestination());
+                } else {
+                    throw new SerialisationException("Unsupported element class " + element.getClass().getName());
+                }
+
+                writeProperties(element, elementDef);
+
+                CompactRawSerialisationUtils.write(record.size(), output);
+                record.writeTo(output);
+            } catch (final SerialisationException e) {
+                throw e;
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to write element", e);
+            }
+        }
+
+        /**
+         * Writes the end of stream marker and flushes the output stream.
+         *
+         * @throws SerialisationException if the end of stream marker could not be written
+         */
+        public void end() throws SerialisationException {
+            CompactRawSerialisationUtils.write(0, output);
+            flush();
+        }
+
+        /**
+         * @throws SerialisationException if the output stream could not be flushed
+         */
+        public void flush() throws SerialisationException {
+            try {
+                output.flush();
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to flush output", e);
+            }
+        }
+
+        private void writeGroup(final String group) throws IOException {
+            final Integer index = groups.get(group);
+            if (null != index) {
+                CompactRawSerialisationUtils.write(index, record);
+            } else {
+                final int newIndex = groups.size();
+                groups.put(group, newIndex);
+                CompactRawSerialisationUtils.write(newIndex, record);
+                writeBytes(group.getBytes(CommonConstants.UTF_8));
+            }
+        }
+
+        private void writeProperties(final Element element, final SchemaElementDefinition elementDef)
+                throws IOException {
+            final Properties properties = element.getProperties();
+            for (final String propertyName : elementDef.getProperties()) {
+                writeValue(getPropertySerialiser(elementDef, propertyName), properties.get(propertyName));
+            }
+        }
+
+        // Writes the length + 1 followed by the bytes, or 0 for a null value.
+        @SuppressWarnings("unchecked")
+        private void writeValue(final Serialisation serialiser, final Object value) throws IOException {
+            if (null == value) {
+                CompactRawSerialisationUtils.write(0, record);
+            } else {
+                final byte[] bytes = serialiser.serialise(value);
+                CompactRawSerialisationUtils.write(bytes.length + 1L, record);
+                record.write(bytes);
+            }
+        }
+
+        private void writeBytes(final byte[] bytes) throws IOException {
+            CompactRawSerialisationUtils.write(bytes.length, record);
+            record.write(bytes);
+        }
+    }
+
+    private Serialisation getVertexSerialiser() throws SerialisationException {
+        final Serialisation serialiser = schema.getVertexSerialiser();
+        if (null == serialiser) {
+            throw new SerialisationException("The schema does not have a vertex serialiser");
+        }
+        return serialiser;
+    }
+
+    private static Serialisation getPropertySerialiser(final SchemaElementDefinition elementDef,
+                                                       final String propertyName) throws SerialisationException {
+        final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyName);
+        if (null == typeDef || null == typeDef.getSerialiser()) {
+            throw new SerialisationException("No serialiser found for property " + propertyName);
+        }
+        return typeDef.getSerialiser();
+    }
+
+    private final class ElementIterable implements CloseableIterable<Element> {
+        private final InputStream input;
+        private boolean iterated;
+
+        private ElementIterable(final InputStream input) {
+            this.input = input;
+        }
+
+        @Override
+        public void close() {
+            IOUtils.closeQuietly(input);
+        }
+
+        @Override
+        public CloseableIterator<Element> iterator() {
+            if (iterated) {
+                throw new IllegalStateException("Elements read from a stream can only be iterated once");
+            }
+            iterated = true;
+            return new ElementIterator(input);
+        }
+    }
+
+    private final class ElementIterator implements CloseableIterator<Element> {
+        private final DataInputStream input;
+        private final List<String> groups = new ArrayList<>();
+        private byte[] record = new byte[0];
+        private int recordLength;
+        private int offset;
+        private boolean started;
+        private boolean finished;
+        private Element next;
+
+        private ElementIterator(final InputStream input) {
+            this.input = new DataInputStream(input);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null == next && !finished) {
+                try {
+                    next = readNext();
+                } catch (final IOException e) {
+                    close();
+                    throw new IllegalStateException("Unable to read elements: " + e.getMessage(), e);
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Element element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            IOUtils.closeQuietly(input);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private Element readNext() throws IOException {
+            if (!started) {
+                readHeader();
+                started = true;
+            }
+
+            // Reading past the end of the stream returns a negative length.
+            final long recordSize = CompactRawSerialisationUtils.read(input);
+            if (0 == recordSize) {
+                finished = true;
+                return null;
+            }
+            if (recordSize < 0) {
+                throw new SerialisationException("Unexpected end of stream");
+            }
+            if (recordSize > maxRecordSize) {
+                throw new SerialisationException("Record length " + recordSize
+                        + " is greater than the maximum record size of " + maxRecordSize);
+            }
+
+            final int length = (int) recordSize;
+
+            if (record.length < length) {
+                record = new byte[length];
+            }
+            input.readFully(record, 0, length);
+            recordLength = length;
+            offset = 0;
+            return readElement();
+        }
+
+        private void readHeader() throws IOException {
+            final byte[] header = new byte[HEADER.length];
+            input.readFully(header);
+            for (int i = 0; i < HEADER.length; i++) {
+                if (header[i] != HEADER[i]) {
+                    throw new SerialisationException("Invalid header - the stream does not contain serialised elements");
+                }
+            }
+        }
+
+        private Element readElement() throws SerialisationException {
+            final byte type = record[offset++];
+            final String group = readGroup();
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            if (null == elementDef) {
+                throw new SerialisationException("No schema element definition found for group " + group);
+            }
+
+            final Element element;
+            if (ENTITY == type) {
+                element = new Entity(group, readValue(getVertexSerialiser()));
+            } else if (DIRECTED_EDGE == type || UNDIRECTED_EDGE == type) {
+                final Object source = readValue(getVertexSerialiser());
+                final Object destination = readValue(getVertexSerialiser());
+                element = new Edge(group, source, destination, DIRECTED_EDGE == type);
+            } else {
+                throw new SerialisationException("Invalid element type " + type);
+            }
+
+            for (final String propertyName : elementDef.getProperties()) {
+                final Object value = readValue(getPropertySerialiser(elementDef, propertyName));
+                if (null != value) {
+                    element.putProperty(propertyName, value);
+                }
+            }
+            return element;
+        }
+
+        private String readGroup() throws SerialisationException {
+            final int index = readInt();
+            if (index < groups.size()) {
+                return groups.get(index);
+            }
+            if (index != groups.size()) {
+                throw new SerialisationException("Invalid group index " + index);
+            }
+
+            final int length = readInt();
+            checkAvailable(length);
+            final String group;
+            try {
+                group = new String(record, offset, length, CommonConstants.UTF_8);
+            } catch (final IOException e) {
+                throw new SerialisationException("Unable to read group", e);
+            }
+            offset += length;
+            groups.add(group);
+            return group;
+        }
+
+        private Object readValue(final Serialisation serialiser) throws SerialisationException {
+            final long lengthPlusOne = readVLong();
+            if (0 == lengthPlusOne) {
+                return null;
+            }
+
+            final long length = lengthPlusOne - 1;
+            if (length < 0 || length > recordLength - offset) {
+                throw new SerialisationException("Invalid record - it is shorter than expected");
+            }
+            if (0 == length) {
+                return serialiser.deserialiseEmptyBytes();
+            }
+
+            final int valueLength = (int) length;
+            final Object value = AbstractSerialisation.deserialise(serialiser, record, offset, valueLength);
+            offset += valueLength;
+            return value;
+        }
+
+        // Reads a variable length integer that must be a non negative int, such as an index or a length.
+        private int readInt() throws SerialisationException {
+            final long value = readVLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new SerialisationException("Invalid record - " + value + " is not a valid length or index");
+            }
+            return (int) value;
+        }
+
+        private long readVLong() throws SerialisationException {
+            checkAvailable(1);
+            final int size = CompactRawSerialisationUtils.decodeVIntSize(record[offset]);
+            checkAvailable(size);
+            final long value = CompactRawSerialisationUtils.readLong(record, offset);
+            offset += size;
+            return value;
+        }
+
+        private void checkAvailable(final int numBytes) throws SerialisationException {
+            if (numBytes < 0 || numBytes > recordLength - offset) {
+                throw new SerialisationException("Invalid record - it is shorter than expected");
+            }
+        }
+    }
+}
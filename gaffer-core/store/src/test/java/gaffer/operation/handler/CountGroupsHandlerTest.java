@@ -78,12 +78,12 @@ public class CountGroupsHandlerTest {
         assertFalse(counts.isLimitHit());
 
         assertEquals(2, counts.getEntityGroups().size());
-        assertEquals(3, (int) counts.getEntityGroups().get(GROUP1));
-        assertEquals(1, (int) counts.getEntityGroups().get(GROUP2));
+        assertEquals(3, (long) counts.getEntityGroups().get(GROUP1));
+        assertEquals(1, (long) counts.getEntityGroups().get(GROUP2));
 
         assertEquals(2, counts.getEdgeGroups().size());
-        assertEquals(1, (int) counts.getEdgeGroups().get(GROUP1));
-        assertEquals(3, (int) counts.getEdgeGroups().get(GROUP2));
+        assertEquals(1, (long) counts.getEdgeGroups().get(GROUP1));
+        assertEquals(3, (long) counts.getEdgeGroups().get(GROUP2));
     }
 
     @Test
@@ -106,12 +106,12 @@ public class CountGroupsHandlerTest {
         assertFalse(counts.isLimitHit());
 
         assertEquals(2, counts.getEntityGroups().size());
-        assertEquals(3, (int) counts.getEntityGroups().get(GROUP1));
-        assertEquals(1, (int) counts.getEntityGroups().get(GROUP2));
+        assertEquals(3, (long) counts.getEntityGroups().get(GROUP1));
+        assertEquals(1, (long) counts.getEntityGroups().get(GROUP2));
 
         assertEquals(2, counts.getEdgeGroups().size());
-        assertEquals(1, (int) counts.getEdgeGroups().get(GROUP1));
-        assertEquals(3, (int) counts.getEdgeGroups().get(GROUP2));
+        assertEquals(1, (long) counts.getEdgeGroups().get(GROUP1));
+        assertEquals(3, (long) counts.getEdgeGroups().get(GROUP2));
     }
 
     @Test
@@ -134,8 +134,8 @@ public class CountGroupsHandlerTest {
         assertTrue(counts.isLimitHit());
 
         assertEquals(2, counts.getEntityGroups().size());
-        assertEquals(2, (int) counts.getEntityGroups().get(GROUP1));
-        assertEquals(1, (int) counts.getEntityGroups().get(GROUP2));
+        assertEquals(2, (long) counts.getEntityGroups().get(GROUP1));
+        assertEquals(1, (long) counts.getEntityGroups().get(GROUP2));
 
     }
 
@@ -30,9 +30,12 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
+import com.google.common.collect.Lists;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.data.element.IdentifierType;
@@ -89,6 +92,7 @@ import org.junit.Before;
 import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -326,6 +330,105 @@ public class StoreTest {
         assertSame(getElementsResult, result);
     }
 
+    @Test
+    public void shouldReadResultsOnAnotherThreadWhenPipelineThreadsAreSet() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getPipelineThreads()).willReturn(2);
+        given(properties.getPipelineBufferSize()).willReturn(2);
+        given(properties.getPipelineIdleTimeoutSeconds()).willReturn(60);
+        given(properties.getDeduplicateMaxInMemory()).willReturn(null);
+        final StoreImpl store = new StoreImpl();
+        final Set<String> producerThreads = new HashSet<>();
+        final CloseableIterable<Element> getElementsResult = new WrappedCloseableIterable<Element>(Arrays.asList(
+                (Element) new Entity(TestGroups.ENTITY, "1"), new Entity(TestGroups.ENTITY, "2"),
+                new Entity(TestGroups.ENTITY, "1"), new Entity(TestGroups.ENTITY, "3"))) {
+            @Override
+            public CloseableIterator<Element> iterator() {
+                producerThreads.add(Thread.currentThread().getName());
+                return super.iterator();
+            }
+        };
+
+        final GetElementsBySeed<ElementSeed, Element> getElementsBySeed = new GetElementsBySeed<>();
+        final OperationChain<CloseableIterable<Element>> opChain = new OperationChain.Builder()
+                .first(getElementsBySeed)
+                .then(new Deduplicate<Element>())
+                .build();
+
+        given(getElementsHandler.doOperation(getElementsBySeed, context, store)).willReturn(getElementsResult);
+
+        store.initialise(schema, properties);
+
+        // When
+        final CloseableIterable<Element> result = store.execute(opChain, user);
+
+        // Then
+        assertEquals(Arrays.asList(new Entity(TestGroups.ENTITY, "1"), new Entity(TestGroups.ENTITY, "2"),
+                new Entity(TestGroups.ENTITY, "3")), Lists.newArrayList(result));
+        assertEquals(1, producerThreads.size());
+        assertTrue(producerThreads.iterator().next().startsWith("gaffer-pipeline-"));
+    }
+
+    @Test
+    public void shouldNotReadResultsOnAnotherThreadByDefault() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final CloseableIterable<Element> getElementsResult = new WrappedCloseableIterable<>(
+                Collections.singletonList((Element) new Entity(TestGroups.ENTITY, "1")));
+
+        final GetElementsBySeed<ElementSeed, Element> getElementsBySeed = new GetElementsBySeed<>();
+        final Deduplicate<Element> deduplicate = new Deduplicate<>();
+        final OperationChain<CloseableIterable<Element>> opChain = new OperationChain.Builder()
+                .first(getElementsBySeed)
+                .then(deduplicate)
+                .build();
+
+        given(getElementsHandler.doOperation(getElementsBySeed, context, store)).willReturn(getElementsResult);
+
+        store.initialise(schema, properties);
+
+        // When
+        store.execute(opChain, user);
+
+        // Then
+        assertSame(getElementsResult, deduplicate.getInput());
+    }
+
+    @Test
+    public void shouldNotReadResultsOnAnotherThreadOnceClosed() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getPipelineThreads()).willReturn(2);
+        given(properties.getPipelineBufferSize()).willReturn(2);
+        given(properties.getPipelineIdleTimeoutSeconds()).willReturn(60);
+        final StoreImpl store = new StoreImpl();
+        final CloseableIterable<Element> getElementsResult = new WrappedCloseableIterable<>(
+                Collections.singletonList((Element) new Entity(TestGroups.ENTITY, "1")));
+
+        final GetElementsBySeed<ElementSeed, Element> getElementsBySeed = new GetElementsBySeed<>();
+        final Deduplicate<Element> deduplicate = new Deduplicate<>();
+        final OperationChain<CloseableIterable<Element>> opChain = new OperationChain.Builder()
+                .first(getElementsBySeed)
+                .then(deduplicate)
+                .build();
+
+        given(getElementsHandler.doOperation(getElementsBySeed, context, store)).willReturn(getElementsResult);
+
+        store.initialise(schema, properties);
+
+        // When
+        store.close();
+        store.execute(opChain, user);
+
+        // Then
+        assertSame(getElementsResult, deduplicate.getInput());
+    }
+
     @Test
     public void shouldReturnAllSupportedOperations() throws Exception {
         // Given
@@ -22,10 +22,13 @@ import static org.mockito.Mockito.mock;
 
 import com.google.common.collect.Lists;
 import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.DeduplicatedCloseableIterable;
 import gaffer.commonutil.iterable.WrappedCloseableIterable;
 import gaffer.operation.OperationException;
 import gaffer.operation.impl.Deduplicate;
 import gaffer.store.Context;
+import gaffer.store.Store;
+import gaffer.store.StoreProperties;
 import org.junit.Test;
 import java.util.Arrays;
 
@@ -62,4 +65,25 @@ public class DeduplicateHandlerTest {
         // Then
         assertEquals(Arrays.asList(10, 9, 8, 7, 6, 5, 4, 3, 2, 1), Lists.newArrayList(results));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldDeduplicateResultsUsingSpillingWhenMaxInMemoryIsSet() throws OperationException {
+        // Given
+        final CloseableIterable<Integer> originalResults = new WrappedCloseableIterable<>(Arrays.asList(10, 9, 8, 10, 7, 8, 7, 6, 6, 5, 6, 9, 4, 5, 3, 4, 2, 2, 2, 1, 1));
+        final DeduplicateHandler<Integer> handler = new DeduplicateHandler<>();
+        final Deduplicate<Integer> operation = mock(Deduplicate.class);
+        final Store store = mock(Store.class);
+        final StoreProperties properties = new StoreProperties(Store.class);
+        properties.setDeduplicateMaxInMemory(2);
+
+        given(operation.getInput()).willReturn(originalResults);
+        given(store.getProperties()).willReturn(properties);
+
+        // When
+        final CloseableIterable<Integer> results = handler.doOperation(operation, new Context(), store);
+
+        // Then
+        assertEquals(2, (int) ((DeduplicatedCloseableIterable<Integer>) results).getMaxInMemory());
+        assertEquals(Arrays.asList(10, 9, 8, 7, 6, 5, 4, 3, 2, 1), Lists.newArrayList(results));
+    }
+}
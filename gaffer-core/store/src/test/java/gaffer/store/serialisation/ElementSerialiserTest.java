@@ -0,0 +1,254 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.serialisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ElementSerialiserTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .vertexSerialiser(new StringSerialiser())
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("long", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .build())
+            .type("directed", Boolean.class)
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property(TestPropertyNames.COUNT, "long")
+                    .property(TestPropertyNames.PROP_1, "string")
+                    .build())
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("directed")
+                    .property(TestPropertyNames.COUNT, "long")
+                    .build())
+            .build();
+
+    private final ElementSerialiser serialiser = new ElementSerialiser(SCHEMA);
+
+    @Test
+    public void shouldSerialiseAndDeserialiseElements() throws SerialisationException {
+        // Given
+        final List<Element> elements = createElements(10);
+
+        // When
+        final List<Element> result = Lists.newArrayList(serialiser.deserialise(
+                new ByteArrayInputStream(serialise(elements))));
+
+        // Then
+        assertEquals(elements, result);
+    }
+
+    @Test
+    public void shouldKeepEmptyPropertiesAndOmitNullProperties() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        entity.putProperty(TestPropertyNames.PROP_1, "");
+
+        // When
+        final List<Element> result = Lists.newArrayList(serialiser.deserialise(
+                new ByteArrayInputStream(serialise(Collections.singletonList(entity)))));
+
+        // Then
+        assertEquals(Collections.singletonList(entity), result);
+        assertFalse(result.get(0).getProperties().containsKey(TestPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldSerialiseEmptyIterable() throws SerialisationException {
+        // When
+        final List<Element> result = Lists.newArrayList(serialiser.deserialise(
+                new ByteArrayInputStream(serialise(Collections.<Element>emptyList()))));
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void shouldBeSmallerThanJson() throws SerialisationException {
+        // Given
+        final List<Element> elements = createElements(100);
+
+        // When
+        final byte[] binary = serialise(elements);
+        final byte[] json = new JSONSerialiser().serialise(elements);
+
+        // Then
+        assertTrue("Binary size " + binary.length + " should be less than a quarter of JSON size " + json.length,
+                binary.length * 4 < json.length);
+    }
+
+    @Test
+    public void shouldSkipPropertiesNotInTheSchema() throws SerialisationException {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+        entity.putProperty(TestPropertyNames.COUNT, 1L);
+        entity.putProperty("transientProperty", "value");
+
+        // When
+        final List<Element> result = Lists.newArrayList(serialiser.deserialise(
+                new ByteArrayInputStream(serialise(Collections.singletonList(entity)))));
+
+        // Then
+        final Entity expected = new Entity(TestGroups.ENTITY, "vertex");
+        expected.putProperty(TestPropertyNames.COUNT, 1L);
+        assertEquals(Collections.singletonList(expected), result);
+    }
+
+    @Test
+    public void shouldFailToDeserialiseTruncatedStream() throws SerialisationException {
+        // Given
+        final byte[] bytes = serialise(createElements(2));
+        final CloseableIterable<Element> elements = serialiser.deserialise(
+                new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)));
+
+        // When / Then
+        try {
+            Lists.newArrayList(elements);
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("Unable to read elements"));
+        }
+    }
+
+    @Test
+    public void shouldFailToDeserialiseRecordLongerThanTheMaxRecordSize() throws SerialisationException {
+        // Given
+        final byte[] bytes = serialise(createElements(1));
+        final CloseableIterable<Element> elements = new ElementSerialiser(SCHEMA, 5).deserialise(
+                new ByteArrayInputStream(bytes));
+
+        // When / Then
+        try {
+            Lists.newArrayList(elements);
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("greater than the maximum record size"));
+        }
+    }
+
+    @Test
+    public void shouldFailToDeserialiseRecordLengthThatDoesNotFitInAnInt() throws Exception {
+        // Given
+        final byte[] emptyStream = serialise(Collections.<Element>emptyList());
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(emptyStream, 0, emptyStream.length - 1);
+        CompactRawSerialisationUtils.write(Integer.MAX_VALUE + 2L, bytes);
+        final CloseableIterable<Element> elements = new ElementSerialiser(SCHEMA, Integer.MAX_VALUE).deserialise(
+                new ByteArrayInputStream(bytes.toByteArray()));
+
+        // When / Then
+        try {
+            Lists.newArrayList(elements);
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("greater than the maximum record size"));
+        }
+    }
+
+    @Test
+    public void shouldFailToDeserialiseGroupLengthLongerThanTheRecord() throws Exception {
+        // Given
+        final byte[] emptyStream = serialise(Collections.<Element>emptyList());
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        record.write(0);
+        CompactRawSerialisationUtils.write(0, record);
+        CompactRawSerialisationUtils.write(Integer.MAX_VALUE, record);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(emptyStream, 0, emptyStream.length - 1);
+        CompactRawSerialisationUtils.write(record.size(), bytes);
+        record.writeTo(bytes);
+        final CloseableIterable<Element> elements = serialiser.deserialise(new ByteArrayInputStream(bytes.toByteArray()));
+
+        // When / Then
+        try {
+            Lists.newArrayList(elements);
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getCause() instanceof SerialisationException);
+            assertTrue(e.getMessage().contains("shorter than expected"));
+        }
+    }
+
+    @Test
+    public void shouldFailToDeserialiseStreamWithoutHeader() {
+        // Given
+        final CloseableIterable<Element> elements = serialiser.deserialise(
+                new ByteArrayInputStream("[{\"class\":\"gaffer.data.element.Entity\"}]".getBytes()));
+
+        // When / Then
+        try {
+            elements.iterator().hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("Invalid header"));
+        }
+    }
+
+    private byte[] serialise(final List<? extends Element> elements) throws SerialisationException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        serialiser.serialise(elements, output);
+        return output.toByteArray();
+    }
+
+    private static List<Element> createElements(final int numElements) {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < numElements; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + i);
+            entity.putProperty(TestPropertyNames.COUNT, (long) i);
+            entity.putProperty(TestPropertyNames.PROP_1, "value" + i);
+            elements.add(entity);
+
+            final Edge edge = new Edge(TestGroups.EDGE, "vertex" + i, "vertex" + (i + 1), 0 == i % 2);
+            edge.putProperty(TestPropertyNames.COUNT, (long) i * 1000);
+            elements.add(edge);
+        }
+        return elements;
+    }
+}
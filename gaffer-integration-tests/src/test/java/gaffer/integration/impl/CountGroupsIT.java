@@ -41,9 +41,9 @@ public class CountGroupsIT extends AbstractStoreIT {
 
         // Then
         assertEquals(1, counts.getEntityGroups().size());
-        assertEquals(getEntities().size(), (int) counts.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(getEntities().size(), (long) counts.getEntityGroups().get(TestGroups.ENTITY));
         assertEquals(1, counts.getEdgeGroups().size());
-        assertEquals(getEdges().size(), (int) counts.getEdgeGroups().get(TestGroups.EDGE));
+        assertEquals(getEdges().size(), (long) counts.getEdgeGroups().get(TestGroups.EDGE));
         assertFalse(counts.isLimitHit());
     }
 
@@ -63,9 +63,9 @@ public class CountGroupsIT extends AbstractStoreIT {
 
         // Then
         assertEquals(1, counts.getEntityGroups().size());
-        assertEquals(getEntities().size(), (int) counts.getEntityGroups().get(TestGroups.ENTITY));
+        assertEquals(getEntities().size(), (long) counts.getEntityGroups().get(TestGroups.ENTITY));
         assertEquals(1, counts.getEdgeGroups().size());
-        assertEquals(getEdges().size(), (int) counts.getEdgeGroups().get(TestGroups.EDGE));
+        assertEquals(getEdges().size(), (long) counts.getEdgeGroups().get(TestGroups.EDGE));
         assertFalse(counts.isLimitHit());
     }
 
@@ -84,8 +84,8 @@ public class CountGroupsIT extends AbstractStoreIT {
                 .build(), user);
 
         // Then
-        int totalCount = (null != counts.getEntityGroups().get(TestGroups.ENTITY) ? counts.getEntityGroups().get(TestGroups.ENTITY) : 0);
-        totalCount += (null != counts.getEdgeGroups().get(TestGroups.EDGE) ? counts.getEdgeGroups().get(TestGroups.EDGE) : 0);
+        long totalCount = (null != counts.getEntityGroups().get(TestGroups.ENTITY) ? counts.getEntityGroups().get(TestGroups.ENTITY) : 0L);
+        totalCount += (null != counts.getEdgeGroups().get(TestGroups.EDGE) ? counts.getEdgeGroups().get(TestGroups.EDGE) : 0L);
         assertEquals(limit, totalCount);
     }
 }
@@ -26,7 +26,7 @@ import java.nio.file.Paths;
  * A <code>GraphFactory</code> creates instances of {@link gaffer.graph.Graph} to be reused for all queries.
  */
 public class GraphFactory {
-    private static Graph graph;
+    private static volatile Graph graph;
 
     /**
      * Set to true by default - so the same instance of {@link Graph} will be
@@ -51,12 +51,26 @@ public class GraphFactory {
         }
     }
 
+    /**
+     * Gets the graph. If the factory is using a singleton graph then the graph is
+     * created the first time this method is called and the same instance is returned to
+     * all threads after that. The {@link Graph} is safe to use from multiple threads.
+     *
+     * @return the graph
+     */
     public Graph getGraph() {
         if (singletonGraph) {
-            if (null == graph) {
-                setGraph(createGraph());
+            Graph singleton = graph;
+            if (null == singleton) {
+                synchronized (GraphFactory.class) {
+                    singleton = graph;
+                    if (null == singleton) {
+                        singleton = createGraph();
+                        setGraph(singleton);
+                    }
+                }
             }
-            return graph;
+            return singleton;
         }
 
         return createGraph();
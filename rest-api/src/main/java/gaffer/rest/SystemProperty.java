@@ -16,6 +16,9 @@
 
 package gaffer.rest;
 
+import gaffer.rest.job.DiskJobResultStore;
+import gaffer.store.serialisation.ElementSerialiser;
+
 /**
  * System property keys and default values.
  */
@@ -29,6 +32,12 @@ public abstract class SystemProperty {
     public static final String SERVICES_PACKAGE_PREFIX = "gaffer.rest-api.resourcePackage";
     public static final String PACKAGE_PREFIXES = "gaffer.package.prefixes";
     public static final String OP_AUTHS_PATH = "gaffer.operation.auths.path";
+    public static final String JOB_THREADS = "gaffer.rest-api.jobs.threads";
+    public static final String JOB_QUEUE_SIZE = "gaffer.rest-api.jobs.queue.size";
+    public static final String JOB_RESULT_STORE_CLASS = "gaffer.rest-api.jobs.result.store.class";
+    public static final String JOB_RESULTS_DIRECTORY = "gaffer.rest-api.jobs.results.directory";
+    public static final String JOB_RESULTS_TTL_SECONDS = "gaffer.rest-api.jobs.results.ttl.seconds";
+    public static final String MAX_ELEMENT_RECORD_SIZE = "gaffer.rest-api.elements.max.record.size";
 
     // DEFAULTS
     /**
@@ -39,4 +48,16 @@ public abstract class SystemProperty {
     public static final String BASE_URL_DEFAULT = "rest/v1";
     public static final String CORE_VERSION = "1.0.0";
     public static final String GRAPH_FACTORY_CLASS_DEFAULT = GraphFactory.class.getName();
+    public static final String JOB_THREADS_DEFAULT = "10";
+    public static final String JOB_QUEUE_SIZE_DEFAULT = "100";
+    public static final String JOB_RESULT_STORE_CLASS_DEFAULT = DiskJobResultStore.class.getName();
+    /**
+     * The directory, relative to java.io.tmpdir, to write job results to.
+     */
+    public static final String JOB_RESULTS_DIRECTORY_DEFAULT = "gaffer-job-results";
+    public static final String JOB_RESULTS_TTL_SECONDS_DEFAULT = "86400";
+    /**
+     * The maximum length, in bytes, of a single element in a binary element request body.
+     */
+    public static final String MAX_ELEMENT_RECORD_SIZE_DEFAULT = String.valueOf(ElementSerialiser.DEFAULT_MAX_RECORD_SIZE);
 }
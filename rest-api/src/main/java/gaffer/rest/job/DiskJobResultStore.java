@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.rest.SystemProperty;
+import org.apache.commons.io.FileUtils;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>DiskJobResultStore</code> is the default {@link JobResultStore}. Each result is
+ * written as a JSON file in a local directory. Results are written to a temporary file
+ * first and then renamed, so partially written results are never read.
+ * <p>
+ * Results are deleted when {@link #evictExpiredResults()} is called if their file was last
+ * modified longer ago than the time to live.
+ */
+public class DiskJobResultStore implements JobResultStore {
+    private static final String RESULT_SUFFIX = ".json";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final File directory;
+    private final long ttlMillis;
+    private final ObjectMapper mapper = JSONSerialiser.createDefaultMapper();
+
+    /**
+     * Creates a <code>DiskJobResultStore</code> configured from the
+     * {@link SystemProperty#JOB_RESULTS_DIRECTORY} and {@link SystemProperty#JOB_RESULTS_TTL_SECONDS}
+     * system properties.
+     */
+    public DiskJobResultStore() {
+        this(new File(System.getProperty(SystemProperty.JOB_RESULTS_DIRECTORY,
+                        new File(System.getProperty("java.io.tmpdir"), SystemProperty.JOB_RESULTS_DIRECTORY_DEFAULT).getPath())),
+                TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty(SystemProperty.JOB_RESULTS_TTL_SECONDS,
+                        SystemProperty.JOB_RESULTS_TTL_SECONDS_DEFAULT))));
+    }
+
+    /**
+     * @param directory the directory to write the results to
+     * @param ttlMillis the time in milliseconds to keep results for
+     */
+    public DiskJobResultStore(final File directory, final long ttlMillis) {
+        this.directory = directory;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public void putResult(final String jobId, final Object result) throws IOException {
+        Files.createDirectories(directory.toPath());
+        final File tempFile = new File(directory, jobId + "-" + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            try (final JsonGenerator generator = mapper.getFactory().createGenerator(tempFile, JsonEncoding.UTF8)) {
+                if (result instanceof Iterable) {
+                    generator.writeStartArray();
+                    for (final Object item : (Iterable<?>) result) {
+                        mapper.writeValue(generator, item);
+                    }
+                    generator.writeEndArray();
+                } else {
+                    mapper.writeValue(generator, result);
+                }
+            }
+            Files.move(tempFile.toPath(), getResultFile(jobId).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    @Override
+    public InputStream getResult(final String jobId) throws IOException {
+        try {
+            return new FileInputStream(getResultFile(jobId));
+        } catch (final FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void deleteResult(final String jobId) {
+        FileUtils.deleteQuietly(getResultFile(jobId));
+    }
+
+    @Override
+    public void evictExpiredResults() {
+        final File[] files = directory.listFiles();
+        if (null != files) {
+            final long expiryTime = System.currentTimeMillis() - ttlMillis;
+            for (final File file : files) {
+                if (file.getName().endsWith(RESULT_SUFFIX) && file.lastModified() < expiryTime) {
+                    FileUtils.deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    private File getResultFile(final String jobId) {
+        if (null == jobId || jobId.isEmpty() || jobId.contains("/") || jobId.contains("\\") || jobId.contains("..")) {
+            throw new IllegalArgumentException("Invalid job id: " + jobId);
+        }
+        return new File(directory, jobId + RESULT_SUFFIX);
+    }
+}
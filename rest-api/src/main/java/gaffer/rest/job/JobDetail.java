@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+/**
+ * A <code>JobDetail</code> describes a job submitted to a {@link JobExecutor}, including
+ * its id, the user that submitted it and its current {@link JobStatus}.
+ */
+public class JobDetail {
+    private String jobId;
+    private String userId;
+    private JobStatus status;
+    private long submittedTime;
+    private Long startTime;
+    private Long endTime;
+    private String description;
+
+    public JobDetail() {
+    }
+
+    public JobDetail(final String jobId, final String userId, final JobStatus status) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.status = status;
+        this.submittedTime = System.currentTimeMillis();
+    }
+
+    public JobDetail(final JobDetail detail) {
+        this.jobId = detail.jobId;
+        this.userId = detail.userId;
+        this.status = detail.status;
+        this.submittedTime = detail.submittedTime;
+        this.startTime = detail.startTime;
+        this.endTime = detail.endTime;
+        this.description = detail.description;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(final String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(final String userId) {
+        this.userId = userId;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(final JobStatus status) {
+        this.status = status;
+    }
+
+    public long getSubmittedTime() {
+        return submittedTime;
+    }
+
+    public void setSubmittedTime(final long submittedTime) {
+        this.submittedTime = submittedTime;
+    }
+
+    public Long getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(final Long startTime) {
+        this.startTime = startTime;
+    }
+
+    public Long getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(final Long endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * @return a description of the job's status, such as the reason it failed.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(final String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String toString() {
+        return "JobDetail{"
+                + "jobId='" + jobId + '\''
+                + ", userId='" + userId + '\''
+                + ", status=" + status
+                + '}';
+    }
+}
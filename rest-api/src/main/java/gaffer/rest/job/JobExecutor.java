@@ -0,0 +1,391 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.graph.Graph;
+import gaffer.operation.OperationChain;
+import gaffer.rest.SystemProperty;
+import gaffer.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A <code>JobExecutor</code> runs {@link OperationChain}s asynchronously on a bounded pool
+ * of threads. Each submitted chain is given a job id that can be used to check its
+ * {@link JobStatus}, cancel it and fetch its result once it has finished.
+ * <p>
+ * Results are written to a {@link JobResultStore} as the job runs, so they do not need to
+ * be held in memory. If the pool's threads are all busy, jobs are queued up to a maximum
+ * queue size, after which submissions are rejected.
+ * <p>
+ * Completed jobs and their results are removed once they are older than the time to
+ * live. By default a single instance, configured from system properties, is shared by
+ * the REST services - see {@link #getInstance()}.
+ */
+public class JobExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobExecutor.class);
+    private static JobExecutor instance;
+
+    private final ThreadPoolExecutor executor;
+    private final JobResultStore resultStore;
+    private final long ttlMillis;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads     the maximum number of jobs to run at the same time
+     * @param queueSize   the maximum number of jobs to queue whilst all threads are busy
+     * @param resultStore the store to write job results to
+     * @param ttlMillis   the time in milliseconds to keep the details of completed jobs for
+     */
+    public JobExecutor(final int threads, final int queueSize, final JobResultStore resultStore, final long ttlMillis) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("queueSize must be at least 1");
+        }
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), new JobThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.resultStore = resultStore;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @return the shared <code>JobExecutor</code>, creating it from system properties if required.
+     */
+    public static synchronized JobExecutor getInstance() {
+        if (null == instance) {
+            instance = createJobExecutor();
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a <code>JobExecutor</code> configured from the {@link SystemProperty}
+     * job system properties.
+     *
+     * @return a new <code>JobExecutor</code>
+     */
+    public static JobExecutor createJobExecutor() {
+        final String resultStoreClass = System.getProperty(SystemProperty.JOB_RESULT_STORE_CLASS,
+                SystemProperty.JOB_RESULT_STORE_CLASS_DEFAULT);
+        final JobResultStore resultStore;
+        try {
+            resultStore = Class.forName(resultStoreClass)
+                    .asSubclass(JobResultStore.class)
+                    .newInstance();
+        } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unable to create job result store from class: " + resultStoreClass, e);
+        }
+
+        return new JobExecutor(
+                Integer.parseInt(System.getProperty(SystemProperty.JOB_THREADS, SystemProperty.JOB_THREADS_DEFAULT)),
+                Integer.parseInt(System.getProperty(SystemProperty.JOB_QUEUE_SIZE, SystemProperty.JOB_QUEUE_SIZE_DEFAULT)),
+                resultStore,
+                TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty(SystemProperty.JOB_RESULTS_TTL_SECONDS,
+                        SystemProperty.JOB_RESULTS_TTL_SECONDS_DEFAULT))));
+    }
+
+    protected static synchronized void setInstance(final JobExecutor jobExecutor) {
+        instance = jobExecutor;
+    }
+
+    /**
+     * Submits an operation chain to be executed asynchronously.
+     *
+     * @param graph   the graph to execute the operation chain on
+     * @param opChain the operation chain to execute
+     * @param user    the user executing the operation chain
+     * @return the details of the new job
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public JobDetail submit(final Graph graph, final OperationChain<?> opChain, final User user) {
+        return submit(graph, opChain, user, null);
+    }
+
+    /**
+     * Submits an operation chain to be executed asynchronously.
+     *
+     * @param graph        the graph to execute the operation chain on
+     * @param opChain      the operation chain to execute
+     * @param user         the user executing the operation chain
+     * @param onCompletion run once the job has completed, or null. This is not run if the job is rejected.
+     * @return the details of the new job
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public JobDetail submit(final Graph graph, final OperationChain<?> opChain, final User user,
+                            final Runnable onCompletion) {
+        evictExpiredJobs();
+
+        final Job job = new Job(UUID.randomUUID().toString(), graph, opChain, user, onCompletion);
+        jobs.put(job.jobId, job);
+        try {
+            executor.execute(job);
+        } catch (final RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            throw e;
+        }
+        return job.getDetail();
+    }
+
+    /**
+     * @param jobId the id of the job
+     * @return a copy of the job's details, or null if the job does not exist or has expired.
+     */
+    public JobDetail getJobDetail(final String jobId) {
+        final Job job = getJob(jobId);
+        return null != job ? job.getDetail() : null;
+    }
+
+    /**
+     * @param userId the id of the user
+     * @return copies of the details of the jobs submitted by the user.
+     */
+    public List<JobDetail> getJobDetails(final String userId) {
+        final List<JobDetail> details = new ArrayList<>();
+        for (final Job job : jobs.values()) {
+            final JobDetail detail = job.getDetail();
+            if (null == userId ? null == detail.getUserId() : userId.equals(detail.getUserId())) {
+                details.add(detail);
+            }
+        }
+        return details;
+    }
+
+    /**
+     * Cancels a job. A queued job will not be run. A running job is interrupted and the
+     * {@link CloseableIterable} it is reading its result from is closed. The result of a
+     * cancelled job is not stored.
+     *
+     * @param jobId the id of the job
+     * @return a copy of the job's details, or null if the job does not exist or has expired.
+     */
+    public JobDetail cancel(final String jobId) {
+        final Job job = getJob(jobId);
+        if (null == job) {
+            return null;
+        }
+
+        job.cancel();
+        return job.getDetail();
+    }
+
+    /**
+     * @param jobId the id of the job
+     * @return a stream of the job's result as JSON, or null if the job has not finished successfully.
+     * @throws IOException if the result could not be read
+     */
+    public InputStream getResult(final String jobId) throws IOException {
+        final Job job = getJob(jobId);
+        if (null == job || JobStatus.FINISHED != job.getDetail().getStatus()) {
+            return null;
+        }
+        return resultStore.getResult(jobId);
+    }
+
+    /**
+     * Removes the details and results of jobs that completed longer ago than the time to live.
+     */
+    public void evictExpiredJobs() {
+        final long expiryTime = System.currentTimeMillis() - ttlMillis;
+        for (final Job job : jobs.values()) {
+            final JobDetail detail = job.getDetail();
+            if (detail.getStatus().isComplete() && detail.getEndTime() < expiryTime) {
+                jobs.remove(job.jobId);
+                resultStore.deleteResult(job.jobId);
+            }
+        }
+        resultStore.evictExpiredResults();
+    }
+
+    /**
+     * Cancels all jobs and stops the threads.
+     */
+    public void shutdown() {
+        for (final Job job : jobs.values()) {
+            job.cancel();
+        }
+        executor.shutdownNow();
+    }
+
+    public JobResultStore getResultStore() {
+        return resultStore;
+    }
+
+    private Job getJob(final String jobId) {
+        return null != jobId ? jobs.get(jobId) : null;
+    }
+
+    private final class Job implements Runnable {
+        private final String jobId;
+        private final Graph graph;
+        private final OperationChain<?> opChain;
+        private final User user;
+        private final Runnable onCompletion;
+        private final JobDetail detail;
+        private Thread thread;
+        private CloseableIterable<?> result;
+
+        private Job(final String jobId, final Graph graph, final OperationChain<?> opChain, final User user,
+                    final Runnable onCompletion) {
+            this.jobId = jobId;
+            this.graph = graph;
+            this.opChain = opChain;
+            this.user = user;
+            this.onCompletion = onCompletion;
+            this.detail = new JobDetail(jobId, user.getUserId(), JobStatus.QUEUED);
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (start()) {
+                    execute();
+                }
+            } finally {
+                if (null != onCompletion) {
+                    onCompletion.run();
+                }
+            }
+        }
+
+        private void execute() {
+            JobStatus status = JobStatus.FAILED;
+            String description = null;
+            try {
+                final Object output = graph.execute(opChain, user);
+                if (output instanceof CloseableIterable) {
+                    setResult((CloseableIterable<?>) output);
+                }
+                resultStore.putResult(jobId, output);
+                status = JobStatus.FINISHED;
+            } catch (final Exception e) {
+                description = e.getMessage();
+                if (!isCancelled()) {
+                    LOGGER.error("Error executing job " + jobId, e);
+                }
+            } finally {
+                closeResult();
+                if (!complete(status, description)) {
+                    resultStore.deleteResult(jobId);
+                }
+                // Clear any interrupt from cancelling this job, so it does not affect the next job.
+                Thread.interrupted();
+            }
+        }
+
+        private synchronized JobDetail getDetail() {
+            return new JobDetail(detail);
+        }
+
+        private synchronized boolean isCancelled() {
+            return JobStatus.CANCELLED == detail.getStatus();
+        }
+
+        private synchronized boolean start() {
+            if (JobStatus.QUEUED != detail.getStatus()) {
+                return false;
+            }
+
+            detail.setStatus(JobStatus.RUNNING);
+            detail.setStartTime(System.currentTimeMillis());
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        // Returns false if the job was cancelled before it completed.
+        private synchronized boolean complete(final JobStatus status, final String description) {
+            thread = null;
+            if (detail.getStatus().isComplete()) {
+                return false;
+            }
+
+            detail.setStatus(status);
+            detail.setDescription(description);
+            detail.setEndTime(System.currentTimeMillis());
+            return true;
+        }
+
+        private void cancel() {
+            synchronized (this) {
+                if (detail.getStatus().isComplete()) {
+                    return;
+                }
+
+                detail.setStatus(JobStatus.CANCELLED);
+                detail.setDescription("Cancelled");
+                detail.setEndTime(System.currentTimeMillis());
+                if (null != thread) {
+                    thread.interrupt();
+                }
+            }
+            closeResult();
+        }
+
+        private void setResult(final CloseableIterable<?> result) {
+            final boolean cancelled;
+            synchronized (this) {
+                this.result = result;
+                cancelled = isCancelled();
+            }
+            if (cancelled) {
+                result.close();
+            }
+        }
+
+        private void closeResult() {
+            final CloseableIterable<?> resultToClose;
+            synchronized (this) {
+                resultToClose = result;
+            }
+            if (null != resultToClose) {
+                try {
+                    resultToClose.close();
+                } catch (final RuntimeException e) {
+                    LOGGER.warn("Unable to close the result of job " + jobId, e);
+                }
+            }
+        }
+    }
+
+    private static final class JobThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "gaffer-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A <code>JobResultStore</code> holds the results of jobs run by a {@link JobExecutor}
+ * until they are fetched by the user or expire. Results are stored as JSON.
+ * <p>
+ * Implementations must be thread safe and, if they are created from the
+ * {@link gaffer.rest.SystemProperty#JOB_RESULT_STORE_CLASS} system property, must have
+ * a public no argument constructor.
+ */
+public interface JobResultStore {
+    /**
+     * Serialises a job's result to JSON and stores it. If the result is an {@link Iterable}
+     * it is written as a JSON array as it is iterated, so the whole result does not need
+     * to be held in memory.
+     *
+     * @param jobId  the id of the job
+     * @param result the result of the job
+     * @throws IOException if the result could not be stored
+     */
+    void putResult(final String jobId, final Object result) throws IOException;
+
+    /**
+     * @param jobId the id of the job
+     * @return a stream of the job's result as JSON, or null if there is no result for the job.
+     * @throws IOException if the result could not be read
+     */
+    InputStream getResult(final String jobId) throws IOException;
+
+    /**
+     * Deletes a job's result, if it exists.
+     *
+     * @param jobId the id of the job
+     */
+    void deleteResult(final String jobId);
+
+    /**
+     * Deletes any results that have been stored for longer than the store's time to live.
+     */
+    void evictExpiredResults();
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.serialisation;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.data.element.Element;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.SystemProperty;
+import gaffer.store.serialisation.ElementSerialiser;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * An <code>ElementBinaryProvider</code> reads and writes {@link Element}s in the compact
+ * binary format of the {@link ElementSerialiser}, using the serialisers in the graph's
+ * schema. It is used when a client sends or accepts {@link #APPLICATION_GAFFER_ELEMENTS}.
+ * <p>
+ * Iterables of elements are streamed to the response and closed once they have been
+ * written. An {@link AddElements} request body can contain a binary element stream, which
+ * is read lazily as the elements are added. Elements in a request body that are longer than
+ * the {@link SystemProperty#MAX_ELEMENT_RECORD_SIZE} are rejected.
+ */
+@Provider
+@Produces(ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS)
+@Consumes(ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS)
+public class ElementBinaryProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+    public static final String APPLICATION_GAFFER_ELEMENTS = "application/x-gaffer-elements";
+    public static final MediaType APPLICATION_GAFFER_ELEMENTS_TYPE = MediaType.valueOf(APPLICATION_GAFFER_ELEMENTS);
+    public static final int FLUSH_INTERVAL = 1000;
+
+    private final GraphFactory graphFactory;
+    private ElementSerialiser serialiser;
+
+    public ElementBinaryProvider() {
+        this(GraphFactory.createGraphFactory());
+    }
+
+    public ElementBinaryProvider(final GraphFactory graphFactory) {
+        this.graphFactory = graphFactory;
+    }
+
+    @Override
+    public boolean isReadable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                              final MediaType mediaType) {
+        return isGafferElements(mediaType) && AddElements.class.equals(type);
+    }
+
+    @Override
+    public Object readFrom(final Class<Object> type, final Type genericType, final Annotation[] annotations,
+                           final MediaType mediaType, final MultivaluedMap<String, String> httpHeaders,
+                           final InputStream entityStream) throws IOException {
+        return new AddElements(getSerialiser().deserialise(entityStream));
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return isGafferElements(mediaType) && Iterable.class.isAssignableFrom(type) && isElementType(genericType);
+    }
+
+    @Override
+    public long getSize(final Object value, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Object value, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+            throws IOException {
+        try {
+            final ElementSerialiser.StreamWriter writer = getSerialiser().createWriter(entityStream);
+            int count = 0;
+            for (final Object element : (Iterable<?>) value) {
+                writer.write((Element) element);
+                count++;
+                if (1 == count || 0 == count % FLUSH_INTERVAL) {
+                    writer.flush();
+                }
+            }
+            writer.end();
+        } finally {
+            if (value instanceof CloseableIterable) {
+                ((CloseableIterable<?>) value).close();
+            }
+        }
+    }
+
+    protected synchronized ElementSerialiser getSerialiser() {
+        if (null == serialiser) {
+            serialiser = new ElementSerialiser(graphFactory.getGraph().getSchema(),
+                    Integer.parseInt(System.getProperty(SystemProperty.MAX_ELEMENT_RECORD_SIZE,
+                            SystemProperty.MAX_ELEMENT_RECORD_SIZE_DEFAULT)));
+        }
+        return serialiser;
+    }
+
+    private static boolean isGafferElements(final MediaType mediaType) {
+        return null != mediaType && APPLICATION_GAFFER_ELEMENTS_TYPE.isCompatible(mediaType)
+                && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype();
+    }
+
+    // Checks the generic type is an iterable of a type of element.
+    private static boolean isElementType(final Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            final Type[] typeArgs = ((ParameterizedType) genericType).getActualTypeArguments();
+            return 1 == typeArgs.length && typeArgs[0] instanceof Class
+                    && Element.class.isAssignableFrom((Class<?>) typeArgs[0]);
+        }
+        return false;
+    }
+}
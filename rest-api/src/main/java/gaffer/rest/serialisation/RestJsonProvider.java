@@ -16,20 +16,43 @@
 
 package gaffer.rest.serialisation;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import gaffer.commonutil.iterable.CloseableIterable;
 import gaffer.jsonserialisation.JSONSerialiser;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
 
 /**
  * A <code>RestJsonProvider</code> enables the automatic serialisation and deserialisation to/from JSON.
  * By default the JSON will not include nulls.
+ * <p>
+ * {@link CloseableIterable} results are streamed to the response as a JSON array, one
+ * item at a time, rather than being buffered in full. If the client accepts
+ * {@link #APPLICATION_NDJSON} then iterable results are written as newline delimited
+ * JSON instead, with one item per line. The output is flushed after the first item and
+ * then every {@link #FLUSH_INTERVAL} items, and the iterable is closed once it has been
+ * written or the client has disconnected.
  */
 @Provider
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON})
 public class RestJsonProvider extends JacksonJaxbJsonProvider {
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON_TYPE = MediaType.valueOf(APPLICATION_NDJSON);
+    public static final int FLUSH_INTERVAL = 100;
+
+    private static final char NEW_LINE = '\n';
+
     public RestJsonProvider() {
         super.setMapper(createMapper());
     }
@@ -41,4 +64,79 @@ public class RestJsonProvider extends JacksonJaxbJsonProvider {
     protected ObjectMapper createMapper() {
         return JSONSerialiser.createDefaultMapper();
     }
+
+    @Override
+    public void writeTo(final Object value, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+            throws IOException {
+        final boolean ndjson = isNdjson(mediaType);
+        if (value instanceof CloseableIterable || (ndjson && value instanceof Iterable)) {
+            try {
+                writeIterable((Iterable<?>) value, ndjson, locateMapper(type, mediaType), entityStream);
+            } finally {
+                if (value instanceof CloseableIterable) {
+                    ((CloseableIterable<?>) value).close();
+                }
+            }
+        } else if (ndjson) {
+            final ObjectWriter writer = locateMapper(type, mediaType).writer();
+            entityStream.write(writer.writeValueAsBytes(value));
+            entityStream.write(NEW_LINE);
+        } else {
+            super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        }
+    }
+
+    @Override
+    protected boolean hasMatchingMediaType(final MediaType mediaType) {
+        return isNdjson(mediaType) || super.hasMatchingMediaType(mediaType);
+    }
+
+    /**
+     * Writes the items in an iterable to the output stream as they are iterated.
+     *
+     * @param items        the items to write
+     * @param ndjson       true to write newline delimited JSON, false to write a JSON array
+     * @param mapper       the object mapper to serialise the items with
+     * @param outputStream the stream to write to. It is flushed but not closed.
+     * @throws IOException if the items could not be written, for example because the client disconnected
+     */
+    protected void writeIterable(final Iterable<?> items, final boolean ndjson, final ObjectMapper mapper,
+                                 final OutputStream outputStream) throws IOException {
+        final ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final JsonGenerator generator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        try {
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+
+            int count = 0;
+            for (final Object item : items) {
+                writer.writeValue(generator, item);
+                if (ndjson) {
+                    generator.writeRaw(NEW_LINE);
+                }
+
+                count++;
+                if (1 == count || 0 == count % FLUSH_INTERVAL) {
+                    generator.flush();
+                }
+            }
+
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        } finally {
+            generator.close();
+        }
+    }
+
+    private static boolean isNdjson(final MediaType mediaType) {
+        return null != mediaType && APPLICATION_NDJSON_TYPE.isCompatible(mediaType)
+                && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype();
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.service;
+
+import gaffer.operation.OperationChain;
+import gaffer.rest.job.JobDetail;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+/**
+ * An <code>IJobService</code> has methods to execute {@link gaffer.operation.OperationChain}s
+ * on the {@link gaffer.graph.Graph} asynchronously, check their status, cancel them and
+ * fetch their results.
+ */
+@Path("/graph/jobs")
+@Api(value = "/graph/jobs", description = "Allows operation chains to be executed asynchronously as jobs.")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public interface IJobService {
+
+    @POST
+    @ApiOperation(value = "Submits the given operation chain to be executed as a job", response = JobDetail.class)
+    JobDetail executeJob(final OperationChain opChain);
+
+    @GET
+    @ApiOperation(value = "Gets the details of the user's jobs", response = JobDetail.class, responseContainer = "List")
+    List<JobDetail> getJobDetails();
+
+    @GET
+    @Path("/{id}")
+    @ApiOperation(value = "Gets the details of a job", response = JobDetail.class)
+    JobDetail getJobDetail(@PathParam("id") final String id);
+
+    @GET
+    @Path("/{id}/results")
+    @ApiOperation(value = "Gets the results of a finished job", response = Object.class)
+    Response getJobResults(@PathParam("id") final String id);
+
+    @DELETE
+    @Path("/{id}")
+    @ApiOperation(value = "Cancels a job", response = JobDetail.class)
+    JobDetail cancelJob(@PathParam("id") final String id);
+}
@@ -36,6 +36,8 @@ import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
+import gaffer.rest.serialisation.ElementBinaryProvider;
+import gaffer.rest.serialisation.RestJsonProvider;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import javax.ws.rs.Consumes;
@@ -48,11 +50,14 @@ import javax.ws.rs.core.MediaType;
 /**
  * An <code>IOperationService</code> has methods to execute {@link gaffer.operation.Operation}s on the
  * {@link gaffer.graph.Graph}.
+ * Results are streamed as a JSON array, or as newline delimited JSON if the client accepts
+ * {@link RestJsonProvider#APPLICATION_NDJSON}. Elements can also be sent and received in the compact
+ * binary format of {@link ElementBinaryProvider#APPLICATION_GAFFER_ELEMENTS}.
  */
 @Path("/graph/doOperation")
 @Api(value = "/graph/doOperation", description = "Allows operations to be executed on the graph. See <a href='https://github.com/gchq/Gaffer/wiki/operation-examples' target='_blank'>Wiki</a>.")
 @Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON})
 public interface IOperationService {
 
     @POST
@@ -66,37 +71,44 @@ public interface IOperationService {
 
     @POST
     @Path("/generate/elements")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Generate elements from objects", response = Element.class, responseContainer = "List")
     CloseableIterable<Element> generateElements(final GenerateElements operation);
 
     @POST
     @Path("/get/elements/bySeed")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets elements by seed from the graph",
             response = Element.class, responseContainer = "List")
     CloseableIterable<Element> getElementsBySeed(final GetElementsBySeed<ElementSeed, Element> operation);
 
     @POST
     @Path("/get/elements/related")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets related elements from the graph", response = Element.class, responseContainer = "List")
     CloseableIterable<Element> getRelatedElements(final GetRelatedElements<ElementSeed, Element> operation);
 
     @POST
     @Path("/get/entities/bySeed")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets entities by seed from the graph", response = Entity.class, responseContainer = "List")
     CloseableIterable<Entity> getEntitiesBySeed(final GetEntitiesBySeed operation);
 
     @POST
     @Path("/get/entities/related")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets related entities from the graph", response = Entity.class, responseContainer = "List")
     CloseableIterable<Entity> getRelatedEntities(final GetRelatedEntities<ElementSeed> operation);
 
     @POST
     @Path("/get/edges/bySeed")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets edge by seed from the graph", response = Edge.class, responseContainer = "List")
     CloseableIterable<Edge> getEdgesBySeed(final GetEdgesBySeed operation);
 
     @POST
     @Path("/get/edges/related")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets related edges from the graph", response = Edge.class, responseContainer = "List")
     CloseableIterable<Edge> getRelatedEdges(final GetRelatedEdges<ElementSeed> operation);
 
@@ -107,21 +119,25 @@ public interface IOperationService {
 
     @POST
     @Path("/get/elements/all")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets all elements", response = Element.class, responseContainer = "List")
     CloseableIterable<Element> getAllElements(final GetAllElements<Element> operation);
 
     @POST
     @Path("/get/entities/all")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets all entities", response = Entity.class, responseContainer = "List")
     CloseableIterable<Entity> getAllEntities(final GetAllEntities operation);
 
     @POST
     @Path("/get/edges/all")
+    @Produces({MediaType.APPLICATION_JSON, RestJsonProvider.APPLICATION_NDJSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Gets all edges", response = Edge.class, responseContainer = "List")
     CloseableIterable<Edge> getAllEdges(final GetAllEdges operation);
 
     @PUT
     @Path("/add/elements")
+    @Consumes({MediaType.APPLICATION_JSON, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS})
     @ApiOperation(value = "Add elements to the graph", response = Boolean.class)
     void addElements(final AddElements operation);
 }
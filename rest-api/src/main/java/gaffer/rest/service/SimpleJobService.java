@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.service;
+
+import gaffer.operation.OperationChain;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobExecutor;
+import gaffer.rest.job.JobStatus;
+import gaffer.user.User;
+import org.apache.commons.io.IOUtils;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * An implementation of {@link gaffer.rest.service.IJobService}. By default it will use a singleton
+ * {@link gaffer.graph.Graph} generated using the {@link gaffer.rest.GraphFactory} and the shared
+ * {@link JobExecutor}.
+ * <p>
+ * Users can only see and cancel their own jobs. As with the {@link SimpleOperationService},
+ * the createUser() method should be overridden to create a {@link User} from the http request.
+ * </p>
+ * <p>
+ * Jobs are submitted through a {@link SimpleOperationService}, so its pre and post operation hooks
+ * are run for every job. If the hooks are implemented, createOperationService() should be
+ * overridden to return the same implementation of {@link SimpleOperationService}.
+ * </p>
+ */
+public class SimpleJobService implements IJobService {
+    private final GraphFactory graphFactory;
+    private final JobExecutor jobExecutor;
+    private SimpleOperationService operationService;
+
+    public SimpleJobService() {
+        this(GraphFactory.createGraphFactory(), JobExecutor.getInstance());
+    }
+
+    public SimpleJobService(final GraphFactory graphFactory, final JobExecutor jobExecutor) {
+        this.graphFactory = graphFactory;
+        this.jobExecutor = jobExecutor;
+    }
+
+    @Override
+    public JobDetail executeJob(final OperationChain opChain) {
+        return getOperationService().executeAsync(opChain, createUser());
+    }
+
+    @Override
+    public List<JobDetail> getJobDetails() {
+        return jobExecutor.getJobDetails(createUser().getUserId());
+    }
+
+    @Override
+    public JobDetail getJobDetail(final String id) {
+        return getUserJobDetail(id);
+    }
+
+    @Override
+    public Response getJobResults(final String id) {
+        final JobDetail detail = getUserJobDetail(id);
+        if (JobStatus.FINISHED != detail.getStatus()) {
+            return Response.status(Response.Status.CONFLICT).entity(detail).build();
+        }
+
+        final InputStream result;
+        try {
+            result = jobExecutor.getResult(id);
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to read the results of job " + id, e);
+        }
+        if (null == result) {
+            throw new NotFoundException("The results of job " + id + " have expired");
+        }
+
+        return Response.ok(new InputStreamOutput(result), MediaType.APPLICATION_JSON_TYPE).build();
+    }
+
+    @Override
+    public JobDetail cancelJob(final String id) {
+        getUserJobDetail(id);
+        return jobExecutor.cancel(id);
+    }
+
+    /**
+     * Creates a {@link User} object containing information about the user
+     * querying Gaffer.
+     * By default this will return a user with id: UNKNOWN.
+     *
+     * @return the user querying Gaffer.
+     */
+    protected User createUser() {
+        return new User();
+    }
+
+    protected JobExecutor getJobExecutor() {
+        return jobExecutor;
+    }
+
+    /**
+     * Creates the {@link SimpleOperationService} used to submit jobs, so its pre and post operation
+     * hooks are run for every job. By default this will use the same graph and {@link JobExecutor}
+     * as this service.
+     *
+     * @return the operation service used to submit jobs.
+     */
+    protected SimpleOperationService createOperationService() {
+        return new SimpleOperationService(graphFactory, jobExecutor);
+    }
+
+    private synchronized SimpleOperationService getOperationService() {
+        if (null == operationService) {
+            operationService = createOperationService();
+        }
+        return operationService;
+    }
+
+    private JobDetail getUserJobDetail(final String id) {
+        final JobDetail detail = jobExecutor.getJobDetail(id);
+        if (null == detail || !createUser().getUserId().equals(detail.getUserId())) {
+            throw new NotFoundException("Job " + id + " was not found");
+        }
+        return detail;
+    }
+
+    // Copies the stored result to the response, so it is not loaded into memory.
+    private static final class InputStreamOutput implements StreamingOutput {
+        private final InputStream input;
+
+        private InputStreamOutput(final InputStream input) {
+            this.input = input;
+        }
+
+        @Override
+        public void write(final OutputStream output) throws IOException {
+            try {
+                IOUtils.copy(input, output);
+            } finally {
+                IOUtils.closeQuietly(input);
+            }
+        }
+    }
+}
@@ -40,9 +40,11 @@ import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.rest.GraphFactory;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobExecutor;
 import gaffer.user.User;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import javax.ws.rs.ServiceUnavailableException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * An implementation of {@link gaffer.rest.service.IOperationService}. By default it will use a singleton
@@ -57,15 +59,25 @@ import org.slf4j.LoggerFactory;
  * </p>
  */
 public class SimpleOperationService implements IOperationService {
-    private static final Logger LOGGER = LoggerFactory.getLogger(SimpleOperationService.class);
     private final GraphFactory graphFactory;
+    private final JobExecutor jobExecutor;
 
     public SimpleOperationService() {
         this(GraphFactory.createGraphFactory());
     }
 
     public SimpleOperationService(final GraphFactory graphFactory) {
+        this(graphFactory, null);
+    }
+
+    /**
+     * @param graphFactory the factory for the graph to execute operations on
+     * @param jobExecutor  the {@link JobExecutor} to execute asynchronous operation chains, or null to use the
+     *                     shared instance.
+     */
+    public SimpleOperationService(final GraphFactory graphFactory, final JobExecutor jobExecutor) {
         this.graphFactory = graphFactory;
+        this.jobExecutor = jobExecutor;
     }
 
     @Override
@@ -165,36 +177,61 @@ public class SimpleOperationService implements IOperationService {
         return graphFactory.getGraph();
     }
 
+    /**
+     * @return the {@link JobExecutor} used to execute operation chains asynchronously.
+     */
+    protected JobExecutor getJobExecutor() {
+        return null != jobExecutor ? jobExecutor : JobExecutor.getInstance();
+    }
+
     protected <OUTPUT> OUTPUT execute(final Operation<?, OUTPUT> operation) {
-        return execute(new OperationChain<>(operation), false);
+        return executeChain(new OperationChain<>(operation));
     }
 
-    protected <OUTPUT> OUTPUT execute(final OperationChain<OUTPUT> opChain, final boolean async) {
+    /**
+     * @param opChain the operation chain to execute
+     * @param async   true if the operation chain should be executed asynchronously
+     * @return the result of the operation chain, or the {@link JobDetail} of the job executing it if async is true.
+     */
+    protected Object execute(final OperationChain<?> opChain, final boolean async) {
+        if (async) {
+            return executeAsync(opChain, createUser());
+        }
+        return executeChain(opChain);
+    }
+
+    protected <OUTPUT> OUTPUT executeChain(final OperationChain<OUTPUT> opChain) {
         final User user = createUser();
         preOperationHook(opChain, user);
+        try {
+            return graphFactory.getGraph().execute(opChain, user);
+        } catch (OperationException e) {
+            throw new RuntimeException("Error executing opChain", e);
+        } finally {
+            postOperationHook(opChain, user);
+        }
+    }
 
-        if (async) {
-            new Thread(new Runnable() {
+    /**
+     * Submits an operation chain to the {@link JobExecutor}. The pre operation hook is run before the job is
+     * submitted and the post operation hook is run once the job has completed.
+     *
+     * @param opChain the operation chain to execute
+     * @param user    the user executing the operation chain
+     * @return the details of the new job, which can be used to poll for its result.
+     */
+    protected JobDetail executeAsync(final OperationChain<?> opChain, final User user) {
+        preOperationHook(opChain, user);
+        try {
+            return getJobExecutor().submit(getGraph(), opChain, user, new Runnable() {
                 @Override
                 public void run() {
-                    try {
-                        graphFactory.getGraph().execute(opChain, user);
-                    } catch (OperationException e) {
-                        LOGGER.error("Error executing opChain", e);
-                    } finally {
-                        postOperationHook(opChain, user);
-                    }
+                    postOperationHook(opChain, user);
                 }
-            }).start();
-            return null;
-        } else {
-            try {
-                return graphFactory.getGraph().execute(opChain, user);
-            } catch (OperationException e) {
-                throw new RuntimeException("Error executing opChain", e);
-            } finally {
-                postOperationHook(opChain, user);
-            }
+            });
+        } catch (final RejectedExecutionException e) {
+            postOperationHook(opChain, user);
+            throw new ServiceUnavailableException("Too many jobs are queued, please try again later");
         }
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import gaffer.data.element.Entity;
+import gaffer.jsonserialisation.JSONSerialiser;
+import org.apache.commons.io.IOUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+public class DiskJobResultStoreTest {
+    private static final JSONSerialiser SERIALISER = new JSONSerialiser();
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldStoreIterableResultsAsAJsonArray() throws Exception {
+        // Given
+        final DiskJobResultStore store = new DiskJobResultStore(tempFolder.getRoot(), 60000);
+        final List<Entity> entities = Arrays.asList(new Entity("group", "vertex1"), new Entity("group", "vertex2"));
+
+        // When
+        store.putResult("job1", entities);
+
+        // Then
+        try (final InputStream result = store.getResult("job1")) {
+            final Entity[] readEntities = SERIALISER.deserialise(IOUtils.toByteArray(result), Entity[].class);
+            assertEquals(entities, Arrays.asList(readEntities));
+        }
+    }
+
+    @Test
+    public void shouldStoreSingleResults() throws Exception {
+        // Given
+        final DiskJobResultStore store = new DiskJobResultStore(tempFolder.getRoot(), 60000);
+
+        // When
+        store.putResult("job1", 10L);
+
+        // Then
+        try (final InputStream result = store.getResult("job1")) {
+            assertEquals("10", IOUtils.toString(result));
+        }
+    }
+
+    @Test
+    public void shouldReturnNullForMissingOrDeletedResults() throws Exception {
+        // Given
+        final DiskJobResultStore store = new DiskJobResultStore(tempFolder.getRoot(), 60000);
+        store.putResult("job1", "result");
+
+        // When
+        store.deleteResult("job1");
+
+        // Then
+        assertNull(store.getResult("job1"));
+        assertNull(store.getResult("job2"));
+    }
+
+    @Test
+    public void shouldEvictExpiredResults() throws Exception {
+        // Given
+        final DiskJobResultStore store = new DiskJobResultStore(tempFolder.getRoot(), 60000);
+        store.putResult("oldJob", "result");
+        store.putResult("newJob", "result");
+        final File oldResult = new File(tempFolder.getRoot(), "oldJob.json");
+        assertEquals(true, oldResult.setLastModified(System.currentTimeMillis() - 120000));
+
+        // When
+        store.evictExpiredResults();
+
+        // Then
+        assertNull(store.getResult("oldJob"));
+        try (final InputStream result = store.getResult("newJob")) {
+            assertEquals("\"result\"", IOUtils.toString(result));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectJobIdsContainingPaths() throws Exception {
+        // Given
+        final DiskJobResultStore store = new DiskJobResultStore(tempFolder.getRoot(), 60000);
+
+        // When / Then
+        store.getResult("../job1");
+    }
+}
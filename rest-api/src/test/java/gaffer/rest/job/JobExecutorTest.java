@@ -0,0 +1,264 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.CloseableIterator;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.graph.Graph;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.store.Store;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class JobExecutorTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private JobExecutor jobExecutor;
+    private Store store;
+    private Graph graph;
+    private OperationChain<?> opChain;
+    private User user;
+
+    @Before
+    public void setUp() {
+        jobExecutor = new JobExecutor(1, 1, new DiskJobResultStore(tempFolder.getRoot(), 60000), 60000);
+        store = mock(Store.class);
+        graph = createGraph(store);
+        opChain = new OperationChain<>(new GetAllElements<>());
+        user = new User("user01");
+    }
+
+    @After
+    public void tearDown() {
+        jobExecutor.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteJobAndStoreResult() throws Exception {
+        // Given
+        given(store.execute(any(OperationChain.class), any(User.class)))
+                .willReturn(new WrappedCloseableIterable<>(Arrays.asList(1, 2, 3)));
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        // When
+        final JobDetail submitted = jobExecutor.submit(graph, opChain, user, countDown(completed));
+
+        // Then
+        assertNotNull(submitted.getJobId());
+        assertEquals("user01", submitted.getUserId());
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        final JobDetail detail = jobExecutor.getJobDetail(submitted.getJobId());
+        assertEquals(JobStatus.FINISHED, detail.getStatus());
+        assertNotNull(detail.getEndTime());
+        try (final InputStream result = jobExecutor.getResult(submitted.getJobId())) {
+            assertEquals("[1,2,3]", IOUtils.toString(result));
+        }
+        assertEquals(1, jobExecutor.getJobDetails("user01").size());
+        assertTrue(jobExecutor.getJobDetails("user02").isEmpty());
+    }
+
+    @Test
+    public void shouldMarkJobAsFailedWhenExecutionFails() throws Exception {
+        // Given
+        given(store.execute(any(OperationChain.class), any(User.class)))
+                .willThrow(new OperationException("Test failure"));
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        // When
+        final JobDetail submitted = jobExecutor.submit(graph, opChain, user, countDown(completed));
+
+        // Then
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        final JobDetail detail = jobExecutor.getJobDetail(submitted.getJobId());
+        assertEquals(JobStatus.FAILED, detail.getStatus());
+        assertEquals("Test failure", detail.getDescription());
+        assertNull(jobExecutor.getResult(submitted.getJobId()));
+    }
+
+    @Test
+    public void shouldCancelRunningJobAndCloseItsResult() throws Exception {
+        // Given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final AtomicBoolean closed = new AtomicBoolean();
+        given(store.execute(any(OperationChain.class), any(User.class)))
+                .willReturn(new BlockingIterable(started, closed));
+        final JobDetail submitted = jobExecutor.submit(graph, opChain, user, countDown(completed));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // When
+        final JobDetail cancelled = jobExecutor.cancel(submitted.getJobId());
+
+        // Then
+        assertEquals(JobStatus.CANCELLED, cancelled.getStatus());
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertTrue(closed.get());
+        assertEquals(JobStatus.CANCELLED, jobExecutor.getJobDetail(submitted.getJobId()).getStatus());
+        assertNull(jobExecutor.getResult(submitted.getJobId()));
+        assertNull(jobExecutor.getResultStore().getResult(submitted.getJobId()));
+    }
+
+    @Test
+    public void shouldNotRunCancelledQueuedJobs() throws Exception {
+        // Given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(2);
+        final Store blockingStore = mock(Store.class);
+        final Graph blockingGraph = createGraph(blockingStore);
+        given(blockingStore.execute(any(OperationChain.class), any(User.class)))
+                .willReturn(new BlockingIterable(started, new AtomicBoolean()));
+        final JobDetail running = jobExecutor.submit(blockingGraph, opChain, user, countDown(completed));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final JobDetail queued = jobExecutor.submit(graph, opChain, user, countDown(completed));
+        assertEquals(JobStatus.QUEUED, queued.getStatus());
+
+        // When
+        jobExecutor.cancel(queued.getJobId());
+        jobExecutor.cancel(running.getJobId());
+
+        // Then
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        assertEquals(JobStatus.CANCELLED, jobExecutor.getJobDetail(queued.getJobId()).getStatus());
+        assertNull(jobExecutor.getJobDetail(queued.getJobId()).getStartTime());
+    }
+
+    @Test
+    public void shouldRejectJobsWhenTheQueueIsFull() throws Exception {
+        // Given
+        final CountDownLatch started = new CountDownLatch(1);
+        given(store.execute(any(OperationChain.class), any(User.class)))
+                .willReturn(new BlockingIterable(started, new AtomicBoolean()));
+        jobExecutor.submit(graph, opChain, user);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        jobExecutor.submit(graph, opChain, user);
+
+        // When / Then
+        try {
+            jobExecutor.submit(graph, opChain, user);
+            fail("Exception expected");
+        } catch (final RejectedExecutionException e) {
+            assertEquals(2, jobExecutor.getJobDetails("user01").size());
+        }
+    }
+
+    @Test
+    public void shouldEvictExpiredJobs() throws Exception {
+        // Given
+        final JobExecutor expiringJobExecutor = new JobExecutor(1, 1, new DiskJobResultStore(tempFolder.getRoot(), 0), 0);
+        given(store.execute(any(OperationChain.class), any(User.class))).willReturn(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final JobDetail submitted = expiringJobExecutor.submit(graph, opChain, user, countDown(completed));
+        assertTrue(completed.await(10, TimeUnit.SECONDS));
+        Thread.sleep(10);
+
+        // When
+        expiringJobExecutor.evictExpiredJobs();
+
+        // Then
+        assertNull(expiringJobExecutor.getJobDetail(submitted.getJobId()));
+        assertNull(expiringJobExecutor.getResultStore().getResult(submitted.getJobId()));
+        expiringJobExecutor.shutdown();
+    }
+
+    private static Graph createGraph(final Store store) {
+        given(store.getSchema()).willReturn(new Schema());
+        return new Graph.Builder().store(store).build();
+    }
+
+    private static Runnable countDown(final CountDownLatch latch) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+    }
+
+    // An iterable whose iterator blocks until it is closed or interrupted.
+    private static final class BlockingIterable implements CloseableIterable<Object> {
+        private final CountDownLatch started;
+        private final AtomicBoolean closed;
+        private final CountDownLatch closedLatch = new CountDownLatch(1);
+
+        private BlockingIterable(final CountDownLatch started, final AtomicBoolean closed) {
+            this.started = started;
+            this.closed = closed;
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+            closedLatch.countDown();
+        }
+
+        @Override
+        public CloseableIterator<Object> iterator() {
+            return new CloseableIterator<Object>() {
+                @Override
+                public boolean hasNext() {
+                    started.countDown();
+                    try {
+                        closedLatch.await();
+                    } catch (final InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    throw new IllegalStateException("Iterable closed");
+                }
+
+                @Override
+                public Object next() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void close() {
+                    BlockingIterable.this.close();
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.serialisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementTransformer;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.function.TransformFunction;
+import gaffer.function.annotation.Inputs;
+import gaffer.function.annotation.Outputs;
+import gaffer.graph.Graph;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.rest.GraphFactory;
+import gaffer.serialisation.implementation.StringSerialiser;
+import gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import gaffer.store.Store;
+import gaffer.store.schema.Schema;
+import gaffer.store.schema.SchemaEdgeDefinition;
+import gaffer.store.schema.SchemaEntityDefinition;
+import gaffer.store.schema.TypeDefinition;
+import org.junit.Before;
+import org.junit.Test;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ElementBinaryProviderTest {
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final Schema SCHEMA = new Schema.Builder()
+            .vertexSerialiser(new StringSerialiser())
+            .type("string", String.class)
+            .type("long", new TypeDefinition.Builder()
+                    .clazz(Long.class)
+                    .serialiser(new CompactRawLongSerialiser())
+                    .build())
+            .type("directed", Boolean.class)
+            .entity("BasicEntity", new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property("count", "long")
+                    .build())
+            .edge("BasicEdge", new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("directed")
+                    .property("count", "long")
+                    .build())
+            .build();
+
+    private ElementBinaryProvider provider;
+
+    @Before
+    public void setUp() {
+        final Store store = mock(Store.class);
+        given(store.getSchema()).willReturn(SCHEMA);
+        final Graph graph = new Graph.Builder().store(store).build();
+        final GraphFactory graphFactory = mock(GraphFactory.class);
+        given(graphFactory.getGraph()).willReturn(graph);
+        provider = new ElementBinaryProvider(graphFactory);
+    }
+
+    @Test
+    public void shouldWriteElementsThatCanBeReadAsAddElements() throws Exception {
+        // Given
+        final AtomicBoolean closed = new AtomicBoolean();
+        final List<Element> elements = createElements();
+        final CloseableIterable<Element> iterable = new WrappedCloseableIterable<Element>(elements) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        final Type elementsType = IterableHolder.class.getDeclaredField("elements").getGenericType();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        provider.writeTo(iterable, CloseableIterable.class, elementsType, NO_ANNOTATIONS,
+                ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE, null, output);
+        final AddElements addElements = (AddElements) provider.readFrom((Class) AddElements.class, AddElements.class,
+                NO_ANNOTATIONS, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE, null,
+                new ByteArrayInputStream(output.toByteArray()));
+
+        // Then
+        assertTrue(closed.get());
+        assertEquals(elements, Lists.newArrayList(addElements.getElements()));
+    }
+
+    @Test
+    public void shouldWriteElementsWithTransientPropertiesFromAViewTransformer() throws Exception {
+        // Given
+        final View view = new View.Builder()
+                .entity("BasicEntity", new ViewElementDefinition.Builder()
+                        .transientProperty("description", String.class)
+                        .transformer(new ElementTransformer.Builder()
+                                .select("count")
+                                .execute(new DescribeCount())
+                                .project("description")
+                                .build())
+                        .build())
+                .edge("BasicEdge")
+                .build();
+        final List<Element> elements = createElements();
+        final List<Element> transformedElements = new ArrayList<>();
+        for (final Element element : elements) {
+            final Element transformedElement = element.emptyClone();
+            transformedElement.copyProperties(element.getProperties());
+            final ElementTransformer transformer = view.getElement(element.getGroup()).getTransformer();
+            if (null != transformer) {
+                transformer.transform(transformedElement);
+            }
+            transformedElements.add(transformedElement);
+        }
+        final Type elementsType = IterableHolder.class.getDeclaredField("elements").getGenericType();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        provider.writeTo(new WrappedCloseableIterable<>(transformedElements), CloseableIterable.class, elementsType,
+                NO_ANNOTATIONS, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE, null, output);
+        final AddElements addElements = (AddElements) provider.readFrom((Class) AddElements.class, AddElements.class,
+                NO_ANNOTATIONS, ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE, null,
+                new ByteArrayInputStream(output.toByteArray()));
+
+        // Then
+        assertEquals("count is 1", transformedElements.get(0).getProperty("description"));
+        assertEquals(elements, Lists.newArrayList(addElements.getElements()));
+    }
+
+    @Test
+    public void shouldOnlyWriteIterablesOfElements() throws Exception {
+        // Given
+        final Type elementsType = IterableHolder.class.getDeclaredField("elements").getGenericType();
+        final Type objectsType = IterableHolder.class.getDeclaredField("objects").getGenericType();
+
+        // When / Then
+        assertTrue(provider.isWriteable(CloseableIterable.class, elementsType, NO_ANNOTATIONS,
+                ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE));
+        assertFalse(provider.isWriteable(CloseableIterable.class, objectsType, NO_ANNOTATIONS,
+                ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE));
+        assertFalse(provider.isWriteable(CloseableIterable.class, elementsType, NO_ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(provider.isWriteable(CloseableIterable.class, elementsType, NO_ANNOTATIONS,
+                MediaType.WILDCARD_TYPE));
+    }
+
+    @Test
+    public void shouldOnlyReadAddElements() {
+        // When / Then
+        assertTrue(provider.isReadable(AddElements.class, AddElements.class, NO_ANNOTATIONS,
+                ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE));
+        assertFalse(provider.isReadable(Object.class, Object.class, NO_ANNOTATIONS,
+                ElementBinaryProvider.APPLICATION_GAFFER_ELEMENTS_TYPE));
+        assertFalse(provider.isReadable(AddElements.class, AddElements.class, NO_ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE));
+    }
+
+    private static List<Element> createElements() {
+        final Entity entity = new Entity("BasicEntity", "vertex1");
+        entity.putProperty("count", 1L);
+        final Edge edge = new Edge("BasicEdge", "vertex1", "vertex2", true);
+        edge.putProperty("count", 2L);
+        return Arrays.asList(entity, edge);
+    }
+
+    @Inputs(Long.class)
+    @Outputs(String.class)
+    public static class DescribeCount extends TransformFunction {
+        @Override
+        public Object[] transform(final Object[] input) {
+            return new Object[]{"count is " + input[0]};
+        }
+
+        @Override
+        public DescribeCount statelessClone() {
+            return new DescribeCount();
+        }
+    }
+
+    // Used to get generic types for the tests.
+    private static final class IterableHolder {
+        private CloseableIterable<Element> elements;
+        private CloseableIterable<Object> objects;
+    }
+}
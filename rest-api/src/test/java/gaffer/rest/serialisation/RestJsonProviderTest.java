@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.serialisation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import gaffer.commonutil.iterable.CloseableIterable;
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.data.element.Entity;
+import gaffer.jsonserialisation.JSONSerialiser;
+import org.junit.Test;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class RestJsonProviderTest {
+    private final RestJsonProvider provider = new RestJsonProvider();
+
+    @Test
+    public void shouldStreamCloseableIterableAsJsonArrayAndCloseIt() throws Exception {
+        // Given
+        final AtomicBoolean closed = new AtomicBoolean();
+        final CloseableIterable<Entity> entities = createIterable(closed,
+                new Entity("group", "vertex1"), new Entity("group", "vertex2"));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        write(entities, MediaType.APPLICATION_JSON_TYPE, output);
+
+        // Then
+        assertEquals(Arrays.asList(new Entity("group", "vertex1"), new Entity("group", "vertex2")),
+                Arrays.asList(new JSONSerialiser().deserialise(output.toByteArray(), Entity[].class)));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void shouldStreamIterableAsNewlineDelimitedJson() throws IOException {
+        // Given
+        final AtomicBoolean closed = new AtomicBoolean();
+        final CloseableIterable<Integer> values = createIterable(closed, 1, 2, 3);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        write(values, RestJsonProvider.APPLICATION_NDJSON_TYPE, output);
+
+        // Then
+        assertEquals("1\n2\n3\n", output.toString("UTF-8"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void shouldWriteSingleValueAsOneLineOfNewlineDelimitedJson() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        write(Collections.singletonMap("key", "value"), RestJsonProvider.APPLICATION_NDJSON_TYPE, output);
+
+        // Then
+        assertEquals("{\"key\":\"value\"}\n", output.toString("UTF-8"));
+    }
+
+    @Test
+    public void shouldWriteEmptyJsonArray() throws IOException {
+        // Given
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        write(createIterable(new AtomicBoolean()), MediaType.APPLICATION_JSON_TYPE, output);
+
+        // Then
+        assertEquals("[]", output.toString("UTF-8"));
+    }
+
+    @Test
+    public void shouldCloseIterableWhenTheClientDisconnects() {
+        // Given
+        final AtomicBoolean closed = new AtomicBoolean();
+        final CloseableIterable<Integer> values = createIterable(closed, 1, 2, 3);
+        final OutputStream disconnectedOutput = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Client disconnected");
+            }
+        };
+
+        // When
+        try {
+            write(values, MediaType.APPLICATION_JSON_TYPE, disconnectedOutput);
+            fail("Exception expected");
+        } catch (final IOException e) {
+            // Then
+            assertTrue(closed.get());
+        }
+    }
+
+    @Test
+    public void shouldSupportNewlineDelimitedJsonMediaType() {
+        // When / Then
+        assertTrue(provider.isWriteable(CloseableIterable.class, CloseableIterable.class, new Annotation[0],
+                RestJsonProvider.APPLICATION_NDJSON_TYPE));
+    }
+
+    private void write(final Object value, final MediaType mediaType, final OutputStream output) throws IOException {
+        provider.writeTo(value, value.getClass(), value.getClass(), new Annotation[0], mediaType, null, output);
+    }
+
+    @SafeVarargs
+    private static <T> CloseableIterable<T> createIterable(final AtomicBoolean closed, final T... items) {
+        return new WrappedCloseableIterable<T>(Arrays.asList(items)) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+    }
+}
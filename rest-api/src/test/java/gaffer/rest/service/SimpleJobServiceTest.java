@@ -0,0 +1,151 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+
+import gaffer.commonutil.iterable.WrappedCloseableIterable;
+import gaffer.graph.Graph;
+import gaffer.operation.OperationChain;
+import gaffer.operation.impl.get.GetAllElements;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.job.DiskJobResultStore;
+import gaffer.rest.job.JobDetail;
+import gaffer.rest.job.JobExecutor;
+import gaffer.store.Store;
+import gaffer.store.schema.Schema;
+import gaffer.user.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class SimpleJobServiceTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private JobExecutor jobExecutor;
+    private GraphFactory graphFactory;
+    private Store store;
+
+    @Before
+    public void setUp() {
+        jobExecutor = new JobExecutor(1, 1, new DiskJobResultStore(tempFolder.getRoot(), 60000), 60000);
+        store = mock(Store.class);
+        given(store.getSchema()).willReturn(new Schema());
+        final Graph graph = new Graph.Builder().store(store).build();
+        graphFactory = mock(GraphFactory.class);
+        given(graphFactory.getGraph()).willReturn(graph);
+    }
+
+    @After
+    public void tearDown() {
+        jobExecutor.shutdown();
+    }
+
+    @Test
+    public void shouldRunTheOperationHooksForJobs() throws Exception {
+        // Given
+        given(store.execute(any(OperationChain.class), any(User.class)))
+                .willReturn(new WrappedCloseableIterable<>(Arrays.asList(1, 2, 3)));
+        final HookOperationService operationService = new HookOperationService(graphFactory, jobExecutor, false);
+        final SimpleJobService service = createJobService(operationService);
+
+        // When
+        final JobDetail detail = service.executeJob(new OperationChain<>(new GetAllElements<>()));
+
+        // Then
+        assertNotNull(detail.getJobId());
+        assertEquals(0, operationService.preHookCalls.getCount());
+        assertTrue(operationService.postHookCalls.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotSubmitJobWhenThePreOperationHookRejectsIt() {
+        // Given
+        final HookOperationService operationService = new HookOperationService(graphFactory, jobExecutor, true);
+        final SimpleJobService service = createJobService(operationService);
+
+        // When / Then
+        try {
+            service.executeJob(new OperationChain<>(new GetAllElements<>()));
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+        assertTrue(service.getJobDetails().isEmpty());
+    }
+
+    @Test
+    public void shouldReturnJobDetailWhenExecutingAnOperationChainAsynchronously() throws Exception {
+        // Given
+        given(store.execute(any(OperationChain.class), any(User.class)))
+                .willReturn(new WrappedCloseableIterable<>(Arrays.asList(1, 2, 3)));
+        final HookOperationService operationService = new HookOperationService(graphFactory, jobExecutor, false);
+
+        // When
+        final Object result = operationService.execute(new OperationChain<>(new GetAllElements<>()), true);
+
+        // Then
+        assertTrue(result instanceof JobDetail);
+        assertNotNull(jobExecutor.getJobDetail(((JobDetail) result).getJobId()));
+        assertTrue(operationService.postHookCalls.await(10, TimeUnit.SECONDS));
+    }
+
+    private SimpleJobService createJobService(final SimpleOperationService operationService) {
+        return new SimpleJobService(graphFactory, jobExecutor) {
+            @Override
+            protected SimpleOperationService createOperationService() {
+                return operationService;
+            }
+        };
+    }
+
+    private static final class HookOperationService extends SimpleOperationService {
+        private final CountDownLatch preHookCalls = new CountDownLatch(1);
+        private final CountDownLatch postHookCalls = new CountDownLatch(1);
+        private final boolean reject;
+
+        private HookOperationService(final GraphFactory graphFactory, final JobExecutor jobExecutor, final boolean reject) {
+            super(graphFactory, jobExecutor);
+            this.reject = reject;
+        }
+
+        @Override
+        protected void preOperationHook(final OperationChain<?> opChain, final User user) {
+            if (reject) {
+                throw new IllegalArgumentException("User is not authorised to execute the operation chain");
+            }
+            preHookCalls.countDown();
+        }
+
+        @Override
+        protected void postOperationHook(final OperationChain<?> opChain, final User user) {
+            postHookCalls.countDown();
+        }
+    }
+}